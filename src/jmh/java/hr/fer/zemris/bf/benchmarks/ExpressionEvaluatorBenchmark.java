@@ -0,0 +1,131 @@
+package hr.fer.zemris.bf.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.utils.BooleanPredicate;
+import hr.fer.zemris.bf.utils.BytecodeGenerator;
+import hr.fer.zemris.bf.utils.CompiledExpression;
+import hr.fer.zemris.bf.utils.ExpressionEvaluator;
+
+/**
+ * Benchmark razreda {@link ExpressionEvaluator}, {@link CompiledExpression} i
+ * {@link BytecodeGenerator}. Jedna operacija je izračun vrijednosti izraza za jednu kombinaciju
+ * varijabli.
+ * 
+ * @author Davor Češljaš
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionEvaluatorBenchmark {
+
+	/** Broj varijabli izraza */
+	private static final int VARIABLES = 16;
+
+	/** Broj produkata u izrazu */
+	@Param({ "4", "64" })
+	public int terms;
+
+	/** Izraz koji se izračunava */
+	private Node expression;
+
+	/** Posjetitelj koji izračunava izraz */
+	private ExpressionEvaluator evaluator;
+
+	/** Posjetitelj koji izraz izračunava skraćeno */
+	private ExpressionEvaluator shortCircuitEvaluator;
+
+	/** Prevedeni izraz */
+	private CompiledExpression compiled;
+
+	/** Izraz preveden u bajtkod */
+	private BooleanPredicate generated;
+
+	/** Sve kombinacije varijabli koje se izmjenjuju */
+	private boolean[][] assignments;
+
+	/** Indeks sljedeće kombinacije */
+	private int next;
+
+	/**
+	 * Metoda koja priprema izraz i kombinacije varijabli.
+	 */
+	@Setup
+	public void setup() {
+		List<String> variables = Expressions.variables(VARIABLES);
+		expression = new Parser(Expressions.shallow(variables, terms, 42)).getExpression();
+		evaluator = new ExpressionEvaluator(variables);
+		shortCircuitEvaluator = new ExpressionEvaluator(variables, true);
+		compiled = CompiledExpression.compile(expression, variables);
+		generated = BytecodeGenerator.generate(compiled);
+		assignments = new boolean[1024][VARIABLES];
+		for (int i = 0; i < assignments.length; i++) {
+			for (int j = 0; j < VARIABLES; j++) {
+				assignments[i][j] = ((i * 2654435761L) >>> j & 1) != 0;
+			}
+		}
+	}
+
+	/**
+	 * Benchmark izračuna izraza za jednu kombinaciju varijabli.
+	 *
+	 * @return vrijednost izraza
+	 */
+	@Benchmark
+	public boolean evaluate() {
+		evaluator.setValues(assignments[next++ & (assignments.length - 1)]);
+		expression.accept(evaluator);
+		return evaluator.getResult();
+	}
+
+	/**
+	 * Benchmark skraćenog izračuna izraza za jednu kombinaciju varijabli.
+	 *
+	 * @return vrijednost izraza
+	 */
+	@Benchmark
+	public boolean evaluateShortCircuit() {
+		shortCircuitEvaluator.setValues(assignments[next++ & (assignments.length - 1)]);
+		expression.accept(shortCircuitEvaluator);
+		return shortCircuitEvaluator.getResult();
+	}
+
+	/**
+	 * Benchmark izračuna prevedenog izraza za jednu kombinaciju varijabli.
+	 *
+	 * @return vrijednost izraza
+	 */
+	@Benchmark
+	public boolean evaluateCompiled() {
+		return compiled.evaluate(assignments[next++ & (assignments.length - 1)]);
+	}
+
+	/**
+	 * Benchmark izračuna izraza prevedenog u bajtkod za jednu kombinaciju
+	 * varijabli.
+	 *
+	 * @return vrijednost izraza
+	 */
+	@Benchmark
+	public boolean evaluateGenerated() {
+		return generated.test(assignments[next++ & (assignments.length - 1)]);
+	}
+}
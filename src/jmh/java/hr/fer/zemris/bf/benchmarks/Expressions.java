@@ -0,0 +1,90 @@
+package hr.fer.zemris.bf.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+
+/**
+ * Razred koji se ponaša kao biblioteka metoda za generiranje ulaza
+ * benchmarkova. Svi izrazi i funkcije generiraju se deterministički (uz
+ * zadano sjeme) kako bi rezultati različitih verzija bili usporedivi.
+ * 
+ * @author Davor Češljaš
+ */
+final class Expressions {
+
+	/**
+	 * Konstruktor koji brani stvaranje primjeraka ovog razreda.
+	 */
+	private Expressions() {
+	}
+
+	/**
+	 * Metoda koja stvara {@link List}u naziva varijabli V0, V1, ...
+	 *
+	 * @param numberOfVariables
+	 *            broj varijabli
+	 * @return {@link List} naziva varijabli
+	 */
+	static List<String> variables(int numberOfVariables) {
+		return RandomFunctionGenerator.variables(numberOfVariables);
+	}
+
+	/**
+	 * Metoda koja stvara "plitki" izraz: sumu produkata od <b>terms</b>
+	 * produkata, gdje svaki produkt sadrži tri (moguće negirane) varijable iz
+	 * <b>variables</b>.
+	 *
+	 * @param variables
+	 *            varijable izraza
+	 * @param terms
+	 *            broj produkata
+	 * @param seed
+	 *            sjeme generatora slučajnih brojeva
+	 * @return izraz zapisan kao {@link String}
+	 */
+	static String shallow(List<String> variables, int terms, long seed) {
+		Random random = new Random(seed);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < terms; i++) {
+			if (i != 0) {
+				sb.append(i % 5 == 0 ? " xor " : " or ");
+			}
+			for (int j = 0; j < 3; j++) {
+				if (j != 0) {
+					sb.append(" and ");
+				}
+				if (random.nextBoolean()) {
+					sb.append("not ");
+				}
+				sb.append(variables.get(random.nextInt(variables.size())));
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Metoda koja stvara "duboki" izraz: lanac ugniježđenih zagrada dubine
+	 * <b>depth</b> u kojem se izmjenjuju operatori and, or i xor.
+	 *
+	 * @param variables
+	 *            varijable izraza
+	 * @param depth
+	 *            dubina ugnježđivanja
+	 * @return izraz zapisan kao {@link String}
+	 */
+	static String deep(List<String> variables, int depth) {
+		String[] operators = { " and ", " or ", " xor " };
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < depth; i++) {
+			sb.append(i % 2 == 0 ? "not (" : "(").append(variables.get(i % variables.size()))
+					.append(operators[i % operators.length]);
+		}
+		sb.append(variables.get(depth % variables.size()));
+		for (int i = 0; i < depth; i++) {
+			sb.append(')');
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,90 @@
+package hr.fer.zemris.bf.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import hr.fer.zemris.bf.lexer.Lexer;
+import hr.fer.zemris.bf.lexer.Token;
+import hr.fer.zemris.bf.lexer.TokenType;
+
+/**
+ * Benchmark propusnosti metode {@link Lexer#nextToken()}. Jedna operacija je
+ * leksička analiza čitavog izraza, a broj tokena izraza zapisan je u
+ * {@link #tokens} kako bi se rezultat mogao preračunati u tokene po sekundi.
+ * 
+ * @author Davor Češljaš
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexerBenchmark {
+
+	/** Broj produkata u izrazu koji se leksički analizira */
+	@Param({ "10", "1000" })
+	public int terms;
+
+	/** Izraz koji se leksički analizira */
+	private String expression;
+
+	/** Broj tokena u izrazu (uključujući EOF) */
+	public int tokens;
+
+	/**
+	 * Metoda koja priprema izraz i prebrojava njegove tokene.
+	 */
+	@Setup
+	public void setup() {
+		expression = Expressions.shallow(Expressions.variables(16), terms, 42);
+		tokens = lex(expression, null);
+	}
+
+	/**
+	 * Benchmark leksičke analize čitavog izraza.
+	 *
+	 * @param blackhole
+	 *            ponor u koji se šalju tokeni
+	 * @return broj tokena
+	 */
+	@Benchmark
+	public int nextToken(Blackhole blackhole) {
+		return lex(expression, blackhole);
+	}
+
+	/**
+	 * Pomoćna metoda koja izvlači sve tokene iz izraza <b>expression</b>.
+	 *
+	 * @param expression
+	 *            izraz
+	 * @param blackhole
+	 *            ponor u koji se šalju tokeni (može biti <code>null</code>)
+	 * @return broj tokena
+	 */
+	private static int lex(String expression, Blackhole blackhole) {
+		Lexer lexer = new Lexer(expression);
+		int count = 0;
+		Token token;
+		do {
+			token = lexer.nextToken();
+			count++;
+			if (blackhole != null) {
+				blackhole.consume(token);
+			}
+		} while (token.getTokenType() != TokenType.EOF);
+		return count;
+	}
+}
@@ -0,0 +1,76 @@
+package hr.fer.zemris.bf.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.zemris.bf.qmc.Mask;
+
+/**
+ * Benchmark metode {@link Mask#combineWith(Mask)}, zasebno za uspješno i
+ * neuspješno kombiniranje.
+ * 
+ * @author Davor Češljaš
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaskBenchmark {
+
+	/** Broj varijabli maske */
+	@Param({ "4", "16" })
+	public int variableCount;
+
+	/** Maska s jednom jedinicom */
+	private Mask lower;
+
+	/** Maska koja se s {@link #lower} razlikuje u jednom bitu */
+	private Mask combinable;
+
+	/** Maska koja se s {@link #lower} razlikuje u više bitova */
+	private Mask notCombinable;
+
+	/**
+	 * Metoda koja priprema maske.
+	 */
+	@Setup
+	public void setup() {
+		lower = new Mask(1, variableCount, false);
+		combinable = new Mask(3, variableCount, false);
+		notCombinable = new Mask(6, variableCount, false);
+	}
+
+	/**
+	 * Benchmark uspješnog kombiniranja.
+	 *
+	 * @return rezultat kombiniranja
+	 */
+	@Benchmark
+	public Optional<Mask> combineSuccess() {
+		return lower.combineWith(combinable);
+	}
+
+	/**
+	 * Benchmark neuspješnog kombiniranja.
+	 *
+	 * @return rezultat kombiniranja
+	 */
+	@Benchmark
+	public Optional<Mask> combineFailure() {
+		return lower.combineWith(notCombinable);
+	}
+}
@@ -0,0 +1,74 @@
+package hr.fer.zemris.bf.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.zemris.bf.qmc.Minimizer;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator.RandomFunction;
+
+/**
+ * Benchmark čitave minimizacije razredom {@link Minimizer} nad nasumičnim
+ * (ali reproducibilnim) funkcijama.
+ * 
+ * @author Davor Češljaš
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinimizerBenchmark {
+
+	/** Broj varijabli funkcije */
+	@Param({ "4", "6", "8" })
+	public int variableCount;
+
+	/** Vjerojatnost da je pojedini indeks minterm */
+	@Param({ "0.3", "0.5" })
+	public double onDensity;
+
+	/** Vjerojatnost da je pojedini indeks don't care */
+	@Param({ "0.0", "0.1" })
+	public double dontCareDensity;
+
+	/** Sjeme generatora slučajnih brojeva */
+	@Param({ "42" })
+	public long seed;
+
+	/** Funkcija koja se minimizira */
+	private RandomFunction function;
+
+	/**
+	 * Metoda koja generira funkciju koja se minimizira.
+	 */
+	@Setup
+	public void setup() {
+		function = new RandomFunctionGenerator(seed).next(variableCount, onDensity, dontCareDensity);
+	}
+
+	/**
+	 * Benchmark minimizacije. {@link RandomFunction} pri svakom dohvatu vraća
+	 * kopije skupova jer ih {@link Minimizer} može mijenjati.
+	 *
+	 * @return minimalni oblici funkcije
+	 */
+	@Benchmark
+	public List<String> minimize() {
+		return new Minimizer(function.getMinterms(), function.getDontCares(), function.getVariables())
+				.getMinimalFormsAsString();
+	}
+}
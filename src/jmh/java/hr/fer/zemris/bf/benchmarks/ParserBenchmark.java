@@ -0,0 +1,65 @@
+package hr.fer.zemris.bf.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.parser.Parser;
+
+/**
+ * Benchmark razreda {@link Parser} nad plitkim (široka suma produkata) i
+ * dubokim (ugniježđene zagrade) izrazima.
+ * 
+ * @author Davor Češljaš
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+	/** Oblik izraza: "shallow" ili "deep" */
+	@Param({ "shallow", "deep" })
+	public String shape;
+
+	/** Veličina izraza: broj produkata, odnosno dubina ugnježđivanja */
+	@Param({ "10", "200" })
+	public int size;
+
+	/** Izraz koji se parsira */
+	private String expression;
+
+	/**
+	 * Metoda koja priprema izraz zadanog oblika i veličine.
+	 */
+	@Setup
+	public void setup() {
+		List<String> variables = Expressions.variables(16);
+		expression = shape.equals("deep") ? Expressions.deep(variables, size)
+				: Expressions.shallow(variables, size, 42);
+	}
+
+	/**
+	 * Benchmark parsiranja izraza.
+	 *
+	 * @return vršni čvor generativnog stabla
+	 */
+	@Benchmark
+	public Node parse() {
+		return new Parser(expression).getExpression();
+	}
+}
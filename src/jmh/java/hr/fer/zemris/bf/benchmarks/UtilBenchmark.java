@@ -0,0 +1,96 @@
+package hr.fer.zemris.bf.benchmarks;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.utils.IncrementalEvaluator;
+import hr.fer.zemris.bf.utils.Util;
+
+/**
+ * Benchmark metoda {@link Util#toSumOfMinterms(List, Node)},
+ * {@link Util#truthTable(List, Node)} i inkrementalnog izračuna Grayevim kodom
+ * ({@link IncrementalEvaluator}) u ovisnosti o broju varijabli.
+ * 
+ * @author Davor Češljaš
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilBenchmark {
+
+	/** Broj varijabli funkcije */
+	@Param({ "4", "8", "12", "16" })
+	public int variableCount;
+
+	/** Varijable funkcije */
+	private List<String> variables;
+
+	/** Izraz funkcije */
+	private Node expression;
+
+	/**
+	 * Metoda koja priprema izraz sa zadanim brojem varijabli.
+	 */
+	@Setup
+	public void setup() {
+		variables = Expressions.variables(variableCount);
+		expression = new Parser(Expressions.shallow(variables, 2 * variableCount, 42)).getExpression();
+	}
+
+	/**
+	 * Benchmark izračuna sume minterma.
+	 *
+	 * @return skup minterma
+	 */
+	@Benchmark
+	public Set<Integer> toSumOfMinterms() {
+		return Util.toSumOfMinterms(variables, expression);
+	}
+
+	/**
+	 * Benchmark stvaranja tablice istinitosti.
+	 *
+	 * @return tablica istinitosti
+	 */
+	@Benchmark
+	public BitSet truthTable() {
+		return Util.truthTable(variables, expression);
+	}
+
+	/**
+	 * Benchmark prebrojavanja minterma inkrementalnim izračunom kombinacija
+	 * poretkom Grayevog koda.
+	 *
+	 * @return broj minterma
+	 */
+	@Benchmark
+	public long grayIncremental() {
+		IncrementalEvaluator evaluator = new IncrementalEvaluator(expression, variables);
+		long[] count = { 0 };
+		Util.forEachGray(variables, (values, changed) -> {
+			if (changed < 0 ? evaluator.getResult() : evaluator.flip(changed)) {
+				count[0]++;
+			}
+		});
+		return count[0];
+	}
+}
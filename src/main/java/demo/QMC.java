@@ -11,6 +11,7 @@ import java.util.regex.Pattern;
 import hr.fer.zemris.bf.model.Node;
 import hr.fer.zemris.bf.parser.Parser;
 import hr.fer.zemris.bf.parser.ParserException;
+import hr.fer.zemris.bf.qmc.Cube;
 import hr.fer.zemris.bf.qmc.Minimizer;
 import hr.fer.zemris.bf.utils.Util;
 import hr.fer.zemris.bf.utils.VariablesGetter;
@@ -30,15 +31,23 @@ import hr.fer.zemris.bf.utils.VariablesGetter;
  *1. A AND C OR NOT A AND NOT B AND NOT C OR NOT A AND NOT B AND D
  *2. A AND C OR NOT A AND NOT B AND NOT C OR NOT B AND C AND D
  *3. A AND C OR NOT A AND NOT C AND NOT D OR NOT A AND NOT B AND D
+ *> <b>f(A,B,C,D) = {01--, 100-, 10-1} | {001-, 1100, 1111}</b>
+ *1. NOT A AND B OR A AND NOT B AND NOT C OR C AND D
+ *2. NOT A AND B OR A AND NOT B AND NOT C OR A AND NOT B AND D
+ *3. NOT A AND B OR A AND NOT B AND D OR A AND NOT C AND NOT D
  * <i>
  * </pre>
  * 
  * Razred za parsiranje izraza koristi primjerke razreda {@link Parser} , a za
- * parsiranje uglatih zagrada svoj interni parser. Korisniku se daje na volju
- * kako će unijeti svoju booleovu funkciju (moguća je i kombinacije predhodno
- * pokazana dva načina). Ukoliko je korisnik unio pogrešnu definiciju booleave
- * funkcije program će ispisati poruku, ali će nastaviti s radom. Program
- * završava s radom unosom {@value #EXIT}.
+ * parsiranje uglatih zagrada svoj interni parser. Funkcija se može zadati i
+ * kockama unutar vitičastih zagrada, gdje je svaka kocka niz znakova '0', '1'
+ * i '-' (po jedan za svaku varijablu); tada se kocke ne raspisuju u minterme
+ * već se minimiziraju metodom
+ * {@link Minimizer#fromCubes(java.util.Collection, java.util.Collection,
+ * List)}. Korisniku se daje na volju kako će unijeti svoju booleovu funkciju
+ * (moguća je i kombinacija predhodno pokazanih načina). Ukoliko je korisnik
+ * unio pogrešnu definiciju booleave funkcije program će ispisati poruku, ali
+ * će nastaviti s radom. Program završava s radom unosom {@value #EXIT}.
  * 
  * <pre>
  * <b>Napomena: Ime funkcija i ime varijabli mora započinjati slovom
@@ -76,6 +85,9 @@ public class QMC {
 	/** Konstanta koja predstavlja niz znakova "[" */
 	private static final String OPEN_SQUARE_BRACKET = "[";
 
+	/** Konstanta koja predstavlja niz znakova "{" */
+	private static final String OPEN_CURLY_BRACKET = "{";
+
 	/** Konstanta koja predstavlja niz znakova "," */
 	private static final String COMMA = ",";
 
@@ -128,15 +140,35 @@ public class QMC {
 			throw new IllegalArgumentException("Naveli ste pogrešan broj znakova '|' u Vašem unosu!");
 		}
 
-		Set<Integer> minterms = extractIndexes(mintermsAndDontCares[0].trim(), variables);
+		String mintermsString = mintermsAndDontCares[0].trim();
+		String dontCaresString = mintermsAndDontCares.length == 1 ? "" : mintermsAndDontCares[1].trim();
 		Minimizer minimizer = null;
+		if (mintermsString.startsWith(OPEN_CURLY_BRACKET) || dontCaresString.startsWith(OPEN_CURLY_BRACKET)) {
+			List<Cube> dontCares = dontCaresString.isEmpty() ? new ArrayList<>()
+					: extractCubes(dontCaresString, variables);
+			minimizer = Minimizer.fromCubes(extractCubes(mintermsString, variables), dontCares, variables);
+			printMinimalForms(minimizer);
+			return;
+		}
+
+		Set<Integer> minterms = extractIndexes(mintermsString, variables);
 		if (mintermsAndDontCares.length == 1) {
 			minimizer = new Minimizer(minterms, new LinkedHashSet<>(), variables);
 		} else {
-			Set<Integer> dontCares = extractIndexes(mintermsAndDontCares[1].trim(), variables);
+			Set<Integer> dontCares = extractIndexes(dontCaresString, variables);
 			minimizer = new Minimizer(minterms, dontCares, variables);
 		}
+		printMinimalForms(minimizer);
+	}
 
+	/**
+	 * Pomoćna metoda koja ispisuje sve minimalne oblike koje je pronašao
+	 * <b>minimizer</b>.
+	 *
+	 * @param minimizer
+	 *            minimizator čiji se rezultati ispisuju
+	 */
+	private static void printMinimalForms(Minimizer minimizer) {
 		List<String> minimalForms = minimizer.getMinimalFormsAsString();
 		for (int i = 0, len = minimalForms.size(); i < len; i++) {
 			System.out.printf("%d. %s%n", (i + 1), minimalForms.get(i));
@@ -212,7 +244,8 @@ public class QMC {
 	 * Ukoliko je korisnik zadao izraz kao booleovu funkciju poziva se metoda
 	 * {@link #parseExpression(String, List)}, a ukoliko je korisnik predao
 	 * popis minterma unutar uglatih zagrada poziva se metoda
-	 * {@link #parseInputInsideBrackets(String)}
+	 * {@link #parseInputInsideBrackets(String)}. Svaki indeks mora biti unutar
+	 * raspona koji određuje broj varijabli.
 	 * 
 	 * @param indexesString
 	 *            korisnikov unos za minterme odnosno don't careove
@@ -221,8 +254,12 @@ public class QMC {
 	 *            {@value #EQUALS}
 	 * @return skup {@link Set} svih minterma ili don't careova koje je korisnik
 	 *         zadao.
+	 * @throws IllegalArgumentException
+	 *             ukoliko unos nije ispravan ili neki indeks nije unutar
+	 *             raspona varijabli
 	 */
 	private static Set<Integer> extractIndexes(String indexesString, List<String> passedVariables) {
+		Set<Integer> indexes;
 		if (indexesString.startsWith(OPEN_SQUARE_BRACKET)) {
 			Pattern pattern = Pattern.compile("\\[[^\\[\\]]+\\]");
 			Matcher matcher = pattern.matcher(indexesString);
@@ -230,9 +267,62 @@ public class QMC {
 				throw new IllegalArgumentException("Pogrešan format unosa. Unos mora biti između '[' i ']'");
 			}
 			// ispitano je počinje li i završava li s [ i ]
-			return parseInputInsideBrackets(indexesString.substring(1, indexesString.length() - 1));
+			indexes = parseInputInsideBrackets(indexesString.substring(1, indexesString.length() - 1));
+		} else {
+			indexes = parseExpression(indexesString, passedVariables);
+		}
+		for (int index : indexes) {
+			if (index < 0 || index >= 1 << passedVariables.size()) {
+				throw new IllegalArgumentException("Minterm " + index + " nije unutar raspona varijabli!");
+			}
+		}
+		return indexes;
+	}
+
+	/**
+	 * Pomoćna metoda koja iz predanog parametra <b>cubesString</b> parsira
+	 * {@link List}u kocki koje je korisnik zadao unutar vitičastih zagrada.
+	 * Ukoliko korisnik nije zadao kocke, unos se parsira metodom
+	 * {@link #extractIndexes(String, List)} te se svaki minterm pretvara u
+	 * kocku.
+	 *
+	 * @param cubesString
+	 *            korisnikov unos za minterme odnosno don't careove
+	 * @param passedVariables
+	 *            varijable čiji je popis parsiran s lijeve strane znaka
+	 *            {@value #EQUALS}
+	 * @return {@link List}a kocki koje je korisnik zadao
+	 * @throws IllegalArgumentException
+	 *             ukoliko unos nije ispravan ili kocka nema jednako znakova
+	 *             koliko ima varijabli
+	 */
+	private static List<Cube> extractCubes(String cubesString, List<String> passedVariables) {
+		List<Cube> cubes = new ArrayList<>();
+		if (!cubesString.startsWith(OPEN_CURLY_BRACKET)) {
+			for (int index : extractIndexes(cubesString, passedVariables)) {
+				cubes.add(new Cube(Util.indexToByteArray(index, passedVariables.size())));
+			}
+			return cubes;
+		}
+
+		Pattern pattern = Pattern.compile("\\{[^\\{\\}]*\\}");
+		Matcher matcher = pattern.matcher(cubesString);
+		if (!matcher.matches()) {
+			throw new IllegalArgumentException("Pogrešan format unosa. Unos mora biti između '{' i '}'");
+		}
+		String input = cubesString.substring(1, cubesString.length() - 1).trim();
+		if (input.isEmpty()) {
+			return cubes;
+		}
+		for (String cubeString : input.split(COMMA)) {
+			cubeString = cubeString.trim();
+			if (cubeString.length() != passedVariables.size()) {
+				throw new IllegalArgumentException(
+						"Kocka '" + cubeString + "' mora imati " + passedVariables.size() + " znakova!");
+			}
+			cubes.add(new Cube(cubeString));
 		}
-		return parseExpression(indexesString, passedVariables);
+		return cubes;
 	}
 
 	/**
@@ -0,0 +1,150 @@
+package hr.fer.zemris.bf.bdd;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.BinaryOperatorType;
+import hr.fer.zemris.bf.model.ConstantNode;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.NodeVisitor;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.UnaryOperatorType;
+import hr.fer.zemris.bf.model.VariableNode;
+import hr.fer.zemris.bf.parser.Parser;
+
+/**
+ * Razred koji implementira sučelje {@link NodeVisitor}. Ovaj posjetitelj gradi
+ * dijagram odlučivanja izraza koji je parsiran primjerkom razreda
+ * {@link Parser} unutar zadanog primjerka razreda {@link BddManager}.
+ * Operatori iz enumeracija {@link BinaryOperatorType} i
+ * {@link UnaryOperatorType} svode se na operacije upravitelja, a neprepoznati
+ * operatori primjenjuju se Shannonovim rastavom. Binarni operator s više djece
+ * primjenjuje se jednakim redoslijedom kao u razredu
+ * {@link hr.fer.zemris.bf.utils.ExpressionEvaluator}: od zadnjeg djeteta prema
+ * prvom.
+ *
+ * Primjer uporabe:
+ *
+ * <pre>
+ * BddManager manager = new BddManager(Arrays.asList("A", "B", "C"));
+ * BddBuilder builder = new BddBuilder(manager);
+ * new Parser("a and (b or not c)").getExpression().accept(builder);
+ * int f = manager.ref(builder.getResult());
+ * </pre>
+ *
+ * @see BddManager
+ * @see NodeVisitor
+ *
+ * @author Davor Češljaš
+ */
+public class BddBuilder implements NodeVisitor {
+
+	/** Upravitelj unutar kojeg se gradi dijagram */
+	private final BddManager manager;
+
+	/** Čvor dijagrama zadnjeg posjećenog podizraza */
+	private int result = BddManager.FALSE;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param manager
+	 *            upravitelj unutar kojeg se gradi dijagram
+	 */
+	public BddBuilder(BddManager manager) {
+		this.manager = manager;
+	}
+
+	@Override
+	public void visit(ConstantNode node) {
+		result = node.getValue() ? BddManager.TRUE : BddManager.FALSE;
+	}
+
+	@Override
+	public void visit(VariableNode node) {
+		result = manager.variable(node.getName());
+	}
+
+	@Override
+	public void visit(UnaryOperatorNode node) {
+		node.getChild().accept(this);
+		if (UnaryOperatorType.of(node) == UnaryOperatorType.NOT) {
+			result = manager.not(result);
+			return;
+		}
+
+		UnaryOperator<Boolean> operator = node.getOperator();
+		boolean whenFalse = operator.apply(false);
+		boolean whenTrue = operator.apply(true);
+		if (whenFalse == whenTrue) {
+			result = whenTrue ? BddManager.TRUE : BddManager.FALSE;
+		} else if (whenFalse) {
+			result = manager.not(result);
+		}
+	}
+
+	@Override
+	public void visit(BinaryOperatorNode node) {
+		List<Node> children = node.getChildren();
+		int[] operands = new int[children.size()];
+		for (int i = 0; i < operands.length; i++) {
+			children.get(i).accept(this);
+			// dijagrami djece moraju preživjeti sakupljanje smeća tijekom gradnje ostale djece
+			operands[i] = manager.ref(result);
+		}
+
+		BinaryOperatorType type = BinaryOperatorType.of(node);
+		int accumulator = manager.ref(operands[operands.length - 1]);
+		for (int i = operands.length - 2; i >= 0; i--) {
+			int next = manager.ref(apply(type, node, accumulator, operands[i]));
+			manager.deref(accumulator);
+			accumulator = next;
+		}
+
+		for (int operand : operands) {
+			manager.deref(operand);
+		}
+		manager.deref(accumulator);
+		result = accumulator;
+	}
+
+	/**
+	 * Metoda koja dohvaća čvor dijagrama posjećenog izraza. Čvor nema
+	 * referencu, pa ga pozivatelj mora označiti metodom
+	 * {@link BddManager#ref(int)} prije sljedeće operacije upravitelja.
+	 *
+	 * @return čvor dijagrama posjećenog izraza
+	 */
+	public int getResult() {
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja primjenjuje operator čvora <b>node</b> na dijagrame
+	 * <b>f</b> i <b>g</b>.
+	 *
+	 * @param type
+	 *            prepoznati operator ili <code>null</code>
+	 * @param node
+	 *            čvor binarnog operatora
+	 * @param f
+	 *            prvi operand
+	 * @param g
+	 *            drugi operand
+	 * @return čvor rezultata
+	 */
+	private int apply(BinaryOperatorType type, BinaryOperatorNode node, int f, int g) {
+		if (type == null) {
+			return manager.apply(node.getOperator(), f, g);
+		}
+		switch (type) {
+		case AND:
+			return manager.and(f, g);
+		case OR:
+			return manager.or(f, g);
+		default:
+			return manager.xor(f, g);
+		}
+	}
+}
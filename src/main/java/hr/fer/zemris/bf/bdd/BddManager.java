@@ -0,0 +1,1230 @@
+package hr.fer.zemris.bf.bdd;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+
+import hr.fer.zemris.bf.model.Node;
+
+/**
+ * Razred koji upravlja reduciranim uređenim binarnim dijagramima odlučivanja
+ * (<a href="https://en.wikipedia.org/wiki/Binary_decision_diagram">ROBDD</a>)
+ * nad zadanim varijablama. Čvorovi dijagrama predstavljeni su cijelim brojevima
+ * (indeksima u poljima upravitelja), pri čemu su {@link #FALSE} i {@link #TRUE}
+ * listovi. Svi čvorovi nastaju kroz tablicu jedinstvenih čvorova (engl.
+ * <i>unique table</i>), pa je svaka funkcija predstavljena točno jednim
+ * čvorom: dvije funkcije su jednake ako i samo ako su im čvorovi jednaki, a
+ * funkcija je konstantna ako i samo ako je njen čvor list.
+ * <p>
+ * Sve logičke operacije svode se na operaciju {@link #ite(int, int, int)}
+ * čiji se rezultati pamte u tablici izračunatih rezultata (engl. <i>computed
+ * table</i>). Tablica je izravno adresirana i ograničene veličine, pa novi
+ * rezultat izbacuje stari s istim položajem.
+ * <p>
+ * Upravitelj broji reference na čvorove. Čvor koji pozivatelj želi zadržati
+ * mora označiti metodom {@link #ref(int)} i osloboditi metodom
+ * {@link #deref(int)} kada mu više ne treba. Čvorovi bez referenci uklanjaju se
+ * sakupljanjem smeća ({@link #collectGarbage()}), koje se automatski pokreće
+ * na početku javnih operacija kada broj čvorova prijeđe prag. Zato rezultat
+ * operacije koji nije označen može nestati pri sljedećoj operaciji (operandi
+ * operacije koja je u tijeku su zaštićeni). Primjerci ovog razreda nisu
+ * sigurni za korištenje iz više dretvi.
+ *
+ * @see BddBuilder
+ *
+ * @author Davor Češljaš
+ */
+public final class BddManager {
+
+	/** Čvor konstante <code>false</code> */
+	public static final int FALSE = 0;
+
+	/** Čvor konstante <code>true</code> */
+	public static final int TRUE = 1;
+
+	/** Pretpostavljeni broj bitova indeksa tablice izračunatih rezultata */
+	public static final int DEFAULT_CACHE_BITS = 16;
+
+	/**
+	 * Broj čvorova nakon kojeg se prvi put pokreće automatsko premještanje
+	 * varijabli (vidi {@link #setAutoReorder(boolean)})
+	 */
+	public static final int DEFAULT_REORDER_THRESHOLD = 4096;
+
+	/**
+	 * Najveći dopušteni rast broja čvorova tijekom premještanja jedne varijable
+	 * u odnosu na najmanji do tada postignuti broj
+	 */
+	public static final double DEFAULT_MAX_GROWTH = 1.2;
+
+	/** Početni kapacitet polja čvorova */
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/** Početna veličina tablice jedinstvenih čvorova pojedine varijable */
+	private static final int INITIAL_BUCKETS = 16;
+
+	/** Varijable nad kojima se grade dijagrami */
+	private final List<String> variables;
+
+	/** {@link Map}a koja ime varijable preslikava u redni broj */
+	private final Map<String, Integer> positions = new HashMap<>();
+
+	/** Redni broj varijable svakog čvora, -1 za listove i slobodne čvorove */
+	private int[] vars;
+
+	/** Nasljednik za vrijednost <code>false</code> varijable čvora */
+	private int[] lows;
+
+	/** Nasljednik za vrijednost <code>true</code> varijable čvora */
+	private int[] highs;
+
+	/** Broj referenci na svaki čvor (vanjskih i od roditelja) */
+	private int[] refs;
+
+	/** Sljedeći čvor u lancu tablice ili u listi slobodnih čvorova */
+	private int[] next;
+
+	/** Broj iskorištenih mjesta u poljima čvorova */
+	private int used = 2;
+
+	/** Početak liste slobodnih čvorova, 0 ako je lista prazna */
+	private int freeList;
+
+	/** Broj čvorova unutar tablice jedinstvenih čvorova */
+	private int nodeCount;
+
+	/** Broj čvorova nakon kojeg se pokreće sakupljanje smeća */
+	private int gcThreshold = INITIAL_CAPACITY * 64;
+
+	/** Tablice jedinstvenih čvorova, po jedna za svaku varijablu */
+	private int[][] buckets;
+
+	/** Broj čvorova unutar tablice svake varijable */
+	private int[] bucketCounts;
+
+	/** Razina svake varijable (0 je vrh dijagrama) */
+	private int[] varToLevel;
+
+	/** Varijabla na svakoj razini */
+	private int[] levelToVar;
+
+	/** Zastavica koja označava je li uključeno automatsko premještanje */
+	private boolean autoReorder;
+
+	/** Broj čvorova nakon kojeg se pokreće automatsko premještanje */
+	private int reorderThreshold = DEFAULT_REORDER_THRESHOLD;
+
+	/** Statistike svih dosadašnjih premještanja */
+	private final List<ReorderStatistics> reorderings = new ArrayList<>();
+
+	/** Maska indeksa tablice izračunatih rezultata */
+	private final int cacheMask;
+
+	/** Prvi operand svakog zapisa, -1 za prazan zapis */
+	private final int[] cacheF;
+
+	/** Drugi operand svakog zapisa */
+	private final int[] cacheG;
+
+	/** Treći operand svakog zapisa */
+	private final int[] cacheH;
+
+	/** Rezultat svakog zapisa */
+	private final int[] cacheResults;
+
+	/**
+	 * Konstruktor koji stvara upravitelja nad varijablama <b>variables</b> s
+	 * tablicom izračunatih rezultata od 2<sup>{@value #DEFAULT_CACHE_BITS}</sup>
+	 * zapisa. Početni poredak varijabli u dijagramu jednak je poretku unutar
+	 * liste.
+	 *
+	 * @param variables
+	 *            {@link List} varijabli
+	 * @throws IllegalArgumentException
+	 *             ukoliko se varijabla ponavlja
+	 */
+	public BddManager(List<String> variables) {
+		this(variables, DEFAULT_CACHE_BITS);
+	}
+
+	/**
+	 * Konstruktor koji stvara upravitelja nad varijablama <b>variables</b> s
+	 * tablicom izračunatih rezultata od 2<sup><b>cacheBits</b></sup> zapisa.
+	 * Početni poredak varijabli u dijagramu jednak je poretku unutar liste.
+	 *
+	 * @param variables
+	 *            {@link List} varijabli
+	 * @param cacheBits
+	 *            broj bitova indeksa tablice izračunatih rezultata
+	 * @throws IllegalArgumentException
+	 *             ukoliko se varijabla ponavlja ili <b>cacheBits</b> nije
+	 *             unutar intervala [1, 30]
+	 */
+	public BddManager(List<String> variables, int cacheBits) {
+		if (cacheBits < 1 || cacheBits > 30) {
+			throw new IllegalArgumentException("Neispravan broj bitova tablice rezultata: " + cacheBits);
+		}
+
+		int n = variables.size();
+		this.variables = Collections.unmodifiableList(new ArrayList<>(variables));
+		for (int i = 0; i < n; i++) {
+			if (positions.put(variables.get(i), i) != null) {
+				throw new IllegalArgumentException("Varijabla se ponavlja: " + variables.get(i));
+			}
+		}
+
+		vars = new int[INITIAL_CAPACITY];
+		lows = new int[INITIAL_CAPACITY];
+		highs = new int[INITIAL_CAPACITY];
+		refs = new int[INITIAL_CAPACITY];
+		next = new int[INITIAL_CAPACITY];
+		vars[FALSE] = vars[TRUE] = -1;
+
+		buckets = new int[n][INITIAL_BUCKETS];
+		bucketCounts = new int[n];
+		varToLevel = new int[n];
+		levelToVar = new int[n];
+		for (int i = 0; i < n; i++) {
+			varToLevel[i] = levelToVar[i] = i;
+		}
+
+		int cacheSize = 1 << cacheBits;
+		cacheMask = cacheSize - 1;
+		cacheF = new int[cacheSize];
+		cacheG = new int[cacheSize];
+		cacheH = new int[cacheSize];
+		cacheResults = new int[cacheSize];
+		Arrays.fill(cacheF, -1);
+	}
+
+	/**
+	 * Metoda koja dohvaća varijable upravitelja.
+	 *
+	 * @return nepromjenjiva {@link List} varijabli
+	 */
+	public List<String> getVariables() {
+		return variables;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj varijabli upravitelja.
+	 *
+	 * @return broj varijabli
+	 */
+	public int getVariableCount() {
+		return variables.size();
+	}
+
+	/**
+	 * Metoda koja dohvaća redni broj varijable <b>name</b>.
+	 *
+	 * @param name
+	 *            ime varijable
+	 * @return redni broj varijable
+	 * @throws IllegalStateException
+	 *             ukoliko upravitelj nema takvu varijablu
+	 */
+	public int indexOf(String name) {
+		Integer position = positions.get(name);
+		if (position == null) {
+			throw new IllegalStateException("Unutar predanih varijabli ne postoji varijabla: " + name);
+		}
+		return position;
+	}
+
+	/**
+	 * Metoda koja dohvaća čvor funkcije koja je jednaka varijabli s rednim
+	 * brojem <b>index</b>.
+	 *
+	 * @param index
+	 *            redni broj varijable
+	 * @return čvor funkcije varijable
+	 */
+	public int variable(int index) {
+		return mk(index, FALSE, TRUE);
+	}
+
+	/**
+	 * Metoda koja dohvaća čvor funkcije koja je jednaka varijabli
+	 * <b>name</b>.
+	 *
+	 * @param name
+	 *            ime varijable
+	 * @return čvor funkcije varijable
+	 * @throws IllegalStateException
+	 *             ukoliko upravitelj nema takvu varijablu
+	 */
+	public int variable(String name) {
+		return variable(indexOf(name));
+	}
+
+	/**
+	 * Metoda koja gradi dijagram izraza <b>expression</b> primjerkom razreda
+	 * {@link BddBuilder}.
+	 *
+	 * @param expression
+	 *            vršni čvor izraza
+	 * @return čvor dijagrama izraza (bez reference)
+	 * @throws IllegalStateException
+	 *             ukoliko se u izrazu pojavljuje varijabla koju upravitelj nema
+	 */
+	public int build(Node expression) {
+		BddBuilder builder = new BddBuilder(this);
+		expression.accept(builder);
+		return builder.getResult();
+	}
+
+	/**
+	 * Metoda koja dodaje referencu na čvor <b>f</b>. Čvor s referencom ne
+	 * uklanja se sakupljanjem smeća.
+	 *
+	 * @param f
+	 *            čvor dijagrama
+	 * @return čvor <b>f</b>
+	 */
+	public int ref(int f) {
+		refs[f]++;
+		return f;
+	}
+
+	/**
+	 * Metoda koja uklanja referencu na čvor <b>f</b> dodanu metodom
+	 * {@link #ref(int)}.
+	 *
+	 * @param f
+	 *            čvor dijagrama
+	 * @throws IllegalStateException
+	 *             ukoliko čvor nema referenci
+	 */
+	public void deref(int f) {
+		if (refs[f] == 0) {
+			throw new IllegalStateException("Čvor " + f + " nema referenci!");
+		}
+		refs[f]--;
+	}
+
+	/**
+	 * Metoda koja računa funkciju "ako <b>f</b> onda <b>g</b> inače
+	 * <b>h</b>", tj. <code>(f and g) or (not f and h)</code>.
+	 *
+	 * @param f
+	 *            čvor uvjeta
+	 * @param g
+	 *            čvor funkcije kada je uvjet ispunjen
+	 * @param h
+	 *            čvor funkcije kada uvjet nije ispunjen
+	 * @return čvor rezultata
+	 */
+	public int ite(int f, int g, int h) {
+		maybeCollect(f, g, h);
+		return iteRec(f, g, h);
+	}
+
+	/**
+	 * Metoda koja računa negaciju funkcije <b>f</b>.
+	 *
+	 * @param f
+	 *            čvor funkcije
+	 * @return čvor rezultata
+	 */
+	public int not(int f) {
+		return ite(f, FALSE, TRUE);
+	}
+
+	/**
+	 * Metoda koja računa logičko I funkcija <b>f</b> i <b>g</b>.
+	 *
+	 * @param f
+	 *            čvor prve funkcije
+	 * @param g
+	 *            čvor druge funkcije
+	 * @return čvor rezultata
+	 */
+	public int and(int f, int g) {
+		return ite(f, g, FALSE);
+	}
+
+	/**
+	 * Metoda koja računa logičko ILI funkcija <b>f</b> i <b>g</b>.
+	 *
+	 * @param f
+	 *            čvor prve funkcije
+	 * @param g
+	 *            čvor druge funkcije
+	 * @return čvor rezultata
+	 */
+	public int or(int f, int g) {
+		return ite(f, TRUE, g);
+	}
+
+	/**
+	 * Metoda koja računa isključivo ILI funkcija <b>f</b> i <b>g</b>.
+	 *
+	 * @param f
+	 *            čvor prve funkcije
+	 * @param g
+	 *            čvor druge funkcije
+	 * @return čvor rezultata
+	 */
+	public int xor(int f, int g) {
+		maybeCollect(f, g, FALSE);
+		return iteRec(f, iteRec(g, FALSE, TRUE), g);
+	}
+
+	/**
+	 * Metoda koja primjenjuje proizvoljni binarni operator <b>operator</b> na
+	 * funkcije <b>f</b> i <b>g</b> Shannonovim rastavom. Za operatore iz
+	 * enumeracije {@link hr.fer.zemris.bf.model.BinaryOperatorType} brže je
+	 * koristiti {@link #and(int, int)}, {@link #or(int, int)} i
+	 * {@link #xor(int, int)}.
+	 *
+	 * @param operator
+	 *            binarni operator
+	 * @param f
+	 *            čvor prve funkcije
+	 * @param g
+	 *            čvor druge funkcije
+	 * @return čvor rezultata
+	 */
+	public int apply(BinaryOperator<Boolean> operator, int f, int g) {
+		maybeCollect(f, g, FALSE);
+		return applyRec(operator, f, g, new HashMap<>());
+	}
+
+	/**
+	 * Metoda koja provjerava je li funkcija <b>f</b> konstanta.
+	 *
+	 * @param f
+	 *            čvor funkcije
+	 * @return <code>true</code> ukoliko je <b>f</b> {@link #TRUE} ili
+	 *         {@link #FALSE}
+	 */
+	public boolean isConstant(int f) {
+		return f == FALSE || f == TRUE;
+	}
+
+	/**
+	 * Metoda koja dohvaća redni broj varijable čvora <b>f</b>.
+	 *
+	 * @param f
+	 *            čvor koji nije list
+	 * @return redni broj varijable
+	 */
+	public int getVariable(int f) {
+		return vars[f];
+	}
+
+	/**
+	 * Metoda koja dohvaća nasljednika čvora <b>f</b> za vrijednost
+	 * <code>false</code> njegove varijable.
+	 *
+	 * @param f
+	 *            čvor koji nije list
+	 * @return nasljednik čvora
+	 */
+	public int getLow(int f) {
+		return lows[f];
+	}
+
+	/**
+	 * Metoda koja dohvaća nasljednika čvora <b>f</b> za vrijednost
+	 * <code>true</code> njegove varijable.
+	 *
+	 * @param f
+	 *            čvor koji nije list
+	 * @return nasljednik čvora
+	 */
+	public int getHigh(int f) {
+		return highs[f];
+	}
+
+	/**
+	 * Metoda koja dohvaća razinu varijable s rednim brojem <b>variable</b>
+	 * unutar dijagrama (0 je vrh).
+	 *
+	 * @param variable
+	 *            redni broj varijable
+	 * @return razina varijable
+	 */
+	public int getLevel(int variable) {
+		return varToLevel[variable];
+	}
+
+	/**
+	 * Metoda koja dohvaća redni broj varijable na razini <b>level</b>.
+	 *
+	 * @param level
+	 *            razina dijagrama
+	 * @return redni broj varijable
+	 */
+	public int getVariableAtLevel(int level) {
+		return levelToVar[level];
+	}
+
+	/**
+	 * Metoda koja računa vrijednost funkcije <b>f</b> za vrijednosti varijabli
+	 * <b>values</b> prolaskom od korijena do lista.
+	 *
+	 * @param f
+	 *            čvor funkcije
+	 * @param values
+	 *            vrijednosti varijabli
+	 * @return vrijednost funkcije
+	 * @throws IllegalArgumentException
+	 *             ukoliko je predan pogrešan broj vrijednosti
+	 */
+	public boolean evaluate(int f, boolean[] values) {
+		checkLength(values);
+		while (f > TRUE) {
+			f = values[vars[f]] ? highs[f] : lows[f];
+		}
+		return f == TRUE;
+	}
+
+	/**
+	 * Metoda koja računa broj kombinacija varijabli za koje funkcija <b>f</b>
+	 * ima vrijednost <code>true</code>. Vrijeme izvođenja proporcionalno je
+	 * veličini dijagrama, a ne broju kombinacija.
+	 *
+	 * @param f
+	 *            čvor funkcije
+	 * @return broj minterma funkcije
+	 */
+	public BigInteger satCount(int f) {
+		return satCountRec(f, new HashMap<>()).shiftLeft(level(f));
+	}
+
+	/**
+	 * Metoda koja pronalazi jednu kombinaciju varijabli za koju funkcija
+	 * <b>f</b> ima vrijednost <code>true</code>. Varijable o kojima vrijednost
+	 * ne ovisi postavljaju se na <code>false</code>.
+	 *
+	 * @param f
+	 *            čvor funkcije
+	 * @return vrijednosti varijabli ili <code>null</code> ukoliko je
+	 *         <b>f</b> {@link #FALSE}
+	 */
+	public boolean[] satOne(int f) {
+		if (f == FALSE) {
+			return null;
+		}
+		boolean[] values = new boolean[variables.size()];
+		while (f != TRUE) {
+			// reducirani dijagram nema čvor čija su oba nasljednika FALSE
+			boolean high = lows[f] == FALSE;
+			values[vars[f]] = high;
+			f = high ? highs[f] : lows[f];
+		}
+		return values;
+	}
+
+	/**
+	 * Metoda koja vraća uzlazno poredane redne brojeve minterma funkcije
+	 * <b>f</b> (redni broj odgovara metodi
+	 * {@link hr.fer.zemris.bf.utils.Util#booleanArrayToInt(boolean[])}).
+	 * Minterme se izvode iz putova dijagrama, pa vrijeme izvođenja ovisi o
+	 * veličini rezultata, a ne o broju kombinacija.
+	 *
+	 * @param f
+	 *            čvor funkcije
+	 * @return {@link Set} rednih brojeva minterma
+	 * @throws IllegalArgumentException
+	 *             ukoliko upravitelj ima više od 31 varijable ili minterma ima
+	 *             previše za jedno polje
+	 */
+	public Set<Integer> toSumOfMinterms(int f) {
+		int n = variables.size();
+		if (n >= Integer.SIZE) {
+			throw new IllegalArgumentException("Redni brojevi minterma " + n + " varijabli ne stanu u int!");
+		}
+		BigInteger count = satCount(f);
+		if (count.bitLength() > 30) {
+			throw new IllegalArgumentException("Previše minterma: " + count);
+		}
+
+		int[] minterms = new int[count.intValue()];
+		int[] size = { 0 };
+		collectMinterms(f, 0, 0, minterms, size);
+		Arrays.sort(minterms);
+
+		Set<Integer> result = new LinkedHashSet<>();
+		for (int minterm : minterms) {
+			result.add(minterm);
+		}
+		return result;
+	}
+
+	/**
+	 * Metoda koja računa broj čvorova dijagrama funkcije <b>f</b>, uključujući
+	 * listove.
+	 *
+	 * @param f
+	 *            čvor funkcije
+	 * @return broj čvorova dijagrama
+	 */
+	public int nodeCount(int f) {
+		BitSet visited = new BitSet(used);
+		int[] stack = new int[variables.size() + 2];
+		int top = 0;
+		int count = 0;
+		stack[top++] = f;
+		visited.set(f);
+		while (top > 0) {
+			int node = stack[--top];
+			count++;
+			for (int k = 0; node > TRUE && k < 2; k++) {
+				int child = k == 0 ? lows[node] : highs[node];
+				if (!visited.get(child)) {
+					visited.set(child);
+					if (top == stack.length) {
+						stack = Arrays.copyOf(stack, 2 * top);
+					}
+					stack[top++] = child;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Metoda koja dohvaća ukupan broj čvorova unutar tablice jedinstvenih
+	 * čvorova, uključujući čvorove bez referenci koji još nisu uklonjeni
+	 * (listovi se ne broje).
+	 *
+	 * @return ukupan broj čvorova
+	 */
+	public int size() {
+		return nodeCount;
+	}
+
+	/**
+	 * Metoda koja uklanja sve čvorove do kojih se ne može doći iz čvorova s
+	 * vanjskom referencom i prazni tablicu izračunatih rezultata.
+	 *
+	 * @return broj uklonjenih čvorova
+	 */
+	public int collectGarbage() {
+		int before = nodeCount;
+		// djeca su uvijek na nižoj razini, pa obilazak od vrha oslobađa i
+		// čvorove kojima su reference pale na nulu tijekom obilaska
+		for (int level = 0; level < levelToVar.length; level++) {
+			int var = levelToVar[level];
+			int[] table = buckets[var];
+			for (int i = 0; i < table.length; i++) {
+				int previous = 0;
+				for (int node = table[i]; node != 0;) {
+					int following = next[node];
+					if (refs[node] == 0) {
+						if (previous == 0) {
+							table[i] = following;
+						} else {
+							next[previous] = following;
+						}
+						free(node);
+						bucketCounts[var]--;
+					} else {
+						previous = node;
+					}
+					node = following;
+				}
+			}
+		}
+		clearCache();
+		return before - nodeCount;
+	}
+
+	/**
+	 * Metoda koja premješta varijable Rudellovim postupkom prosijavanja (engl.
+	 * <i>sifting</i>): svaka varijabla, od one s najviše čvorova, pomiče se
+	 * kroz sve razine i ostavlja na razini s najmanjim ukupnim brojem čvorova.
+	 * Čvorovi zadržavaju svoje indekse, pa postojeće reference ostaju
+	 * ispravne, no čvorovi bez referenci se uklanjaju.
+	 *
+	 * @return statistika premještanja
+	 */
+	public ReorderStatistics reorder() {
+		return record(Sifting.sift(this, DEFAULT_MAX_GROWTH));
+	}
+
+	/**
+	 * Metoda koja postavlja poredak varijabli u dijagramu na <b>order</b>
+	 * (prva varijabla je na vrhu), npr. poredak koji vraća metoda
+	 * {@link VariableOrder#dfsOrder(Node, List)}. Čvorovi zadržavaju svoje
+	 * indekse, pa postojeće reference ostaju ispravne, no čvorovi bez
+	 * referenci se uklanjaju.
+	 *
+	 * @param order
+	 *            {@link List} svih varijabli upravitelja željenim poretkom
+	 * @return statistika premještanja
+	 * @throws IllegalArgumentException
+	 *             ukoliko <b>order</b> nije permutacija varijabli upravitelja
+	 */
+	public ReorderStatistics setVariableOrder(List<String> order) {
+		if (order.size() != variables.size() || !positions.keySet().containsAll(order)) {
+			throw new IllegalArgumentException("Poredak nije permutacija varijabli: " + order);
+		}
+		return record(Sifting.moveTo(this, order));
+	}
+
+	/**
+	 * Metoda koja uključuje ili isključuje automatsko premještanje varijabli.
+	 * Kada je uključeno, premještanje metodom {@link #reorder()} pokreće se na
+	 * početku javne operacije kada broj čvorova prijeđe prag, koji se nakon
+	 * toga postavlja na dvostruki broj preostalih čvorova.
+	 *
+	 * @param enabled
+	 *            <code>true</code> za uključivanje automatskog premještanja
+	 */
+	public void setAutoReorder(boolean enabled) {
+		this.autoReorder = enabled;
+	}
+
+	/**
+	 * Metoda koja provjerava je li uključeno automatsko premještanje
+	 * varijabli.
+	 *
+	 * @return <code>true</code> ukoliko je automatsko premještanje uključeno
+	 */
+	public boolean isAutoReorder() {
+		return autoReorder;
+	}
+
+	/**
+	 * Metoda koja dohvaća statistike svih dosadašnjih premještanja varijabli,
+	 * redoslijedom kojim su se dogodila.
+	 *
+	 * @return nepromjenjiva {@link List} statistika
+	 */
+	public List<ReorderStatistics> getReorderStatistics() {
+		return Collections.unmodifiableList(reorderings);
+	}
+
+	/**
+	 * Metoda koja zamjenjuje varijable na razinama <b>level</b> i
+	 * <b>level</b> + 1. Čvorovi gornje varijable koji ovise o donjoj
+	 * preoblikuju se na mjestu, pa zadržavaju svoje indekse, a čvorovi donje
+	 * varijable koji time ostanu bez referenci odmah se uklanjaju.
+	 *
+	 * @param level
+	 *            razina gornje varijable
+	 */
+	void swapLevels(int level) {
+		int x = levelToVar[level];
+		int y = levelToVar[level + 1];
+
+		int[] nodes = new int[bucketCounts[x]];
+		int count = 0;
+		for (int head : buckets[x]) {
+			for (int node = head; node != 0; node = next[node]) {
+				nodes[count++] = node;
+			}
+		}
+		buckets[x] = new int[buckets[x].length];
+		bucketCounts[x] = 0;
+		nodeCount -= count;
+
+		// čvorovi koji ne ovise o y samo se spuštaju za jednu razinu
+		int moved = 0;
+		for (int i = 0; i < count; i++) {
+			int node = nodes[i];
+			if (vars[lows[node]] == y || vars[highs[node]] == y) {
+				nodes[moved++] = node;
+			} else {
+				insert(node);
+			}
+		}
+
+		for (int i = 0; i < moved; i++) {
+			int f = nodes[i];
+			int f0 = lows[f];
+			int f1 = highs[f];
+			int f00 = vars[f0] == y ? lows[f0] : f0;
+			int f01 = vars[f0] == y ? highs[f0] : f0;
+			int f10 = vars[f1] == y ? lows[f1] : f1;
+			int f11 = vars[f1] == y ? highs[f1] : f1;
+
+			int low = mk(x, f00, f10);
+			int high = mk(x, f01, f11);
+			refs[low]++;
+			refs[high]++;
+			refs[f0]--;
+			refs[f1]--;
+			vars[f] = y;
+			lows[f] = low;
+			highs[f] = high;
+			insert(f);
+		}
+
+		levelToVar[level] = y;
+		levelToVar[level + 1] = x;
+		varToLevel[y] = level;
+		varToLevel[x] = level + 1;
+
+		int dead = 0;
+		for (int head : buckets[y]) {
+			for (int node = head; node != 0; node = next[node]) {
+				if (refs[node] == 0) {
+					nodes = dead == nodes.length ? Arrays.copyOf(nodes, 2 * dead + 1) : nodes;
+					nodes[dead++] = node;
+				}
+			}
+		}
+		for (int i = 0; i < dead; i++) {
+			removeDead(nodes[i]);
+		}
+		clearCache();
+	}
+
+	/**
+	 * Metoda koja dohvaća broj čvorova varijable s rednim brojem
+	 * <b>variable</b>.
+	 *
+	 * @param variable
+	 *            redni broj varijable
+	 * @return broj čvorova varijable
+	 */
+	int variableSize(int variable) {
+		return bucketCounts[variable];
+	}
+
+	/**
+	 * Pomoćna metoda koja bilježi statistiku premještanja.
+	 *
+	 * @param statistics
+	 *            statistika premještanja
+	 * @return statistika <b>statistics</b>
+	 */
+	private ReorderStatistics record(ReorderStatistics statistics) {
+		reorderings.add(statistics);
+		return statistics;
+	}
+
+	/**
+	 * Pomoćna metoda koja pokreće sakupljanje smeća kada broj čvorova prijeđe
+	 * prag, štiteći operande operacije.
+	 *
+	 * @param f
+	 *            prvi operand
+	 * @param g
+	 *            drugi operand
+	 * @param h
+	 *            treći operand
+	 */
+	private void maybeCollect(int f, int g, int h) {
+		boolean reorder = autoReorder && nodeCount >= reorderThreshold;
+		if (nodeCount < gcThreshold && !reorder) {
+			return;
+		}
+		refs[f]++;
+		refs[g]++;
+		refs[h]++;
+		if (reorder) {
+			// premještanje samo počinje sakupljanjem smeća
+			reorder();
+			reorderThreshold = Math.max(reorderThreshold, 2 * nodeCount);
+		} else {
+			collectGarbage();
+		}
+		refs[f]--;
+		refs[g]--;
+		refs[h]--;
+		if (nodeCount > gcThreshold / 2) {
+			gcThreshold *= 2;
+		}
+	}
+
+	/**
+	 * Metoda koja rekurzivno računa operaciju {@link #ite(int, int, int)} bez
+	 * sakupljanja smeća i premještanja varijabli, pa je sigurna za korištenje
+	 * usred izračuna koji pamti čvorove bez referenci.
+	 *
+	 * @param f
+	 *            čvor uvjeta
+	 * @param g
+	 *            čvor funkcije kada je uvjet ispunjen
+	 * @param h
+	 *            čvor funkcije kada uvjet nije ispunjen
+	 * @return čvor rezultata
+	 */
+	int iteRec(int f, int g, int h) {
+		if (f == TRUE) {
+			return g;
+		}
+		if (f == FALSE) {
+			return h;
+		}
+		if (g == h) {
+			return g;
+		}
+		if (g == TRUE && h == FALSE) {
+			return f;
+		}
+
+		int slot = cacheSlot(f, g, h);
+		if (cacheF[slot] == f && cacheG[slot] == g && cacheH[slot] == h) {
+			return cacheResults[slot];
+		}
+
+		int top = Math.min(level(f), Math.min(level(g), level(h)));
+		int var = levelToVar[top];
+		int low = iteRec(lowOf(f, top), lowOf(g, top), lowOf(h, top));
+		int high = iteRec(highOf(f, top), highOf(g, top), highOf(h, top));
+		int result = mk(var, low, high);
+
+		cacheF[slot] = f;
+		cacheG[slot] = g;
+		cacheH[slot] = h;
+		cacheResults[slot] = result;
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja rekurzivno primjenjuje proizvoljni binarni operator.
+	 *
+	 * @param operator
+	 *            binarni operator
+	 * @param f
+	 *            čvor prve funkcije
+	 * @param g
+	 *            čvor druge funkcije
+	 * @param computed
+	 *            {@link Map}a već izračunatih rezultata
+	 * @return čvor rezultata
+	 */
+	private int applyRec(BinaryOperator<Boolean> operator, int f, int g, Map<Long, Integer> computed) {
+		if (isConstant(f) && isConstant(g)) {
+			return operator.apply(f == TRUE, g == TRUE) ? TRUE : FALSE;
+		}
+
+		long key = (long) f << Integer.SIZE | g;
+		Integer known = computed.get(key);
+		if (known != null) {
+			return known;
+		}
+
+		int top = Math.min(level(f), level(g));
+		int low = applyRec(operator, lowOf(f, top), lowOf(g, top), computed);
+		int high = applyRec(operator, highOf(f, top), highOf(g, top), computed);
+		int result = mk(levelToVar[top], low, high);
+		computed.put(key, result);
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja rekurzivno računa broj minterma funkcije <b>f</b>
+	 * nad varijablama od razine čvora do dna dijagrama.
+	 *
+	 * @param f
+	 *            čvor funkcije
+	 * @param computed
+	 *            {@link Map}a već izračunatih rezultata
+	 * @return broj minterma
+	 */
+	private BigInteger satCountRec(int f, Map<Integer, BigInteger> computed) {
+		if (f == FALSE) {
+			return BigInteger.ZERO;
+		}
+		if (f == TRUE) {
+			return BigInteger.ONE;
+		}
+		BigInteger known = computed.get(f);
+		if (known != null) {
+			return known;
+		}
+
+		int level = level(f);
+		BigInteger low = satCountRec(lows[f], computed).shiftLeft(level(lows[f]) - level - 1);
+		BigInteger high = satCountRec(highs[f], computed).shiftLeft(level(highs[f]) - level - 1);
+		BigInteger result = low.add(high);
+		computed.put(f, result);
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja zapisuje minterme svih putova od čvora <b>f</b> do
+	 * lista {@link #TRUE}, proširujući varijable koje se na putu ne pojavljuju.
+	 *
+	 * @param f
+	 *            čvor funkcije
+	 * @param level
+	 *            razina od koje se varijable još nisu odredile
+	 * @param prefix
+	 *            bitovi određenih varijabli
+	 * @param minterms
+	 *            polje minterma
+	 * @param size
+	 *            broj zapisanih minterma
+	 */
+	private void collectMinterms(int f, int level, int prefix, int[] minterms, int[] size) {
+		if (f == FALSE) {
+			return;
+		}
+		int n = variables.size();
+		int nodeLevel = level(f);
+		if (level < nodeLevel) {
+			int bit = 1 << (n - 1 - levelToVar[level]);
+			collectMinterms(f, level + 1, prefix, minterms, size);
+			collectMinterms(f, level + 1, prefix | bit, minterms, size);
+			return;
+		}
+		if (f == TRUE) {
+			minterms[size[0]++] = prefix;
+			return;
+		}
+		int bit = 1 << (n - 1 - vars[f]);
+		collectMinterms(lows[f], level + 1, prefix, minterms, size);
+		collectMinterms(highs[f], level + 1, prefix | bit, minterms, size);
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća postojeći ili stvara novi čvor s varijablom
+	 * <b>var</b> i nasljednicima <b>low</b> i <b>high</b>.
+	 *
+	 * @param var
+	 *            redni broj varijable
+	 * @param low
+	 *            nasljednik za vrijednost <code>false</code>
+	 * @param high
+	 *            nasljednik za vrijednost <code>true</code>
+	 * @return čvor
+	 */
+	int mk(int var, int low, int high) {
+		if (low == high) {
+			return low;
+		}
+
+		int[] table = buckets[var];
+		int index = hash(low, high) & (table.length - 1);
+		for (int node = table[index]; node != 0; node = next[node]) {
+			if (lows[node] == low && highs[node] == high) {
+				return node;
+			}
+		}
+
+		int node = allocate();
+		vars[node] = var;
+		lows[node] = low;
+		highs[node] = high;
+		refs[node] = 0;
+		refs[low]++;
+		refs[high]++;
+		insert(node);
+		return node;
+	}
+
+	/**
+	 * Pomoćna metoda koja umeće čvor u tablicu jedinstvenih čvorova njegove
+	 * varijable.
+	 *
+	 * @param node
+	 *            čvor
+	 */
+	private void insert(int node) {
+		int var = vars[node];
+		int[] table = buckets[var];
+		int index = hash(lows[node], highs[node]) & (table.length - 1);
+		next[node] = table[index];
+		table[index] = node;
+		nodeCount++;
+		if (++bucketCounts[var] > table.length) {
+			rehash(var);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja uklanja čvor bez referenci iz tablice jedinstvenih
+	 * čvorova, a zatim i njegove nasljednike koji time ostanu bez referenci.
+	 *
+	 * @param node
+	 *            čvor bez referenci
+	 */
+	private void removeDead(int node) {
+		int var = vars[node];
+		int[] table = buckets[var];
+		int index = hash(lows[node], highs[node]) & (table.length - 1);
+		if (table[index] == node) {
+			table[index] = next[node];
+		} else {
+			int previous = table[index];
+			while (next[previous] != node) {
+				previous = next[previous];
+			}
+			next[previous] = next[node];
+		}
+		bucketCounts[var]--;
+
+		int low = lows[node];
+		int high = highs[node];
+		free(node);
+		if (low > TRUE && refs[low] == 0) {
+			removeDead(low);
+		}
+		// nasljednik je možda već uklonjen kroz lanac od prvog nasljednika
+		if (high > TRUE && vars[high] >= 0 && refs[high] == 0) {
+			removeDead(high);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća slobodan čvor iz liste slobodnih čvorova ili
+	 * proširuje polja čvorova.
+	 *
+	 * @return indeks slobodnog čvora
+	 */
+	private int allocate() {
+		if (freeList != 0) {
+			int node = freeList;
+			freeList = next[node];
+			return node;
+		}
+		if (used == vars.length) {
+			int capacity = 2 * used;
+			vars = Arrays.copyOf(vars, capacity);
+			lows = Arrays.copyOf(lows, capacity);
+			highs = Arrays.copyOf(highs, capacity);
+			refs = Arrays.copyOf(refs, capacity);
+			next = Arrays.copyOf(next, capacity);
+		}
+		return used++;
+	}
+
+	/**
+	 * Pomoćna metoda koja vraća čvor u listu slobodnih čvorova i uklanja
+	 * reference na njegove nasljednike.
+	 *
+	 * @param node
+	 *            čvor koji se oslobađa
+	 */
+	private void free(int node) {
+		refs[lows[node]]--;
+		refs[highs[node]]--;
+		vars[node] = -1;
+		next[node] = freeList;
+		freeList = node;
+		nodeCount--;
+	}
+
+	/**
+	 * Pomoćna metoda koja udvostručuje tablicu jedinstvenih čvorova varijable
+	 * <b>var</b>.
+	 *
+	 * @param var
+	 *            redni broj varijable
+	 */
+	private void rehash(int var) {
+		int[] old = buckets[var];
+		int[] table = new int[2 * old.length];
+		for (int head : old) {
+			for (int node = head; node != 0;) {
+				int following = next[node];
+				int index = hash(lows[node], highs[node]) & (table.length - 1);
+				next[node] = table[index];
+				table[index] = node;
+				node = following;
+			}
+		}
+		buckets[var] = table;
+	}
+
+	/**
+	 * Pomoćna metoda koja prazni tablicu izračunatih rezultata.
+	 */
+	private void clearCache() {
+		Arrays.fill(cacheF, -1);
+	}
+
+	/**
+	 * Metoda koja dohvaća razinu čvora <b>f</b>. Listovi su ispod svih
+	 * varijabli.
+	 *
+	 * @param f
+	 *            čvor
+	 * @return razina čvora
+	 */
+	int level(int f) {
+		return f > TRUE ? varToLevel[vars[f]] : levelToVar.length;
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća kofaktor čvora <b>f</b> za vrijednost
+	 * <code>false</code> varijable na razini <b>level</b>.
+	 *
+	 * @param f
+	 *            čvor
+	 * @param level
+	 *            razina varijable
+	 * @return kofaktor
+	 */
+	private int lowOf(int f, int level) {
+		return level(f) == level ? lows[f] : f;
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća kofaktor čvora <b>f</b> za vrijednost
+	 * <code>true</code> varijable na razini <b>level</b>.
+	 *
+	 * @param f
+	 *            čvor
+	 * @param level
+	 *            razina varijable
+	 * @return kofaktor
+	 */
+	private int highOf(int f, int level) {
+		return level(f) == level ? highs[f] : f;
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava broj predanih vrijednosti varijabli.
+	 *
+	 * @param values
+	 *            vrijednosti varijabli
+	 * @throws IllegalArgumentException
+	 *             ukoliko je predan pogrešan broj vrijednosti
+	 */
+	private void checkLength(boolean[] values) {
+		if (values.length != variables.size()) {
+			throw new IllegalArgumentException(
+					String.format("Predali ste netočan broj booleovih vrijednosti. Tražio sam: %d dobio sam: %d",
+							variables.size(), values.length));
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja računa sažetak para nasljednika.
+	 *
+	 * @param low
+	 *            nasljednik za vrijednost <code>false</code>
+	 * @param high
+	 *            nasljednik za vrijednost <code>true</code>
+	 * @return sažetak
+	 */
+	private static int hash(int low, int high) {
+		int h = low * 0x9E3779B1 + high;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Pomoćna metoda koja računa položaj zapisa unutar tablice izračunatih
+	 * rezultata.
+	 *
+	 * @param f
+	 *            prvi operand
+	 * @param g
+	 *            drugi operand
+	 * @param h
+	 *            treći operand
+	 * @return položaj zapisa
+	 */
+	private int cacheSlot(int f, int g, int h) {
+		int hash = ((f * 0x9E3779B1 + g) * 0x85EBCA6B + h) * 0xC2B2AE35;
+		return (hash ^ (hash >>> 15)) & cacheMask;
+	}
+}
@@ -0,0 +1,455 @@
+package hr.fer.zemris.bf.bdd;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.qmc.Cube;
+import hr.fer.zemris.bf.qmc.Mask;
+
+/**
+ * Razred koji računa sve primarne implikante funkcije implicitno, postupkom
+ * Couderta i Madrea: funkcija je zadana dijagramom odlučivanja
+ * ({@link BddManager}), a skup primarnih implikanata gradi se kao ZDD nad
+ * literalima (za svaku varijablu jedan pozitivni i jedan negativni literal)
+ * rekurzijom
+ *
+ * <pre>
+ * P(f) = P(f0 and f1) + x'(P(f0) - P(f0 and f1)) + x(P(f1) - P(f0 and f1))
+ * </pre>
+ *
+ * pa ni mintermi ni primarni implikanti nikada ne moraju biti pobrojani. Za
+ * razliku od stupaca tablice razreda {@link hr.fer.zemris.bf.qmc.Minimizer},
+ * postupak je primjenjiv i na funkcije s 30-40 varijabli.
+ * <p>
+ * Pokrivanje se također bira nad implicitnim prikazom: dok postoji
+ * nepokriveni minterm, iz ZDD-a se izdvajaju primarni implikanti koji ga
+ * sadrže i uzima onaj koji pokriva najviše nepokrivenih minterma (ili, ako ih
+ * je previše za pobrojavanje, onaj s najmanje literala). Na kraju se uklanjaju
+ * suvišni implikanti. Pokrivanje je zato nesuvišno, ali ne nužno minimalno.
+ * Svi rezultati računaju se u konstruktoru; primjerci ovog razreda su
+ * nepromjenjivi.
+ *
+ * @author Davor Češljaš
+ */
+public final class ImplicitPrimes {
+
+	/**
+	 * Najveći broj primarnih implikanata koji sadrže odabrani minterm koji se
+	 * pobrojavaju prilikom odabira pokrivanja
+	 */
+	public static final int MAX_ENUMERATED_CANDIDATES = 64;
+
+	/** Upravitelj dijagrama funkcije */
+	private final BddManager manager;
+
+	/** Varijable funkcije */
+	private final List<String> variables;
+
+	/** Varijabla na svakoj razini dijagrama u trenutku izračuna */
+	private final int[] levelToVar;
+
+	/** Upravitelj ZDD-a primarnih implikanata */
+	private final ZddManager zdd = new ZddManager();
+
+	/** ZDD primarnih implikanata */
+	private final int primes;
+
+	/** Odabrano pokrivanje */
+	private final List<Cube> cover;
+
+	/**
+	 * Konstruktor koji računa primarne implikante i pokrivanje funkcije čiji
+	 * je skup jedinica <b>onSet</b>, a skup don't careova <b>dontCareSet</b>.
+	 * Primarni implikanti računaju se za funkciju <code>onSet or
+	 * dontCareSet</code>, a zadržavaju se samo oni koji pokrivaju barem jednu
+	 * jedinicu. Tijekom izračuna ne pokreće se sakupljanje smeća niti
+	 * premještanje varijabli upravitelja.
+	 *
+	 * @param manager
+	 *            upravitelj dijagrama
+	 * @param onSet
+	 *            čvor skupa jedinica
+	 * @param dontCareSet
+	 *            čvor skupa don't careova ({@link BddManager#FALSE} ukoliko
+	 *            ih nema)
+	 * @throws IllegalArgumentException
+	 *             ukoliko se skupovi preklapaju
+	 */
+	public ImplicitPrimes(BddManager manager, int onSet, int dontCareSet) {
+		if (manager.iteRec(onSet, dontCareSet, BddManager.FALSE) != BddManager.FALSE) {
+			throw new IllegalArgumentException("Skup jedinica ima preklapanja sa skupom don't careova");
+		}
+
+		this.manager = manager;
+		this.variables = manager.getVariables();
+		this.levelToVar = new int[variables.size()];
+		for (int level = 0; level < levelToVar.length; level++) {
+			levelToVar[level] = manager.getVariableAtLevel(level);
+		}
+
+		int upper = manager.iteRec(onSet, BddManager.TRUE, dontCareSet);
+		int all = primes(upper, new HashMap<>());
+		this.primes = dontCareSet == BddManager.FALSE ? all : restrict(all, onSet, new HashMap<>());
+		this.cover = Collections.unmodifiableList(selectCover(onSet, dontCareSet));
+	}
+
+	/**
+	 * Metoda koja računa primarne implikante i pokrivanje izraza
+	 * <b>expression</b> bez don't careova. Dijagram se gradi uz početni
+	 * poredak varijabli {@link VariableOrder#dfsOrder(Node, List)}.
+	 *
+	 * @param expression
+	 *            vršni čvor izraza
+	 * @param variables
+	 *            {@link List} varijabli izraza
+	 * @return primarni implikanti i pokrivanje izraza
+	 * @throws IllegalStateException
+	 *             ukoliko se u izrazu pojavljuje varijabla koja nije unutar
+	 *             <b>variables</b>
+	 */
+	public static ImplicitPrimes of(Node expression, List<String> variables) {
+		BddManager manager = new BddManager(variables);
+		manager.setVariableOrder(VariableOrder.dfsOrder(expression, variables));
+		int f = manager.ref(manager.build(expression));
+		return new ImplicitPrimes(manager, f, BddManager.FALSE);
+	}
+
+	/**
+	 * Metoda koja dohvaća broj primarnih implikanata bez njihovog
+	 * pobrojavanja.
+	 *
+	 * @return broj primarnih implikanata
+	 */
+	public BigInteger getPrimeCount() {
+		return zdd.count(primes);
+	}
+
+	/**
+	 * Metoda koja pobrojava sve primarne implikante. Broj primarnih
+	 * implikanata može rasti eksponencijalno s brojem varijabli, pa je prije
+	 * poziva dobro provjeriti {@link #getPrimeCount()}.
+	 *
+	 * @return {@link List} primarnih implikanata
+	 */
+	public List<Cube> getPrimes() {
+		List<Cube> result = new ArrayList<>();
+		zdd.forEach(primes, 2 * variables.size(), members -> result.add(toCube(members)));
+		return result;
+	}
+
+	/**
+	 * Metoda koja dohvaća odabrano nesuvišno pokrivanje primarnim
+	 * implikantima.
+	 *
+	 * @return nepromjenjiva {@link List} primarnih implikanata pokrivanja
+	 */
+	public List<Cube> getCover() {
+		return cover;
+	}
+
+	/**
+	 * Metoda koja dohvaća pokrivanje kao {@link List} primjeraka razreda
+	 * {@link Mask}. Maska pamti sve svoje minterme, pa je metoda prikladna
+	 * samo za funkcije s malim brojem varijabli (vidi
+	 * {@link Cube#toMask(boolean)}).
+	 *
+	 * @return {@link List} maski pokrivanja
+	 * @throws IllegalArgumentException
+	 *             ukoliko neki implikant ima previše minterma za masku
+	 */
+	public List<Mask> getCoverAsMasks() {
+		List<Mask> masks = new ArrayList<>();
+		for (Cube cube : cover) {
+			masks.add(cube.toMask(false));
+		}
+		return masks;
+	}
+
+	/**
+	 * Metoda koja dohvaća pokrivanje kao izraz oblika sume produkata.
+	 *
+	 * @return izraz pokrivanja
+	 */
+	public Node getCoverAsExpression() {
+		return Cube.toSumOfProducts(cover, variables);
+	}
+
+	/**
+	 * Pomoćna metoda koja rekurzivno računa ZDD primarnih implikanata funkcije
+	 * <b>f</b>.
+	 *
+	 * @param f
+	 *            čvor funkcije
+	 * @param computed
+	 *            {@link Map}a već izračunatih rezultata
+	 * @return ZDD primarnih implikanata
+	 */
+	private int primes(int f, Map<Integer, Integer> computed) {
+		if (f == BddManager.FALSE) {
+			return ZddManager.EMPTY;
+		}
+		if (f == BddManager.TRUE) {
+			return ZddManager.BASE;
+		}
+		Integer known = computed.get(f);
+		if (known != null) {
+			return known;
+		}
+
+		int level = manager.level(f);
+		int f0 = manager.getLow(f);
+		int f1 = manager.getHigh(f);
+		int common = primes(manager.iteRec(f0, f1, BddManager.FALSE), computed);
+		int negative = zdd.diff(primes(f0, computed), common);
+		int positive = zdd.diff(primes(f1, computed), common);
+
+		int result = zdd.mk(positive(level), zdd.mk(negative(level), common, negative), positive);
+		computed.put(f, result);
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja iz ZDD-a kocki <b>p</b> izdvaja kocke koje imaju
+	 * barem jedan zajednički minterm s funkcijom <b>f</b>.
+	 *
+	 * @param p
+	 *            ZDD kocki
+	 * @param f
+	 *            čvor funkcije
+	 * @param computed
+	 *            {@link Map}a već izračunatih rezultata
+	 * @return ZDD kocki koje sijeku funkciju
+	 */
+	private int restrict(int p, int f, Map<Long, Integer> computed) {
+		if (p == ZddManager.EMPTY || f == BddManager.FALSE) {
+			return ZddManager.EMPTY;
+		}
+		if (f == BddManager.TRUE || p == ZddManager.BASE) {
+			return p;
+		}
+		long key = (long) p << Integer.SIZE | f;
+		Integer known = computed.get(key);
+		if (known != null) {
+			return known;
+		}
+
+		int level = Math.min(zdd.var(p) / 2, manager.level(f));
+		int withPositive = ZddManager.EMPTY;
+		int rest = p;
+		if (zdd.var(rest) == positive(level)) {
+			withPositive = zdd.high(rest);
+			rest = zdd.low(rest);
+		}
+		int withNegative = ZddManager.EMPTY;
+		if (zdd.var(rest) == negative(level)) {
+			withNegative = zdd.high(rest);
+			rest = zdd.low(rest);
+		}
+		boolean split = manager.level(f) == level;
+		int f0 = split ? manager.getLow(f) : f;
+		int f1 = split ? manager.getHigh(f) : f;
+
+		// kocka bez literala varijable siječe f ako siječe bilo koji kofaktor
+		int none = restrict(rest, manager.iteRec(f0, BddManager.TRUE, f1), computed);
+		int result = zdd.mk(positive(level), zdd.mk(negative(level), none, restrict(withNegative, f0, computed)),
+				restrict(withPositive, f1, computed));
+		computed.put(key, result);
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja bira nesuvišno pokrivanje skupa jedinica
+	 * <b>onSet</b>.
+	 *
+	 * @param onSet
+	 *            čvor skupa jedinica
+	 * @param dontCareSet
+	 *            čvor skupa don't careova
+	 * @return {@link List} primarnih implikanata pokrivanja
+	 */
+	private List<Cube> selectCover(int onSet, int dontCareSet) {
+		List<Cube> chosen = new ArrayList<>();
+		int uncovered = onSet;
+		while (uncovered != BddManager.FALSE) {
+			int minterm = toBdd(new Cube(toLiterals(manager.satOne(uncovered))));
+			int candidates = restrict(primes, minterm, new HashMap<>());
+			Cube best = zdd.count(candidates).compareTo(BigInteger.valueOf(MAX_ENUMERATED_CANDIDATES)) <= 0
+					? mostCovering(candidates, uncovered)
+					: largest(candidates);
+			chosen.add(best);
+			uncovered = manager.iteRec(toBdd(best), BddManager.FALSE, uncovered);
+		}
+
+		// uklanjanje implikanata čije jedinice pokrivaju ostali
+		for (int i = chosen.size() - 1; i >= 0; i--) {
+			int others = dontCareSet;
+			for (int j = 0; j < chosen.size(); j++) {
+				others = j == i ? others : manager.iteRec(toBdd(chosen.get(j)), BddManager.TRUE, others);
+			}
+			if (manager.iteRec(onSet, manager.iteRec(others, BddManager.FALSE, BddManager.TRUE),
+					BddManager.FALSE) == BddManager.FALSE) {
+				chosen.remove(i);
+			}
+		}
+		return chosen;
+	}
+
+	/**
+	 * Pomoćna metoda koja među kockama <b>candidates</b> bira onu koja pokriva
+	 * najviše minterma funkcije <b>uncovered</b>, a među jednakima onu s
+	 * najmanje literala.
+	 *
+	 * @param candidates
+	 *            ZDD kocki
+	 * @param uncovered
+	 *            čvor nepokrivenih minterma
+	 * @return odabrana kocka
+	 */
+	private Cube mostCovering(int candidates, int uncovered) {
+		Cube[] best = { null };
+		BigInteger[] bestCount = { BigInteger.ONE.negate() };
+		zdd.forEach(candidates, 2 * variables.size(), members -> {
+			Cube cube = toCube(members);
+			BigInteger count = manager.satCount(manager.iteRec(toBdd(cube), uncovered, BddManager.FALSE));
+			int compare = count.compareTo(bestCount[0]);
+			if (compare > 0 || compare == 0 && cube.literalCount() < best[0].literalCount()) {
+				best[0] = cube;
+				bestCount[0] = count;
+			}
+		});
+		return best[0];
+	}
+
+	/**
+	 * Pomoćna metoda koja među kockama <b>candidates</b> bira onu s najmanje
+	 * literala, najkraćim putom kroz ZDD.
+	 *
+	 * @param candidates
+	 *            neprazan ZDD kocki
+	 * @return odabrana kocka
+	 */
+	private Cube largest(int candidates) {
+		Map<Integer, Integer> costs = new HashMap<>();
+		boolean[] members = new boolean[2 * variables.size()];
+		for (int p = candidates; p != ZddManager.BASE;) {
+			int highCost = cost(zdd.high(p), costs) + 1;
+			if (cost(zdd.low(p), costs) <= highCost) {
+				p = zdd.low(p);
+			} else {
+				members[zdd.var(p)] = true;
+				p = zdd.high(p);
+			}
+		}
+		return toCube(members);
+	}
+
+	/**
+	 * Pomoćna metoda koja računa najmanji broj literala kocke unutar ZDD-a
+	 * <b>p</b>.
+	 *
+	 * @param p
+	 *            ZDD kocki
+	 * @param costs
+	 *            {@link Map}a već izračunatih rezultata
+	 * @return najmanji broj literala, ili {@link Integer#MAX_VALUE} / 2 za
+	 *         prazan skup
+	 */
+	private int cost(int p, Map<Integer, Integer> costs) {
+		if (p == ZddManager.EMPTY) {
+			return Integer.MAX_VALUE / 2;
+		}
+		if (p == ZddManager.BASE) {
+			return 0;
+		}
+		Integer known = costs.get(p);
+		if (known == null) {
+			known = Math.min(cost(zdd.low(p), costs), cost(zdd.high(p), costs) + 1);
+			costs.put(p, known);
+		}
+		return known;
+	}
+
+	/**
+	 * Pomoćna metoda koja gradi dijagram kocke <b>cube</b>.
+	 *
+	 * @param cube
+	 *            kocka
+	 * @return čvor dijagrama kocke
+	 */
+	private int toBdd(Cube cube) {
+		int node = BddManager.TRUE;
+		for (int level = levelToVar.length - 1; level >= 0; level--) {
+			int var = levelToVar[level];
+			byte literal = cube.getLiteral(var);
+			if (literal == Cube.POSITIVE) {
+				node = manager.mk(var, BddManager.FALSE, node);
+			} else if (literal == Cube.NEGATIVE) {
+				node = manager.mk(var, node, BddManager.FALSE);
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * Pomoćna metoda koja oznake literala puta kroz ZDD pretvara u kocku.
+	 *
+	 * @param members
+	 *            oznake literala (pozitivni literal razine <i>l</i> je
+	 *            2<i>l</i>, a negativni 2<i>l</i> + 1)
+	 * @return kocka
+	 */
+	private Cube toCube(boolean[] members) {
+		byte[] values = new byte[variables.size()];
+		for (int level = 0; level < levelToVar.length; level++) {
+			int var = levelToVar[level];
+			values[var] = members[positive(level)] ? Cube.POSITIVE
+					: members[negative(level)] ? Cube.NEGATIVE : Cube.NOT_IN_PRODUCT;
+		}
+		return new Cube(values);
+	}
+
+	/**
+	 * Pomoćna metoda koja vrijednosti varijabli pretvara u vrijednosti kocke
+	 * jednog minterma.
+	 *
+	 * @param values
+	 *            vrijednosti varijabli
+	 * @return vrijednosti kocke
+	 */
+	private static byte[] toLiterals(boolean[] values) {
+		byte[] literals = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			literals[i] = values[i] ? Cube.POSITIVE : Cube.NEGATIVE;
+		}
+		return literals;
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća ZDD varijablu pozitivnog literala razine
+	 * <b>level</b>.
+	 *
+	 * @param level
+	 *            razina dijagrama
+	 * @return ZDD varijabla
+	 */
+	private static int positive(int level) {
+		return 2 * level;
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća ZDD varijablu negativnog literala razine
+	 * <b>level</b>.
+	 *
+	 * @param level
+	 *            razina dijagrama
+	 * @return ZDD varijabla
+	 */
+	private static int negative(int level) {
+		return 2 * level + 1;
+	}
+}
@@ -0,0 +1,113 @@
+package hr.fer.zemris.bf.bdd;
+
+/**
+ * Razred koji predstavlja statistiku jednog premještanja varijabli unutar
+ * primjerka razreda {@link BddManager}: broj čvorova prije i poslije
+ * premještanja, broj zamjena susjednih razina i trajanje. Broj čvorova prije
+ * premještanja mjeri se nakon sakupljanja smeća, pa smanjenje odražava samo
+ * učinak poretka. Primjerci ovog razreda su nepromjenjivi.
+ *
+ * @see BddManager#getReorderStatistics()
+ *
+ * @author Davor Češljaš
+ */
+public final class ReorderStatistics {
+
+	/** Naziv postupka premještanja */
+	private final String method;
+
+	/** Broj čvorova prije premještanja */
+	private final int nodesBefore;
+
+	/** Broj čvorova poslije premještanja */
+	private final int nodesAfter;
+
+	/** Broj zamjena susjednih razina */
+	private final int swaps;
+
+	/** Trajanje premještanja u nanosekundama */
+	private final long nanos;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param method
+	 *            naziv postupka premještanja
+	 * @param nodesBefore
+	 *            broj čvorova prije premještanja
+	 * @param nodesAfter
+	 *            broj čvorova poslije premještanja
+	 * @param swaps
+	 *            broj zamjena susjednih razina
+	 * @param nanos
+	 *            trajanje premještanja u nanosekundama
+	 */
+	ReorderStatistics(String method, int nodesBefore, int nodesAfter, int swaps, long nanos) {
+		this.method = method;
+		this.nodesBefore = nodesBefore;
+		this.nodesAfter = nodesAfter;
+		this.swaps = swaps;
+		this.nanos = nanos;
+	}
+
+	/**
+	 * Metoda koja dohvaća naziv postupka premještanja.
+	 *
+	 * @return naziv postupka premještanja
+	 */
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj čvorova prije premještanja.
+	 *
+	 * @return broj čvorova prije premještanja
+	 */
+	public int getNodesBefore() {
+		return nodesBefore;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj čvorova poslije premještanja.
+	 *
+	 * @return broj čvorova poslije premještanja
+	 */
+	public int getNodesAfter() {
+		return nodesAfter;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj zamjena susjednih razina.
+	 *
+	 * @return broj zamjena susjednih razina
+	 */
+	public int getSwaps() {
+		return swaps;
+	}
+
+	/**
+	 * Metoda koja dohvaća trajanje premještanja u nanosekundama.
+	 *
+	 * @return trajanje premještanja u nanosekundama
+	 */
+	public long getNanos() {
+		return nanos;
+	}
+
+	/**
+	 * Metoda koja računa relativno smanjenje broja čvorova.
+	 *
+	 * @return udio uklonjenih čvorova iz intervala (-&infin;, 1], 0 ukoliko
+	 *         prije premještanja nije bilo čvorova
+	 */
+	public double getReduction() {
+		return nodesBefore == 0 ? 0 : 1 - (double) nodesAfter / nodesBefore;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: %d -> %d čvorova (%.1f%%), %d zamjena, %.3f ms", method, nodesBefore, nodesAfter,
+				100 * getReduction(), swaps, nanos / 1e6);
+	}
+}
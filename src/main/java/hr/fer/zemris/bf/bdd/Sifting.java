@@ -0,0 +1,132 @@
+package hr.fer.zemris.bf.bdd;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Razred koji premješta varijable primjerka razreda {@link BddManager}
+ * zamjenama susjednih razina. Nudi Rudellovo prosijavanje (engl.
+ * <i>sifting</i>) i postavljanje zadanog poretka.
+ *
+ * @see BddManager#reorder()
+ * @see BddManager#setVariableOrder(List)
+ *
+ * @author Davor Češljaš
+ */
+final class Sifting {
+
+	/**
+	 * Defaultni konstruktor koji brani stvaranje primjeraka ovog razreda. Ova
+	 * operacija je zabranjena jer ovaj razred predstavlja biblioteku statičkih
+	 * metoda.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             ukoliko korisnik pokuša stvoriti primjerak ovog razreda
+	 */
+	private Sifting() {
+		throw new UnsupportedOperationException("Nemožete stvorit primjerka razreda: " + this.getClass());
+	}
+
+	/**
+	 * Metoda koja prosijava varijable upravitelja <b>manager</b>: varijable se
+	 * obrađuju od one s najviše čvorova, svaka se pomiče prvo prema bližem pa
+	 * prema daljem kraju dijagrama i ostavlja na razini s najmanjim brojem
+	 * čvorova. Pomicanje u jednom smjeru prekida se kada broj čvorova naraste
+	 * iznad <b>maxGrowth</b> puta najmanjeg do tada postignutog broja.
+	 *
+	 * @param manager
+	 *            upravitelj dijagrama
+	 * @param maxGrowth
+	 *            najveći dopušteni relativni rast broja čvorova
+	 * @return statistika premještanja
+	 */
+	static ReorderStatistics sift(BddManager manager, double maxGrowth) {
+		long start = System.nanoTime();
+		manager.collectGarbage();
+		int before = manager.size();
+
+		int n = manager.getVariableCount();
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparingInt((Integer var) -> manager.variableSize(var)).reversed());
+
+		int swaps = 0;
+		for (int var : order) {
+			swaps += siftVariable(manager, var, maxGrowth);
+		}
+		return new ReorderStatistics("sifting", before, manager.size(), swaps, System.nanoTime() - start);
+	}
+
+	/**
+	 * Metoda koja postavlja poredak varijabli upravitelja <b>manager</b> na
+	 * <b>order</b>, dižući redom svaku varijablu na njenu razinu.
+	 *
+	 * @param manager
+	 *            upravitelj dijagrama
+	 * @param order
+	 *            {@link List} svih varijabli upravitelja željenim poretkom
+	 * @return statistika premještanja
+	 */
+	static ReorderStatistics moveTo(BddManager manager, List<String> order) {
+		long start = System.nanoTime();
+		manager.collectGarbage();
+		int before = manager.size();
+
+		int swaps = 0;
+		for (int target = 0; target < order.size(); target++) {
+			int var = manager.indexOf(order.get(target));
+			for (int level = manager.getLevel(var); level > target; level--) {
+				manager.swapLevels(level - 1);
+				swaps++;
+			}
+		}
+		return new ReorderStatistics("static", before, manager.size(), swaps, System.nanoTime() - start);
+	}
+
+	/**
+	 * Pomoćna metoda koja prosijava jednu varijablu.
+	 *
+	 * @param manager
+	 *            upravitelj dijagrama
+	 * @param var
+	 *            redni broj varijable
+	 * @param maxGrowth
+	 *            najveći dopušteni relativni rast broja čvorova
+	 * @return broj zamjena susjednih razina
+	 */
+	private static int siftVariable(BddManager manager, int var, double maxGrowth) {
+		int last = manager.getVariableCount() - 1;
+		int level = manager.getLevel(var);
+		int best = manager.size();
+		int bestLevel = level;
+		int swaps = 0;
+
+		boolean upFirst = level < last - level;
+		for (int pass = 0; pass < 2; pass++) {
+			boolean up = upFirst == (pass == 0);
+			while (up ? level > 0 : level < last) {
+				manager.swapLevels(up ? level - 1 : level);
+				level += up ? -1 : 1;
+				swaps++;
+
+				int size = manager.size();
+				if (size < best) {
+					best = size;
+					bestLevel = level;
+				} else if (size > maxGrowth * best) {
+					break;
+				}
+			}
+		}
+
+		for (; level != bestLevel; swaps++) {
+			boolean up = level > bestLevel;
+			manager.swapLevels(up ? level - 1 : level);
+			level += up ? -1 : 1;
+		}
+		return swaps;
+	}
+}
@@ -0,0 +1,164 @@
+package hr.fer.zemris.bf.bdd;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.ConstantNode;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.NodeVisitor;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.VariableNode;
+
+/**
+ * Razred koji nudi statičke heuristike za početni poredak varijabli u
+ * dijagramu odlučivanja. Za razliku od abecednog poretka koji vraća
+ * {@link hr.fer.zemris.bf.utils.VariablesGetter}, poredak se izvodi iz
+ * strukture izraza, pa varijable koje se pojavljuju zajedno završavaju na
+ * susjednim razinama. Poredak se postavlja metodom
+ * {@link BddManager#setVariableOrder(List)}.
+ *
+ * @author Davor Češljaš
+ */
+public final class VariableOrder {
+
+	/**
+	 * Defaultni konstruktor koji brani stvaranje primjeraka ovog razreda. Ova
+	 * operacija je zabranjena jer ovaj razred predstavlja biblioteku statičkih
+	 * metoda.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             ukoliko korisnik pokuša stvoriti primjerak ovog razreda
+	 */
+	private VariableOrder() {
+		throw new UnsupportedOperationException("Nemožete stvorit primjerka razreda: " + this.getClass());
+	}
+
+	/**
+	 * Metoda koja računa poredak varijabli obilaskom izraza u dubinu: djeca
+	 * binarnog operatora obilaze se od onog s najvećim ulaznim stožcem (brojem
+	 * pojavljivanja varijabli u podizrazu), a varijabla se dodaje u poredak pri
+	 * prvom pojavljivanju. Varijable iz <b>variables</b> koje se ne pojavljuju
+	 * u izrazu dodaju se na kraj, poretkom iz liste.
+	 *
+	 * @param expression
+	 *            vršni čvor izraza
+	 * @param variables
+	 *            {@link List} varijabli
+	 * @return {@link List} varijabli iz <b>variables</b> predloženim poretkom
+	 * @throws IllegalStateException
+	 *             ukoliko se u izrazu pojavljuje varijabla koja nije unutar
+	 *             <b>variables</b>
+	 */
+	public static List<String> dfsOrder(Node expression, List<String> variables) {
+		ConeSizes sizes = new ConeSizes();
+		expression.accept(sizes);
+		DepthFirst order = new DepthFirst(sizes.sizes);
+		expression.accept(order);
+
+		for (String variable : order.order) {
+			if (!variables.contains(variable)) {
+				throw new IllegalStateException("Unutar predanih varijabli ne postoji varijabla: " + variable);
+			}
+		}
+		Set<String> result = new LinkedHashSet<>(order.order);
+		result.addAll(variables);
+		return new ArrayList<>(result);
+	}
+
+	/**
+	 * Posjetitelj koji za svaki čvor izraza računa broj pojavljivanja
+	 * varijabli u njegovom podizrazu.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class ConeSizes implements NodeVisitor {
+
+		/** Veličine ulaznih stožaca po čvorovima */
+		private Map<Node, Integer> sizes = new IdentityHashMap<>();
+
+		/** Veličina stožca zadnjeg posjećenog čvora */
+		private int last;
+
+		@Override
+		public void visit(ConstantNode node) {
+			last = 0;
+			sizes.put(node, last);
+		}
+
+		@Override
+		public void visit(VariableNode node) {
+			last = 1;
+			sizes.put(node, last);
+		}
+
+		@Override
+		public void visit(UnaryOperatorNode node) {
+			node.getChild().accept(this);
+			sizes.put(node, last);
+		}
+
+		@Override
+		public void visit(BinaryOperatorNode node) {
+			int size = 0;
+			for (Node child : node.getChildren()) {
+				child.accept(this);
+				size += last;
+			}
+			last = size;
+			sizes.put(node, last);
+		}
+	}
+
+	/**
+	 * Posjetitelj koji obilazi izraz u dubinu, djecu od one s najvećim ulaznim
+	 * stožcem, i bilježi varijable pri prvom pojavljivanju.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class DepthFirst implements NodeVisitor {
+
+		/** Veličine ulaznih stožaca po čvorovima */
+		private Map<Node, Integer> sizes;
+
+		/** Varijable redoslijedom prvog pojavljivanja */
+		private Set<String> order = new LinkedHashSet<>();
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda.
+		 *
+		 * @param sizes
+		 *            veličine ulaznih stožaca po čvorovima
+		 */
+		public DepthFirst(Map<Node, Integer> sizes) {
+			this.sizes = sizes;
+		}
+
+		@Override
+		public void visit(ConstantNode node) {
+		}
+
+		@Override
+		public void visit(VariableNode node) {
+			order.add(node.getName());
+		}
+
+		@Override
+		public void visit(UnaryOperatorNode node) {
+			node.getChild().accept(this);
+		}
+
+		@Override
+		public void visit(BinaryOperatorNode node) {
+			List<Node> children = new ArrayList<>(node.getChildren());
+			// sortiranje je stabilno, pa djeca jednake veličine zadržavaju poredak
+			children.sort(Comparator.comparingInt((Node child) -> sizes.get(child)).reversed());
+			children.forEach(child -> child.accept(this));
+		}
+	}
+}
@@ -0,0 +1,370 @@
+package hr.fer.zemris.bf.bdd;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Razred koji upravlja dijagramima odlučivanja s potiskivanjem nula (engl.
+ * <i>zero-suppressed decision diagram</i>, ZDD). ZDD predstavlja skup
+ * skupova varijabli: put od korijena do lista {@link #BASE} je jedan skup
+ * koji sadrži varijable čijim je <i>high</i> nasljednikom put prošao. Čvor
+ * čiji je <i>high</i> nasljednik {@link #EMPTY} se ne stvara, pa varijable
+ * koje se ne pojavljuju ne zauzimaju čvorove, što ZDD čini prikladnim za
+ * rijetke skupove kocki. Varijable su poredane po rednom broju (manji broj je
+ * bliže korijenu). Čvorovi se nikada ne uklanjaju, pa je upravitelj namijenjen
+ * jednom izračunu. Primjerci ovog razreda nisu sigurni za korištenje iz više
+ * dretvi.
+ *
+ * @author Davor Češljaš
+ */
+final class ZddManager {
+
+	/** Prazan skup */
+	static final int EMPTY = 0;
+
+	/** Skup koji sadrži samo prazan skup */
+	static final int BASE = 1;
+
+	/** Redni broj varijable listova, veći od svake varijable */
+	private static final int TERMINAL = Integer.MAX_VALUE;
+
+	/** Oznaka operacije unije u tablici izračunatih rezultata */
+	private static final int OP_UNION = 1;
+
+	/** Oznaka operacije razlike u tablici izračunatih rezultata */
+	private static final int OP_DIFF = 2;
+
+	/** Broj bitova indeksa tablice izračunatih rezultata */
+	private static final int CACHE_BITS = 14;
+
+	/** Redni broj varijable svakog čvora */
+	private int[] vars = new int[1024];
+
+	/** Nasljednik kada varijabla nije u skupu */
+	private int[] lows = new int[1024];
+
+	/** Nasljednik kada je varijabla u skupu */
+	private int[] highs = new int[1024];
+
+	/** Sljedeći čvor u lancu tablice jedinstvenih čvorova */
+	private int[] next = new int[1024];
+
+	/** Broj iskorištenih mjesta u poljima čvorova */
+	private int used = 2;
+
+	/** Tablica jedinstvenih čvorova */
+	private int[] buckets = new int[1024];
+
+	/** Oznaka operacije svakog zapisa tablice izračunatih rezultata */
+	private final int[] cacheOps = new int[1 << CACHE_BITS];
+
+	/** Prvi operand svakog zapisa */
+	private final int[] cacheP = new int[1 << CACHE_BITS];
+
+	/** Drugi operand svakog zapisa */
+	private final int[] cacheQ = new int[1 << CACHE_BITS];
+
+	/** Rezultat svakog zapisa */
+	private final int[] cacheResults = new int[1 << CACHE_BITS];
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 */
+	ZddManager() {
+		vars[EMPTY] = vars[BASE] = TERMINAL;
+	}
+
+	/**
+	 * Metoda koja dohvaća postojeći ili stvara novi čvor.
+	 *
+	 * @param var
+	 *            redni broj varijable, manji od varijabli nasljednika
+	 * @param low
+	 *            nasljednik kada varijabla nije u skupu
+	 * @param high
+	 *            nasljednik kada je varijabla u skupu
+	 * @return čvor
+	 */
+	int mk(int var, int low, int high) {
+		if (high == EMPTY) {
+			return low;
+		}
+
+		int index = hash(var, low, high) & (buckets.length - 1);
+		for (int node = buckets[index]; node != 0; node = next[node]) {
+			if (vars[node] == var && lows[node] == low && highs[node] == high) {
+				return node;
+			}
+		}
+
+		if (used == vars.length) {
+			grow();
+			index = hash(var, low, high) & (buckets.length - 1);
+		}
+		int node = used++;
+		vars[node] = var;
+		lows[node] = low;
+		highs[node] = high;
+		next[node] = buckets[index];
+		buckets[index] = node;
+		return node;
+	}
+
+	/**
+	 * Metoda koja dohvaća redni broj varijable čvora, ili
+	 * {@link Integer#MAX_VALUE} za listove.
+	 *
+	 * @param p
+	 *            čvor
+	 * @return redni broj varijable
+	 */
+	int var(int p) {
+		return vars[p];
+	}
+
+	/**
+	 * Metoda koja dohvaća nasljednika čvora kada varijabla nije u skupu.
+	 *
+	 * @param p
+	 *            čvor koji nije list
+	 * @return nasljednik
+	 */
+	int low(int p) {
+		return lows[p];
+	}
+
+	/**
+	 * Metoda koja dohvaća nasljednika čvora kada je varijabla u skupu.
+	 *
+	 * @param p
+	 *            čvor koji nije list
+	 * @return nasljednik
+	 */
+	int high(int p) {
+		return highs[p];
+	}
+
+	/**
+	 * Metoda koja računa uniju skupova <b>p</b> i <b>q</b>.
+	 *
+	 * @param p
+	 *            prvi skup
+	 * @param q
+	 *            drugi skup
+	 * @return unija
+	 */
+	int union(int p, int q) {
+		if (p == EMPTY || p == q) {
+			return q;
+		}
+		if (q == EMPTY) {
+			return p;
+		}
+		if (p > q) {
+			// unija je komutativna, pa se operandi poredaju radi boljeg pogađanja tablice
+			int t = p;
+			p = q;
+			q = t;
+		}
+
+		int slot = cacheSlot(OP_UNION, p, q);
+		if (cacheOps[slot] == OP_UNION && cacheP[slot] == p && cacheQ[slot] == q) {
+			return cacheResults[slot];
+		}
+
+		int result;
+		if (vars[p] < vars[q]) {
+			result = mk(vars[p], union(lows[p], q), highs[p]);
+		} else if (vars[p] > vars[q]) {
+			result = mk(vars[q], union(p, lows[q]), highs[q]);
+		} else {
+			result = mk(vars[p], union(lows[p], lows[q]), union(highs[p], highs[q]));
+		}
+		return store(OP_UNION, p, q, result);
+	}
+
+	/**
+	 * Metoda koja računa razliku skupova <b>p</b> i <b>q</b>.
+	 *
+	 * @param p
+	 *            skup od kojeg se oduzima
+	 * @param q
+	 *            skup koji se oduzima
+	 * @return razlika
+	 */
+	int diff(int p, int q) {
+		if (p == EMPTY || p == q) {
+			return EMPTY;
+		}
+		if (q == EMPTY) {
+			return p;
+		}
+
+		int slot = cacheSlot(OP_DIFF, p, q);
+		if (cacheOps[slot] == OP_DIFF && cacheP[slot] == p && cacheQ[slot] == q) {
+			return cacheResults[slot];
+		}
+
+		int result;
+		if (vars[p] < vars[q]) {
+			result = mk(vars[p], diff(lows[p], q), highs[p]);
+		} else if (vars[p] > vars[q]) {
+			result = diff(p, lows[q]);
+		} else {
+			result = mk(vars[p], diff(lows[p], lows[q]), diff(highs[p], highs[q]));
+		}
+		return store(OP_DIFF, p, q, result);
+	}
+
+	/**
+	 * Metoda koja računa broj skupova unutar <b>p</b>.
+	 *
+	 * @param p
+	 *            skup skupova
+	 * @return broj skupova
+	 */
+	BigInteger count(int p) {
+		return count(p, new HashMap<>());
+	}
+
+	/**
+	 * Metoda koja predaje strategiji <b>consumer</b> svaki skup unutar
+	 * <b>p</b> kao polje oznaka pripadnosti varijabli. Strategija dobiva
+	 * uvijek isto polje, pa ga ne smije pamtiti.
+	 *
+	 * @param p
+	 *            skup skupova
+	 * @param variableCount
+	 *            broj varijabli (veličina polja)
+	 * @param consumer
+	 *            strategija koja se poziva za svaki skup
+	 */
+	void forEach(int p, int variableCount, Consumer<boolean[]> consumer) {
+		forEach(p, new boolean[variableCount], consumer);
+	}
+
+	/**
+	 * Pomoćna metoda koja rekurzivno računa broj skupova.
+	 *
+	 * @param p
+	 *            skup skupova
+	 * @param computed
+	 *            {@link Map}a već izračunatih rezultata
+	 * @return broj skupova
+	 */
+	private BigInteger count(int p, Map<Integer, BigInteger> computed) {
+		if (p == EMPTY) {
+			return BigInteger.ZERO;
+		}
+		if (p == BASE) {
+			return BigInteger.ONE;
+		}
+		BigInteger known = computed.get(p);
+		if (known == null) {
+			known = count(lows[p], computed).add(count(highs[p], computed));
+			computed.put(p, known);
+		}
+		return known;
+	}
+
+	/**
+	 * Pomoćna metoda koja rekurzivno obilazi putove do lista {@link #BASE}.
+	 *
+	 * @param p
+	 *            skup skupova
+	 * @param members
+	 *            oznake varijabli trenutnog puta
+	 * @param consumer
+	 *            strategija koja se poziva za svaki skup
+	 */
+	private void forEach(int p, boolean[] members, Consumer<boolean[]> consumer) {
+		if (p == EMPTY) {
+			return;
+		}
+		if (p == BASE) {
+			consumer.accept(members);
+			return;
+		}
+		forEach(lows[p], members, consumer);
+		members[vars[p]] = true;
+		forEach(highs[p], members, consumer);
+		members[vars[p]] = false;
+	}
+
+	/**
+	 * Pomoćna metoda koja pamti rezultat operacije u tablici izračunatih
+	 * rezultata.
+	 *
+	 * @param op
+	 *            oznaka operacije
+	 * @param p
+	 *            prvi operand
+	 * @param q
+	 *            drugi operand
+	 * @param result
+	 *            rezultat
+	 * @return rezultat <b>result</b>
+	 */
+	private int store(int op, int p, int q, int result) {
+		int slot = cacheSlot(op, p, q);
+		cacheOps[slot] = op;
+		cacheP[slot] = p;
+		cacheQ[slot] = q;
+		cacheResults[slot] = result;
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja udvostručuje polja čvorova i tablicu jedinstvenih
+	 * čvorova.
+	 */
+	private void grow() {
+		int capacity = 2 * vars.length;
+		vars = Arrays.copyOf(vars, capacity);
+		lows = Arrays.copyOf(lows, capacity);
+		highs = Arrays.copyOf(highs, capacity);
+		next = Arrays.copyOf(next, capacity);
+		buckets = new int[capacity];
+		for (int node = 2; node < used; node++) {
+			int index = hash(vars[node], lows[node], highs[node]) & (capacity - 1);
+			next[node] = buckets[index];
+			buckets[index] = node;
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja računa sažetak čvora.
+	 *
+	 * @param var
+	 *            redni broj varijable
+	 * @param low
+	 *            nasljednik kada varijabla nije u skupu
+	 * @param high
+	 *            nasljednik kada je varijabla u skupu
+	 * @return sažetak
+	 */
+	private static int hash(int var, int low, int high) {
+		int h = (var * 0x9E3779B1 + low) * 0x85EBCA6B + high;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Pomoćna metoda koja računa položaj zapisa unutar tablice izračunatih
+	 * rezultata.
+	 *
+	 * @param op
+	 *            oznaka operacije
+	 * @param p
+	 *            prvi operand
+	 * @param q
+	 *            drugi operand
+	 * @return položaj zapisa
+	 */
+	private static int cacheSlot(int op, int p, int q) {
+		int h = (p * 0x9E3779B1 + q) * 0x85EBCA6B + op;
+		return (h ^ (h >>> 15)) & ((1 << CACHE_BITS) - 1);
+	}
+}
@@ -0,0 +1,51 @@
+package hr.fer.zemris.bf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Razred predstavlja događaj JDK Flight Recordera koji bilježi jedno traženje
+ * minimalnog pokrivanja (odabir bitnih primarnih implikanata te
+ * Pyne-McCluskey pristup).
+ * 
+ * @see hr.fer.zemris.bf.qmc.Minimizer
+ * 
+ * @author Davor Češljaš
+ */
+@Name("hr.fer.zemris.bf.CoverSearch")
+@Label("Traženje minimalnog pokrivanja")
+@Category({ "Booleove funkcije", "Minimizacija" })
+@Description("Odabir minimalnog skupa primarnih implikanata koji pokriva sve minterme")
+public class CoverSearchEvent extends Event {
+
+	/** Broj varijabli funkcije */
+	@Label("Broj varijabli")
+	public int variableCount;
+
+	/** Broj minterma koje je potrebno pokriti */
+	@Label("Broj minterma")
+	public int mintermCount;
+
+	/** Broj primarnih implikanata */
+	@Label("Broj primarnih implikanata")
+	public int primeImplicantCount;
+
+	/** Broj bitnih primarnih implikanata */
+	@Label("Broj bitnih primarnih implikanata")
+	public int essentialCount;
+
+	/** Broj zagrada p-funkcije (nepokrivenih minterma) */
+	@Label("Veličina p-funkcije")
+	public int pFunctionSize;
+
+	/** Broj implikanata u (svakom) minimalnom pokrivanju */
+	@Label("Veličina pokrivanja")
+	public int coverSize;
+
+	/** Broj pronađenih minimalnih oblika */
+	@Label("Broj minimalnih oblika")
+	public int minimalFormCount;
+}
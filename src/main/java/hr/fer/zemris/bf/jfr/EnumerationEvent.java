@@ -0,0 +1,37 @@
+package hr.fer.zemris.bf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Razred predstavlja događaj JDK Flight Recordera koji bilježi jedan prolaz
+ * kroz tablicu istinitosti, odnosno jedan poziv metode
+ * {@link hr.fer.zemris.bf.utils.Util#filterAssignments(java.util.List, hr.fer.zemris.bf.model.Node, boolean)}.
+ * 
+ * @author Davor Češljaš
+ */
+@Name("hr.fer.zemris.bf.Enumeration")
+@Label("Generiranje tablice istinitosti")
+@Category({ "Booleove funkcije", "Tablica istinitosti" })
+@Description("Izračun vrijednosti izraza za sve kombinacije varijabli")
+public class EnumerationEvent extends Event {
+
+	/** Broj varijabli funkcije */
+	@Label("Broj varijabli")
+	public int variableCount;
+
+	/** Broj kombinacija varijabli koje su izračunate */
+	@Label("Broj kombinacija")
+	public long assignmentCount;
+
+	/** Broj kombinacija za koje je izraz poprimio traženu vrijednost */
+	@Label("Broj pogodaka")
+	public long matchedCount;
+
+	/** Vrijednost izraza koja se tražila */
+	@Label("Tražena vrijednost")
+	public boolean expressionValue;
+}
@@ -0,0 +1,40 @@
+package hr.fer.zemris.bf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Razred predstavlja događaj JDK Flight Recordera koji bilježi jedno
+ * parsiranje logičkog izraza (leksička i sintaksna analiza zajedno, budući da
+ * parser leksički analizator poziva lijeno). Događaj se bilježi samo ako je
+ * snimanje uključeno, a u suprotnom je njegov trošak zanemariv.
+ * 
+ * @see hr.fer.zemris.bf.parser.Parser
+ * 
+ * @author Davor Češljaš
+ */
+@Name("hr.fer.zemris.bf.Parse")
+@Label("Parsiranje izraza")
+@Category({ "Booleove funkcije", "Parser" })
+@Description("Leksička i sintaksna analiza jednog logičkog izraza")
+public class ParseEvent extends Event {
+
+	/** Duljina izraza koji se parsira (broj znakova) */
+	@Label("Duljina izraza")
+	public int expressionLength;
+
+	/** Broj tokena koje je leksički analizator izvadio */
+	@Label("Broj tokena")
+	public int tokenCount;
+
+	/** Broj tokena koji predstavljaju varijable */
+	@Label("Broj pojavljivanja varijabli")
+	public int variableCount;
+
+	/** Zastavica koja govori je li parsiranje uspjelo */
+	@Label("Uspješno")
+	public boolean succeeded;
+}
@@ -0,0 +1,42 @@
+package hr.fer.zemris.bf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Razred predstavlja događaj JDK Flight Recordera koji bilježi obradu jednog
+ * stupca tablice minimizacije metodom Quine-McCluskey.
+ * 
+ * @see hr.fer.zemris.bf.qmc.Minimizer
+ * 
+ * @author Davor Češljaš
+ */
+@Name("hr.fer.zemris.bf.QmcColumn")
+@Label("Stupac QMC tablice")
+@Category({ "Booleove funkcije", "Minimizacija" })
+@Description("Kombiniranje svih implikanata jednog stupca tablice Quine-McCluskey")
+public class QmcColumnEvent extends Event {
+
+	/** Redni broj stupca (prvi stupac ima indeks 0) */
+	@Label("Indeks stupca")
+	public int columnIndex;
+
+	/** Broj grupa (redaka po broju jedinica) unutar stupca */
+	@Label("Broj grupa")
+	public int groupCount;
+
+	/** Broj implikanata unutar stupca */
+	@Label("Veličina stupca")
+	public int columnSize;
+
+	/** Broj implikanata koji su nastali kombiniranjem za sljedeći stupac */
+	@Label("Veličina sljedećeg stupca")
+	public int nextColumnSize;
+
+	/** Broj primarnih implikanata pronađenih u ovom stupcu */
+	@Label("Pronađeni primarni implikanti")
+	public int primeImplicantCount;
+}
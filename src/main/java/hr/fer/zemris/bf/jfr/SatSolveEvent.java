@@ -0,0 +1,46 @@
+package hr.fer.zemris.bf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Razred predstavlja događaj JDK Flight Recordera koji bilježi jedno
+ * rješavanje problema ispunjivosti.
+ *
+ * @see hr.fer.zemris.bf.sat.CdclSolver
+ *
+ * @author Davor Češljaš
+ */
+@Name("hr.fer.zemris.bf.SatSolve")
+@Label("Provjera ispunjivosti")
+@Category({ "Booleove funkcije", "Ispunjivost" })
+@Description("Traženje modela konjunktivnog normalnog oblika učenjem klauzula iz konflikata")
+public class SatSolveEvent extends Event {
+
+	/** Broj varijabli problema, uključujući pomoćne */
+	@Label("Broj varijabli")
+	public int variableCount;
+
+	/** Broj zadanih klauzula */
+	@Label("Broj klauzula")
+	public int clauseCount;
+
+	/** Broj konflikata */
+	@Label("Broj konflikata")
+	public long conflicts;
+
+	/** Broj odluka */
+	@Label("Broj odluka")
+	public long decisions;
+
+	/** Broj ponovnih pokretanja pretraživanja */
+	@Label("Broj ponovnih pokretanja")
+	public long restarts;
+
+	/** Je li problem ispunjiv */
+	@Label("Ispunjiv")
+	public boolean satisfiable;
+}
@@ -0,0 +1,110 @@
+package hr.fer.zemris.bf.model;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * Enumeracija poznatih binarnih logičkih operatora. Svaka konstanta je ujedno
+ * i strategija {@link BinaryOperator} koja se predaje primjerku razreda
+ * {@link BinaryOperatorNode}, pa posjetitelji mogu prepoznati operator po
+ * identitetu (npr. <code>node.getOperator() == BinaryOperatorType.AND</code>)
+ * umjesto po nazivu čvora.
+ * 
+ * @see BinaryOperatorNode
+ * 
+ * @author Davor Češljaš
+ */
+public enum BinaryOperatorType implements BinaryOperator<Boolean> {
+
+	/** Logičko I, vrijednost <code>false</code> određuje rezultat */
+	AND("and") {
+		@Override
+		public Boolean apply(Boolean first, Boolean second) {
+			return first && second;
+		}
+	},
+
+	/** Logičko ILI, vrijednost <code>true</code> određuje rezultat */
+	OR("or") {
+		@Override
+		public Boolean apply(Boolean first, Boolean second) {
+			return first || second;
+		}
+	},
+
+	/** Isključivo ILI, niti jedna vrijednost ne određuje rezultat */
+	XOR("xor") {
+		@Override
+		public Boolean apply(Boolean first, Boolean second) {
+			return first ^ second;
+		}
+	};
+
+	/** Naziv operatora */
+	private final String symbol;
+
+	/**
+	 * Konstruktor koji inicijalizira konstantu ove enumeracije.
+	 *
+	 * @param symbol
+	 *            naziv operatora
+	 */
+	private BinaryOperatorType(String symbol) {
+		this.symbol = symbol;
+	}
+
+	/**
+	 * Metoda koja dohvaća naziv operatora, jednak nazivu koji parser daje
+	 * čvoru.
+	 *
+	 * @return naziv operatora
+	 */
+	public String getSymbol() {
+		return symbol;
+	}
+
+	/**
+	 * Metoda koja provjerava ima li operator upravljačku vrijednost, tj.
+	 * vrijednost operanda koja sama određuje rezultat.
+	 *
+	 * @return <code>true</code> za {@link #AND} i {@link #OR},
+	 *         <code>false</code> inače
+	 */
+	public boolean isShortCircuiting() {
+		return this != XOR;
+	}
+
+	/**
+	 * Metoda koja dohvaća upravljačku vrijednost operatora (vidi
+	 * {@link #isShortCircuiting()}). Rezultat operatora jednak je upravljačkoj
+	 * vrijednosti čim je ima barem jedan operand.
+	 *
+	 * @return <code>false</code> za {@link #AND}, <code>true</code> za
+	 *         {@link #OR}
+	 * @throws IllegalStateException
+	 *             ukoliko operator nema upravljačku vrijednost
+	 */
+	public boolean getControllingValue() {
+		if (!isShortCircuiting()) {
+			throw new IllegalStateException("Operator nema upravljačku vrijednost: " + this);
+		}
+		return this == OR;
+	}
+
+	/**
+	 * Metoda koja dohvaća konstantu ove enumeracije koja odgovara operatoru
+	 * čvora <b>node</b>. Operator se prepoznaje isključivo po identitetu
+	 * strategije, a ne po nazivu čvora, jer čvor može imati naziv poznatog
+	 * operatora i drugačiju strategiju.
+	 *
+	 * @param node
+	 *            čvor binarnog operatora
+	 * @return konstanta ove enumeracije ili <code>null</code> ukoliko operator
+	 *         čvora nije poznat
+	 */
+	public static BinaryOperatorType of(BinaryOperatorNode node) {
+		if (node.getOperator() instanceof BinaryOperatorType) {
+			return (BinaryOperatorType) node.getOperator();
+		}
+		return null;
+	}
+}
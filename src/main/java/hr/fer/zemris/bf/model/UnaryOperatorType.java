@@ -0,0 +1,65 @@
+package hr.fer.zemris.bf.model;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Enumeracija poznatih unarnih logičkih operatora. Svaka konstanta je ujedno
+ * i strategija {@link UnaryOperator} koja se predaje primjerku razreda
+ * {@link UnaryOperatorNode}, pa posjetitelji mogu prepoznati operator po
+ * identitetu umjesto po nazivu čvora.
+ * 
+ * @see UnaryOperatorNode
+ * 
+ * @author Davor Češljaš
+ */
+public enum UnaryOperatorType implements UnaryOperator<Boolean> {
+
+	/** Logička negacija */
+	NOT("not") {
+		@Override
+		public Boolean apply(Boolean value) {
+			return !value;
+		}
+	};
+
+	/** Naziv operatora */
+	private final String symbol;
+
+	/**
+	 * Konstruktor koji inicijalizira konstantu ove enumeracije.
+	 *
+	 * @param symbol
+	 *            naziv operatora
+	 */
+	private UnaryOperatorType(String symbol) {
+		this.symbol = symbol;
+	}
+
+	/**
+	 * Metoda koja dohvaća naziv operatora, jednak nazivu koji parser daje
+	 * čvoru.
+	 *
+	 * @return naziv operatora
+	 */
+	public String getSymbol() {
+		return symbol;
+	}
+
+	/**
+	 * Metoda koja dohvaća konstantu ove enumeracije koja odgovara operatoru
+	 * čvora <b>node</b>. Operator se prepoznaje isključivo po identitetu
+	 * strategije, a ne po nazivu čvora, jer čvor može imati naziv poznatog
+	 * operatora i drugačiju strategiju.
+	 *
+	 * @param node
+	 *            čvor unarnog operatora
+	 * @return konstanta ove enumeracije ili <code>null</code> ukoliko operator
+	 *         čvora nije poznat
+	 */
+	public static UnaryOperatorType of(UnaryOperatorNode node) {
+		if (node.getOperator() instanceof UnaryOperatorType) {
+			return (UnaryOperatorType) node.getOperator();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,132 @@
+package hr.fer.zemris.bf.normal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.qmc.Cube;
+
+/**
+ * Razred čiji primjerci predstavljaju izraz u disjunktivnom
+ * ({@link Type#DNF}) ili konjunktivnom ({@link Type#CNF}) normalnom obliku.
+ * Članovi oblika zapisani su kockama ({@link Cube}): kod disjunktivnog oblika
+ * kocka je produkt literala, a kod konjunktivnog oblika klauzula, tj. suma
+ * literala, pri čemu {@link Cube#POSITIVE} označava nekomplementiranu, a
+ * {@link Cube#NEGATIVE} komplementiranu varijablu klauzule. Konjunktivni
+ * oblik dobiven Tseitinovim kodiranjem ({@link TseitinEncoder}) uz izvorne
+ * varijable sadrži i pomoćne varijable, koje su navedene iza izvornih.
+ * Primjerci ovog razreda su nepromjenjivi.
+ *
+ * @see NormalFormConverter
+ *
+ * @author Davor Češljaš
+ */
+public final class NormalForm {
+
+	/**
+	 * Enumeracija vrsta normalnih oblika.
+	 *
+	 * @author Davor Češljaš
+	 */
+	public enum Type {
+		/** Disjunktivni normalni oblik (suma produkata) */
+		DNF,
+		/** Konjunktivni normalni oblik (produkt suma) */
+		CNF
+	}
+
+	/** Vrsta normalnog oblika */
+	private final Type type;
+
+	/** Nazivi svih varijabli, izvorne varijable su na početku */
+	private final List<String> variables;
+
+	/** Broj izvornih varijabli */
+	private final int originalVariableCount;
+
+	/** Članovi normalnog oblika */
+	private final List<Cube> terms;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param type
+	 *            vrsta normalnog oblika
+	 * @param variables
+	 *            nazivi svih varijabli, izvorne varijable su na početku
+	 * @param originalVariableCount
+	 *            broj izvornih varijabli
+	 * @param terms
+	 *            članovi normalnog oblika nad svim varijablama
+	 */
+	NormalForm(Type type, List<String> variables, int originalVariableCount, List<Cube> terms) {
+		this.type = type;
+		this.variables = Collections.unmodifiableList(new ArrayList<>(variables));
+		this.originalVariableCount = originalVariableCount;
+		this.terms = Collections.unmodifiableList(new ArrayList<>(terms));
+	}
+
+	/**
+	 * Metoda koja dohvaća vrstu normalnog oblika.
+	 *
+	 * @return vrsta normalnog oblika
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Metoda koja dohvaća nazive svih varijabli, redom kao u kockama članova.
+	 *
+	 * @return nepromjenjiva {@link List}a naziva varijabli
+	 */
+	public List<String> getVariables() {
+		return variables;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj izvornih varijabli.
+	 *
+	 * @return broj izvornih varijabli
+	 */
+	public int getOriginalVariableCount() {
+		return originalVariableCount;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj pomoćnih varijabli uvedenih Tseitinovim
+	 * kodiranjem.
+	 *
+	 * @return broj pomoćnih varijabli
+	 */
+	public int getAuxiliaryVariableCount() {
+		return variables.size() - originalVariableCount;
+	}
+
+	/**
+	 * Metoda koja dohvaća članove normalnog oblika: produkte kod disjunktivnog,
+	 * odnosno klauzule kod konjunktivnog oblika.
+	 *
+	 * @return nepromjenjiva {@link List}a članova
+	 */
+	public List<Cube> getTerms() {
+		return terms;
+	}
+
+	/**
+	 * Metoda koja normalni oblik pretvara u izraz nad svim varijablama.
+	 * Prazan disjunktivni oblik je konstanta <code>false</code>, a prazan
+	 * konjunktivni oblik konstanta <code>true</code>.
+	 *
+	 * @return izraz normalnog oblika
+	 */
+	public Node toExpression() {
+		return type == Type.DNF ? Cube.toSumOfProducts(terms, variables) : Cube.toProductOfSums(terms, variables);
+	}
+
+	@Override
+	public String toString() {
+		return type + " " + variables + " " + terms;
+	}
+}
@@ -0,0 +1,260 @@
+package hr.fer.zemris.bf.normal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.UnaryOperatorType;
+import hr.fer.zemris.bf.qmc.Cube;
+import hr.fer.zemris.bf.qmc.IteratedConsensus;
+
+/**
+ * Razred koji proizvoljan izraz (uključujući operator
+ * {@link hr.fer.zemris.bf.model.BinaryOperatorType#XOR} i ugniježđene
+ * negacije) pretvara u disjunktivni ili konjunktivni normalni oblik
+ * ({@link NormalForm}) bez računanja tablice istinitosti. Disjunktivni oblik
+ * gradi se razredom {@link SopBuilder}, a konjunktivni oblik je komplement
+ * disjunktivnog oblika negacije izraza: svaki produkt negacije postaje
+ * klauzula s komplementiranim literalima. Nakon svakog koraka uklanjaju se
+ * apsorbirani članovi ({@link SubsumptionIndex}). Blakeov kanonski oblik,
+ * tj. disjunktivni oblik svih primarnih implikanata, dobiva se ponavljanim
+ * konsenzusom nad disjunktivnim oblikom
+ * ({@link #toBlakeCanonicalForm(Node, List)}).
+ *
+ * <p>
+ * Normalni oblici mogu imati eksponencijalno mnogo članova (npr. za
+ * isključivo ILI mnogo varijabli), pa je broj članova međurezultata ograničen.
+ * Kada konjunktivni oblik premaši ograničenje, pretvorba se ovisno o postavci
+ * {@link Overflow} prekida iznimkom {@link NormalFormSizeException} ili
+ * izraz kodira Tseitinovim postupkom ({@link TseitinEncoder}), čiji oblik
+ * ima pomoćne varijable, ali raste linearno s veličinom izraza.
+ * Disjunktivni oblik nema ekvivalent Tseitinovog kodiranja, pa se njegova
+ * pretvorba uvijek prekida iznimkom.
+ * </p>
+ *
+ * Primjer uporabe:
+ *
+ * <pre>
+ * NormalFormConverter converter = new NormalFormConverter(1000, Overflow.TSEITIN);
+ * NormalForm cnf = converter.toCnf(new Parser("a xor b").getExpression(), Arrays.asList("A", "B"));
+ * System.out.println(cnf.getTerms()); // [00, 11] = (A + B)(A' + B')
+ * </pre>
+ *
+ * @author Davor Češljaš
+ */
+public class NormalFormConverter {
+
+	/** Logger */
+	private static final Logger LOG = Logger.getLogger("hr.fer.zemris.bf.normal");
+
+	/** Pretpostavljeno ograničenje broja članova normalnog oblika */
+	public static final int DEFAULT_MAX_TERMS = 10_000;
+
+	/**
+	 * Enumeracija postupaka u slučaju kada normalni oblik premaši ograničenje
+	 * broja članova.
+	 *
+	 * @author Davor Češljaš
+	 */
+	public enum Overflow {
+		/** Pretvorba se prekida iznimkom {@link NormalFormSizeException} */
+		ABORT,
+		/** Konjunktivni oblik gradi se Tseitinovim kodiranjem */
+		TSEITIN
+	}
+
+	/** Najveći dopušteni broj članova međurezultata */
+	private final int maxTerms;
+
+	/** Postupak u slučaju prekoračenja ograničenja */
+	private final Overflow overflow;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda s ograničenjem
+	 * {@value #DEFAULT_MAX_TERMS} članova i postupkom {@link Overflow#ABORT}.
+	 */
+	public NormalFormConverter() {
+		this(DEFAULT_MAX_TERMS, Overflow.ABORT);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param maxTerms
+	 *            najveći dopušteni broj članova međurezultata
+	 * @param overflow
+	 *            postupak u slučaju prekoračenja ograničenja
+	 * @throws IllegalArgumentException
+	 *             ukoliko ograničenje nije pozitivno ili ukoliko je postupak
+	 *             <code>null</code>
+	 */
+	public NormalFormConverter(int maxTerms, Overflow overflow) {
+		if (maxTerms < 1) {
+			throw new IllegalArgumentException("Ograničenje broja članova mora biti pozitivno, a zadano je: "
+					+ maxTerms);
+		}
+		if (overflow == null) {
+			throw new IllegalArgumentException("Postupak prekoračenja ne smije biti null!");
+		}
+		this.maxTerms = maxTerms;
+		this.overflow = overflow;
+	}
+
+	/**
+	 * Metoda koja izraz <b>expression</b> pretvara u disjunktivni normalni
+	 * oblik bez apsorbiranih produkata.
+	 *
+	 * @param expression
+	 *            izraz
+	 * @param variables
+	 *            nazivi varijabli, redom kao u kockama rezultata
+	 * @return disjunktivni normalni oblik
+	 * @throws IllegalArgumentException
+	 *             ukoliko je izraz <code>null</code>, ukoliko je {@link List}a
+	 *             varijabli prazna ili ukoliko izraz sadrži nepoznatu
+	 *             varijablu
+	 * @throws NormalFormSizeException
+	 *             ukoliko neki međurezultat premaši ograničenje broja
+	 *             članova
+	 */
+	public NormalForm toDnf(Node expression, List<String> variables) {
+		checkExpression(expression);
+		return new NormalForm(NormalForm.Type.DNF, variables, variables.size(), sop(expression, variables));
+	}
+
+	/**
+	 * Metoda koja izraz <b>expression</b> pretvara u konjunktivni normalni
+	 * oblik bez apsorbiranih klauzula. Ukoliko oblik premaši ograničenje broja
+	 * članova, a postupak prekoračenja je {@link Overflow#TSEITIN}, rezultat je
+	 * Tseitinovo kodiranje izraza s pomoćnim varijablama.
+	 *
+	 * @param expression
+	 *            izraz
+	 * @param variables
+	 *            nazivi varijabli, redom kao u kockama rezultata
+	 * @return konjunktivni normalni oblik
+	 * @throws IllegalArgumentException
+	 *             ukoliko je izraz <code>null</code>, ukoliko je {@link List}a
+	 *             varijabli prazna ili ukoliko izraz sadrži nepoznatu
+	 *             varijablu
+	 * @throws NormalFormSizeException
+	 *             ukoliko neki međurezultat premaši ograničenje broja
+	 *             članova, a postupak prekoračenja je {@link Overflow#ABORT}
+	 */
+	public NormalForm toCnf(Node expression, List<String> variables) {
+		checkExpression(expression);
+		List<Cube> negation;
+		try {
+			negation = sop(new UnaryOperatorNode(UnaryOperatorType.NOT.getSymbol(), expression,
+					UnaryOperatorType.NOT), variables);
+		} catch (NormalFormSizeException e) {
+			if (overflow == Overflow.ABORT) {
+				throw e;
+			}
+			LOG.log(Level.FINE, "Konjunktivni oblik premašuje {0} klauzula, koristi se Tseitinovo kodiranje",
+					maxTerms);
+			return TseitinEncoder.encode(expression, variables);
+		}
+
+		List<Cube> clauses = new ArrayList<>(negation.size());
+		for (Cube product : negation) {
+			clauses.add(complement(product));
+		}
+		return new NormalForm(NormalForm.Type.CNF, variables, variables.size(), clauses);
+	}
+
+	/**
+	 * Metoda koja računa Blakeov kanonski oblik izraza <b>expression</b>:
+	 * disjunktivni normalni oblik čiji su produkti svi primarni implikanti
+	 * izraza. Primarni implikanti računaju se ponavljanim konsenzusom
+	 * ({@link IteratedConsensus}) nad disjunktivnim oblikom, bez računanja
+	 * tablice istinitosti.
+	 *
+	 * @param expression
+	 *            izraz
+	 * @param variables
+	 *            nazivi varijabli, redom kao u kockama rezultata
+	 * @return Blakeov kanonski oblik (bez produkata za kontradikciju)
+	 * @throws IllegalArgumentException
+	 *             ukoliko je izraz <code>null</code>, ukoliko je {@link List}a
+	 *             varijabli prazna ili ukoliko izraz sadrži nepoznatu
+	 *             varijablu
+	 * @throws NormalFormSizeException
+	 *             ukoliko neki međurezultat disjunktivnog oblika premaši
+	 *             ograničenje broja članova
+	 */
+	public NormalForm toBlakeCanonicalForm(Node expression, List<String> variables) {
+		checkExpression(expression);
+		return new NormalForm(NormalForm.Type.DNF, variables, variables.size(),
+				IteratedConsensus.primes(sop(expression, variables)));
+	}
+
+	/**
+	 * Metoda koja dohvaća najveći dopušteni broj članova međurezultata.
+	 *
+	 * @return ograničenje broja članova
+	 */
+	public int getMaxTerms() {
+		return maxTerms;
+	}
+
+	/**
+	 * Metoda koja dohvaća postupak u slučaju prekoračenja ograničenja.
+	 *
+	 * @return postupak prekoračenja
+	 */
+	public Overflow getOverflow() {
+		return overflow;
+	}
+
+	/**
+	 * Pomoćna metoda koja gradi sumu produkata izraza <b>expression</b> uz
+	 * ograničenje broja produkata.
+	 *
+	 * @param expression
+	 *            izraz
+	 * @param variables
+	 *            nazivi varijabli
+	 * @return suma produkata
+	 */
+	private List<Cube> sop(Node expression, List<String> variables) {
+		SopBuilder builder = new SopBuilder(variables, maxTerms);
+		expression.accept(builder);
+		return builder.getResult();
+	}
+
+	/**
+	 * Pomoćna metoda koja komplementira sve literale kocke <b>cube</b>, čime
+	 * negacija produkta postaje klauzula.
+	 *
+	 * @param cube
+	 *            kocka
+	 * @return kocka s komplementiranim literalima
+	 */
+	private static Cube complement(Cube cube) {
+		byte[] values = cube.toValues();
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != Cube.NOT_IN_PRODUCT) {
+				values[i] = (byte) (1 - values[i]);
+			}
+		}
+		return new Cube(values);
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava je li izraz zadan.
+	 *
+	 * @param expression
+	 *            izraz
+	 * @throws IllegalArgumentException
+	 *             ukoliko je izraz <code>null</code>
+	 */
+	private static void checkExpression(Node expression) {
+		if (expression == null) {
+			throw new IllegalArgumentException("Izraz ne smije biti null!");
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package hr.fer.zemris.bf.normal;
+
+/**
+ * Razred koji nasljeđuje {@link RuntimeException}. Razred se koristi u
+ * pretvorbi izraza u normalni oblik ({@link NormalFormConverter}). Ovaj razred
+ * je neprovjeravana iznimka i koristi se kako bi korisnika obavijestio da je
+ * normalni oblik premašio zadano ograničenje veličine
+ * 
+ * @see RuntimeException
+ * 
+ * @author Davor Češljaš
+ */
+public class NormalFormSizeException extends RuntimeException {
+
+	/** Konstanta serialVersionUID. */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Korištenjem ovog
+	 * konstruktora korisniku će prilikom pojave iznimke biti ispisan trag stoga
+	 * bez ikakve dodatne poruke
+	 */
+	public NormalFormSizeException() {
+		super();
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Korištenjem ovog
+	 * konstruktora korisniku će prilikom pojave iznimke biti ispisan trag stoga
+	 * uz dodatnu poruku
+	 *
+	 * @param message
+	 *            poruka koju treba ispisati korisniku prilikom bacanja iznimke
+	 */
+	public NormalFormSizeException(String message) {
+		super(message);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Korištenjem ovog
+	 * konstruktora korisniku će prilikom pojave iznimke biti ispisan trag stoga
+	 * uz dodatan uzrok
+	 *
+	 * @param cause
+	 *            Uzrok bacanja iznimke
+	 */
+	public NormalFormSizeException(Throwable cause) {
+		super(cause);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Korištenjem ovog
+	 * konstruktora korisniku će prilikom pojave iznimke biti ispisan trag stoga
+	 * uz dodatan uzrok i poruku
+	 *
+	 * @param message
+	 *            poruka koju treba ispisati korisniku prilikom bacanja iznimke
+	 * @param cause
+	 *            Uzrok bacanja iznimke
+	 */
+	public NormalFormSizeException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+}
@@ -0,0 +1,277 @@
+package hr.fer.zemris.bf.normal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.BinaryOperatorType;
+import hr.fer.zemris.bf.model.ConstantNode;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.NodeVisitor;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.UnaryOperatorType;
+import hr.fer.zemris.bf.model.VariableNode;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.qmc.Cube;
+
+/**
+ * Razred koji implementira sučelje {@link NodeVisitor}. Ovaj posjetitelj
+ * izraz koji je parsiran primjerkom razreda {@link Parser} pretvara u sumu
+ * produkata zapisanu kockama ({@link Cube}), bez računanja tablice istinitosti.
+ * Negacija se spušta prema listovima (De Morganovim pravilima), pa se za svaki
+ * podizraz gradi samo potrebna polarnost. Nakon svakog koraka uklanjaju se
+ * kocke sadržane u nekoj drugoj kocki (apsorpcija, {@link SubsumptionIndex}),
+ * a prazni produkti se odbacuju. Broj produkata može se ograničiti, pa se
+ * izgradnja prekida iznimkom {@link NormalFormSizeException} čim neki
+ * međurezultat premaši ograničenje. Operator {@link BinaryOperatorType#XOR}
+ * i neprepoznati operatori rastavljaju se po vrijednostima operanada.
+ * Binarni operator s više djece primjenjuje se jednakim redoslijedom kao u
+ * razredu {@link hr.fer.zemris.bf.utils.ExpressionEvaluator}: od zadnjeg
+ * djeteta prema prvom.
+ *
+ * Primjer uporabe:
+ *
+ * <pre>
+ * SopBuilder builder = new SopBuilder(Arrays.asList("A", "B", "C"));
+ * new Parser("a and (b or not c)").getExpression().accept(builder);
+ * List&lt;Cube&gt; sop = builder.getResult(); // [11-, 1-0]
+ * </pre>
+ *
+ * @see hr.fer.zemris.bf.qmc.IteratedConsensus
+ *
+ * @author Davor Češljaš
+ */
+public class SopBuilder implements NodeVisitor {
+
+	/** Nazivi varijabli */
+	private final List<String> variables;
+
+	/** Najveći dopušteni broj produkata međurezultata */
+	private final int maxTerms;
+
+	/** Zastavica koja govori gradi li se negacija posjećenog podizraza */
+	private boolean negated;
+
+	/** Suma produkata zadnjeg posjećenog podizraza */
+	private List<Cube> result = new ArrayList<>();
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param variables
+	 *            nazivi varijabli, redom kao u kockama rezultata
+	 * @throws IllegalArgumentException
+	 *             ukoliko je {@link List}a varijabli <code>null</code> ili
+	 *             prazna
+	 */
+	public SopBuilder(List<String> variables) {
+		this(variables, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda koji ne gradi sume
+	 * produkata s više od <b>maxTerms</b> produkata.
+	 *
+	 * @param variables
+	 *            nazivi varijabli, redom kao u kockama rezultata
+	 * @param maxTerms
+	 *            najveći dopušteni broj produkata međurezultata
+	 * @throws IllegalArgumentException
+	 *             ukoliko je {@link List}a varijabli <code>null</code> ili
+	 *             prazna ili ukoliko ograničenje nije pozitivno
+	 */
+	public SopBuilder(List<String> variables, int maxTerms) {
+		if (variables == null || variables.isEmpty()) {
+			throw new IllegalArgumentException("Lista varijabli ne smije biti null ni prazna!");
+		}
+		if (maxTerms < 1) {
+			throw new IllegalArgumentException("Ograničenje broja produkata mora biti pozitivno, a zadano je: "
+					+ maxTerms);
+		}
+		this.variables = variables;
+		this.maxTerms = maxTerms;
+	}
+
+	@Override
+	public void visit(ConstantNode node) {
+		result = constant(node.getValue() ^ negated);
+	}
+
+	@Override
+	public void visit(VariableNode node) {
+		int index = variables.indexOf(node.getName());
+		if (index < 0) {
+			throw new IllegalArgumentException("Nepoznata varijabla: " + node.getName());
+		}
+		result = new ArrayList<>();
+		result.add(Cube.universe(variables.size()).with(index, negated ? Cube.NEGATIVE : Cube.POSITIVE));
+	}
+
+	@Override
+	public void visit(UnaryOperatorNode node) {
+		if (UnaryOperatorType.of(node) == UnaryOperatorType.NOT) {
+			result = sop(node.getChild(), !negated);
+			return;
+		}
+
+		UnaryOperator<Boolean> operator = node.getOperator();
+		boolean whenFalse = operator.apply(false);
+		boolean whenTrue = operator.apply(true);
+		if (whenFalse == whenTrue) {
+			result = constant(whenTrue ^ negated);
+		} else {
+			result = sop(node.getChild(), negated ^ whenFalse);
+		}
+	}
+
+	@Override
+	public void visit(BinaryOperatorNode node) {
+		List<Node> children = node.getChildren();
+		BinaryOperatorType type = BinaryOperatorType.of(node);
+		boolean inverted = negated;
+		if (type == BinaryOperatorType.AND || type == BinaryOperatorType.OR) {
+			// negacija konjunkcije je disjunkcija negacija (i obratno)
+			boolean product = (type == BinaryOperatorType.AND) ^ inverted;
+			List<Cube> accumulator = sop(children.get(children.size() - 1), inverted);
+			for (int i = children.size() - 2; i >= 0; i--) {
+				List<Cube> operand = sop(children.get(i), inverted);
+				accumulator = product ? product(operand, accumulator) : sum(operand, accumulator);
+			}
+			result = accumulator;
+			return;
+		}
+
+		BinaryOperator<Boolean> operator = node.getOperator();
+		Node last = children.get(children.size() - 1);
+		List<Cube> accumulatorTrue = sop(last, false);
+		List<Cube> accumulatorFalse = sop(last, true);
+		for (int i = children.size() - 2; i >= 0; i--) {
+			List<Cube> operandTrue = sop(children.get(i), false);
+			List<Cube> operandFalse = sop(children.get(i), true);
+			List<Cube> nextTrue = new ArrayList<>();
+			List<Cube> nextFalse = new ArrayList<>();
+			for (boolean first : new boolean[] { false, true }) {
+				for (boolean second : new boolean[] { false, true }) {
+					List<Cube> part = product(first ? operandTrue : operandFalse,
+							second ? accumulatorTrue : accumulatorFalse);
+					if (operator.apply(first, second)) {
+						nextTrue = sum(nextTrue, part);
+					} else {
+						nextFalse = sum(nextFalse, part);
+					}
+				}
+			}
+			accumulatorTrue = nextTrue;
+			accumulatorFalse = nextFalse;
+		}
+		result = inverted ? accumulatorFalse : accumulatorTrue;
+	}
+
+	/**
+	 * Metoda koja dohvaća sumu produkata posjećenog izraza. Niti jedna kocka
+	 * rezultata nije sadržana u nekoj drugoj kocki rezultata.
+	 *
+	 * @return nepromjenjiva {@link List}a kocki sume produkata (prazna za
+	 *         kontradikciju)
+	 */
+	public List<Cube> getResult() {
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Pomoćna metoda koja gradi sumu produkata izraza <b>node</b> ili njegove
+	 * negacije.
+	 *
+	 * @param node
+	 *            izraz
+	 * @param negation
+	 *            zastavica koja govori gradi li se negacija izraza
+	 * @return suma produkata
+	 */
+	private List<Cube> sop(Node node, boolean negation) {
+		boolean previous = negated;
+		negated = negation;
+		node.accept(this);
+		negated = previous;
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja gradi sumu produkata konstante <b>value</b>.
+	 *
+	 * @param value
+	 *            vrijednost konstante
+	 * @return suma produkata
+	 */
+	private List<Cube> constant(boolean value) {
+		List<Cube> cubes = new ArrayList<>();
+		if (value) {
+			cubes.add(Cube.universe(variables.size()));
+		}
+		return cubes;
+	}
+
+	/**
+	 * Pomoćna metoda koja računa sumu dviju suma produkata uz apsorpciju.
+	 *
+	 * @param first
+	 *            prva suma produkata
+	 * @param second
+	 *            druga suma produkata
+	 * @return nova suma produkata
+	 * @throws NormalFormSizeException
+	 *             ukoliko suma ima previše produkata
+	 */
+	private List<Cube> sum(List<Cube> first, List<Cube> second) {
+		SubsumptionIndex sum = new SubsumptionIndex(variables.size());
+		sum.addAll(first);
+		for (Cube cube : second) {
+			add(sum, cube);
+		}
+		return sum.toList();
+	}
+
+	/**
+	 * Pomoćna metoda koja računa produkt dviju suma produkata uz apsorpciju.
+	 *
+	 * @param first
+	 *            prva suma produkata
+	 * @param second
+	 *            druga suma produkata
+	 * @return nova suma produkata
+	 * @throws NormalFormSizeException
+	 *             ukoliko produkt ima previše produkata
+	 */
+	private List<Cube> product(List<Cube> first, List<Cube> second) {
+		SubsumptionIndex product = new SubsumptionIndex(variables.size());
+		for (Cube a : first) {
+			for (Cube b : second) {
+				Cube cube = a.intersect(b);
+				if (cube != null) {
+					add(product, cube);
+				}
+			}
+		}
+		return product.toList();
+	}
+
+	/**
+	 * Pomoćna metoda koja kocku <b>cube</b> dodaje u sumu <b>sum</b> te
+	 * provjerava ograničenje broja produkata.
+	 *
+	 * @param sum
+	 *            suma produkata koja se mijenja
+	 * @param cube
+	 *            kocka koja se dodaje
+	 * @throws NormalFormSizeException
+	 *             ukoliko suma nakon dodavanja ima previše produkata
+	 */
+	private void add(SubsumptionIndex sum, Cube cube) {
+		if (sum.add(cube) && sum.size() > maxTerms) {
+			throw new NormalFormSizeException("Normalni oblik ima više od " + maxTerms + " produkata!");
+		}
+	}
+}
@@ -0,0 +1,315 @@
+package hr.fer.zemris.bf.normal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import hr.fer.zemris.bf.qmc.Cube;
+
+/**
+ * Razred predstavlja skup kocki ({@link Cube}) u kojem niti jedna kocka nije
+ * sadržana u drugoj. Kocka koja se dodaje odbacuje se ukoliko ju sadrži neka
+ * kocka skupa, a kocke skupa koje ona sadrži se uklanjaju. Za sumu produkata
+ * to je apsorpcija (<i>a + ab = a</i>), a za produkt suma subsumpcija klauzula
+ * (<i>a(a + b) = a</i>), jer kocka sadrži drugu kocku točno onda kada su
+ * njezini literali podskup literala druge kocke.
+ *
+ * <p>
+ * Kako se dodavanje ne bi svodilo na usporedbu sa svim kockama, skup za
+ * svaki literal pamti popis kocki u kojima se pojavljuje. Kocke koje sadrže
+ * novu kocku pronalaze se brojanjem pojavljivanja njezinih literala, a kocke
+ * koje nova kocka sadrži traže se samo među kockama koje imaju njezin
+ * najrjeđi literal. Uklonjene kocke ostaju u popisima dok ih ne bude više
+ * od kocki u skupu, kada se popisi sažimaju.
+ * </p>
+ *
+ * @author Davor Češljaš
+ */
+public final class SubsumptionIndex {
+
+	/** Broj varijabli kocki */
+	private final int variableCount;
+
+	/** Dodane kocke; uklonjene kocke su <code>null</code> */
+	private Cube[] cubes = new Cube[16];
+
+	/** Broj literala svake dodane kocke */
+	private int[] literalCounts = new int[16];
+
+	/** Broj dodanih kocki, uključujući uklonjene */
+	private int count;
+
+	/**
+	 * Popisi indeksa kocki za svaki literal: literal varijable <i>v</i> ima
+	 * indeks 2<i>v</i> ukoliko je komplementiran, a 2<i>v</i> + 1 inače
+	 */
+	private final IntVector[] occurrences;
+
+	/** Broj kocki u skupu */
+	private int size;
+
+	/** Broj kocki skupa bez literala, koje sadrže svaku kocku */
+	private int universeCount;
+
+	/** Brojači pojavljivanja literala po kocki, koriste se prilikom dodavanja */
+	private int[] counters = new int[16];
+
+	/** Indeksi kocki čiji su brojači promijenjeni prilikom dodavanja */
+	private final IntVector touched = new IntVector();
+
+	/**
+	 * Konstruktor koji stvara prazan skup kocki nad <b>variableCount</b>
+	 * varijabli.
+	 *
+	 * @param variableCount
+	 *            broj varijabli kocki
+	 */
+	public SubsumptionIndex(int variableCount) {
+		this.variableCount = variableCount;
+		this.occurrences = new IntVector[2 * variableCount];
+		for (int i = 0; i < occurrences.length; i++) {
+			occurrences[i] = new IntVector();
+		}
+	}
+
+	/**
+	 * Metoda koja dodaje kocku <b>cube</b> u skup. Kocka se ne dodaje ukoliko
+	 * ju sadrži neka kocka skupa, a u suprotnom se iz skupa uklanjaju sve
+	 * kocke koje ona sadrži.
+	 *
+	 * @param cube
+	 *            kocka koja se dodaje
+	 * @return <code>true</code> ukoliko je kocka dodana
+	 * @throws IllegalArgumentException
+	 *             ukoliko kocka nema jednak broj varijabli kao skup
+	 */
+	public boolean add(Cube cube) {
+		if (cube.getVariableCount() != variableCount) {
+			throw new IllegalArgumentException("Kocka " + cube + " nema " + variableCount + " varijabli!");
+		}
+		int[] literals = literals(cube);
+		if (isContained(literals)) {
+			return false;
+		}
+		removeContainedIn(cube, literals);
+		if (count - size > size) {
+			compact();
+		}
+
+		if (count == cubes.length) {
+			cubes = Arrays.copyOf(cubes, 2 * count);
+			literalCounts = Arrays.copyOf(literalCounts, 2 * count);
+		}
+		cubes[count] = cube;
+		literalCounts[count] = literals.length;
+		for (int literal : literals) {
+			occurrences[literal].add(count);
+		}
+		count++;
+		if (literals.length == 0) {
+			universeCount++;
+		}
+		size++;
+		return true;
+	}
+
+	/**
+	 * Metoda koja dodaje sve kocke <b>other</b> u skup.
+	 *
+	 * @param other
+	 *            kocke koje se dodaju
+	 */
+	public void addAll(Iterable<Cube> other) {
+		for (Cube cube : other) {
+			add(cube);
+		}
+	}
+
+	/**
+	 * Metoda koja dohvaća broj kocki u skupu.
+	 *
+	 * @return broj kocki
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Metoda koja dohvaća kocke skupa redoslijedom dodavanja.
+	 *
+	 * @return nova {@link List}a kocki
+	 */
+	public List<Cube> toList() {
+		List<Cube> list = new ArrayList<>(size);
+		for (int i = 0; i < count; i++) {
+			if (cubes[i] != null) {
+				list.add(cubes[i]);
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava sadrži li neka kocka skupa kocku s
+	 * literalima <b>literals</b>, tj. je li skup literala neke kocke podskup
+	 * od <b>literals</b>.
+	 *
+	 * @param literals
+	 *            indeksi literala kocke
+	 * @return <code>true</code> ukoliko je kocka sadržana u nekoj kocki skupa
+	 */
+	private boolean isContained(int[] literals) {
+		if (counters.length < count) {
+			counters = new int[Math.max(count, 2 * counters.length)];
+		}
+		touched.size = 0;
+		boolean contained = universeCount > 0;
+		for (int k = 0; k < literals.length && !contained; k++) {
+			IntVector list = occurrences[literals[k]];
+			for (int j = 0; j < list.size; j++) {
+				int index = list.data[j];
+				if (cubes[index] == null) {
+					continue;
+				}
+				if (counters[index]++ == 0) {
+					touched.add(index);
+				}
+				if (counters[index] == literalCounts[index]) {
+					contained = true;
+					break;
+				}
+			}
+		}
+		for (int j = 0; j < touched.size; j++) {
+			counters[touched.data[j]] = 0;
+		}
+		return contained;
+	}
+
+	/**
+	 * Pomoćna metoda koja iz skupa uklanja sve kocke sadržane u kocki
+	 * <b>cube</b>. Takve kocke moraju imati svaki literal kocke <b>cube</b>,
+	 * pa se traže među kockama njezinog najrjeđeg literala.
+	 *
+	 * @param cube
+	 *            kocka koja se dodaje
+	 * @param literals
+	 *            indeksi literala kocke
+	 */
+	private void removeContainedIn(Cube cube, int[] literals) {
+		if (literals.length == 0) {
+			for (int i = 0; i < count; i++) {
+				remove(i);
+			}
+			return;
+		}
+		IntVector rarest = occurrences[literals[0]];
+		for (int literal : literals) {
+			if (occurrences[literal].size < rarest.size) {
+				rarest = occurrences[literal];
+			}
+		}
+		for (int j = 0; j < rarest.size; j++) {
+			int index = rarest.data[j];
+			Cube candidate = cubes[index];
+			if (candidate != null && cube.contains(candidate)) {
+				remove(index);
+			}
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja uklanja kocku s indeksom <b>index</b> iz skupa.
+	 * Indeks ostaje u popisima pojavljivanja literala, a pretraživanja ga
+	 * preskaču jer je kocka <code>null</code> (vidi {@link #compact()}).
+	 *
+	 * @param index
+	 *            indeks kocke
+	 */
+	private void remove(int index) {
+		if (cubes[index] == null) {
+			return;
+		}
+		if (literalCounts[index] == 0) {
+			universeCount--;
+		}
+		cubes[index] = null;
+		size--;
+	}
+
+	/**
+	 * Pomoćna metoda koja iz polja kocki i popisa pojavljivanja literala
+	 * izbacuje uklonjene kocke. Preostale kocke dobivaju nove indekse istim
+	 * redoslijedom, pa popisi ostaju uzlazno poredani.
+	 */
+	private void compact() {
+		int[] moved = new int[count];
+		int live = 0;
+		for (int i = 0; i < count; i++) {
+			moved[i] = cubes[i] == null ? -1 : live++;
+		}
+		for (int i = 0; i < count; i++) {
+			if (moved[i] >= 0) {
+				cubes[moved[i]] = cubes[i];
+				literalCounts[moved[i]] = literalCounts[i];
+			}
+		}
+		Arrays.fill(cubes, live, count, null);
+		for (IntVector list : occurrences) {
+			int kept = 0;
+			for (int j = 0; j < list.size; j++) {
+				int index = moved[list.data[j]];
+				if (index >= 0) {
+					list.data[kept++] = index;
+				}
+			}
+			list.size = kept;
+		}
+		count = live;
+	}
+
+	/**
+	 * Pomoćna metoda koja računa indekse literala kocke <b>cube</b>.
+	 *
+	 * @param cube
+	 *            kocka
+	 * @return indeksi literala
+	 */
+	private int[] literals(Cube cube) {
+		int[] literals = new int[cube.literalCount()];
+		for (int v = 0, k = 0; k < literals.length; v++) {
+			byte literal = cube.getLiteral(v);
+			if (literal != Cube.NOT_IN_PRODUCT) {
+				literals[k++] = 2 * v + literal;
+			}
+		}
+		return literals;
+	}
+
+	/**
+	 * Razred predstavlja polje cijelih brojeva promjenjive veličine.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class IntVector {
+
+		/** Elementi */
+		private int[] data = new int[4];
+
+		/** Broj elemenata */
+		private int size;
+
+		/**
+		 * Metoda koja dodaje element na kraj polja.
+		 *
+		 * @param value
+		 *            element
+		 */
+		private void add(int value) {
+			if (size == data.length) {
+				data = Arrays.copyOf(data, 2 * size);
+			}
+			data[size++] = value;
+		}
+	}
+}
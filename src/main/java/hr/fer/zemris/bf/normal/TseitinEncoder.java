@@ -0,0 +1,353 @@
+package hr.fer.zemris.bf.normal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.BinaryOperatorType;
+import hr.fer.zemris.bf.model.ConstantNode;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.NodeVisitor;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.UnaryOperatorType;
+import hr.fer.zemris.bf.model.VariableNode;
+import hr.fer.zemris.bf.qmc.Cube;
+
+/**
+ * Razred koji implementira sučelje {@link NodeVisitor}. Ovaj posjetitelj
+ * izraz pretvara u konjunktivni normalni oblik Tseitinovim kodiranjem: svaki
+ * operator dobiva pomoćnu varijablu čija je vrijednost klauzulama izjednačena
+ * s vrijednošću operatora, a korijen izraza dodaje se kao jedinična klauzula.
+ * Broj klauzula raste linearno s veličinom izraza, a dobiveni oblik je
+ * ispunjiv točno kada je ispunjiv izraz. Štoviše, svaka pridružba izvornih
+ * varijabli ima jedinstveno proširenje na pomoćne varijable, pa se modeli
+ * oblika ograničeni na izvorne varijable podudaraju s modelima izraza.
+ * Negacija ne uvodi pomoćnu varijablu, nego samo komplementira literal.
+ * Binarni operator s više djece primjenjuje se jednakim redoslijedom kao u
+ * razredu {@link hr.fer.zemris.bf.utils.ExpressionEvaluator}: od zadnjeg
+ * djeteta prema prvom.
+ *
+ * <p>
+ * Literali se tijekom kodiranja zapisuju cijelim brojevima: varijabla s
+ * indeksom <i>i</i> ima literal <i>i</i> + 1, a njezin komplement
+ * -(<i>i</i> + 1).
+ * </p>
+ *
+ * @see NormalFormConverter
+ *
+ * @author Davor Češljaš
+ */
+public class TseitinEncoder implements NodeVisitor {
+
+	/** Prefiks naziva pomoćnih varijabli */
+	public static final String AUXILIARY_PREFIX = "_T";
+
+	/** Nazivi izvornih varijabli */
+	private final List<String> variables;
+
+	/** Nazivi svih varijabli, uključujući pomoćne */
+	private final List<String> allVariables;
+
+	/** Nazivi koji se ne smiju koristiti za pomoćne varijable */
+	private final Set<String> usedNames;
+
+	/** Klauzule kodiranja */
+	private final List<int[]> clauses = new ArrayList<>();
+
+	/** Literal vrijednosti zadnjeg posjećenog podizraza */
+	private int literal;
+
+	/** Literal konstante <code>true</code>, 0 ukoliko još nije uveden */
+	private int trueLiteral;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param variables
+	 *            nazivi izvornih varijabli
+	 * @throws IllegalArgumentException
+	 *             ukoliko je {@link List}a varijabli <code>null</code> ili
+	 *             prazna
+	 */
+	public TseitinEncoder(List<String> variables) {
+		if (variables == null || variables.isEmpty()) {
+			throw new IllegalArgumentException("Lista varijabli ne smije biti null ni prazna!");
+		}
+		this.variables = variables;
+		this.allVariables = new ArrayList<>(variables);
+		this.usedNames = new HashSet<>(variables);
+	}
+
+	/**
+	 * Metoda koja izraz <b>expression</b> kodira u konjunktivni normalni
+	 * oblik.
+	 *
+	 * @param expression
+	 *            izraz
+	 * @param variables
+	 *            nazivi izvornih varijabli
+	 * @return konjunktivni normalni oblik s pomoćnim varijablama
+	 * @throws IllegalArgumentException
+	 *             ukoliko je izraz <code>null</code>, ukoliko je {@link List}a
+	 *             varijabli prazna ili ukoliko izraz sadrži nepoznatu
+	 *             varijablu
+	 */
+	public static NormalForm encode(Node expression, List<String> variables) {
+		if (expression == null) {
+			throw new IllegalArgumentException("Izraz ne smije biti null!");
+		}
+		TseitinEncoder encoder = new TseitinEncoder(variables);
+		expression.accept(encoder);
+		return encoder.getResult();
+	}
+
+	@Override
+	public void visit(ConstantNode node) {
+		literal = constant(node.getValue());
+	}
+
+	@Override
+	public void visit(VariableNode node) {
+		int index = variables.indexOf(node.getName());
+		if (index < 0) {
+			throw new IllegalArgumentException("Nepoznata varijabla: " + node.getName());
+		}
+		literal = index + 1;
+	}
+
+	@Override
+	public void visit(UnaryOperatorNode node) {
+		node.getChild().accept(this);
+		if (UnaryOperatorType.of(node) == UnaryOperatorType.NOT) {
+			literal = -literal;
+			return;
+		}
+
+		UnaryOperator<Boolean> operator = node.getOperator();
+		boolean whenFalse = operator.apply(false);
+		boolean whenTrue = operator.apply(true);
+		if (whenFalse == whenTrue) {
+			literal = constant(whenTrue);
+		} else if (whenFalse) {
+			literal = -literal;
+		}
+	}
+
+	@Override
+	public void visit(BinaryOperatorNode node) {
+		List<Node> children = node.getChildren();
+		int[] operands = new int[children.size()];
+		for (int i = 0; i < operands.length; i++) {
+			children.get(i).accept(this);
+			operands[i] = literal;
+		}
+
+		BinaryOperatorType type = BinaryOperatorType.of(node);
+		if (type == BinaryOperatorType.AND || type == BinaryOperatorType.OR) {
+			literal = junction(operands, type == BinaryOperatorType.AND);
+			return;
+		}
+
+		BinaryOperator<Boolean> operator = node.getOperator();
+		int accumulator = operands[operands.length - 1];
+		for (int i = operands.length - 2; i >= 0; i--) {
+			accumulator = gate(operands[i], accumulator, operator);
+		}
+		literal = accumulator;
+	}
+
+	/**
+	 * Metoda koja dohvaća konjunktivni normalni oblik posjećenog izraza, u
+	 * kojem je vrijednost izraza zadana jediničnom klauzulom.
+	 *
+	 * @return konjunktivni normalni oblik s pomoćnim varijablama
+	 * @throws IllegalStateException
+	 *             ukoliko posjetitelj još nije posjetio izraz
+	 */
+	public NormalForm getResult() {
+		List<Cube> cubes = new ArrayList<>();
+		for (int[] clause : getClauses()) {
+			byte[] values = new byte[allVariables.size()];
+			Arrays.fill(values, Cube.NOT_IN_PRODUCT);
+			for (int literal : clause) {
+				values[Math.abs(literal) - 1] = literal > 0 ? Cube.POSITIVE : Cube.NEGATIVE;
+			}
+			cubes.add(new Cube(values));
+		}
+		return new NormalForm(NormalForm.Type.CNF, allVariables, variables.size(), cubes);
+	}
+
+	/**
+	 * Metoda koja dohvaća klauzule kodiranja posjećenog izraza zapisane
+	 * cjelobrojnim literalima, uključujući jediničnu klauzulu vrijednosti
+	 * izraza. Ponovljeni literali su spojeni, a klauzule koje sadrže varijablu
+	 * i njezin komplement te ponovljene klauzule su izostavljene. Za razliku od
+	 * metode {@link #getResult()}, veličina zapisa ne ovisi o ukupnom broju
+	 * varijabli, pa je zapis prikladan za velike izraze.
+	 *
+	 * @return nova {@link List}a klauzula
+	 * @throws IllegalStateException
+	 *             ukoliko posjetitelj još nije posjetio izraz
+	 */
+	public List<int[]> getClauses() {
+		if (literal == 0) {
+			throw new IllegalStateException("Izraz još nije posjećen!");
+		}
+		List<int[]> all = new ArrayList<>(clauses);
+		all.add(new int[] { literal });
+
+		List<int[]> result = new ArrayList<>(all.size());
+		Set<List<Integer>> seen = new HashSet<>();
+		for (int[] clause : all) {
+			int[] simplified = simplify(clause);
+			if (simplified != null && seen.add(toList(simplified))) {
+				result.add(simplified);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Metoda koja dohvaća nazive svih varijabli kodiranja: izvorne varijable,
+	 * a zatim pomoćne varijable redom uvođenja.
+	 *
+	 * @return nepromjenjiva {@link List}a naziva varijabli
+	 */
+	public List<String> getVariables() {
+		return Collections.unmodifiableList(allVariables);
+	}
+
+	/**
+	 * Pomoćna metoda koja uvodi pomoćnu varijablu jednaku konjunkciji
+	 * (<b>and</b> je <code>true</code>) ili disjunkciji literala
+	 * <b>operands</b>.
+	 *
+	 * @param operands
+	 *            literali operanada
+	 * @param and
+	 *            zastavica koja govori radi li se o konjunkciji
+	 * @return literal pomoćne varijable
+	 */
+	private int junction(int[] operands, boolean and) {
+		if (operands.length == 1) {
+			return operands[0];
+		}
+		// disjunkcija je negirana konjunkcija negiranih operanada
+		int sign = and ? 1 : -1;
+		int gate = newVariable();
+		int[] large = new int[operands.length + 1];
+		large[0] = gate;
+		for (int i = 0; i < operands.length; i++) {
+			clauses.add(new int[] { -gate, sign * operands[i] });
+			large[i + 1] = -sign * operands[i];
+		}
+		clauses.add(large);
+		return sign * gate;
+	}
+
+	/**
+	 * Pomoćna metoda koja uvodi pomoćnu varijablu jednaku vrijednosti
+	 * operatora <b>operator</b> primijenjenog na literale <b>first</b> i
+	 * <b>second</b>. Za svaku kombinaciju vrijednosti operanada dodaje se
+	 * klauzula koja zadaje vrijednost pomoćne varijable.
+	 *
+	 * @param first
+	 *            literal prvog operanda
+	 * @param second
+	 *            literal drugog operanda
+	 * @param operator
+	 *            binarni operator
+	 * @return literal pomoćne varijable
+	 */
+	private int gate(int first, int second, BinaryOperator<Boolean> operator) {
+		int gate = newVariable();
+		for (boolean a : new boolean[] { false, true }) {
+			for (boolean b : new boolean[] { false, true }) {
+				boolean value = operator.apply(a, b);
+				clauses.add(new int[] { a ? -first : first, b ? -second : second, value ? gate : -gate });
+			}
+		}
+		return gate;
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća literal konstante <b>value</b>. Konstanti se
+	 * pri prvoj uporabi dodjeljuje pomoćna varijabla zadana jediničnom
+	 * klauzulom.
+	 *
+	 * @param value
+	 *            vrijednost konstante
+	 * @return literal konstante
+	 */
+	private int constant(boolean value) {
+		if (trueLiteral == 0) {
+			trueLiteral = newVariable();
+			clauses.add(new int[] { trueLiteral });
+		}
+		return value ? trueLiteral : -trueLiteral;
+	}
+
+	/**
+	 * Pomoćna metoda koja uvodi novu pomoćnu varijablu čiji naziv nije naziv
+	 * neke izvorne varijable.
+	 *
+	 * @return literal nove varijable
+	 */
+	private int newVariable() {
+		String name;
+		int suffix = allVariables.size() - variables.size();
+		do {
+			name = AUXILIARY_PREFIX + suffix++;
+		} while (usedNames.contains(name));
+		usedNames.add(name);
+		allVariables.add(name);
+		return allVariables.size();
+	}
+
+	/**
+	 * Pomoćna metoda koja iz klauzule <b>clause</b> uklanja ponovljene literale
+	 * i sortira ih.
+	 *
+	 * @param clause
+	 *            literali klauzule
+	 * @return sortirani literali ili <code>null</code> ukoliko klauzula sadrži
+	 *         varijablu i njezin komplement (tautologija)
+	 */
+	private static int[] simplify(int[] clause) {
+		int[] sorted = clause.clone();
+		Arrays.sort(sorted);
+		int size = 0;
+		for (int literal : sorted) {
+			if (size > 0 && sorted[size - 1] == literal) {
+				continue;
+			}
+			if (Arrays.binarySearch(sorted, -literal) >= 0) {
+				return null;
+			}
+			sorted[size++] = literal;
+		}
+		return Arrays.copyOf(sorted, size);
+	}
+
+	/**
+	 * Pomoćna metoda koja literale <b>clause</b> pretvara u {@link List}u,
+	 * kako bi se ponovljene klauzule mogle prepoznati.
+	 *
+	 * @param clause
+	 *            literali klauzule
+	 * @return {@link List}a literala
+	 */
+	private static List<Integer> toList(int[] clause) {
+		List<Integer> list = new ArrayList<>(clause.length);
+		for (int literal : clause) {
+			list.add(literal);
+		}
+		return list;
+	}
+}
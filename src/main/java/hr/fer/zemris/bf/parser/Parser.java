@@ -5,14 +5,17 @@ import java.util.List;
 import java.util.function.BinaryOperator;
 import java.util.function.Supplier;
 
+import hr.fer.zemris.bf.jfr.ParseEvent;
 import hr.fer.zemris.bf.lexer.Lexer;
 import hr.fer.zemris.bf.lexer.LexerException;
 import hr.fer.zemris.bf.lexer.Token;
 import hr.fer.zemris.bf.lexer.TokenType;
 import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.BinaryOperatorType;
 import hr.fer.zemris.bf.model.ConstantNode;
 import hr.fer.zemris.bf.model.Node;
 import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.UnaryOperatorType;
 import hr.fer.zemris.bf.model.VariableNode;
 
 /**
@@ -51,6 +54,12 @@ public class Parser {
 	/** Zadnje izvađeni token pozivom metode {@link Lexer#nextToken()} */
 	private Token currentToken;
 
+	/** Broj tokena izvađenih pozivom metode {@link Lexer#nextToken()} */
+	private int tokenCount;
+
+	/** Broj izvađenih tokena tipa {@link TokenType#VARIABLE} */
+	private int variableCount;
+
 	/**
 	 * Konstruktor koji stvara primjerak razreda {@link Lexer} i predaje mu
 	 * predani izraz <b>expression</b>. Nakon uspješnog stvaranja leksičkog
@@ -66,14 +75,41 @@ public class Parser {
 	 *             stvoriti generativno stablo
 	 */
 	public Parser(String expression) {
+		ParseEvent event = new ParseEvent();
+		event.begin();
 		try {
-			lexer = new Lexer(expression);
-		} catch (LexerException e) {
-			throw new ParserException("Leksička analiza: " + e.getMessage());
+			try {
+				lexer = new Lexer(expression);
+			} catch (LexerException e) {
+				throw new ParserException("Leksička analiza: " + e.getMessage());
+			}
+
+			setCurrentToken();
+			this.expression = s();
+		} finally {
+			commitEvent(event, expression);
 		}
+	}
 
-		setCurrentToken();
-		this.expression = s();
+	/**
+	 * Pomoćna metoda koja završava i bilježi predani događaj <b>event</b>
+	 * ukoliko je snimanje događaja uključeno.
+	 *
+	 * @param event
+	 *            događaj koji je započeo prilikom poziva konstruktora
+	 * @param expression
+	 *            izraz koji se parsirao
+	 */
+	private void commitEvent(ParseEvent event, String expression) {
+		event.end();
+		if (!event.shouldCommit()) {
+			return;
+		}
+		event.expressionLength = expression == null ? 0 : expression.length();
+		event.tokenCount = tokenCount;
+		event.variableCount = variableCount;
+		event.succeeded = this.expression != null;
+		event.commit();
 	}
 
 	/**
@@ -100,7 +136,7 @@ public class Parser {
 	 * @return čvor generativnog stabla
 	 */
 	private Node e1() {
-		return binaryNode(Lexer.OR_TOKEN, () -> e2(), Boolean::logicalOr);
+		return binaryNode(Lexer.OR_TOKEN, () -> e2(), BinaryOperatorType.OR);
 	}
 
 	/**
@@ -113,7 +149,7 @@ public class Parser {
 	 * @return čvor generativnog stabla
 	 */
 	private Node e2() {
-		return binaryNode(Lexer.XOR_TOKEN, () -> e3(), Boolean::logicalXor);
+		return binaryNode(Lexer.XOR_TOKEN, () -> e3(), BinaryOperatorType.XOR);
 	}
 
 	/**
@@ -126,7 +162,7 @@ public class Parser {
 	 * @return čvor generativnog stabla
 	 */
 	private Node e3() {
-		return binaryNode(Lexer.AND_TOKEN, () -> e4(), Boolean::logicalAnd);
+		return binaryNode(Lexer.AND_TOKEN, () -> e4(), BinaryOperatorType.AND);
 	}
 
 	/**
@@ -201,7 +237,7 @@ public class Parser {
 	 */
 	private Node e4() {
 		if (currentToken.equals(Lexer.NOT_TOKEN)) {
-			return new UnaryOperatorNode(consumeAndSetToken().getTokenValue().toString(), e4(), bool -> !bool);
+			return new UnaryOperatorNode(consumeAndSetToken().getTokenValue().toString(), e4(), UnaryOperatorType.NOT);
 		}
 		return e5();
 	}
@@ -273,6 +309,10 @@ public class Parser {
 	private void setCurrentToken() {
 		try {
 			currentToken = lexer.nextToken();
+			tokenCount++;
+			if (currentToken.getTokenType() == TokenType.VARIABLE) {
+				variableCount++;
+			}
 		} catch (LexerException e) {
 			throw new ParserException("Leksički analizator: " + e.getMessage());
 		}
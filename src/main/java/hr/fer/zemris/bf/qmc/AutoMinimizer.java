@@ -0,0 +1,477 @@
+package hr.fer.zemris.bf.qmc;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hr.fer.zemris.bf.bdd.BddManager;
+import hr.fer.zemris.bf.bdd.ImplicitPrimes;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.utils.NodeAsExpressionPrinter;
+import hr.fer.zemris.bf.utils.Util;
+
+/**
+ * Razred predstavlja minimizator koji sam bira postupak minimizacije
+ * ({@link MinimizationEngine}) tako da procijenjeno trajanje bude unutar
+ * zadanog ciljnog vremena. Odluka se donosi u koracima:
+ * <ol>
+ * <li>ukoliko je funkcija unutar tablice {@link MinimalFormTable}, koristi
+ * se tablica</li>
+ * <li>ukoliko procjena za implicitne primarne implikante
+ * ({@link ImplicitPrimes}) stane u ciljno vrijeme, ili ukoliko niti
+ * procjena za {@link Espresso} ne stane u ciljno vrijeme, a nije manja od
+ * nje, implicitni primarni implikanti se generiraju te se iz njih računaju
+ * broj primarnih implikanata i veličina cikličke jezgre</li>
+ * <li>ukoliko tada procjena za egzaktno pokrivanje ({@link Minimizer})
+ * stane u ciljno vrijeme, ono se traži nad već izračunatim primarnim
+ * implikantima, a inače se koristi već izračunato heurističko pokrivanje
+ * implicitnih primarnih implikanata</li>
+ * <li>inače se koristi {@link Espresso}, tj. kada samo on stane u ciljno
+ * vrijeme ili kada niti jedan postupak ne stane, a njegova je procjena
+ * manja</li>
+ * </ol>
+ * Procjene daje {@link CostModel}. Odluka se ispisuje kroz {@link Logger}
+ * "hr.fer.zemris.bf.qmc" na razini {@link Level#FINE} i dostupna je metodom
+ * {@link #getDecision()}, zajedno s izmjerenim trajanjima koja služe za
+ * prilagodbu modela ({@link CostModel#calibrate(List)}). Rezultati se
+ * dohvaćaju jednako kao kod razreda {@link Minimizer}.
+ *
+ * @author Davor Češljaš
+ */
+public class AutoMinimizer {
+
+	/**
+	 * Konstanta koja predstavlja primjerak razreda {@link Logger} koji se
+	 * koristi za ispis odluke
+	 */
+	private static final Logger LOG = Logger.getLogger("hr.fer.zemris.bf.qmc");
+
+	/** Zadano ciljno vrijeme minimizacije u nanosekundama (1 sekunda) */
+	public static final long DEFAULT_LATENCY_TARGET_NANOS = 1_000_000_000L;
+
+	/**
+	 * Najveći umnožak broja primarnih implikanata i minterma za koji se
+	 * računa ciklička jezgra
+	 */
+	private static final long MAX_CORE_WORK = 5_000_000L;
+
+	/** Nazivi varijabli */
+	private final List<String> variables;
+
+	/** Donesena odluka */
+	private final Decision decision;
+
+	/** Pronađeni oblici */
+	private final List<Node> minimalForms;
+
+	/**
+	 * Konstruktor koji minimizira funkciju uz zadani model cijene i zadano
+	 * ciljno vrijeme ({@value #DEFAULT_LATENCY_TARGET_NANOS} ns).
+	 *
+	 * @param mintermSet
+	 *            brojčani {@link Set} minterma
+	 * @param dontCareSet
+	 *            brojčani {@link Set} don't careova
+	 * @param variables
+	 *            nazivi varijabli
+	 * @throws IllegalArgumentException
+	 *             ukoliko je bilo koji argument <code>null</code>, ukoliko je
+	 *             {@link List}a varijabli prazna ili ukoliko se {@link Set}ovi
+	 *             preklapaju
+	 */
+	public AutoMinimizer(Set<Integer> mintermSet, Set<Integer> dontCareSet, List<String> variables) {
+		this(mintermSet, dontCareSet, variables, CostModel.defaults(), DEFAULT_LATENCY_TARGET_NANOS);
+	}
+
+	/**
+	 * Konstruktor koji minimizira funkciju uz model cijene <b>model</b> i
+	 * ciljno vrijeme <b>latencyTargetNanos</b>. Predani {@link Set}ovi se ne
+	 * mijenjaju.
+	 *
+	 * @param mintermSet
+	 *            brojčani {@link Set} minterma
+	 * @param dontCareSet
+	 *            brojčani {@link Set} don't careova
+	 * @param variables
+	 *            nazivi varijabli
+	 * @param model
+	 *            model cijene
+	 * @param latencyTargetNanos
+	 *            ciljno vrijeme u nanosekundama
+	 * @throws IllegalArgumentException
+	 *             ukoliko je bilo koji argument <code>null</code>, ukoliko je
+	 *             {@link List}a varijabli prazna, ukoliko se {@link Set}ovi
+	 *             preklapaju ili ukoliko ciljno vrijeme nije pozitivno
+	 */
+	public AutoMinimizer(Set<Integer> mintermSet, Set<Integer> dontCareSet, List<String> variables,
+			CostModel model, long latencyTargetNanos) {
+		if (mintermSet == null || dontCareSet == null || variables == null || model == null) {
+			throw new IllegalArgumentException("Argumenti ne smiju biti null!");
+		}
+		if (variables.isEmpty() || variables.size() >= Integer.SIZE) {
+			throw new IllegalArgumentException("Broj varijabli mora biti između 1 i 31!");
+		}
+		if (latencyTargetNanos <= 0) {
+			throw new IllegalArgumentException("Ciljno vrijeme mora biti pozitivno: " + latencyTargetNanos);
+		}
+		Set<Integer> overlap = new HashSet<>(mintermSet);
+		overlap.retainAll(dontCareSet);
+		if (!overlap.isEmpty()) {
+			throw new IllegalArgumentException("Skup mintermi ima preklapanja sa skupom don't careova");
+		}
+		this.variables = variables;
+
+		ProblemFeatures features = new ProblemFeatures(variables.size(), mintermSet.size(), dontCareSet.size());
+		Map<MinimizationEngine, Double> estimates = new EnumMap<>(MinimizationEngine.class);
+		Map<MinimizationEngine, Long> measured = new EnumMap<>(MinimizationEngine.class);
+		MinimizationEngine engine;
+		List<Node> forms;
+
+		long start = System.nanoTime();
+		if (MinimalFormTable.lookup(mintermSet, dontCareSet, variables.size()) != null) {
+			engine = MinimizationEngine.TABLE;
+			estimates.put(engine, model.estimateNanos(engine, features));
+			forms = minimizer(mintermSet, dontCareSet).getMinimalFormsAsExpressions();
+		} else {
+			double implicit = model.estimateNanos(MinimizationEngine.IMPLICIT, features);
+			double espresso = model.estimateNanos(MinimizationEngine.ESPRESSO, features);
+			estimates.put(MinimizationEngine.IMPLICIT, implicit);
+			estimates.put(MinimizationEngine.ESPRESSO, espresso);
+			if (implicit <= latencyTargetNanos || espresso > latencyTargetNanos && implicit <= espresso) {
+				ImplicitPrimes primes = implicitPrimes(mintermSet, dontCareSet);
+				measured.put(MinimizationEngine.IMPLICIT, System.nanoTime() - start);
+				features = withCore(features, primes, mintermSet);
+				estimates.put(MinimizationEngine.QMC, model.estimateNanos(MinimizationEngine.QMC, features));
+
+				if (estimates.get(MinimizationEngine.QMC) <= latencyTargetNanos) {
+					engine = MinimizationEngine.QMC;
+					forms = Minimizer.fromPrimes(new LinkedHashSet<>(mintermSet), new LinkedHashSet<>(dontCareSet),
+							primes.getPrimes(), variables).getMinimalFormsAsExpressions();
+				} else {
+					engine = MinimizationEngine.IMPLICIT;
+					forms = Collections.singletonList(Cube.toSumOfProducts(primes.getCover(), variables));
+				}
+			} else {
+				engine = MinimizationEngine.ESPRESSO;
+				forms = Espresso.fromMinterms(mintermSet, dontCareSet, variables).getMinimalFormsAsExpressions();
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		if (engine != MinimizationEngine.IMPLICIT) {
+			measured.put(engine, elapsed - measured.getOrDefault(MinimizationEngine.IMPLICIT, 0L));
+		}
+
+		this.minimalForms = forms;
+		this.decision = new Decision(engine, features, estimates, measured, latencyTargetNanos, elapsed);
+		if (LOG.isLoggable(Level.FINE)) {
+			LOG.log(Level.FINE, decision.toString());
+		}
+	}
+
+	/**
+	 * Metoda koja dohvaća odabrani postupak minimizacije.
+	 *
+	 * @return odabrani postupak
+	 */
+	public MinimizationEngine getEngine() {
+		return decision.getEngine();
+	}
+
+	/**
+	 * Metoda koja dohvaća donesenu odluku zajedno s procjenama i izmjerenim
+	 * trajanjima.
+	 *
+	 * @return donesena odluka
+	 */
+	public Decision getDecision() {
+		return decision;
+	}
+
+	/**
+	 * Metoda koja dohvaća pronađene oblike kao {@link List} primjeraka razreda
+	 * {@link Node}, jednako kao {@link Minimizer#getMinimalFormsAsExpressions()}.
+	 * Heuristički postupci vraćaju jedan oblik koji ne mora biti minimalan.
+	 *
+	 * @return pronađeni oblici
+	 */
+	public List<Node> getMinimalFormsAsExpressions() {
+		return Collections.unmodifiableList(minimalForms);
+	}
+
+	/**
+	 * Metoda koja dohvaća pronađene oblike kao {@link List} primjeraka razreda
+	 * {@link String}, jednako kao {@link Minimizer#getMinimalFormsAsString()}.
+	 *
+	 * @return pronađeni oblici
+	 */
+	public List<String> getMinimalFormsAsString() {
+		List<String> expressions = new ArrayList<>();
+		for (Node form : minimalForms) {
+			NodeAsExpressionPrinter printer = new NodeAsExpressionPrinter();
+			form.accept(printer);
+			expressions.add(printer.getExpressionAsString());
+		}
+		return expressions;
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara egzaktni minimizator nad kopijama
+	 * {@link Set}ova, jer ih {@link Minimizer} mijenja.
+	 *
+	 * @param mintermSet
+	 *            brojčani {@link Set} minterma
+	 * @param dontCareSet
+	 *            brojčani {@link Set} don't careova
+	 * @return novi minimizator
+	 */
+	private Minimizer minimizer(Set<Integer> mintermSet, Set<Integer> dontCareSet) {
+		return new Minimizer(new LinkedHashSet<>(mintermSet), new LinkedHashSet<>(dontCareSet), variables);
+	}
+
+	/**
+	 * Pomoćna metoda koja gradi dijagrame odlučivanja skupova i računa
+	 * implicitne primarne implikante.
+	 *
+	 * @param mintermSet
+	 *            brojčani {@link Set} minterma
+	 * @param dontCareSet
+	 *            brojčani {@link Set} don't careova
+	 * @return primarni implikanti i heurističko pokrivanje
+	 */
+	private ImplicitPrimes implicitPrimes(Set<Integer> mintermSet, Set<Integer> dontCareSet) {
+		BddManager manager = new BddManager(variables);
+		int on = manager.ref(manager.build(Cube.toSumOfProducts(toCubes(mintermSet), variables)));
+		int dontCare = manager.ref(manager.build(Cube.toSumOfProducts(toCubes(dontCareSet), variables)));
+		return new ImplicitPrimes(manager, on, dontCare);
+	}
+
+	/**
+	 * Pomoćna metoda koja brojčani {@link Set} minterma pretvara u kocke.
+	 *
+	 * @param minterms
+	 *            brojčani {@link Set} minterma
+	 * @return {@link List}a kocki
+	 */
+	private List<Cube> toCubes(Set<Integer> minterms) {
+		List<Cube> cubes = new ArrayList<>(minterms.size());
+		for (int minterm : minterms) {
+			cubes.add(new Cube(Util.indexToByteArray(minterm, variables.size())));
+		}
+		return cubes;
+	}
+
+	/**
+	 * Pomoćna metoda koja značajke dopunjuje brojem primarnih implikanata i
+	 * veličinom cikličke jezgre. Jezgra se dobiva ponavljanim odabirom bitnih
+	 * primarnih implikanata (jedinih koji pokrivaju neki minterm) i
+	 * izbacivanjem implikanata koji više ne pokrivaju niti jedan minterm.
+	 * Ukoliko bi računanje jezgre bilo preskupo, za jezgru se uzimaju svi
+	 * primarni implikanti.
+	 *
+	 * @param features
+	 *            početne značajke
+	 * @param implicitPrimes
+	 *            primarni implikanti
+	 * @param mintermSet
+	 *            brojčani {@link Set} minterma
+	 * @return dopunjene značajke
+	 */
+	private static ProblemFeatures withCore(ProblemFeatures features, ImplicitPrimes implicitPrimes,
+			Set<Integer> mintermSet) {
+		long primeCount = implicitPrimes.getPrimeCount().min(BigInteger.valueOf(Long.MAX_VALUE))
+				.longValue();
+		if (primeCount * (double) mintermSet.size() > MAX_CORE_WORK) {
+			return features.withPrimes(primeCount, primeCount, mintermSet.size());
+		}
+
+		List<Cube> primes = implicitPrimes.getPrimes();
+		List<Integer> minterms = new ArrayList<>(mintermSet);
+		List<List<Integer>> coveredBy = new ArrayList<>();
+		List<List<Integer>> covers = new ArrayList<>();
+		for (int i = 0; i < primes.size(); i++) {
+			covers.add(new ArrayList<>());
+		}
+		for (int j = 0; j < minterms.size(); j++) {
+			coveredBy.add(new ArrayList<>());
+			for (int i = 0; i < primes.size(); i++) {
+				if (primes.get(i).containsMinterm(minterms.get(j))) {
+					coveredBy.get(j).add(i);
+					covers.get(i).add(j);
+				}
+			}
+		}
+
+		boolean[] primeRemoved = new boolean[primes.size()];
+		boolean[] mintermCovered = new boolean[minterms.size()];
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int j = 0; j < minterms.size(); j++) {
+				if (mintermCovered[j]) {
+					continue;
+				}
+				int essential = -1;
+				int covering = 0;
+				for (int i : coveredBy.get(j)) {
+					if (!primeRemoved[i]) {
+						essential = i;
+						covering++;
+					}
+				}
+				if (covering == 1) {
+					primeRemoved[essential] = true;
+					covers.get(essential).forEach(k -> mintermCovered[k] = true);
+					changed = true;
+				}
+			}
+			for (int i = 0; i < primes.size(); i++) {
+				if (!primeRemoved[i] && covers.get(i).stream().allMatch(k -> mintermCovered[k])) {
+					primeRemoved[i] = true;
+					changed = true;
+				}
+			}
+		}
+
+		int corePrimes = 0;
+		for (boolean removed : primeRemoved) {
+			corePrimes += removed ? 0 : 1;
+		}
+		int coreMinterms = 0;
+		for (boolean covered : mintermCovered) {
+			coreMinterms += covered ? 0 : 1;
+		}
+		return features.withPrimes(primeCount, corePrimes, coreMinterms);
+	}
+
+	/**
+	 * Razred predstavlja odluku razreda {@link AutoMinimizer}: odabrani
+	 * postupak, značajke problema, procjene i izmjerena trajanja postupaka
+	 * koji su se izvršili. Primjerci ovog razreda su nepromjenjivi.
+	 *
+	 * @author Davor Češljaš
+	 */
+	public static final class Decision {
+
+		/** Odabrani postupak */
+		private final MinimizationEngine engine;
+
+		/** Značajke problema u trenutku odluke */
+		private final ProblemFeatures features;
+
+		/** Procijenjena trajanja razmatranih postupaka */
+		private final Map<MinimizationEngine, Double> estimatedNanos;
+
+		/** Izmjerena trajanja postupaka koji su se izvršili */
+		private final Map<MinimizationEngine, Long> measuredNanos;
+
+		/** Ciljno vrijeme */
+		private final long latencyTargetNanos;
+
+		/** Ukupno trajanje minimizacije */
+		private final long elapsedNanos;
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda.
+		 *
+		 * @param engine
+		 *            odabrani postupak
+		 * @param features
+		 *            značajke problema
+		 * @param estimatedNanos
+		 *            procijenjena trajanja
+		 * @param measuredNanos
+		 *            izmjerena trajanja
+		 * @param latencyTargetNanos
+		 *            ciljno vrijeme
+		 * @param elapsedNanos
+		 *            ukupno trajanje
+		 */
+		Decision(MinimizationEngine engine, ProblemFeatures features, Map<MinimizationEngine, Double> estimatedNanos,
+				Map<MinimizationEngine, Long> measuredNanos, long latencyTargetNanos, long elapsedNanos) {
+			this.engine = engine;
+			this.features = features;
+			this.estimatedNanos = Collections.unmodifiableMap(new EnumMap<>(estimatedNanos));
+			this.measuredNanos = Collections.unmodifiableMap(new EnumMap<>(measuredNanos));
+			this.latencyTargetNanos = latencyTargetNanos;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		/**
+		 * Metoda koja dohvaća odabrani postupak.
+		 *
+		 * @return odabrani postupak
+		 */
+		public MinimizationEngine getEngine() {
+			return engine;
+		}
+
+		/**
+		 * Metoda koja dohvaća značajke problema u trenutku odluke.
+		 *
+		 * @return značajke problema
+		 */
+		public ProblemFeatures getFeatures() {
+			return features;
+		}
+
+		/**
+		 * Metoda koja dohvaća procijenjena trajanja razmatranih postupaka.
+		 *
+		 * @return nepromjenjiva {@link Map}a procjena u nanosekundama
+		 */
+		public Map<MinimizationEngine, Double> getEstimatedNanos() {
+			return estimatedNanos;
+		}
+
+		/**
+		 * Metoda koja dohvaća izmjerena trajanja postupaka koji su se
+		 * izvršili.
+		 *
+		 * @return nepromjenjiva {@link Map}a trajanja u nanosekundama
+		 */
+		public Map<MinimizationEngine, Long> getMeasuredNanos() {
+			return measuredNanos;
+		}
+
+		/**
+		 * Metoda koja dohvaća ciljno vrijeme.
+		 *
+		 * @return ciljno vrijeme u nanosekundama
+		 */
+		public long getLatencyTargetNanos() {
+			return latencyTargetNanos;
+		}
+
+		/**
+		 * Metoda koja dohvaća ukupno trajanje minimizacije.
+		 *
+		 * @return ukupno trajanje u nanosekundama
+		 */
+		public long getElapsedNanos() {
+			return elapsedNanos;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder();
+			sb.append("Odabran postupak ").append(engine).append(" (").append(features).append(
+					"); cilj ").append(latencyTargetNanos / 1_000_000.0).append(" ms, procjene [");
+			boolean first = true;
+			for (Map.Entry<MinimizationEngine, Double> entry : estimatedNanos.entrySet()) {
+				sb.append(first ? "" : ", ").append(entry.getKey()).append('=')
+						.append(String.format("%.3f ms", entry.getValue() / 1_000_000));
+				first = false;
+			}
+			return sb.append("], trajanje ").append(String.format("%.3f ms", elapsedNanos / 1_000_000.0))
+					.toString();
+		}
+	}
+}
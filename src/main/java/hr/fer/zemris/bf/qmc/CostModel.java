@@ -0,0 +1,269 @@
+package hr.fer.zemris.bf.qmc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Razred predstavlja model cijene kojim {@link AutoMinimizer} procjenjuje
+ * trajanje svakog postupka minimizacije ({@link MinimizationEngine}). Procjena
+ * je zbroj članova oblika <i>koeficijent</i> &middot; <i>količina posla</i>,
+ * gdje se količina posla računa iz značajki problema
+ * ({@link ProblemFeatures}), a koeficijent je broj nanosekundi po jedinici
+ * posla. Koriste se sljedeći članovi (u zagradi je ključ koeficijenta):
+ * <ul>
+ * <li>dohvat iz tablice: stalno vrijeme (<code>table</code>)</li>
+ * <li>egzaktno pokrivanje: <i>p</i>&middot;<i>m</i><sub>1</sub> za izgradnju
+ * tablice pokrivenosti nad <i>p</i> već izračunatih primarnih implikanata
+ * (<code>qmc.table</code>) i 2<sup><i>c</i></sup> za Petrickov postupak nad
+ * cikličkom jezgrom od <i>c</i> implikanata (<code>qmc.cover</code>)</li>
+ * <li>implicitni primarni implikanti: <i>m</i>&middot;<i>n</i> za izgradnju
+ * dijagrama (<code>implicit.build</code>) i
+ * <i>p</i><sup>2</sup>&middot;<i>n</i> za pohlepno pokrivanje s <i>p</i>
+ * primarnih implikanata (<code>implicit.cover</code>)</li>
+ * <li>Espresso: <i>m</i>&middot;<i>n</i> (<code>espresso</code>)</li>
+ * </ul>
+ * gdje je <i>n</i> broj varijabli, <i>m</i><sub>1</sub> broj minterma, a
+ * <i>m</i> zbroj minterma i don't careova.
+ * Koeficijenti se mogu zadati ručno ({@link #fromProperties(Properties)}) ili
+ * prilagoditi izmjerenim trajanjima ({@link #calibrate(List)}). Primjerci
+ * ovog razreda su nepromjenjivi.
+ *
+ * @author Davor Češljaš
+ */
+public final class CostModel {
+
+	/** Ključevi koeficijenata */
+	private static final String[] KEYS = { "table", "qmc.table", "qmc.cover", "implicit.build", "implicit.cover",
+			"espresso" };
+
+	/**
+	 * Zadani koeficijenti, izmjereni na razvojnom računalu nad slučajnim
+	 * funkcijama od 8 do 14 varijabli
+	 */
+	private static final double[] DEFAULTS = { 50_000, 30, 150, 22_000, 8, 20_000 };
+
+	/** Najveći eksponent za koji se računa 2<sup>c</sup> */
+	private static final int MAX_EXPONENT = 1023;
+
+	/** Koeficijenti modela, poredani kao {@link #KEYS} */
+	private final double[] coefficients;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param coefficients
+	 *            koeficijenti modela
+	 */
+	private CostModel(double[] coefficients) {
+		this.coefficients = coefficients;
+	}
+
+	/**
+	 * Metoda koja dohvaća model sa zadanim koeficijentima.
+	 *
+	 * @return model sa zadanim koeficijentima
+	 */
+	public static CostModel defaults() {
+		return new CostModel(DEFAULTS.clone());
+	}
+
+	/**
+	 * Metoda koja stvara model iz svojstava <b>properties</b>. Koeficijenti
+	 * koji nisu zadani poprimaju zadane vrijednosti.
+	 *
+	 * @param properties
+	 *            svojstva s koeficijentima (nanosekunde po jedinici posla)
+	 * @return novi model
+	 * @throws IllegalArgumentException
+	 *             ukoliko neki koeficijent nije nenegativan broj
+	 */
+	public static CostModel fromProperties(Properties properties) {
+		double[] coefficients = DEFAULTS.clone();
+		for (int i = 0; i < KEYS.length; i++) {
+			String value = properties.getProperty(KEYS[i]);
+			if (value == null) {
+				continue;
+			}
+			try {
+				coefficients[i] = Double.parseDouble(value.trim());
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Koeficijent " + KEYS[i] + " nije broj: " + value);
+			}
+			if (!(coefficients[i] >= 0) || Double.isInfinite(coefficients[i])) {
+				throw new IllegalArgumentException("Koeficijent " + KEYS[i] + " mora biti nenegativan: " + value);
+			}
+		}
+		return new CostModel(coefficients);
+	}
+
+	/**
+	 * Metoda koja zapisuje koeficijente modela kao svojstva koja se mogu
+	 * učitati metodom {@link #fromProperties(Properties)}.
+	 *
+	 * @return nova svojstva
+	 */
+	public Properties toProperties() {
+		Properties properties = new Properties();
+		for (int i = 0; i < KEYS.length; i++) {
+			properties.setProperty(KEYS[i], Double.toString(coefficients[i]));
+		}
+		return properties;
+	}
+
+	/**
+	 * Metoda koja procjenjuje trajanje postupka <b>engine</b> nad problemom
+	 * značajki <b>features</b>. Ukoliko za procjenu nedostaje značajka (npr.
+	 * veličina cikličke jezgre za {@link MinimizationEngine#QMC}), vraća se
+	 * {@link Double#POSITIVE_INFINITY}.
+	 *
+	 * @param engine
+	 *            postupak minimizacije
+	 * @param features
+	 *            značajke problema
+	 * @return procijenjeno trajanje u nanosekundama
+	 */
+	public double estimateNanos(MinimizationEngine engine, ProblemFeatures features) {
+		double[] units = units(engine, features);
+		double nanos = 0;
+		for (int i = 0; i < units.length; i++) {
+			if (units[i] != 0) {
+				nanos += coefficients[i] * units[i];
+			}
+		}
+		return nanos;
+	}
+
+	/**
+	 * Metoda koja stvara model čiji su koeficijenti postupka <b>engine</b>
+	 * pomnoženi faktorom koji metodom najmanjih kvadrata najbolje usklađuje
+	 * procjene s izmjerenim trajanjima <b>measuredNanos</b>. Omjeri između
+	 * koeficijenata istog postupka se ne mijenjaju. Mjerenja za koja je
+	 * procjena beskonačna se zanemaruju.
+	 *
+	 * @param engine
+	 *            postupak minimizacije
+	 * @param features
+	 *            značajke izmjerenih problema
+	 * @param measuredNanos
+	 *            izmjerena trajanja u nanosekundama, poredana kao
+	 *            <b>features</b>
+	 * @return novi model, ili ovaj model ukoliko mjerenja ne određuju faktor
+	 * @throws IllegalArgumentException
+	 *             ukoliko {@link List}e nisu jednake duljine
+	 */
+	public CostModel calibrate(MinimizationEngine engine, List<ProblemFeatures> features, List<Long> measuredNanos) {
+		if (features.size() != measuredNanos.size()) {
+			throw new IllegalArgumentException("Broj mjerenja se razlikuje od broja problema!");
+		}
+		double products = 0;
+		double squares = 0;
+		for (int i = 0; i < features.size(); i++) {
+			double estimate = estimateNanos(engine, features.get(i));
+			if (Double.isInfinite(estimate)) {
+				continue;
+			}
+			products += estimate * measuredNanos.get(i);
+			squares += estimate * estimate;
+		}
+		if (squares == 0 || Double.isInfinite(squares)) {
+			return this;
+		}
+
+		double factor = products / squares;
+		double[] calibrated = coefficients.clone();
+		double[] mask = units(engine, new ProblemFeatures(1, 1, 1, 1, 1, 1));
+		for (int i = 0; i < calibrated.length; i++) {
+			if (mask[i] != 0) {
+				calibrated[i] *= factor;
+			}
+		}
+		return new CostModel(calibrated);
+	}
+
+	/**
+	 * Metoda koja prilagođava model mjerenjima zabilježenim u odlukama
+	 * <b>decisions</b>, zasebno za svaki postupak (vidi
+	 * {@link #calibrate(MinimizationEngine, List, List)}).
+	 *
+	 * @param decisions
+	 *            odluke s izmjerenim trajanjima
+	 * @return novi model
+	 */
+	public CostModel calibrate(List<AutoMinimizer.Decision> decisions) {
+		CostModel model = this;
+		for (MinimizationEngine engine : MinimizationEngine.values()) {
+			List<ProblemFeatures> features = new ArrayList<>();
+			List<Long> measured = new ArrayList<>();
+			for (AutoMinimizer.Decision decision : decisions) {
+				Map<MinimizationEngine, Long> measurements = decision.getMeasuredNanos();
+				if (measurements.containsKey(engine)) {
+					features.add(decision.getFeatures());
+					measured.add(measurements.get(engine));
+				}
+			}
+			model = model.calibrate(engine, features, measured);
+		}
+		return model;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("CostModel[");
+		for (int i = 0; i < KEYS.length; i++) {
+			sb.append(i == 0 ? "" : ", ").append(KEYS[i]).append('=').append(coefficients[i]);
+		}
+		return sb.append(']').toString();
+	}
+
+	/**
+	 * Pomoćna metoda koja računa količine posla postupka <b>engine</b>,
+	 * poredane kao {@link #KEYS}. Količine koje se ne odnose na postupak su 0.
+	 *
+	 * @param engine
+	 *            postupak minimizacije
+	 * @param features
+	 *            značajke problema
+	 * @return količine posla
+	 */
+	private static double[] units(MinimizationEngine engine, ProblemFeatures features) {
+		double[] units = new double[KEYS.length];
+		double n = features.getVariableCount();
+		double m = (double) features.getOnCount() + features.getDontCareCount();
+		switch (engine) {
+		case TABLE:
+			units[0] = 1;
+			break;
+		case QMC:
+			long core = features.getCorePrimeCount() != ProblemFeatures.UNKNOWN ? features.getCorePrimeCount()
+					: features.getPrimeCount();
+			units[1] = features.getPrimeCount() == ProblemFeatures.UNKNOWN ? 0 : features.getPrimeCount() * (double) features.getOnCount();
+			units[2] = core == ProblemFeatures.UNKNOWN ? Double.POSITIVE_INFINITY
+					: Math.scalb(1.0, (int) Math.min(core, MAX_EXPONENT));
+			break;
+		case IMPLICIT:
+			double primes = features.getPrimeCount() != ProblemFeatures.UNKNOWN ? features.getPrimeCount() : m;
+			units[3] = m * n;
+			units[4] = primes * primes * n;
+			break;
+		case ESPRESSO:
+			units[5] = m * n;
+			break;
+		default:
+			throw new IllegalArgumentException("Nepoznat postupak: " + engine);
+		}
+		return units;
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(coefficients);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof CostModel && Arrays.equals(coefficients, ((CostModel) obj).coefficients);
+	}
+}
@@ -0,0 +1,502 @@
+package hr.fer.zemris.bf.qmc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.BinaryOperatorType;
+import hr.fer.zemris.bf.model.ConstantNode;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.UnaryOperatorType;
+import hr.fer.zemris.bf.model.VariableNode;
+
+/**
+ * Razred čiji primjerci predstavljaju produkt (kocku) nad zadanim brojem
+ * varijabli, zapisan jednako kao vrijednosti razreda {@link Mask}: znamenka
+ * {@value #NEGATIVE} označava komplementiranu varijablu, {@value #POSITIVE}
+ * nekomplementiranu, a {@value #NOT_IN_PRODUCT} (u tekstu "-") varijablu koja
+ * se ne pojavljuje u produktu. Za razliku od razreda {@link Mask}, kocka ne
+ * pamti minterme koje pokriva, pa je prikladna za funkcije s velikim brojem
+ * varijabli. Varijable su zapisane bitovima dvaju polja tipa
+ * <code>long</code>: jedno označava varijable koje se pojavljuju u produktu,
+ * a drugo njihovu vrijednost. Primjerci ovog razreda su nepromjenjivi.
+ *
+ * @see Mask
+ *
+ * @author Davor Češljaš
+ */
+public final class Cube {
+
+	/** Vrijednost komplementirane varijable */
+	public static final byte NEGATIVE = 0;
+
+	/** Vrijednost nekomplementirane varijable */
+	public static final byte POSITIVE = 1;
+
+	/** Vrijednost varijable koja se ne pojavljuje u produktu */
+	public static final byte NOT_IN_PRODUCT = 2;
+
+	/** Konstanta koja predstavlja niz znakova "NOT" */
+	private static final String NOT = "NOT";
+
+	/** Konstanta koja predstavlja niz znakova "AND" */
+	private static final String AND = "AND";
+
+	/** Konstanta koja predstavlja niz znakova "OR" */
+	private static final String OR = "OR";
+
+	/** Broj varijabli */
+	private final int variableCount;
+
+	/** Bitovi varijabli koje se pojavljuju u produktu */
+	private final long[] care;
+
+	/** Bitovi nekomplementiranih varijabli (podskup {@link #care}) */
+	private final long[] value;
+
+	/**
+	 * Konstruktor koji stvara kocku iz vrijednosti <b>values</b> zapisanih kao
+	 * kod razreda {@link Mask}.
+	 *
+	 * @param values
+	 *            vrijednosti varijabli ({@value #NEGATIVE},
+	 *            {@value #POSITIVE} ili {@value #NOT_IN_PRODUCT})
+	 * @throws IllegalArgumentException
+	 *             ukoliko je predana neispravna vrijednost
+	 */
+	public Cube(byte[] values) {
+		this(values.length);
+		for (int i = 0; i < values.length; i++) {
+			switch (values[i]) {
+			case POSITIVE:
+				value[i >>> 6] |= 1L << i;
+				// fall through
+			case NEGATIVE:
+				care[i >>> 6] |= 1L << i;
+				break;
+			case NOT_IN_PRODUCT:
+				break;
+			default:
+				throw new IllegalArgumentException("Neispravna vrijednost varijable: " + values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Konstruktor koji stvara kocku iz tekstualnog zapisa poput "1-0", gdje
+	 * je svaki znak jedna varijabla.
+	 *
+	 * @param text
+	 *            tekstualni zapis kocke
+	 * @throws IllegalArgumentException
+	 *             ukoliko zapis sadrži znak koji nije '0', '1' ili '-'
+	 */
+	public Cube(String text) {
+		this(parse(text));
+	}
+
+	/**
+	 * Konstruktor koji stvara kocku bez literala (tautologiju) nad
+	 * <b>variableCount</b> varijabli.
+	 *
+	 * @param variableCount
+	 *            broj varijabli
+	 */
+	private Cube(int variableCount) {
+		this.variableCount = variableCount;
+		this.care = new long[(variableCount + 63) >>> 6];
+		this.value = new long[care.length];
+	}
+
+	/**
+	 * Metoda koja stvara kocku bez literala (tautologiju) nad
+	 * <b>variableCount</b> varijabli.
+	 *
+	 * @param variableCount
+	 *            broj varijabli
+	 * @return kocka bez literala
+	 */
+	public static Cube universe(int variableCount) {
+		return new Cube(variableCount);
+	}
+
+	/**
+	 * Metoda koja stvara kocku koja se od ove razlikuje samo u varijabli
+	 * <b>index</b>, čija je nova vrijednost <b>literal</b>.
+	 *
+	 * @param index
+	 *            redni broj varijable
+	 * @param literal
+	 *            nova vrijednost varijable ({@value #NEGATIVE},
+	 *            {@value #POSITIVE} ili {@value #NOT_IN_PRODUCT})
+	 * @return nova kocka
+	 * @throws IllegalArgumentException
+	 *             ukoliko je predana neispravna vrijednost
+	 */
+	public Cube with(int index, byte literal) {
+		if (literal < NEGATIVE || literal > NOT_IN_PRODUCT) {
+			throw new IllegalArgumentException("Neispravna vrijednost varijable: " + literal);
+		}
+		Cube result = copy();
+		long bit = 1L << index;
+		int word = index >>> 6;
+		result.care[word] &= ~bit;
+		result.value[word] &= ~bit;
+		if (literal != NOT_IN_PRODUCT) {
+			result.care[word] |= bit;
+			result.value[word] |= literal == POSITIVE ? bit : 0;
+		}
+		return result;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj varijabli kocke.
+	 *
+	 * @return broj varijabli
+	 */
+	public int getVariableCount() {
+		return variableCount;
+	}
+
+	/**
+	 * Metoda koja dohvaća vrijednost varijable <b>index</b> unutar kocke.
+	 *
+	 * @param index
+	 *            redni broj varijable
+	 * @return {@value #NEGATIVE}, {@value #POSITIVE} ili
+	 *         {@value #NOT_IN_PRODUCT}
+	 */
+	public byte getLiteral(int index) {
+		long bit = 1L << index;
+		int word = index >>> 6;
+		if ((care[word] & bit) == 0) {
+			return NOT_IN_PRODUCT;
+		}
+		return (value[word] & bit) != 0 ? POSITIVE : NEGATIVE;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj literala (varijabli koje se pojavljuju u
+	 * produktu).
+	 *
+	 * @return broj literala
+	 */
+	public int literalCount() {
+		int count = 0;
+		for (long word : care) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * Metoda koja provjerava sadrži li ova kocka kocku <b>other</b>, tj.
+	 * pokriva li svaki minterm kocke <b>other</b>.
+	 *
+	 * @param other
+	 *            kocka jednakog broja varijabli
+	 * @return <code>true</code> ukoliko ova kocka sadrži <b>other</b>
+	 */
+	public boolean contains(Cube other) {
+		for (int i = 0; i < care.length; i++) {
+			if ((care[i] & ~other.care[i]) != 0 || ((value[i] ^ other.value[i]) & care[i]) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Metoda koja provjerava imaju li ova kocka i kocka <b>other</b> barem
+	 * jedan zajednički minterm.
+	 *
+	 * @param other
+	 *            kocka jednakog broja varijabli
+	 * @return <code>true</code> ukoliko se kocke sijeku
+	 */
+	public boolean intersects(Cube other) {
+		for (int i = 0; i < care.length; i++) {
+			if (((value[i] ^ other.value[i]) & care[i] & other.care[i]) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Metoda koja računa presjek (produkt) ove kocke i kocke <b>other</b>.
+	 *
+	 * @param other
+	 *            kocka jednakog broja varijabli
+	 * @return presjek kocki ili <code>null</code> ukoliko se kocke ne sijeku
+	 */
+	public Cube intersect(Cube other) {
+		if (!intersects(other)) {
+			return null;
+		}
+		Cube result = new Cube(variableCount);
+		for (int i = 0; i < care.length; i++) {
+			result.care[i] = care[i] | other.care[i];
+			result.value[i] = value[i] | other.value[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Metoda koja računa konsenzus ove kocke i kocke <b>other</b>. Konsenzus
+	 * postoji samo ukoliko se kocke sukobljavaju u točno jednoj varijabli, a
+	 * dobiva se tako da se ta varijabla ukloni iz presjeka ostalih literala.
+	 *
+	 * @param other
+	 *            kocka jednakog broja varijabli
+	 * @return konsenzus kocki ili <code>null</code> ukoliko se kocke ne
+	 *         sukobljavaju u točno jednoj varijabli
+	 */
+	public Cube consensus(Cube other) {
+		int conflicts = 0;
+		for (int i = 0; i < care.length && conflicts < 2; i++) {
+			conflicts += Long.bitCount((value[i] ^ other.value[i]) & care[i] & other.care[i]);
+		}
+		if (conflicts != 1) {
+			return null;
+		}
+
+		Cube result = new Cube(variableCount);
+		for (int i = 0; i < care.length; i++) {
+			long conflict = (value[i] ^ other.value[i]) & care[i] & other.care[i];
+			result.care[i] = (care[i] | other.care[i]) & ~conflict;
+			result.value[i] = (value[i] | other.value[i]) & result.care[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Metoda koja provjerava pokriva li kocka minterm s rednim brojem
+	 * <b>minterm</b> (varijabla s rednim brojem 0 je najznačajniji bit).
+	 *
+	 * @param minterm
+	 *            redni broj minterma
+	 * @return <code>true</code> ukoliko kocka pokriva minterm
+	 * @throws IllegalArgumentException
+	 *             ukoliko kocka ima više od 63 varijable
+	 */
+	public boolean containsMinterm(long minterm) {
+		if (variableCount >= Long.SIZE) {
+			throw new IllegalArgumentException("Redni broj minterma ne stane u long!");
+		}
+		long bits = Long.reverse(minterm) >>> (Long.SIZE - variableCount);
+		return ((bits ^ value[0]) & care[0]) == 0;
+	}
+
+	/**
+	 * Metoda koja vraća vrijednosti kocke zapisane kao kod razreda
+	 * {@link Mask}.
+	 *
+	 * @return novo polje vrijednosti varijabli
+	 */
+	public byte[] toValues() {
+		byte[] values = new byte[variableCount];
+		for (int i = 0; i < variableCount; i++) {
+			values[i] = getLiteral(i);
+		}
+		return values;
+	}
+
+	/**
+	 * Metoda koja kocku pretvara u primjerak razreda {@link Mask} koji pamti
+	 * sve minterme kocke, pa je prikladna samo za kocke s malim brojem
+	 * varijabli koje se ne pojavljuju u produktu.
+	 *
+	 * @param dontCare
+	 *            zastavica don't care nove maske
+	 * @return nova maska
+	 * @throws IllegalArgumentException
+	 *             ukoliko kocka ima više od 31 varijable ili više od 2
+	 *             <sup>20</sup> minterma
+	 */
+	public Mask toMask(boolean dontCare) {
+		int free = variableCount - literalCount();
+		if (variableCount >= Integer.SIZE || free > 20) {
+			throw new IllegalArgumentException("Kocka " + this + " ima previše minterma za masku!");
+		}
+
+		int base = 0;
+		int[] freeBits = new int[free];
+		for (int i = 0, k = 0; i < variableCount; i++) {
+			int bit = 1 << (variableCount - 1 - i);
+			byte literal = getLiteral(i);
+			if (literal == POSITIVE) {
+				base |= bit;
+			} else if (literal == NOT_IN_PRODUCT) {
+				freeBits[k++] = bit;
+			}
+		}
+
+		Set<Integer> indexes = new TreeSet<>();
+		for (int combination = 0; combination < 1 << free; combination++) {
+			int index = base;
+			for (int k = 0; k < free; k++) {
+				index |= (combination >>> k & 1) != 0 ? freeBits[k] : 0;
+			}
+			indexes.add(index);
+		}
+		return new Mask(toValues(), indexes, dontCare);
+	}
+
+	/**
+	 * Metoda koja kocku pretvara u {@link List} literala jednako kao metoda
+	 * {@link Mask#toVariableNodes(List)}.
+	 *
+	 * @param variables
+	 *            nazivi varijabli
+	 * @return {@link List} literala, ili konstanta <code>true</code> za kocku
+	 *         bez literala
+	 * @throws IllegalArgumentException
+	 *             ukoliko je broj varijabli različit od broja predanih naziva
+	 */
+	public List<Node> toVariableNodes(List<String> variables) {
+		if (variableCount != variables.size()) {
+			throw new IllegalArgumentException("Rekonstrukcija nije moguća: Predali ste pogrešan broj varijabli!");
+		}
+		List<Node> nodes = new ArrayList<>();
+		for (int i = 0; i < variableCount; i++) {
+			byte literal = getLiteral(i);
+			if (literal == NEGATIVE) {
+				nodes.add(new UnaryOperatorNode(NOT, new VariableNode(variables.get(i)), UnaryOperatorType.NOT));
+			} else if (literal == POSITIVE) {
+				nodes.add(new VariableNode(variables.get(i)));
+			}
+		}
+		if (nodes.isEmpty()) {
+			nodes.add(new ConstantNode(true));
+		}
+		return nodes;
+	}
+
+	/**
+	 * Metoda koja iz kocki <b>cubes</b> gradi izraz oblika sume produkata,
+	 * jednako kao metoda {@link Minimizer#getMinimalFormsAsExpressions()}.
+	 *
+	 * @param cubes
+	 *            kocke sume
+	 * @param variables
+	 *            nazivi varijabli
+	 * @return izraz sume produkata, ili konstanta <code>false</code> za
+	 *         praznu sumu
+	 */
+	public static Node toSumOfProducts(Collection<Cube> cubes, List<String> variables) {
+		if (cubes.isEmpty()) {
+			return new ConstantNode(false);
+		}
+		List<Node> products = new ArrayList<>();
+		for (Cube cube : cubes) {
+			products.add(join(cube.toVariableNodes(variables), AND, BinaryOperatorType.AND));
+		}
+		return join(products, OR, BinaryOperatorType.OR);
+	}
+
+	/**
+	 * Metoda koja iz klauzula <b>clauses</b> gradi izraz oblika produkta
+	 * suma. Kocka predstavlja klauzulu, tj. sumu svojih literala.
+	 *
+	 * @param clauses
+	 *            klauzule produkta
+	 * @param variables
+	 *            nazivi varijabli
+	 * @return izraz produkta suma, konstanta <code>true</code> za prazan
+	 *         produkt ili <code>false</code> za praznu klauzulu
+	 */
+	public static Node toProductOfSums(Collection<Cube> clauses, List<String> variables) {
+		if (clauses.isEmpty()) {
+			return new ConstantNode(true);
+		}
+		List<Node> sums = new ArrayList<>();
+		for (Cube clause : clauses) {
+			sums.add(clause.literalCount() == 0 ? new ConstantNode(false)
+					: join(clause.toVariableNodes(variables), OR, BinaryOperatorType.OR));
+		}
+		return join(sums, AND, BinaryOperatorType.AND);
+	}
+
+	/**
+	 * Pomoćna metoda koja čvorove <b>operands</b> povezuje operatorom
+	 * <b>operator</b>. Jedan čvor vraća se nepromijenjen.
+	 *
+	 * @param operands
+	 *            čvorovi koji se povezuju
+	 * @param name
+	 *            naziv čvora operatora
+	 * @param operator
+	 *            operator
+	 * @return povezani čvorovi
+	 */
+	private static Node join(List<Node> operands, String name, BinaryOperatorType operator) {
+		return operands.size() == 1 ? operands.get(0) : new BinaryOperatorNode(name, operands, operator);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(care) + Arrays.hashCode(value);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof Cube)) {
+			return false;
+		}
+		Cube other = (Cube) obj;
+		return variableCount == other.variableCount && Arrays.equals(care, other.care)
+				&& Arrays.equals(value, other.value);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(variableCount);
+		for (int i = 0; i < variableCount; i++) {
+			byte literal = getLiteral(i);
+			sb.append(literal == NOT_IN_PRODUCT ? '-' : (char) ('0' + literal));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara kopiju ove kocke.
+	 *
+	 * @return kopija kocke
+	 */
+	private Cube copy() {
+		Cube result = new Cube(variableCount);
+		System.arraycopy(care, 0, result.care, 0, care.length);
+		System.arraycopy(value, 0, result.value, 0, value.length);
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja tekstualni zapis kocke pretvara u polje vrijednosti.
+	 *
+	 * @param text
+	 *            tekstualni zapis kocke
+	 * @return polje vrijednosti
+	 * @throws IllegalArgumentException
+	 *             ukoliko zapis sadrži neispravan znak
+	 */
+	private static byte[] parse(String text) {
+		byte[] values = new byte[text.length()];
+		for (int i = 0; i < values.length; i++) {
+			char c = text.charAt(i);
+			if (c == '0' || c == '1') {
+				values[i] = (byte) (c - '0');
+			} else if (c == '-') {
+				values[i] = NOT_IN_PRODUCT;
+			} else {
+				throw new IllegalArgumentException("Neispravan znak kocke '" + c + "' u zapisu: " + text);
+			}
+		}
+		return values;
+	}
+}
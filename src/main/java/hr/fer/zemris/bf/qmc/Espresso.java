@@ -0,0 +1,1599 @@
+package hr.fer.zemris.bf.qmc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.utils.NodeAsExpressionPrinter;
+import hr.fer.zemris.bf.utils.Util;
+
+/**
+ * Razred predstavlja heuristički minimizator booleovih funkcija zasnovan na
+ * <a href="https://en.wikipedia.org/wiki/Espresso_heuristic_logic_minimizer">
+ * postupku Espresso</a>. Za razliku od razreda {@link Minimizer}, ovaj razred
+ * ne nabraja minterme niti sve primarne implikante, već radi izravno nad
+ * pokrivanjima kockama i ponavlja korake EXPAND, IRREDUNDANT i REDUCE sve dok
+ * se cijena pokrivanja (broj kocki, zatim broj literala) smanjuje. Provjera
+ * tautologije i najmanja kocka koja sadrži komplement računaju se
+ * unatno-rekurzivnim postupcima. Pokrivanje nula se ne računa jer za funkcije
+ * s mnogo varijabli može biti eksponencijalno veliko, već se implikanti
+ * provjeravaju tautologijom kofaktora. Rezultat je jedno neredundantno
+ * pokrivanje primarnim implikantima koje je blizu minimalnog, ali nije nužno
+ * minimalno.
+ * <p>
+ * Kocke se interno pamte u pozicijskom zapisu: svaka varijabla zauzima dva
+ * bita (bit za vrijednost 0 i bit za vrijednost 1), pa se presjek kocki
+ * računa operacijom I, a najmanja kocka koja sadrži dvije kocke operacijom
+ * ILI nad cijelim riječima.
+ * <p>
+ * Rezultati se dohvaćaju jednako kao kod razreda {@link Minimizer}:
+ * <ul>
+ * <li>{@link #getMinimalFormsAsExpressions()}</li>
+ * <li>{@link #getMinimalFormsAsString()}</li>
+ * </ul>
+ *
+ * @see Cube
+ *
+ * @author Davor Češljaš
+ */
+public class Espresso {
+
+	/**
+	 * Konstanta koja predstavlja primjerak razreda {@link Logger} koji se
+	 * koristi za ispis postupka minimizacije
+	 */
+	private static final Logger LOG = Logger.getLogger("hr.fer.zemris.bf.qmc");
+
+	/** Maska nižih bitova svih parova bitova riječi */
+	private static final long LOW_BITS = 0x5555555555555555L;
+
+	/** Broj varijabli zapisanih u jednoj riječi */
+	private static final int VARIABLES_PER_WORD = Long.SIZE / 2;
+
+	/** Najveći broj ponavljanja koraka REDUCE, EXPAND i IRREDUNDANT */
+	private static final int MAX_ITERATIONS = 20;
+
+	/** Broj slučajnih minterma koji se provjeravaju prije rekurzivne provjere tautologije */
+	private static final int RANDOM_PROBES = 8;
+
+	/** Najveći broj promjena varijabli pri lokalnoj pretrazi iz jednog slučajnog minterma */
+	private static final int LOCAL_SEARCH_FLIPS = 32;
+
+	/** Generator slučajnih minterma, s fiksnim sjemenom radi ponovljivosti rezultata */
+	private final Random random = new Random(0);
+
+	/** Usporedba kocki po broju literala (veće kocke prve) */
+	private final Comparator<long[]> largerFirst = Comparator.comparingInt(this::literalCount);
+
+	/** Nazivi varijabli */
+	private final List<String> variables;
+
+	/** Broj varijabli */
+	private final int variableCount;
+
+	/** Broj riječi pozicijskog zapisa jedne kocke */
+	private final int words;
+
+	/** Pronađeno pokrivanje */
+	private final List<Cube> cover;
+
+	/**
+	 * Konstruktor koji minimizira funkciju zadanu pokrivanjem
+	 * <b>onSet</b> uz pokrivanje don't careova <b>dontCareSet</b>. Za razliku
+	 * od razreda {@link Minimizer}, pokrivanja se smiju preklapati (don't
+	 * care ima prednost).
+	 *
+	 * @param onSet
+	 *            kocke koje pokrivaju jedinice funkcije
+	 * @param dontCareSet
+	 *            kocke koje pokrivaju don't careove funkcije
+	 * @param variables
+	 *            nazivi varijabli
+	 * @throws IllegalArgumentException
+	 *             ukoliko je bilo koji argument <code>null</code>, ukoliko je
+	 *             {@link List}a varijabli prazna ili ukoliko neka kocka ima
+	 *             pogrešan broj varijabli
+	 */
+	public Espresso(Collection<Cube> onSet, Collection<Cube> dontCareSet, List<String> variables) {
+		if (onSet == null || dontCareSet == null) {
+			throw new IllegalArgumentException("Pokrivanje ne smije biti null!");
+		}
+		if (variables == null || variables.isEmpty()) {
+			throw new IllegalArgumentException("Lista varijabli ne smije biti null niti prazna!");
+		}
+		this.variables = variables;
+		this.variableCount = variables.size();
+		this.words = (variableCount + VARIABLES_PER_WORD - 1) / VARIABLES_PER_WORD;
+
+		List<long[]> on = toPositional(onSet);
+		List<long[]> dontCare = toPositional(dontCareSet);
+		List<long[]> result = minimize(on, dontCare);
+
+		cover = new ArrayList<>();
+		for (long[] cube : result) {
+			cover.add(toCube(cube));
+		}
+	}
+
+	/**
+	 * Metoda tvornica koja minimizira funkciju zadanu brojčanim
+	 * {@link Set}ovima minterma i don't careova, kao kod razreda
+	 * {@link Minimizer}.
+	 *
+	 * @param mintermSet
+	 *            brojčani {@link Set} minterma
+	 * @param dontCareSet
+	 *            brojčani {@link Set} don't careova
+	 * @param variables
+	 *            nazivi varijabli
+	 * @return novi minimizator
+	 * @throws IllegalArgumentException
+	 *             ukoliko je bilo koji argument <code>null</code> ili ukoliko
+	 *             se {@link Set}ovi preklapaju
+	 */
+	public static Espresso fromMinterms(Set<Integer> mintermSet, Set<Integer> dontCareSet, List<String> variables) {
+		if (mintermSet == null || dontCareSet == null || variables == null) {
+			throw new IllegalArgumentException("Argumenti ne smiju biti null!");
+		}
+		Set<Integer> overlap = new HashSet<>(mintermSet);
+		overlap.retainAll(dontCareSet);
+		if (!overlap.isEmpty()) {
+			throw new IllegalArgumentException("Skup mintermi ima preklapanja sa skupom don't careova");
+		}
+		return new Espresso(toCubes(mintermSet, variables.size()), toCubes(dontCareSet, variables.size()), variables);
+	}
+
+	/**
+	 * Metoda koja dohvaća pronađeno pokrivanje kao {@link List}u kocki.
+	 *
+	 * @return nepromjenjiva {@link List}a kocki pokrivanja
+	 */
+	public List<Cube> getCover() {
+		return Collections.unmodifiableList(cover);
+	}
+
+	/**
+	 * Metoda koja dohvaća pronađeni oblik kao {@link List}u s jednim
+	 * primjerkom razreda {@link Node}, jednako kao metoda
+	 * {@link Minimizer#getMinimalFormsAsExpressions()}.
+	 *
+	 * @return {@link List} s jednim izrazom oblika sume produkata
+	 */
+	public List<Node> getMinimalFormsAsExpressions() {
+		List<Node> forms = new ArrayList<>();
+		forms.add(Cube.toSumOfProducts(cover, variables));
+		return forms;
+	}
+
+	/**
+	 * Metoda koja dohvaća pronađeni oblik kao {@link List}u s jednim
+	 * primjerkom razreda {@link String}, jednako kao metoda
+	 * {@link Minimizer#getMinimalFormsAsString()}.
+	 *
+	 * @return {@link List} s jednim izrazom oblika sume produkata
+	 */
+	public List<String> getMinimalFormsAsString() {
+		List<String> expressions = new ArrayList<>();
+		for (Node form : getMinimalFormsAsExpressions()) {
+			NodeAsExpressionPrinter printer = new NodeAsExpressionPrinter();
+			form.accept(printer);
+			expressions.add(printer.getExpressionAsString());
+		}
+		return expressions;
+	}
+
+	/**
+	 * Pomoćna metoda koja provodi glavnu petlju postupka Espresso.
+	 *
+	 * @param on
+	 *            pokrivanje jedinica
+	 * @param dontCare
+	 *            pokrivanje don't careova
+	 * @return pronađeno pokrivanje
+	 */
+	private List<long[]> minimize(List<long[]> on, List<long[]> dontCare) {
+		if (on.isEmpty()) {
+			return on;
+		}
+
+		List<long[]> f = irredundant(expand(on, dontCare), dontCare);
+		logCost(0, f);
+		for (int iteration = 1; iteration <= MAX_ITERATIONS; iteration++) {
+			List<long[]> g = irredundant(expand(reduce(f, dontCare), dontCare), dontCare);
+			logCost(iteration, g);
+			if (compareCost(g, f) >= 0) {
+				break;
+			}
+			f = g;
+		}
+		return f;
+	}
+
+	/**
+	 * Pomoćna metoda koja provodi korak EXPAND: svaka kocka se proširuje do
+	 * primarnog implikanta, a kocke koje su time pokrivene se izbacuju.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @param dontCare
+	 *            pokrivanje don't careova
+	 * @return pokrivanje primarnim implikantima
+	 */
+	private List<long[]> expand(List<long[]> f, List<long[]> dontCare) {
+		List<long[]> upper = new ArrayList<>(f);
+		upper.sort(largerFirst);
+		upper.addAll(dontCare);
+		BitSet[] index = literalIndex(upper);
+		MintermSearch search = new MintermSearch(upper, null, index);
+		BitSet covered = new BitSet(f.size());
+		List<long[]> result = new ArrayList<>();
+		for (int i = covered.nextClearBit(0); i < f.size(); i = covered.nextClearBit(i + 1)) {
+			long[] prime = expandCube(upper.get(i), f.size(), upper, index, search);
+			result.add(prime);
+			BitSet inside = new BitSet(f.size());
+			inside.set(0, f.size());
+			for (int w = 0; w < words; w++) {
+				for (long bits = (prime[w] ^ (prime[w] >>> 1)) & LOW_BITS; bits != 0; bits &= bits - 1) {
+					int v = variableOf(w, bits);
+					inside.and(index[2 * v + (int) (literalBits(prime, v) >>> 1)]);
+				}
+			}
+			covered.or(inside);
+		}
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja proširuje kocku <b>cube</b> uklanjanjem literala
+	 * sve dok je proširena kocka implikant. Kako je <b>cube</b> već
+	 * implikant, uklanjanje literala varijable <i>v</i> uspijeva ako i samo
+	 * ako pokrivanje <b>upper</b> pokriva susjednu kocku sa suprotnim
+	 * literalom <i>v</i>. Time se izbjegava računanje pokrivanja nula, koje
+	 * za funkcije s mnogo varijabli može biti eksponencijalno veliko.
+	 * Susjednu kocku sijeku samo kocke koje sijeku <b>cube</b> i nemaju
+	 * literal varijable <i>v</i> te kocke koje se s <b>cube</b> sukobljavaju
+	 * samo u varijabli <i>v</i>. Obje se skupine računaju iz indeksa literala
+	 * operacijama nad cijelim riječima (vidi
+	 * {@link #conflicting(BitSet[], long[], int, BitSet, BitSet)}), pa se
+	 * pokrivanje provjerava samo nad njima, a literal bez takvih kocki se ne
+	 * pokušava ukloniti. Ukoliko je takvih kocki više nego kocki s literalom
+	 * varijable <i>v</i>, nepokriveni minterm susjedne kocke prvo se traži
+	 * pretragom <b>search</b> iz minterma kocke <b>cube</b> kojem je
+	 * promijenjena samo varijabla <i>v</i>. Prvo se pokušavaju ukloniti
+	 * literali u kojima se kocka razlikuje od najviše susjednih kocki
+	 * pokrivanja jedinica, jer njihovo uklanjanje najvjerojatnije pokriva
+	 * druge kocke.
+	 *
+	 * @param cube
+	 *            implikant koji se proširuje
+	 * @param onCount
+	 *            broj kocki pokrivanja jedinica na početku pokrivanja
+	 *            <b>upper</b>
+	 * @param upper
+	 *            pokrivanje jedinica i don't careova
+	 * @param index
+	 *            indeks literala pokrivanja <b>upper</b> (vidi
+	 *            {@link #literalIndex(List)})
+	 * @param search
+	 *            pretraga nepokrivenih minterma pokrivanja <b>upper</b>
+	 * @return primarni implikant koji sadrži <b>cube</b>
+	 */
+	private long[] expandCube(long[] cube, int onCount, List<long[]> upper, BitSet[] index,
+			MintermSearch search) {
+		BitSet once = new BitSet(upper.size());
+		BitSet intersecting = new BitSet(upper.size());
+		conflicting(index, cube, upper.size(), once, intersecting);
+
+		int[] adjacentOn = new int[variableCount];
+		for (int i = once.nextSetBit(0); i >= 0 && i < onCount; i = once.nextSetBit(i + 1)) {
+			adjacentOn[conflictVariable(cube, upper.get(i))]++;
+		}
+		List<Integer> literals = new ArrayList<>();
+		for (int v = 0; v < variableCount; v++) {
+			if (isLiteral(cube, v)) {
+				literals.add(v);
+			}
+		}
+		literals.sort(Comparator.comparingInt(v -> -adjacentOn[v]));
+
+		boolean started = false;
+		for (int v : literals) {
+			BitSet opposite = opposing(index, cube, v);
+			if (!opposite.intersects(once) && !hasCubeWithoutLiteral(intersecting, index, v)) {
+				continue;
+			}
+			BitSet blocking = (BitSet) opposite.clone();
+			blocking.and(once);
+			BitSet free = (BitSet) intersecting.clone();
+			free.andNot(index[2 * v]);
+			free.andNot(index[2 * v + 1]);
+			blocking.or(free);
+
+			long[] neighbour = withLiteral(cube, v, literalBits(cube, v) == 1);
+			if (blocking.cardinality() < search.occurrences(v).length) {
+				if (!covers(select(upper, blocking), neighbour)) {
+					continue;
+				}
+			} else {
+				if (!started) {
+					search.start(cube);
+					started = true;
+				}
+				search.flip(v);
+				if (search.walk(cube) || !search.contained && !covers(select(upper, blocking), neighbour)) {
+					search.flip(v);
+					continue;
+				}
+			}
+			cube = withLiteral(cube, v, null);
+			conflicting(index, cube, upper.size(), once, intersecting);
+		}
+		return cube;
+	}
+
+	/**
+	 * Pomoćna metoda koja iz indeksa literala (vidi
+	 * {@link #literalIndex(List)}) računa koje se kocke s kockom
+	 * <b>cube</b> sukobljavaju u točno jednoj varijabli, a koje je sijeku.
+	 *
+	 * @param index
+	 *            indeks literala
+	 * @param cube
+	 *            kocka
+	 * @param size
+	 *            broj kocki u indeksu
+	 * @param once
+	 *            skup u koji se upisuju kocke sukobljene u točno jednoj
+	 *            varijabli
+	 * @param intersecting
+	 *            skup u koji se upisuju kocke koje sijeku <b>cube</b>
+	 */
+	private void conflicting(BitSet[] index, long[] cube, int size, BitSet once, BitSet intersecting) {
+		BitSet twice = new BitSet(size);
+		once.clear();
+		for (int w = 0; w < words; w++) {
+			for (long bits = (cube[w] ^ (cube[w] >>> 1)) & LOW_BITS; bits != 0; bits &= bits - 1) {
+				BitSet opposing = opposing(index, cube, variableOf(w, bits));
+				if (once.intersects(opposing)) {
+					BitSet repeated = (BitSet) once.clone();
+					repeated.and(opposing);
+					twice.or(repeated);
+				}
+				once.or(opposing);
+			}
+		}
+		intersecting.clear();
+		intersecting.set(0, size);
+		intersecting.andNot(once);
+		once.andNot(twice);
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava ima li među kockama <b>cubes</b> kocka
+	 * bez literala varijable <b>variable</b>.
+	 *
+	 * @param cubes
+	 *            redni brojevi kocki
+	 * @param index
+	 *            indeks literala (vidi {@link #literalIndex(List)})
+	 * @param variable
+	 *            redni broj varijable
+	 * @return <code>true</code> ukoliko takva kocka postoji
+	 */
+	private static boolean hasCubeWithoutLiteral(BitSet cubes, BitSet[] index, int variable) {
+		for (int i = cubes.nextSetBit(0); i >= 0; i = cubes.nextSetBit(i + 1)) {
+			if (!index[2 * variable].get(i) && !index[2 * variable + 1].get(i)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća prvu varijablu u kojoj se kocke <b>a</b> i
+	 * <b>b</b> sukobljavaju.
+	 *
+	 * @param a
+	 *            prva kocka
+	 * @param b
+	 *            druga kocka
+	 * @return redni broj varijable ili -1 ukoliko se kocke sijeku
+	 */
+	private int conflictVariable(long[] a, long[] b) {
+		for (int w = 0; w < words; w++) {
+			long bits = conflicts(a[w] & b[w]);
+			if (bits != 0) {
+				return variableOf(w, bits);
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Pomoćna metoda koja iz indeksa literala (vidi
+	 * {@link #literalIndex(List)}) dohvaća kocke s literalom suprotnim
+	 * literalu varijable <b>variable</b> kocke <b>cube</b>.
+	 *
+	 * @param index
+	 *            indeks literala
+	 * @param cube
+	 *            kocka
+	 * @param variable
+	 *            redni broj varijable s literalom u kocki
+	 * @return redni brojevi kocki sa suprotnim literalom
+	 */
+	private static BitSet opposing(BitSet[] index, long[] cube, int variable) {
+		return index[2 * variable + (int) (literalBits(cube, variable) & 1)];
+	}
+
+	/**
+	 * Pomoćna metoda koja provodi korak IRREDUNDANT: redom od najmanjih kocki
+	 * izbacuje se svaka kocka koju pokrivaju preostale kocke i don't careovi.
+	 * Kofaktor se računa samo nad kockama koje sijeku provjeravanu kocku
+	 * (vidi {@link #intersecting(BitSet[], long[], int)}), a kocka koju ne
+	 * siječe niti jedna druga kocka se ne provjerava.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @param dontCare
+	 *            pokrivanje don't careova
+	 * @return neredundantno pokrivanje
+	 */
+	private List<long[]> irredundant(List<long[]> f, List<long[]> dontCare) {
+		List<long[]> all = new ArrayList<>(f);
+		all.sort(largerFirst.reversed());
+		all.addAll(dontCare);
+		BitSet[] index = literalIndex(all);
+		BitSet removed = new BitSet(f.size());
+		for (int i = 0; i < f.size(); i++) {
+			long[] cube = all.get(i);
+			BitSet candidates = intersecting(index, cube, all.size());
+			candidates.clear(i);
+			candidates.andNot(removed);
+			if (candidates.isEmpty()) {
+				continue;
+			}
+			MintermSearch search = new MintermSearch(all, candidates, index);
+			search.start(cube);
+			if (!search.find(cube) && (search.contained || covers(select(all, candidates), cube))) {
+				removed.set(i);
+			}
+		}
+		return remaining(all, f.size(), removed);
+	}
+
+	/**
+	 * Pomoćna metoda koja provodi korak REDUCE: redom od najvećih kocki svaka
+	 * se kocka sužava na najmanju kocku koja sadrži dio funkcije koji
+	 * preostale kocke ne pokrivaju. Time se otvara prostor za drugačije
+	 * proširenje u sljedećem koraku EXPAND. Kako se kocke samo sužavaju,
+	 * kocke koje sijeku provjeravanu kocku traže se u indeksu izgrađenom nad
+	 * početnim pokrivanjem, a kocka koju ne siječe niti jedna druga kocka se
+	 * ne mijenja.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @param dontCare
+	 *            pokrivanje don't careova
+	 * @return suženo pokrivanje
+	 */
+	private List<long[]> reduce(List<long[]> f, List<long[]> dontCare) {
+		List<long[]> all = new ArrayList<>(f);
+		all.sort(largerFirst);
+		all.addAll(dontCare);
+		List<long[]> original = new ArrayList<>(all);
+		BitSet[] index = literalIndex(all);
+		BitSet removed = new BitSet(f.size());
+		for (int i = 0; i < f.size(); i++) {
+			long[] cube = all.get(i);
+			BitSet candidates = intersecting(index, cube, all.size());
+			candidates.clear(i);
+			candidates.andNot(removed);
+			if (candidates.isEmpty()) {
+				continue;
+			}
+			MintermSearch search = new MintermSearch(original, candidates, index);
+			search.start(cube);
+			if (complementSpansUniverse(cube, search)) {
+				continue;
+			}
+			long[] supercube = smallestCubeContainingComplement(cofactor(select(all, candidates), cube));
+			if (supercube == null) {
+				removed.set(i);
+				continue;
+			}
+			long[] reduced = new long[words];
+			for (int w = 0; w < words; w++) {
+				reduced[w] = cube[w] & supercube[w];
+			}
+			all.set(i, reduced);
+		}
+		return remaining(all, f.size(), removed);
+	}
+
+	/**
+	 * Pomoćna metoda koja nepokrivenim mintermima provjerava je li najmanja
+	 * kocka koja sadrži komplement kofaktora pokrivanja pretrage
+	 * <b>search</b> s obzirom na kocku <b>cube</b> kocka bez literala, što
+	 * je kod rijetkih pokrivanja s mnogo varijabli najčešći slučaj, a
+	 * rekurzija do njega dolazi sporo. Uz nepokriveni minterm nepokriven je
+	 * i svaki susjedni minterm koji se dobije promjenom varijable koja nije
+	 * jedina sukobljena varijabla niti jedne kocke (vidi
+	 * {@link MintermSearch#blocked(long[])}), pa jedan minterm oslobađa
+	 * većinu varijabli odjednom. Za svaku varijablu koja nakon toga ima samo
+	 * jednu vrijednost traži se nepokriveni minterm sa suprotnom
+	 * vrijednošću.
+	 *
+	 * @param cube
+	 *            kocka unutar koje se traže nepokriveni mintermi
+	 * @param search
+	 *            pretraga nepokrivenih minterma
+	 * @return <code>true</code> ukoliko pronađeni nepokriveni mintermi nisu
+	 *         sadržani niti u jednoj kocki s literalom varijable koja nije u
+	 *         <b>cube</b>
+	 */
+	private boolean complementSpansUniverse(long[] cube, MintermSearch search) {
+		long[] span = new long[words];
+		long[] blocked = new long[words];
+		long[] region = cube;
+		while (true) {
+			if (!search.find(region)) {
+				return false;
+			}
+			search.blocked(blocked);
+
+			int fixed = -1;
+			for (int w = 0; w < words; w++) {
+				long free = ~blocked[w] & LOW_BITS | (cube[w] ^ cube[w] >>> 1) & LOW_BITS;
+				span[w] |= search.minterm[w] | free | free << 1;
+				if (fixed < 0 && span[w] != -1L) {
+					fixed = variableOf(w, ~(span[w] & span[w] >>> 1) & LOW_BITS);
+				}
+			}
+			if (fixed < 0) {
+				return true;
+			}
+			region = withLiteral(cube, fixed, literalBits(span, fixed) == 1);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja gradi indeks literala pokrivanja <b>f</b>. Na
+	 * mjestu 2<i>v</i> su redni brojevi kocki s negiranim, a na mjestu
+	 * 2<i>v</i>+1 kocki s nenegiranim literalom varijable <i>v</i>.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @return indeks literala
+	 */
+	private BitSet[] literalIndex(List<long[]> f) {
+		BitSet[] index = new BitSet[2 * variableCount];
+		for (int i = 0; i < index.length; i++) {
+			index[i] = new BitSet(f.size());
+		}
+		for (int i = 0; i < f.size(); i++) {
+			long[] cube = f.get(i);
+			for (int w = 0; w < words; w++) {
+				for (long bits = (cube[w] ^ (cube[w] >>> 1)) & LOW_BITS; bits != 0; bits &= bits - 1) {
+					int v = variableOf(w, bits);
+					index[2 * v + (int) (literalBits(cube, v) >>> 1)].set(i);
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Pomoćna metoda koja iz indeksa literala (vidi
+	 * {@link #literalIndex(List)}) računa koje kocke mogu sjeći kocku
+	 * <b>cube</b>: sve osim onih koje imaju literal suprotan nekom literalu
+	 * kocke <b>cube</b>.
+	 *
+	 * @param index
+	 *            indeks literala
+	 * @param cube
+	 *            kocka
+	 * @param size
+	 *            broj kocki u indeksu
+	 * @return redni brojevi kocki koje nisu u sukobu s <b>cube</b>
+	 */
+	private BitSet intersecting(BitSet[] index, long[] cube, int size) {
+		BitSet result = new BitSet(size);
+		result.set(0, size);
+		for (int w = 0; w < words; w++) {
+			for (long bits = (cube[w] ^ (cube[w] >>> 1)) & LOW_BITS; bits != 0; bits &= bits - 1) {
+				result.andNot(opposing(index, cube, variableOf(w, bits)));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja vraća kocke pokrivanja <b>f</b> s rednim brojevima
+	 * iz skupa <b>indices</b>.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @param indices
+	 *            redni brojevi kocki
+	 * @return nova {@link List}a kocki
+	 */
+	private static List<long[]> select(List<long[]> f, BitSet indices) {
+		List<long[]> result = new ArrayList<>(indices.cardinality());
+		for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+			result.add(f.get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja skup rednih brojeva <b>indices</b> pretvara u
+	 * uzlazno poredano polje.
+	 *
+	 * @param indices
+	 *            redni brojevi
+	 * @return polje rednih brojeva
+	 */
+	private static int[] toArray(BitSet indices) {
+		int[] result = new int[indices.cardinality()];
+		for (int i = indices.nextSetBit(0), j = 0; i >= 0; i = indices.nextSetBit(i + 1)) {
+			result[j++] = i;
+		}
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja vraća prvih <b>count</b> kocki pokrivanja <b>f</b>
+	 * bez izbačenih kocki.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @param count
+	 *            broj kocki koje se razmatraju
+	 * @param removed
+	 *            redni brojevi izbačenih kocki
+	 * @return nova {@link List}a kocki
+	 */
+	private static List<long[]> remaining(List<long[]> f, int count, BitSet removed) {
+		List<long[]> result = new ArrayList<>(count - removed.cardinality());
+		for (int i = 0; i < count; i++) {
+			if (!removed.get(i)) {
+				result.add(f.get(i));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava je li pokrivanje <b>f</b> tautologija.
+	 * Prije rekurzije nepokriveni minterm se traži lokalnom pretragom (vidi
+	 * {@link MintermSearch}) jer ga kod pokrivanja s mnogo varijabli ona
+	 * pronalazi brzo, a rekurzija ponekad dugo.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @return <code>true</code> ukoliko je pokrivanje tautologija
+	 */
+	private boolean tautology(List<long[]> f) {
+		long[] universe = universe();
+		MintermSearch search = new MintermSearch(f);
+		search.start(universe);
+		return !search.find(universe) && (search.contained || covers(f, universe));
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava pokriva li pokrivanje <b>f</b> kocku
+	 * <b>cube</b>, tj. je li kofaktor s obzirom na nju tautologija. Pozivatelj
+	 * prije toga lokalnom pretragom (vidi {@link MintermSearch}) traži
+	 * nepokriveni minterm kocke. Prvo se provjerava samo najmanji skup
+	 * najvećih kocki kofaktora čiji volumen doseže 1, jer je on najčešće već
+	 * sam tautologija, a rekurzija nad njim je znatno brža. Pokrivanje koje
+	 * sadrži kocku s jednim literalom <i>x</i> je tautologija ako i samo ako
+	 * je kofaktor s obzirom na <i>x'</i> tautologija. Kocke s literalom
+	 * unatne varijable ne mogu pomoći pri pokrivanju suprotnog kofaktora, pa
+	 * se izbacuju; pokrivanje bez binatnih varijabli je tautologija samo ako
+	 * sadrži kocku bez literala. Kod rastava se prvo provjerava kofaktor
+	 * manjeg volumena jer se u njemu nepokriveni minterm najprije pronalazi.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @param cube
+	 *            kocka
+	 * @return <code>true</code> ukoliko pokrivanje pokriva kocku
+	 */
+	private boolean covers(List<long[]> f, long[] cube) {
+		List<long[]> cofactor = isUniverse(cube) ? f : cofactor(f, cube);
+		List<long[]> sorted = new ArrayList<>(cofactor);
+		sorted.sort(largerFirst);
+		double volume = 0;
+		int prefix = 0;
+		while (prefix < sorted.size() && (volume < 1
+				|| literalCount(sorted.get(prefix)) == literalCount(sorted.get(prefix - 1)))) {
+			volume += Math.scalb(1.0, -literalCount(sorted.get(prefix++)));
+		}
+		if (prefix < sorted.size() && tautologyRecursive(sorted.subList(0, prefix))) {
+			return true;
+		}
+		return tautologyRecursive(cofactor);
+	}
+
+	/**
+	 * Pomoćna metoda koja rekurzivno provjerava je li pokrivanje <b>f</b>
+	 * tautologija (vidi {@link #tautology(List)}).
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @return <code>true</code> ukoliko je pokrivanje tautologija
+	 */
+	private boolean tautologyRecursive(List<long[]> f) {
+		if (f.isEmpty()) {
+			return false;
+		}
+		for (long[] cube : f) {
+			if (isUniverse(cube)) {
+				return true;
+			}
+		}
+		if (volume(f) < 1) {
+			return false;
+		}
+		long[] single = singleLiteralCube(f);
+		if (single != null) {
+			int v = firstLiteral(single);
+			return tautologyRecursive(cofactor(f, v, (literalBits(single, v) & 1) != 0));
+		}
+
+		int[] counts = columnCounts(f);
+		if (mostBinate(counts) < 0) {
+			return false;
+		}
+		List<long[]> reduced = dropUnate(f, counts);
+		if (reduced.size() < f.size()) {
+			return tautologyRecursive(reduced);
+		}
+		int split = splittingVariable(f, counts);
+		List<long[]> first = cofactor(f, split, true);
+		List<long[]> second = cofactor(f, split, false);
+		if (volume(first) > volume(second)) {
+			List<long[]> t = first;
+			first = second;
+			second = t;
+		}
+		return tautologyRecursive(first) && tautologyRecursive(second);
+	}
+
+	/**
+	 * Pomoćna metoda koja računa najmanju kocku koja sadrži komplement
+	 * pokrivanja <b>f</b>, bez računanja samog komplementa. Ukoliko pokrivanje
+	 * sadrži kocku s jednim literalom <i>x</i>, komplement je sadržan u
+	 * <i>x'</i>, pa se računa samo nad kofaktorom s obzirom na <i>x'</i>.
+	 * Kod rastava se drugi kofaktor obilazi samo ako prvi ne da kocku bez
+	 * literala.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @return najmanja kocka koja sadrži komplement, ili <code>null</code>
+	 *         ukoliko je pokrivanje tautologija
+	 */
+	private long[] smallestCubeContainingComplement(List<long[]> f) {
+		if (f.isEmpty()) {
+			return universe();
+		}
+		for (long[] cube : f) {
+			if (isUniverse(cube)) {
+				return null;
+			}
+		}
+		long[] single = singleLiteralCube(f);
+		if (single != null) {
+			int v = firstLiteral(single);
+			boolean opposite = (literalBits(single, v) & 1) != 0;
+			long[] result = smallestCubeContainingComplement(cofactor(f, v, opposite));
+			return result == null ? null : withLiteral(result, v, opposite);
+		}
+
+		int[] counts = columnCounts(f);
+		if (mostBinate(counts) < 0) {
+			// unatno pokrivanje bez kocki s jednim literalom ne pokriva vrh
+			// suprotan svim literalima niti jedan njegov susjed, pa komplement
+			// ne fiksira niti jednu varijablu
+			return universe();
+		}
+
+		int split = splittingVariable(f, counts);
+		List<long[]> first = cofactor(f, split, true);
+		List<long[]> second = cofactor(f, split, false);
+		boolean firstPositive = volume(first) <= volume(second);
+		if (!firstPositive) {
+			List<long[]> t = first;
+			first = second;
+			second = t;
+		}
+
+		long[] firstCube = smallestCubeContainingComplement(first);
+		if (firstCube != null && isUniverse(firstCube)) {
+			// rezultat je kocka bez literala čim i drugi kofaktor ima komplement,
+			// za što je dovoljna provjera tautologije
+			return tautology(second) ? withLiteral(firstCube, split, firstPositive) : firstCube;
+		}
+		long[] secondCube = smallestCubeContainingComplement(second);
+		if (firstCube == null) {
+			return secondCube == null ? null : withLiteral(secondCube, split, !firstPositive);
+		}
+		if (secondCube == null) {
+			return withLiteral(firstCube, split, firstPositive);
+		}
+		for (int w = 0; w < words; w++) {
+			firstCube[w] |= secondCube[w];
+		}
+		return firstCube;
+	}
+
+	/**
+	 * Pomoćna metoda koja računa udio prostora koji bi pokrivanje pokrilo kada
+	 * se kocke ne bi preklapale. Pokrivanje volumena manjeg od 1 sigurno nije
+	 * tautologija.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @return zbroj volumena kocki
+	 */
+	private double volume(List<long[]> f) {
+		double volume = 0;
+		for (long[] cube : f) {
+			volume += Math.scalb(1.0, -literalCount(cube));
+		}
+		return volume;
+	}
+
+	/**
+	 * Pomoćna metoda koja pronalazi kocku s točno jednim literalom.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @return kocka s jednim literalom ili <code>null</code> ukoliko takva
+	 *         ne postoji
+	 */
+	private long[] singleLiteralCube(List<long[]> f) {
+		for (long[] cube : f) {
+			if (literalCount(cube) == 1) {
+				return cube;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Pomoćna metoda koja računa kofaktor pokrivanja <b>f</b> s obzirom na
+	 * kocku <b>cube</b>: kocke koje ne sijeku <b>cube</b> se izbacuju, a
+	 * ostalima se uklanjaju literali varijabli koje su u <b>cube</b>.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @param cube
+	 *            kocka
+	 * @return kofaktor
+	 */
+	private List<long[]> cofactor(List<long[]> f, long[] cube) {
+		List<long[]> result = new ArrayList<>();
+		for (long[] other : f) {
+			if (intersects(other, cube)) {
+				long[] cofactor = new long[words];
+				for (int w = 0; w < words; w++) {
+					cofactor[w] = other[w] | ~cube[w];
+				}
+				result.add(cofactor);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja računa kofaktor pokrivanja <b>f</b> s obzirom na
+	 * literal varijable <b>variable</b>.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @param variable
+	 *            redni broj varijable
+	 * @param positive
+	 *            <code>true</code> za nenegirani literal
+	 * @return kofaktor
+	 */
+	private List<long[]> cofactor(List<long[]> f, int variable, boolean positive) {
+		long opposite = positive ? 1 : 2;
+		List<long[]> result = new ArrayList<>();
+		for (long[] cube : f) {
+			long bits = literalBits(cube, variable);
+			if (bits != opposite) {
+				result.add(bits == 3 ? cube : withLiteral(cube, variable, null));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja iz pokrivanja izbacuje kocke koje sadrže literal
+	 * unatne varijable.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @param counts
+	 *            brojevi pojavljivanja literala (vidi
+	 *            {@link #columnCounts(List)})
+	 * @return kocke bez literala unatnih varijabli
+	 */
+	private List<long[]> dropUnate(List<long[]> f, int[] counts) {
+		long[] unate = new long[words];
+		for (int v = 0; v < variableCount; v++) {
+			if ((counts[2 * v] == 0) != (counts[2 * v + 1] == 0)) {
+				unate[v / VARIABLES_PER_WORD] |= 3L << (2 * (v % VARIABLES_PER_WORD));
+			}
+		}
+		List<long[]> result = new ArrayList<>();
+		for (long[] cube : f) {
+			boolean keep = true;
+			for (int w = 0; w < words && keep; w++) {
+				keep = (~cube[w] & unate[w]) == 0;
+			}
+			if (keep) {
+				result.add(cube);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja broji pojavljivanja literala u pokrivanju. Na
+	 * mjestu 2<i>v</i> je broj negiranih, a na mjestu 2<i>v</i>+1 broj
+	 * nenegiranih literala varijable <i>v</i>.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @return brojevi pojavljivanja literala
+	 */
+	private int[] columnCounts(List<long[]> f) {
+		int[] counts = new int[2 * variableCount];
+		for (long[] cube : f) {
+			for (int w = 0; w < words; w++) {
+				long word = cube[w];
+				for (long bits = word & ~(word >>> 1) & LOW_BITS; bits != 0; bits &= bits - 1) {
+					counts[2 * variableOf(w, bits)]++;
+				}
+				for (long bits = (word >>> 1) & ~word & LOW_BITS; bits != 0; bits &= bits - 1) {
+					counts[2 * variableOf(w, bits) + 1]++;
+				}
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * Pomoćna metoda koja bira binatnu varijablu s najviše literala.
+	 *
+	 * @param counts
+	 *            brojevi pojavljivanja literala
+	 * @return redni broj varijable ili -1 ukoliko binatna varijabla ne
+	 *         postoji
+	 */
+	private int mostBinate(int[] counts) {
+		int best = -1;
+		for (int v = 0; v < variableCount; v++) {
+			if (counts[2 * v] > 0 && counts[2 * v + 1] > 0
+					&& (best < 0 || counts[2 * v] + counts[2 * v + 1] > counts[2 * best] + counts[2 * best + 1])) {
+				best = v;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Pomoćna metoda koja bira varijablu za rastav: najbinatniju varijablu
+	 * među kockama s najmanje literala, jer njihovi literali najbrže vode do
+	 * kocke bez literala. Ukoliko među njima nema binatne varijable, bira se
+	 * najbinatnija varijabla cijelog pokrivanja.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @param counts
+	 *            brojevi pojavljivanja literala cijelog pokrivanja
+	 * @return redni broj binatne varijable
+	 */
+	private int splittingVariable(List<long[]> f, int[] counts) {
+		int fewest = Integer.MAX_VALUE;
+		for (long[] cube : f) {
+			fewest = Math.min(fewest, literalCount(cube));
+		}
+		List<long[]> largest = new ArrayList<>();
+		for (long[] cube : f) {
+			if (literalCount(cube) == fewest) {
+				largest.add(cube);
+			}
+		}
+		int[] largestCounts = columnCounts(largest);
+		int best = -1;
+		for (int v = 0; v < variableCount; v++) {
+			if (counts[2 * v] > 0 && counts[2 * v + 1] > 0 && (best < 0
+					|| largestCounts[2 * v] + largestCounts[2 * v + 1] > largestCounts[2 * best]
+							+ largestCounts[2 * best + 1])) {
+				best = v;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Pomoćna metoda koja uspoređuje cijene dva pokrivanja: prvo po broju
+	 * kocki, zatim po ukupnom broju literala.
+	 *
+	 * @param f
+	 *            prvo pokrivanje
+	 * @param g
+	 *            drugo pokrivanje
+	 * @return negativan broj ukoliko je <b>f</b> jeftinije, nula ukoliko su
+	 *         jednake cijene, pozitivan broj inače
+	 */
+	private int compareCost(List<long[]> f, List<long[]> g) {
+		if (f.size() != g.size()) {
+			return Integer.compare(f.size(), g.size());
+		}
+		return Integer.compare(totalLiterals(f), totalLiterals(g));
+	}
+
+	/**
+	 * Pomoćna metoda koja ispisuje cijenu pokrivanja nakon jednog ponavljanja.
+	 *
+	 * @param iteration
+	 *            redni broj ponavljanja
+	 * @param f
+	 *            pokrivanje
+	 */
+	private void logCost(int iteration, List<long[]> f) {
+		if (LOG.isLoggable(Level.FINE)) {
+			LOG.log(Level.FINE, "Espresso, ponavljanje " + iteration + ": " + f.size() + " kocki, "
+					+ totalLiterals(f) + " literala");
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja računa ukupan broj literala pokrivanja.
+	 *
+	 * @param f
+	 *            pokrivanje
+	 * @return ukupan broj literala
+	 */
+	private int totalLiterals(List<long[]> f) {
+		int total = 0;
+		for (long[] cube : f) {
+			total += literalCount(cube);
+		}
+		return total;
+	}
+
+	/**
+	 * Pomoćna metoda koja računa broj literala kocke.
+	 *
+	 * @param cube
+	 *            kocka u pozicijskom zapisu
+	 * @return broj literala
+	 */
+	private int literalCount(long[] cube) {
+		int count = 0;
+		for (long word : cube) {
+			count += Long.bitCount((word ^ (word >>> 1)) & LOW_BITS);
+		}
+		return count;
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara kocku bez literala.
+	 *
+	 * @return kocka bez literala
+	 */
+	private long[] universe() {
+		long[] cube = new long[words];
+		Arrays.fill(cube, -1L);
+		return cube;
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava je li kocka bez literala.
+	 *
+	 * @param cube
+	 *            kocka
+	 * @return <code>true</code> ukoliko kocka nema literala
+	 */
+	private static boolean isUniverse(long[] cube) {
+		for (long word : cube) {
+			if (word != -1L) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava sijeku li se dvije kocke.
+	 *
+	 * @param a
+	 *            prva kocka
+	 * @param b
+	 *            druga kocka
+	 * @return <code>true</code> ukoliko kocke imaju zajednički minterm
+	 */
+	private static boolean intersects(long[] a, long[] b) {
+		for (int w = 0; w < a.length; w++) {
+			if (conflicts(a[w] & b[w]) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Pomoćna metoda koja za riječ presjeka dvije kocke vraća niže bitove
+	 * parova u kojima su oba bita 0, tj. varijable u kojima se kocke
+	 * sukobljavaju.
+	 *
+	 * @param intersection
+	 *            riječ presjeka
+	 * @return niži bitovi parova sukobljenih varijabli
+	 */
+	private static long conflicts(long intersection) {
+		long empty = ~intersection;
+		return empty & (empty >>> 1) & LOW_BITS;
+	}
+
+	/**
+	 * Pomoćna metoda koja iz riječi <b>word</b> i najnižeg postavljenog bita
+	 * maske <b>bits</b> računa redni broj varijable.
+	 *
+	 * @param word
+	 *            redni broj riječi
+	 * @param bits
+	 *            maska nižih bitova parova
+	 * @return redni broj varijable
+	 */
+	private static int variableOf(int word, long bits) {
+		return word * VARIABLES_PER_WORD + Long.numberOfTrailingZeros(bits) / 2;
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća dva bita varijable <b>variable</b>: 1 za
+	 * negirani literal, 2 za nenegirani literal, 3 ukoliko varijabla nije u
+	 * kocki.
+	 *
+	 * @param cube
+	 *            kocka
+	 * @param variable
+	 *            redni broj varijable
+	 * @return bitovi varijable
+	 */
+	private static long literalBits(long[] cube, int variable) {
+		return cube[variable / VARIABLES_PER_WORD] >>> (2 * (variable % VARIABLES_PER_WORD)) & 3;
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća prvu varijablu koja se pojavljuje u kocki.
+	 *
+	 * @param cube
+	 *            kocka s barem jednim literalom
+	 * @return redni broj varijable
+	 */
+	private static int firstLiteral(long[] cube) {
+		int w = 0;
+		while (((cube[w] ^ (cube[w] >>> 1)) & LOW_BITS) == 0) {
+			w++;
+		}
+		return variableOf(w, (cube[w] ^ (cube[w] >>> 1)) & LOW_BITS);
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava pojavljuje li se varijabla u kocki.
+	 *
+	 * @param cube
+	 *            kocka
+	 * @param variable
+	 *            redni broj varijable
+	 * @return <code>true</code> ukoliko je varijabla literal kocke
+	 */
+	private static boolean isLiteral(long[] cube, int variable) {
+		return literalBits(cube, variable) != 3;
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara kopiju kocke s novom vrijednošću varijable.
+	 *
+	 * @param cube
+	 *            kocka
+	 * @param variable
+	 *            redni broj varijable
+	 * @param positive
+	 *            <code>true</code> za nenegirani literal, <code>false</code>
+	 *            za negirani, <code>null</code> ukoliko varijabla ne smije
+	 *            biti u kocki
+	 * @return nova kocka
+	 */
+	private static long[] withLiteral(long[] cube, int variable, Boolean positive) {
+		long[] result = cube.clone();
+		int shift = 2 * (variable % VARIABLES_PER_WORD);
+		long bits = positive == null ? 3 : positive ? 2 : 1;
+		int w = variable / VARIABLES_PER_WORD;
+		result[w] = (result[w] & ~(3L << shift)) | (bits << shift);
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja kocke pretvara u pozicijski zapis.
+	 *
+	 * @param cubes
+	 *            kocke
+	 * @return kocke u pozicijskom zapisu
+	 * @throws IllegalArgumentException
+	 *             ukoliko neka kocka ima pogrešan broj varijabli
+	 */
+	private List<long[]> toPositional(Collection<Cube> cubes) {
+		List<long[]> result = new ArrayList<>(cubes.size());
+		for (Cube cube : cubes) {
+			if (cube.getVariableCount() != variableCount) {
+				throw new IllegalArgumentException(
+						"Kocka " + cube + " nema " + variableCount + " varijabli!");
+			}
+			long[] positional = universe();
+			for (int v = 0; v < variableCount; v++) {
+				byte literal = cube.getLiteral(v);
+				if (literal != Cube.NOT_IN_PRODUCT) {
+					positional = withLiteral(positional, v, literal == Cube.POSITIVE);
+				}
+			}
+			result.add(positional);
+		}
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja kocku iz pozicijskog zapisa pretvara u primjerak
+	 * razreda {@link Cube}.
+	 *
+	 * @param positional
+	 *            kocka u pozicijskom zapisu
+	 * @return nova kocka
+	 */
+	private Cube toCube(long[] positional) {
+		byte[] values = new byte[variableCount];
+		for (int v = 0; v < variableCount; v++) {
+			long bits = literalBits(positional, v);
+			values[v] = bits == 3 ? Cube.NOT_IN_PRODUCT : bits == 2 ? Cube.POSITIVE : Cube.NEGATIVE;
+		}
+		return new Cube(values);
+	}
+
+	/**
+	 * Pomoćna metoda koja brojčani {@link Set} minterma pretvara u kocke.
+	 *
+	 * @param minterms
+	 *            brojčani {@link Set} minterma
+	 * @param variableCount
+	 *            broj varijabli
+	 * @return {@link List}a kocki, jedna po mintermu
+	 */
+	private static List<Cube> toCubes(Set<Integer> minterms, int variableCount) {
+		List<Cube> cubes = new ArrayList<>(minterms.size());
+		for (int minterm : minterms) {
+			cubes.add(new Cube(Util.indexToByteArray(minterm, variableCount)));
+		}
+		return cubes;
+	}
+
+	/**
+	 * Razred predstavlja lokalnu pretragu minterma koji pokrivanje ne
+	 * pokriva. Za trenutni minterm pamti se udaljenost do svake razmatrane
+	 * kocke pokrivanja (broj sukobljenih varijabli) i skup kocki koje ga
+	 * pokrivaju, a promjena jedne varijable osvježava samo kocke u kojima se
+	 * ona pojavljuje. Popis tih kocki gradi se pri prvoj promjeni varijable,
+	 * iz indeksa literala (vidi {@link Espresso#literalIndex(List)}) ukoliko
+	 * je zadan. Dok neka kocka pokriva minterm, mijenja se jedna varijabla
+	 * slučajno odabrane kocke koja ga pokriva: uz vjerojatnost 1/2 slučajna,
+	 * inače ona čijom promjenom novi minterm pokriva najmanje kocki. Kod
+	 * gustih pokrivanja s mnogo varijabli nepokriveni minterm je rijedak za
+	 * slučajno pogađanje, ali do njega se ovako dolazi u nekoliko koraka.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private class MintermSearch {
+
+		/** Pokrivanje */
+		private final List<long[]> f;
+
+		/** Redni brojevi razmatranih kocki pokrivanja */
+		private final int[] members;
+
+		/** Skup razmatranih kocki ili <code>null</code> ukoliko se razmatraju sve */
+		private final BitSet memberSet;
+
+		/** Indeks literala pokrivanja ili <code>null</code> */
+		private final BitSet[] index;
+
+		/** Trenutni minterm u pozicijskom zapisu */
+		private final long[] minterm = new long[words];
+
+		/** Udaljenosti kocki pokrivanja od trenutnog minterma */
+		private final int[] distances;
+
+		/** Redni brojevi kocki koje pokrivaju trenutni minterm */
+		private final int[] covering;
+
+		/** Mjesta kocki u polju {@link #covering} ili -1 */
+		private final int[] positions;
+
+		/**
+		 * Zastavica koja govori je li zadnja pretraga prekinuta jer trenutni
+		 * minterm pokriva kocka koja sadrži cijelu kocku unutar koje se
+		 * traži
+		 */
+		private boolean contained;
+
+		/** Broj kocki koje pokrivaju trenutni minterm */
+		private int coveringCount;
+
+		/** Varijable kocke koje se smiju promijeniti */
+		private final int[] literals = new int[variableCount];
+
+		/**
+		 * Redni brojevi razmatranih kocki s literalom pojedine varijable, ili
+		 * <code>null</code> dok popis nije izgrađen
+		 */
+		private final int[][] occurrences = new int[variableCount][];
+
+		/**
+		 * Konstruktor koji stvara pretragu nad svim kockama pokrivanja
+		 * <b>f</b>.
+		 *
+		 * @param f
+		 *            pokrivanje
+		 */
+		private MintermSearch(List<long[]> f) {
+			this(f, null, null);
+		}
+
+		/**
+		 * Konstruktor koji stvara pretragu nad kockama pokrivanja <b>f</b> s
+		 * rednim brojevima iz skupa <b>memberSet</b>.
+		 *
+		 * @param f
+		 *            pokrivanje
+		 * @param memberSet
+		 *            redni brojevi razmatranih kocki ili <code>null</code>
+		 *            ukoliko se razmatraju sve kocke
+		 * @param index
+		 *            indeks literala pokrivanja <b>f</b> ili
+		 *            <code>null</code>
+		 */
+		private MintermSearch(List<long[]> f, BitSet memberSet, BitSet[] index) {
+			this.f = f;
+			this.memberSet = memberSet;
+			this.index = index;
+			members = memberSet == null ? IntStream.range(0, f.size()).toArray() : toArray(memberSet);
+			distances = new int[f.size()];
+			covering = new int[members.length];
+			positions = new int[f.size()];
+		}
+
+		/**
+		 * Metoda koja pokušava pronaći nepokriveni minterm kocke <b>cube</b>,
+		 * prvo od trenutnog minterma, a zatim nekoliko puta od slučajnog
+		 * minterma kocke (vidi {@link #walk(long[])}).
+		 *
+		 * @param cube
+		 *            kocka čije se varijable s literalom ne mijenjaju
+		 * @return <code>true</code> ukoliko je trenutni minterm nepokriveni
+		 *         minterm kocke
+		 */
+		private boolean find(long[] cube) {
+			moveInto(cube);
+			for (int probe = 1; !walk(cube); probe++) {
+				if (probe == RANDOM_PROBES || contained) {
+					return false;
+				}
+				start(cube);
+			}
+			return true;
+		}
+
+		/**
+		 * Metoda koja postavlja slučajni minterm kocke <b>cube</b> i računa
+		 * njegove udaljenosti do svih razmatranih kocki.
+		 *
+		 * @param cube
+		 *            kocka
+		 */
+		private void start(long[] cube) {
+			for (int w = 0; w < words; w++) {
+				long bits = random.nextLong() & LOW_BITS;
+				long fixed = (cube[w] ^ cube[w] >>> 1) & LOW_BITS;
+				fixed |= fixed << 1;
+				minterm[w] = (bits << 1 | (~bits & LOW_BITS)) & ~fixed | cube[w] & fixed;
+			}
+			coveringCount = 0;
+			for (int i : members) {
+				long[] other = f.get(i);
+				distances[i] = 0;
+				for (int w = 0; w < words; w++) {
+					distances[i] += Long.bitCount(conflicts(other[w] & minterm[w]));
+				}
+				positions[i] = -1;
+				if (distances[i] == 0) {
+					cover(i);
+				}
+			}
+		}
+
+		/**
+		 * Metoda koja trenutni minterm premješta u kocku <b>cube</b>
+		 * mijenjajući varijable u kojima se s njom sukobljava.
+		 *
+		 * @param cube
+		 *            kocka
+		 */
+		private void moveInto(long[] cube) {
+			for (int w = 0; w < words; w++) {
+				for (long bits = conflicts(cube[w] & minterm[w]); bits != 0; bits &= bits - 1) {
+					flip(variableOf(w, bits));
+				}
+			}
+		}
+
+		/**
+		 * Metoda koja računa varijable čijom bi promjenom trenutni minterm
+		 * postao pokriven, tj. varijable u kojima se s njim sukobljava neka
+		 * kocka sukobljena samo u jednoj varijabli.
+		 *
+		 * @param blocked
+		 *            polje u koje se upisuju niži bitovi parova tih varijabli
+		 */
+		private void blocked(long[] blocked) {
+			Arrays.fill(blocked, 0);
+			for (int i : members) {
+				if (distances[i] == 1) {
+					long[] cube = f.get(i);
+					for (int w = 0; w < words; w++) {
+						blocked[w] |= conflicts(cube[w] & minterm[w]);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Metoda koja mijenja vrijednost varijable <b>variable</b> trenutnog
+		 * minterma.
+		 *
+		 * @param variable
+		 *            redni broj varijable
+		 */
+		private void flip(int variable) {
+			minterm[variable / VARIABLES_PER_WORD] ^= 3L << (2 * (variable % VARIABLES_PER_WORD));
+			long value = literalBits(minterm, variable);
+			for (int i : occurrences(variable)) {
+				if ((literalBits(f.get(i), variable) & value) != 0) {
+					if (--distances[i] == 0) {
+						cover(i);
+					}
+				} else if (distances[i]++ == 0) {
+					uncover(i);
+				}
+			}
+		}
+
+		/**
+		 * Metoda koja dohvaća redne brojeve razmatranih kocki s literalom
+		 * varijable <b>variable</b>.
+		 *
+		 * @param variable
+		 *            redni broj varijable
+		 * @return redni brojevi kocki
+		 */
+		private int[] occurrences(int variable) {
+			if (occurrences[variable] == null) {
+				if (index != null) {
+					BitSet cubes = (BitSet) index[2 * variable].clone();
+					cubes.or(index[2 * variable + 1]);
+					if (memberSet != null) {
+						cubes.and(memberSet);
+					}
+					occurrences[variable] = toArray(cubes);
+				} else {
+					occurrences[variable] = Arrays.stream(members).filter(i -> isLiteral(f.get(i), variable))
+							.toArray();
+				}
+			}
+			return occurrences[variable];
+		}
+
+		/**
+		 * Pomoćna metoda koja kocku dodaje u skup kocki koje pokrivaju
+		 * trenutni minterm.
+		 *
+		 * @param index
+		 *            redni broj kocke
+		 */
+		private void cover(int index) {
+			positions[index] = coveringCount;
+			covering[coveringCount++] = index;
+		}
+
+		/**
+		 * Pomoćna metoda koja kocku izbacuje iz skupa kocki koje pokrivaju
+		 * trenutni minterm.
+		 *
+		 * @param index
+		 *            redni broj kocke
+		 */
+		private void uncover(int index) {
+			int last = covering[--coveringCount];
+			covering[positions[index]] = last;
+			positions[last] = positions[index];
+			positions[index] = -1;
+		}
+
+		/**
+		 * Metoda koja od trenutnog minterma traži nepokriveni minterm
+		 * mijenjajući samo varijable koje nisu u kocki <b>cube</b>.
+		 *
+		 * @param cube
+		 *            kocka čije se varijable s literalom ne mijenjaju
+		 * @return <code>true</code> ukoliko trenutni minterm više nije
+		 *         pokriven; ukoliko pokrivanje sadrži kocku koja sadrži cijelu
+		 *         kocku <b>cube</b>, pretraga se prekida i postavlja se
+		 *         {@link #contained}
+		 */
+		private boolean walk(long[] cube) {
+			contained = false;
+			for (int step = 0; coveringCount > 0 && step < LOCAL_SEARCH_FLIPS; step++) {
+				long[] other = f.get(covering[random.nextInt(coveringCount)]);
+				int literalCount = 0;
+				for (int w = 0; w < words; w++) {
+					long free = (other[w] ^ other[w] >>> 1) & ~(cube[w] ^ cube[w] >>> 1) & LOW_BITS;
+					for (long bits = free; bits != 0; bits &= bits - 1) {
+						literals[literalCount++] = variableOf(w, bits);
+					}
+				}
+				if (literalCount == 0) {
+					contained = true;
+					return false;
+				}
+
+				int variable = literals[random.nextInt(literalCount)];
+				if (random.nextBoolean()) {
+					int fewest = Integer.MAX_VALUE;
+					for (int l = 0; l < literalCount; l++) {
+						int v = literals[l];
+						long value = literalBits(minterm, v);
+						int covered = 0;
+						for (int i : occurrences(v)) {
+							if (distances[i] == 1 && (literalBits(f.get(i), v) & value) == 0) {
+								covered++;
+							}
+						}
+						if (covered < fewest) {
+							fewest = covered;
+							variable = v;
+						}
+					}
+				}
+				flip(variable);
+			}
+			return coveringCount == 0;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package hr.fer.zemris.bf.qmc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Razred koji generira sve primarne implikante funkcije zadane pokrivanjem
+ * kockama ({@link Cube}) metodom ponavljanog konsenzusa, bez raspisivanja
+ * kocki u minterme. Postupak dodaje konsenzus svakog para kocki koji nije
+ * sadržan u nekoj postojećoj kocki te uklanja kocke sadržane u dodanom
+ * konsenzusu. Kada niti jedan konsenzus više ne dodaje novu kocku, preostale
+ * kocke su točno svi primarni implikanti (Blakeov kanonski oblik). Trajanje
+ * ovisi o broju kocki, a ne o broju minterma, pa je postupak prikladan za
+ * funkcije s mnogo varijabli i malo kocki, za koje bi
+ * {@link Minimizer#Minimizer(java.util.Set, java.util.Set, List)} morao
+ * raspisati 2<sup>n</sup> minterma.
+ *
+ * @author Davor Češljaš
+ */
+public final class IteratedConsensus {
+
+	/**
+	 * Defaultni konstruktor koji brani stvaranje primjeraka ovog razreda. Ova
+	 * operacija je zabranjena jer ovaj razred predstavlja biblioteku statičkih
+	 * metoda.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             ukoliko korisnik pokuša stvoriti primjerak ovog razreda
+	 */
+	private IteratedConsensus() {
+		throw new UnsupportedOperationException("Nemožete stvorit primjerka razreda: " + this.getClass());
+	}
+
+	/**
+	 * Metoda koja računa sve primarne implikante funkcije čije je pokrivanje
+	 * <b>cubes</b>.
+	 *
+	 * @param cubes
+	 *            kocke jednakog broja varijabli
+	 * @return {@link List} svih primarnih implikanata
+	 */
+	public static List<Cube> primes(Collection<Cube> cubes) {
+		return primes(cubes, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Metoda koja računa sve primarne implikante funkcije čije je pokrivanje
+	 * <b>cubes</b>, ukoliko ih tijekom postupka nikad nije više od
+	 * <b>limit</b>.
+	 *
+	 * @param cubes
+	 *            kocke jednakog broja varijabli
+	 * @param limit
+	 *            najveći broj kocki koje postupak istovremeno čuva
+	 * @return {@link List} svih primarnih implikanata ili <code>null</code>
+	 *         ukoliko je granica premašena
+	 */
+	static List<Cube> primes(Collection<Cube> cubes, int limit) {
+		List<Cube> list = new ArrayList<>();
+		List<Boolean> alive = new ArrayList<>();
+		int aliveCount = 0;
+		for (Cube cube : cubes) {
+			aliveCount += add(cube, list, alive);
+		}
+
+		for (int i = 0; i < list.size(); i++) {
+			for (int j = 0; j < i && alive.get(i); j++) {
+				if (!alive.get(j)) {
+					continue;
+				}
+				Cube consensus = list.get(i).consensus(list.get(j));
+				if (consensus != null) {
+					aliveCount += add(consensus, list, alive);
+					if (aliveCount > limit) {
+						return null;
+					}
+				}
+			}
+		}
+
+		List<Cube> primes = new ArrayList<>();
+		for (int i = 0; i < list.size(); i++) {
+			if (alive.get(i)) {
+				primes.add(list.get(i));
+			}
+		}
+		return primes;
+	}
+
+	/**
+	 * Pomoćna metoda koja dodaje kocku <b>cube</b> ukoliko nije sadržana u
+	 * nekoj živućoj kocki te uklanja sve živuće kocke koje sadrži.
+	 *
+	 * @param cube
+	 *            kocka koja se dodaje
+	 * @param list
+	 *            sve do sada dodane kocke
+	 * @param alive
+	 *            zastavice kocki koje nisu uklonjene, poredane kao
+	 *            <b>list</b>
+	 * @return promjena broja živućih kocki
+	 */
+	private static int add(Cube cube, List<Cube> list, List<Boolean> alive) {
+		for (int k = 0; k < list.size(); k++) {
+			if (alive.get(k) && list.get(k).contains(cube)) {
+				return 0;
+			}
+		}
+		int change = 1;
+		for (int k = 0; k < list.size(); k++) {
+			if (alive.get(k) && cube.contains(list.get(k))) {
+				alive.set(k, false);
+				change--;
+			}
+		}
+		list.add(cube);
+		alive.add(true);
+		return change;
+	}
+}
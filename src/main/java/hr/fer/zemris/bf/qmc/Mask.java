@@ -1,6 +1,5 @@
 package hr.fer.zemris.bf.qmc;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -8,13 +7,9 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
 import java.util.TreeSet;
-import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
-import hr.fer.zemris.bf.model.ConstantNode;
 import hr.fer.zemris.bf.model.Node;
-import hr.fer.zemris.bf.model.UnaryOperatorNode;
-import hr.fer.zemris.bf.model.VariableNode;
 import hr.fer.zemris.bf.utils.Util;
 
 /**
@@ -50,18 +45,6 @@ import hr.fer.zemris.bf.utils.Util;
  */
 public class Mask {
 
-	/**
-	 * Konstanta koja predstavlja niz znakova "NOT"
-	 */
-	private static final String NOT = "NOT";
-
-	/**
-	 * Konstanta koja predstavlja primjerak razreda koji implementira sučelje
-	 * {@link UnaryOperator}. Ovaj primjerak razreda nad primjerkom razreda
-	 * {@link Boolean} vrši logičku negaciju
-	 */
-	private static final UnaryOperator<Boolean> NOT_OPERATOR = v -> !v;
-
 	/**
 	 * Konstanta koja unutar {@link #values} predstavlja da je varijabla na toj
 	 * poziciji negirana
@@ -210,6 +193,17 @@ public class Mask {
 		return indexes;
 	}
 
+	/**
+	 * Metoda koja dohvaća vrijednosti maske ({@value #NEGATIVE},
+	 * {@value #POSITIVE} ili {@value #NOT_IN_PRODUCT} za svaku varijablu).
+	 * Metoda ne kopira interno polje pa ga pozivatelj ne smije mijenjati.
+	 *
+	 * @return vrijednosti maske
+	 */
+	byte[] getValues() {
+		return values;
+	}
+
 	/**
 	 * Metoda koja provjerava ima li primjerak ovog razreda podignutu zastavicu
 	 * don't care
@@ -344,20 +338,7 @@ public class Mask {
 		if (values.length != variables.size()) {
 			throw new IllegalArgumentException("Rekonstrukcija nije moguća: Predali ste previše varijabli!");
 		}
-		List<Node> nodes = new ArrayList<>();
-		for (int i = 0; i < values.length; i++) {
-			byte value = values[i];
-			if (value == NEGATIVE) {
-				nodes.add(new UnaryOperatorNode(NOT, new VariableNode(variables.get(i)), NOT_OPERATOR));
-			} else if (value == POSITIVE) {
-				nodes.add(new VariableNode(variables.get(i)));
-			}
-		}
-		//tautologija(svi su 2)
-		if(nodes.isEmpty()) {
-			nodes.add(new ConstantNode(true));
-		}
-		return nodes;
+		return new Cube(values).toVariableNodes(variables);
 	}
 
 	@Override
@@ -0,0 +1,296 @@
+package hr.fer.zemris.bf.qmc;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Razred predstavlja unaprijed izračunatu tablicu minimalnih oblika Booleovih
+ * funkcija s najviše {@value #MAX_VARIABLES} varijable. Tablicu generira
+ * {@link MinimalFormTableGenerator} pokretanjem samog razreda
+ * {@link Minimizer}, a ovaj je razred samo učitava iz resursa
+ * {@value #RESOURCE} i nudi dohvat u konstantnom vremenu.
+ * <p>
+ * Za funkcije s najviše {@value #MAX_DONT_CARE_VARIABLES} varijable tablica
+ * sadrži sve kombinacije minterma i don't careova (indeks je zapis funkcije u
+ * bazi 3: 0 - maksterm, 1 - minterm, 2 - don't care). Za funkcije s
+ * {@value #MAX_VARIABLES} varijable tablica sadrži samo potpuno specificirane
+ * funkcije (indeks je tablica istinitosti), jer bi svih 3^16 kombinacija bilo
+ * preveliko. Za ostale funkcije {@link #lookup(Set, Set, int)} vraća
+ * <code>null</code>.
+ * <p>
+ * Format jednog zapisa: broj minimalnih oblika (oktet), a za svaki oblik broj
+ * produkata (oktet) te za svaki produkt jedan oktet čija su gornja četiri bita
+ * maska varijabli koje se pojavljuju u produktu, a donja četiri bita njihove
+ * vrijednosti. Varijabli na poziciji <i>i</i> odgovara bit
+ * <i>n - 1 - i</i>, jednako kao u indeksima minterma.
+ * 
+ * @author Davor Češljaš
+ */
+final class MinimalFormTable {
+
+	/** Putanja resursa s tablicom (relativno na ovaj razred) */
+	static final String RESOURCE = "minimal-forms.bin";
+
+	/** Zaglavlje datoteke tablice */
+	static final int MAGIC = 0x51_4D_43_54;
+
+	/** Najveći broj varijabli koje tablica pokriva */
+	static final int MAX_VARIABLES = 4;
+
+	/** Najveći broj varijabli za koje tablica pokriva i don't careove */
+	static final int MAX_DONT_CARE_VARIABLES = 3;
+
+	/** Logger paketa */
+	private static final Logger LOG = Logger.getLogger("hr.fer.zemris.bf.qmc");
+
+	/** Zapisi tablice za svaki broj varijabli (indeks 0 se ne koristi) */
+	private final byte[][] data;
+
+	/** Početak zapisa pojedine funkcije unutar {@link #data} */
+	private final int[][] offsets;
+
+	/**
+	 * Razred koji lijeno učitava tablicu prilikom prvog korištenja.
+	 */
+	private static class Holder {
+
+		/** Učitana tablica ili <code>null</code> ukoliko resurs ne postoji */
+		private static final MinimalFormTable INSTANCE = load();
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda i računa početke
+	 * svih zapisa.
+	 *
+	 * @param data
+	 *            zapisi tablice za svaki broj varijabli
+	 */
+	private MinimalFormTable(byte[][] data) {
+		this.data = data;
+		this.offsets = new int[data.length][];
+		for (int n = 1; n < data.length; n++) {
+			offsets[n] = computeOffsets(data[n], entryCount(n));
+		}
+	}
+
+	/**
+	 * Metoda koja dohvaća minimalne oblike funkcije zadane mintermima
+	 * <b>mintermSet</b> i don't careovima <b>dontCareSet</b> nad
+	 * <b>numberOfVariables</b> varijabli.
+	 *
+	 * @param mintermSet
+	 *            brojčani {@link Set} minterma
+	 * @param dontCareSet
+	 *            brojčani {@link Set} don't careova
+	 * @param numberOfVariables
+	 *            broj varijabli funkcije
+	 * @return minimalne oblike jednake onima koje bi izračunao
+	 *         {@link Minimizer} ili <code>null</code> ukoliko funkcija nije u
+	 *         tablici
+	 */
+	static List<Set<Mask>> lookup(Set<Integer> mintermSet, Set<Integer> dontCareSet, int numberOfVariables) {
+		MinimalFormTable table = Holder.INSTANCE;
+		if (table == null || numberOfVariables < 1 || numberOfVariables > MAX_VARIABLES) {
+			return null;
+		}
+		if (numberOfVariables > MAX_DONT_CARE_VARIABLES && !dontCareSet.isEmpty()) {
+			return null;
+		}
+		int index = index(mintermSet, dontCareSet, numberOfVariables);
+		if (index < 0) {
+			return null;
+		}
+		return table.decode(numberOfVariables, index);
+	}
+
+	/**
+	 * Metoda koja računa indeks funkcije unutar tablice.
+	 *
+	 * @param mintermSet
+	 *            brojčani {@link Set} minterma
+	 * @param dontCareSet
+	 *            brojčani {@link Set} don't careova
+	 * @param numberOfVariables
+	 *            broj varijabli funkcije
+	 * @return indeks funkcije ili -1 ukoliko neki indeks minterma nije unutar
+	 *         raspona [0, 2^<b>numberOfVariables</b> - 1]
+	 */
+	static int index(Set<Integer> mintermSet, Set<Integer> dontCareSet, int numberOfVariables) {
+		int size = 1 << numberOfVariables;
+		int[] digits = new int[size];
+		for (Integer minterm : mintermSet) {
+			if (minterm == null || minterm < 0 || minterm >= size) {
+				return -1;
+			}
+			digits[minterm] = 1;
+		}
+		for (Integer dontCare : dontCareSet) {
+			if (dontCare == null || dontCare < 0 || dontCare >= size) {
+				return -1;
+			}
+			digits[dontCare] = 2;
+		}
+
+		int index = 0;
+		int base = numberOfVariables > MAX_DONT_CARE_VARIABLES ? 2 : 3;
+		for (int i = size - 1; i >= 0; i--) {
+			index = index * base + digits[i];
+		}
+		return index;
+	}
+
+	/**
+	 * Metoda koja vraća broj zapisa tablice za <b>numberOfVariables</b>
+	 * varijabli.
+	 *
+	 * @param numberOfVariables
+	 *            broj varijabli
+	 * @return broj zapisa tablice
+	 */
+	static int entryCount(int numberOfVariables) {
+		int size = 1 << numberOfVariables;
+		int count = 1;
+		for (int i = 0; i < size; i++) {
+			count *= numberOfVariables > MAX_DONT_CARE_VARIABLES ? 2 : 3;
+		}
+		return count;
+	}
+
+	/**
+	 * Metoda koja kodira jedan produkt (masku) u jedan oktet.
+	 *
+	 * @param values
+	 *            vrijednosti maske (0, 1 ili 2 za svaku varijablu)
+	 * @return kodirani produkt
+	 */
+	static int encodeCube(byte[] values) {
+		int care = 0;
+		int bits = 0;
+		for (int i = 0, n = values.length; i < n; i++) {
+			int bit = 1 << (n - 1 - i);
+			if (values[i] != 2) {
+				care |= bit;
+				if (values[i] == 1) {
+					bits |= bit;
+				}
+			}
+		}
+		return care << 4 | bits;
+	}
+
+	/**
+	 * Pomoćna metoda koja dekodira zapis funkcije s indeksom <b>index</b> u
+	 * minimalne oblike.
+	 *
+	 * @param n
+	 *            broj varijabli
+	 * @param index
+	 *            indeks funkcije
+	 * @return {@link List} minimalnih oblika
+	 */
+	private List<Set<Mask>> decode(int n, int index) {
+		byte[] bytes = data[n];
+		int position = offsets[n][index];
+		int formCount = bytes[position++] & 0xFF;
+		List<Set<Mask>> minimalForms = new ArrayList<>(formCount);
+		for (int f = 0; f < formCount; f++) {
+			int cubeCount = bytes[position++] & 0xFF;
+			Set<Mask> form = new LinkedHashSet<>();
+			for (int c = 0; c < cubeCount; c++) {
+				form.add(decodeCube(bytes[position++] & 0xFF, n));
+			}
+			minimalForms.add(form);
+		}
+		return minimalForms;
+	}
+
+	/**
+	 * Pomoćna metoda koja dekodira jedan produkt u primjerak razreda
+	 * {@link Mask} zajedno sa svim indeksima koje pokriva.
+	 *
+	 * @param code
+	 *            kodirani produkt
+	 * @param n
+	 *            broj varijabli
+	 * @return dekodirani produkt
+	 */
+	private static Mask decodeCube(int code, int n) {
+		int care = code >>> 4;
+		int bits = code & 0xF;
+		byte[] values = new byte[n];
+		for (int i = 0; i < n; i++) {
+			int bit = 1 << (n - 1 - i);
+			values[i] = (byte) ((care & bit) == 0 ? 2 : (bits & bit) == 0 ? 0 : 1);
+		}
+		Set<Integer> indexes = new TreeSet<>();
+		for (int index = 0, size = 1 << n; index < size; index++) {
+			if ((index & care) == bits) {
+				indexes.add(index);
+			}
+		}
+		return new Mask(values, indexes, false);
+	}
+
+	/**
+	 * Pomoćna metoda koja jednim prolazom kroz zapise računa početak svakog
+	 * zapisa.
+	 *
+	 * @param bytes
+	 *            zapisi tablice
+	 * @param count
+	 *            broj zapisa
+	 * @return polje početaka zapisa
+	 */
+	private static int[] computeOffsets(byte[] bytes, int count) {
+		int[] result = new int[count];
+		int position = 0;
+		for (int i = 0; i < count; i++) {
+			result[i] = position;
+			int formCount = bytes[position++] & 0xFF;
+			for (int f = 0; f < formCount; f++) {
+				position += (bytes[position] & 0xFF) + 1;
+			}
+		}
+		if (position != bytes.length) {
+			throw new IllegalStateException("Tablica minimalnih oblika je oštećena!");
+		}
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja učitava tablicu iz resursa {@value #RESOURCE}.
+	 *
+	 * @return učitana tablica ili <code>null</code> ukoliko resurs ne postoji
+	 *         ili je oštećen
+	 */
+	private static MinimalFormTable load() {
+		try (InputStream is = MinimalFormTable.class.getResourceAsStream(RESOURCE)) {
+			if (is == null) {
+				LOG.log(Level.FINE, "Tablica minimalnih oblika ne postoji, koristi se samo minimizacija.");
+				return null;
+			}
+			DataInputStream in = new DataInputStream(new GZIPInputStream(is));
+			if (in.readInt() != MAGIC || in.readUnsignedByte() != MAX_VARIABLES) {
+				throw new IOException("Neispravno zaglavlje tablice.");
+			}
+			byte[][] data = new byte[MAX_VARIABLES + 1][];
+			for (int n = 1; n <= MAX_VARIABLES; n++) {
+				data[n] = new byte[in.readInt()];
+				in.readFully(data[n]);
+			}
+			return new MinimalFormTable(data);
+		} catch (IOException | RuntimeException e) {
+			LOG.log(Level.WARNING, "Tablicu minimalnih oblika nije moguće učitati: " + e.getMessage());
+			return null;
+		}
+	}
+}
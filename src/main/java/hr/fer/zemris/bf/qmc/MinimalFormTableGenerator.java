@@ -0,0 +1,150 @@
+package hr.fer.zemris.bf.qmc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Razred predstavlja alat koji se pokreće prilikom izgradnje (profil
+ * <code>generate-tables</code>) i koji generira tablicu minimalnih oblika koju
+ * koristi {@link MinimalFormTable}. Svaka funkcija iz tablice minimizira se
+ * razredom {@link Minimizer} (bez korištenja tablice), pri čemu se mintermi i
+ * don't careovi predaju uzlaznim redoslijedom. Primjer pokretanja:
+ * 
+ * <pre>
+ * java -cp target/classes hr.fer.zemris.bf.qmc.MinimalFormTableGenerator src/main/resources/hr/fer/zemris/bf/qmc/minimal-forms.bin
+ * </pre>
+ * 
+ * @author Davor Češljaš
+ */
+public class MinimalFormTableGenerator {
+
+	/**
+	 * Metoda od koje započinje izvođenje programa.
+	 *
+	 * @param args
+	 *            putanje datoteka u koje se zapisuje tablica (barem jedna)
+	 * @throws IOException
+	 *             ukoliko zapisivanje tablice ne uspije
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.out.println("Očekivao sam barem jednu putanju izlazne datoteke.");
+			return;
+		}
+
+		byte[] table = generate();
+		for (String arg : args) {
+			Path path = Paths.get(arg);
+			Path parent = path.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			Files.write(path, table);
+			System.out.printf("Tablica (%d okteta) zapisana je u %s%n", table.length, path);
+		}
+	}
+
+	/**
+	 * Metoda koja generira sadržaj datoteke tablice: zaglavlje te za svaki
+	 * broj varijabli duljinu i zapise svih funkcija. Sve zajedno je sažeto
+	 * GZIP algoritmom.
+	 *
+	 * @return sadržaj datoteke tablice
+	 * @throws IOException
+	 *             ukoliko zapisivanje ne uspije
+	 */
+	public static byte[] generate() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+			out.writeInt(MinimalFormTable.MAGIC);
+			out.writeByte(MinimalFormTable.MAX_VARIABLES);
+			for (int n = 1; n <= MinimalFormTable.MAX_VARIABLES; n++) {
+				byte[] entries = generateEntries(n);
+				out.writeInt(entries.length);
+				out.write(entries);
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Pomoćna metoda koja generira zapise svih funkcija od <b>n</b> varijabli.
+	 *
+	 * @param n
+	 *            broj varijabli
+	 * @return zapisi svih funkcija redom po indeksima
+	 * @throws IOException
+	 *             ukoliko zapisivanje ne uspije
+	 */
+	private static byte[] generateEntries(int n) throws IOException {
+		List<String> variables = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			variables.add(String.valueOf((char) ('A' + i)));
+		}
+		int size = 1 << n;
+		int base = n > MinimalFormTable.MAX_DONT_CARE_VARIABLES ? 2 : 3;
+		ByteArrayOutputStream entries = new ByteArrayOutputStream();
+		for (int index = 0, count = MinimalFormTable.entryCount(n); index < count; index++) {
+			Set<Integer> minterms = new TreeSet<>();
+			Set<Integer> dontCares = new TreeSet<>();
+			for (int i = 0, rest = index; i < size; i++, rest /= base) {
+				int digit = rest % base;
+				if (digit == 1) {
+					minterms.add(i);
+				} else if (digit == 2) {
+					dontCares.add(i);
+				}
+			}
+			writeEntry(entries, new Minimizer(minterms, dontCares, variables, false).getMinimalForms());
+		}
+		return entries.toByteArray();
+	}
+
+	/**
+	 * Pomoćna metoda koja zapisuje minimalne oblike jedne funkcije.
+	 *
+	 * @param out
+	 *            izlaz u koji se zapisuje
+	 * @param minimalForms
+	 *            minimalni oblici funkcije
+	 * @throws IOException
+	 *             ukoliko zapisivanje ne uspije
+	 * @throws IllegalStateException
+	 *             ukoliko broj oblika ili produkata ne stane u jedan oktet
+	 */
+	private static void writeEntry(OutputStream out, List<Set<Mask>> minimalForms) throws IOException {
+		checkFitsInByte(minimalForms.size());
+		out.write(minimalForms.size());
+		for (Set<Mask> form : minimalForms) {
+			checkFitsInByte(form.size());
+			out.write(form.size());
+			for (Mask mask : form) {
+				out.write(MinimalFormTable.encodeCube(mask.getValues()));
+			}
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava stane li broj <b>count</b> u jedan oktet.
+	 *
+	 * @param count
+	 *            broj koji se provjerava
+	 * @throws IllegalStateException
+	 *             ukoliko broj ne stane u jedan oktet
+	 */
+	private static void checkFitsInByte(int count) {
+		if (count > 0xFF) {
+			throw new IllegalStateException("Broj elemenata zapisa ne stane u jedan oktet: " + count);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package hr.fer.zemris.bf.qmc;
+
+/**
+ * Enumeracija postupaka minimizacije između kojih bira razred
+ * {@link AutoMinimizer}.
+ *
+ * @author Davor Češljaš
+ */
+public enum MinimizationEngine {
+
+	/** Dohvat iz unaprijed izračunate tablice ({@link MinimalFormTable}) */
+	TABLE,
+
+	/**
+	 * Egzaktno pokrivanje razredom {@link Minimizer} nad implicitno
+	 * izračunatim primarnim implikantima
+	 */
+	QMC,
+
+	/**
+	 * Implicitni primarni implikanti nad dijagramima odlučivanja uz
+	 * heurističko pokrivanje
+	 * ({@link hr.fer.zemris.bf.bdd.ImplicitPrimes})
+	 */
+	IMPLICIT,
+
+	/** Heuristička minimizacija razredom {@link Espresso} */
+	ESPRESSO
+}
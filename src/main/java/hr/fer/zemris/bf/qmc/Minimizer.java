@@ -2,6 +2,8 @@ package hr.fer.zemris.bf.qmc;
 
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -13,7 +15,10 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
+import hr.fer.zemris.bf.jfr.CoverSearchEvent;
+import hr.fer.zemris.bf.jfr.QmcColumnEvent;
 import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.BinaryOperatorType;
 import hr.fer.zemris.bf.model.ConstantNode;
 import hr.fer.zemris.bf.model.Node;
 import hr.fer.zemris.bf.utils.NodeAsExpressionPrinter;
@@ -25,12 +30,17 @@ import hr.fer.zemris.bf.utils.NodeAsExpressionPrinter;
  * "https://en.wikipedia.org/wiki/Quine%E2%80%93McCluskey_algorithm">metodom
  * Quine-McCluskey s Pyne-McCluskey pristupom.</a> Razred predstavlja
  * implementaciju navedenog minimizacijskog postupka za jednu Booleovu funkciju.
- * Razred prilikom minimizacije koristi primjerke razreda {@link Mask}. Razred
- * nudi jedan konstruktor: {@link #Minimizer(Set, Set, List)}. Razreda također
- * nudi 2 različite metode za dohvat rezultata minimizacije:
+ * Razred prilikom minimizacije koristi primjerke razreda {@link Mask}. Za
+ * funkcije s malim brojem varijabli minimalni oblici dohvaćaju se iz
+ * unaprijed izračunate tablice ({@link MinimalFormTable}). Razred
+ * nudi jedan konstruktor: {@link #Minimizer(Set, Set, List)}, te metodu
+ * {@link #fromCubes(Collection, Collection, List)} za funkcije zadane
+ * pokrivanjem kockama, koje se ne raspisuju u minterme. Razreda također
+ * nudi 3 različite metode za dohvat rezultata minimizacije:
  * <ul>
  * <li>{@link #getMinimalFormsAsExpressions()}</li>
  * <li>{@link #getMinimalFormsAsString()}</li>
+ * <li>{@link #getMinimalFormsAsCubes()}</li>
  * </ul>
  * 
  * @see Mask
@@ -82,6 +92,18 @@ public class Minimizer {
 	 */
 	private static final String AND = "AND";
 
+	/**
+	 * Najveći broj primarnih implikanata funkcije zadane kockama za koji se
+	 * traži egzaktno minimalno pokrivanje
+	 */
+	private static final int MAX_CUBE_PRIMES = 2_000;
+
+	/**
+	 * Najveći broj dijelova kocki koji se obrađuju pri izgradnji stupaca
+	 * tablice pokrivenosti funkcije zadane kockama
+	 */
+	private static final int MAX_CUBE_PARTS = 100_000;
+
 	/** Članska varijabla koja predstavlja brojčani {@link Set} minterma */
 	private Set<Integer> mintermSet;
 
@@ -101,6 +123,12 @@ public class Minimizer {
 	 */
 	private List<Set<Mask>> minimalForms;
 
+	/**
+	 * Članska varijabla koja predstavlja minimalne oblike pronađene za
+	 * funkciju zadanu kockama ({@link #fromCubes(Collection, Collection, List)})
+	 */
+	private List<Set<Cube>> cubeForms;
+
 	/**
 	 * Konstruktor koji inicijalizira primjerke ovog razreda. Unutar
 	 * konstrukotra vrši se detaljna provjera predanih argumenata
@@ -120,6 +148,28 @@ public class Minimizer {
 	 *            predstavlja nazive varijabli unutar booleove funkcije
 	 */
 	public Minimizer(Set<Integer> mintermSet, Set<Integer> dontCareSet, List<String> variables) {
+		this(mintermSet, dontCareSet, variables, true);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerke ovog razreda. Konstruktor radi
+	 * jednako kao {@link #Minimizer(Set, Set, List)}, uz mogućnost da se
+	 * zaobiđe tablica unaprijed izračunatih minimalnih oblika
+	 * ({@link MinimalFormTable}), što je potrebno prilikom generiranja same
+	 * tablice.
+	 *
+	 * @param mintermSet
+	 *            brojčani {@link Set} minterma koji se minimizira
+	 * @param dontCareSet
+	 *            brojčani {@link Set} don't careova pomoću kojeg se minimizira
+	 * @param variables
+	 *            {@link List} primjeraka razreda {@link String} koji
+	 *            predstavlja nazive varijabli unutar booleove funkcije
+	 * @param useTable
+	 *            zastavica koja govori smije li se koristiti tablica
+	 *            minimalnih oblika
+	 */
+	Minimizer(Set<Integer> mintermSet, Set<Integer> dontCareSet, List<String> variables, boolean useTable) {
 		if (!checkArguments(mintermSet, dontCareSet, variables)) {
 			return;
 		}
@@ -129,9 +179,146 @@ public class Minimizer {
 		this.dontCareSet = dontCareSet;
 		this.variables = variables;
 
+		if (useTable) {
+			minimalForms = MinimalFormTable.lookup(mintermSet, dontCareSet, variables.size());
+			if (minimalForms != null) {
+				return;
+			}
+		}
 		minimize();
 	}
 
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda za minimizaciju
+	 * funkcije zadane kockama.
+	 *
+	 * @param variables
+	 *            {@link List} primjeraka razreda {@link String} koji
+	 *            predstavlja nazive varijabli unutar booleove funkcije
+	 */
+	private Minimizer(List<String> variables) {
+		this.variables = variables;
+	}
+
+	/**
+	 * Metoda koja stvara minimizator funkcije zadane pokrivanjem kockama
+	 * <b>onSet</b> i pokrivanjem don't careova <b>dontCareSet</b>. Kocke se ne
+	 * raspisuju u minterme: primarni implikanti generiraju se ponavljanim
+	 * konsenzusom ({@link IteratedConsensus}), a stupci tablice pokrivenosti
+	 * su skupine minterma koje pokrivaju isti primarni implikanti; zadržavaju
+	 * se samo stupci koje ne dominira neki drugi stupac. Pronađeni minimalni
+	 * oblici jednaki su onima koje bi dao konstruktor
+	 * {@link #Minimizer(Set, Set, List)} nad mintermima kocki. Broj primarnih
+	 * implikanata može rasti eksponencijalno s brojem kocki; ukoliko ih je
+	 * više od {@value #MAX_CUBE_PRIMES} ili ukoliko stupci zahtijevaju više od
+	 * {@value #MAX_CUBE_PARTS} dijeljenja kocki, pokrivanje se traži
+	 * heuristički ({@link Espresso}) i jedini pronađeni oblik nije nužno
+	 * minimalan.
+	 *
+	 * @param onSet
+	 *            kocke koje pokrivaju minterme funkcije
+	 * @param dontCareSet
+	 *            kocke koje pokrivaju don't careove funkcije
+	 * @param variables
+	 *            {@link List} primjeraka razreda {@link String} koji
+	 *            predstavlja nazive varijabli unutar booleove funkcije
+	 * @return novi minimizator
+	 * @throws IllegalArgumentException
+	 *             ukoliko je bilo koji argument <code>null</code>, ukoliko je
+	 *             {@link List}a varijabli prazna, ukoliko neka kocka nema
+	 *             jednak broj varijabli ili ukoliko se kocka minterma siječe s
+	 *             kockom don't careova
+	 */
+	public static Minimizer fromCubes(Collection<Cube> onSet, Collection<Cube> dontCareSet,
+			List<String> variables) {
+		if (onSet == null || dontCareSet == null || variables == null) {
+			throw new IllegalArgumentException("Argumenti ne smiju biti null!");
+		}
+		if (variables.isEmpty()) {
+			throw new IllegalArgumentException("Lista varijabli ne smije biti prazna!");
+		}
+		List<Cube> on = new ArrayList<>(onSet);
+		List<Cube> dontCares = new ArrayList<>(dontCareSet);
+		on.forEach(cube -> checkVariableCount(cube, variables));
+		dontCares.forEach(cube -> checkVariableCount(cube, variables));
+		for (Cube cube : on) {
+			for (Cube dontCare : dontCares) {
+				if (cube.intersects(dontCare)) {
+					throw new IllegalArgumentException(
+							"Kocka minterma " + cube + " ima preklapanja s kockom don't careova " + dontCare);
+				}
+			}
+		}
+
+		Minimizer minimizer = new Minimizer(variables);
+		minimizer.minimizeCubes(on, dontCares);
+		return minimizer;
+	}
+
+	/**
+	 * Metoda koja stvara minimizator funkcije čiji su primarni implikanti već
+	 * izračunati (npr. implicitno, {@link hr.fer.zemris.bf.bdd.ImplicitPrimes}),
+	 * pa se preskače generiranje stupaca postupka Quine-McCluskey i odmah
+	 * traži minimalno pokrivanje. Argumenti se ne provjeravaju, a
+	 * <b>primes</b> moraju biti točno primarni implikanti unije minterma i
+	 * don't careova koji pokrivaju barem jedan minterm.
+	 *
+	 * @param mintermSet
+	 *            brojčani {@link Set} minterma
+	 * @param dontCareSet
+	 *            brojčani {@link Set} don't careova
+	 * @param primes
+	 *            primarni implikanti funkcije
+	 * @param variables
+	 *            {@link List} primjeraka razreda {@link String} koji
+	 *            predstavlja nazive varijabli unutar booleove funkcije
+	 * @return novi minimizator
+	 * @throws IllegalArgumentException
+	 *             ukoliko neki primarni implikant ima previše minterma za
+	 *             masku ({@link Cube#toMask(boolean)})
+	 */
+	static Minimizer fromPrimes(Set<Integer> mintermSet, Set<Integer> dontCareSet, Collection<Cube> primes,
+			List<String> variables) {
+		Minimizer minimizer = new Minimizer(variables);
+		minimizer.mintermSet = mintermSet;
+		minimizer.dontCareSet = dontCareSet;
+		Set<Mask> primCover = new LinkedHashSet<>();
+		for (Cube prime : primes) {
+			primCover.add(prime.toMask(false));
+		}
+		minimizer.minimalForms = minimizer.chooseMinimalCover(primCover);
+		return minimizer;
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava ima li kocka <b>cube</b> jednako
+	 * varijabli kao {@link List}a <b>variables</b>.
+	 *
+	 * @param cube
+	 *            kocka koja se provjerava
+	 * @param variables
+	 *            nazivi varijabli
+	 * @throws IllegalArgumentException
+	 *             ukoliko je kocka <code>null</code> ili ima različit broj
+	 *             varijabli
+	 */
+	private static void checkVariableCount(Cube cube, List<String> variables) {
+		if (cube == null || cube.getVariableCount() != variables.size()) {
+			throw new IllegalArgumentException("Kocka " + cube + " nema " + variables.size() + " varijabli!");
+		}
+	}
+
+	/**
+	 * Metoda koja dohvaća minimalne oblike kao {@link List} {@link Set}ova
+	 * primjeraka razreda {@link Mask}.
+	 *
+	 * @return minimalne oblike ili <code>null</code> ukoliko minimizacija nije
+	 *         provedena ili je funkcija zadana kockama
+	 */
+	List<Set<Mask>> getMinimalForms() {
+		return minimalForms;
+	}
+
 	/**
 	 * Metoda koja dohvaća sve minimalne oblike kao {@link List} primjeraka
 	 * razreda {@link Node}. Svaki primjerak tog razreda predstavlja upravo
@@ -143,6 +330,13 @@ public class Minimizer {
 	 *
 	 */
 	public List<Node> getMinimalFormsAsExpressions() {
+		if (cubeForms != null) {
+			List<Node> minimalNodes = new ArrayList<>();
+			for (Set<Cube> minimalForm : cubeForms) {
+				minimalNodes.add(Cube.toSumOfProducts(minimalForm, variables));
+			}
+			return minimalNodes;
+		}
 		if (minimalForms == null) {
 			throw new UnsupportedOperationException("Minimizacija nije uspjela!");
 		}
@@ -179,7 +373,7 @@ public class Minimizer {
 		if (children.size() == 1) {
 			return children.get(0);
 		}
-		return new BinaryOperatorNode(OR, children, Boolean::logicalOr);
+		return new BinaryOperatorNode(OR, children, BinaryOperatorType.OR);
 	}
 
 	/**
@@ -200,7 +394,7 @@ public class Minimizer {
 		if (children.size() == 1) {
 			return children.get(0);
 		}
-		return new BinaryOperatorNode(AND, children, Boolean::logicalAnd);
+		return new BinaryOperatorNode(AND, children, BinaryOperatorType.AND);
 	}
 
 	/**
@@ -225,6 +419,34 @@ public class Minimizer {
 		return expressions;
 	}
 
+	/**
+	 * Metoda koja dohvaća sve minimalne oblike kao {@link List} pokrivanja
+	 * kockama. Svako pokrivanje predstavlja jedan minimalni oblik predane
+	 * booleove funkcije, neovisno o tome je li funkcija zadana mintermima ili
+	 * kockama.
+	 *
+	 * @return sve minimalne oblike kao {@link List} {@link List}a primjeraka
+	 *         razreda {@link Cube}
+	 * @throws UnsupportedOperationException
+	 *             ukoliko minimizacija nije provedena
+	 */
+	public List<List<Cube>> getMinimalFormsAsCubes() {
+		List<List<Cube>> forms = new ArrayList<>();
+		if (cubeForms != null) {
+			cubeForms.forEach(form -> forms.add(new ArrayList<>(form)));
+			return forms;
+		}
+		if (minimalForms == null) {
+			throw new UnsupportedOperationException("Minimizacija nije uspjela!");
+		}
+		for (Set<Mask> minimalForm : minimalForms) {
+			List<Cube> form = new ArrayList<>();
+			minimalForm.forEach(mask -> form.add(new Cube(mask.getValues())));
+			forms.add(form);
+		}
+		return forms;
+	}
+
 	/**
 	 * Pomoćna metoda koja provjerava ispravnost predanih argumenata
 	 * konstruktoru. Ukoliko se <b>mintermSet</b> i <b>dontCareSet</b>
@@ -308,6 +530,189 @@ public class Minimizer {
 		minimalForms = chooseMinimalCover(primCover);
 	}
 
+	/**
+	 * Pomoćna metoda koja minimizira funkciju zadanu kockama. Primarni
+	 * implikanti su svi primarni implikanti unije <b>onSet</b> i
+	 * <b>dontCareSet</b> koji sijeku neku kocku minterma.
+	 *
+	 * @param onSet
+	 *            kocke koje pokrivaju minterme funkcije
+	 * @param dontCareSet
+	 *            kocke koje pokrivaju don't careove funkcije
+	 */
+	private void minimizeCubes(List<Cube> onSet, List<Cube> dontCareSet) {
+		List<Cube> all = new ArrayList<>(onSet);
+		all.addAll(dontCareSet);
+		List<Cube> primes = IteratedConsensus.primes(all, MAX_CUBE_PRIMES);
+		if (primes == null) {
+			LOG.log(Level.FINE, "Previše primarnih implikanata, pokrivanje se traži heuristički!");
+			minimizeHeuristically(onSet, dontCareSet);
+			return;
+		}
+		primes.removeIf(prime -> onSet.stream().noneMatch(prime::intersects));
+		if (primes.isEmpty()) {
+			LOG.log(Level.FINE, "Nisam pronašao niti jedan primarni implikant!");
+		} else {
+			logImplicants(new LinkedHashSet<>(primes), "Svi primarni implikanti:", Level.FINE);
+		}
+
+		CoverSearchEvent event = new CoverSearchEvent();
+		event.begin();
+		Cube[] implicants = primes.toArray(new Cube[primes.size()]);
+		Set<BitSet> columns = new LinkedHashSet<>();
+		List<Integer> candidates = new ArrayList<>();
+		int[] parts = { MAX_CUBE_PARTS };
+		for (Cube cube : onSet) {
+			candidates.clear();
+			for (int i = 0; i < implicants.length; i++) {
+				if (implicants[i].intersects(cube)) {
+					candidates.add(i);
+				}
+			}
+			if (!collectColumns(cube, implicants, candidates, columns, parts)) {
+				LOG.log(Level.FINE, "Previše stupaca tablice pokrivenosti, pokrivanje se traži heuristički!");
+				minimizeHeuristically(onSet, dontCareSet);
+				return;
+			}
+		}
+		removeDominatedColumns(columns);
+
+		boolean[][] table = new boolean[implicants.length][columns.size()];
+		int j = 0;
+		for (BitSet column : columns) {
+			for (int i = column.nextSetBit(0); i >= 0; i = column.nextSetBit(i + 1)) {
+				table[i][j] = true;
+			}
+			j++;
+		}
+		cubeForms = searchMinimalCover(implicants, table, columns.size(), event);
+		commitCoverEvent(event, columns.size(), implicants.length, cubeForms);
+	}
+
+	/**
+	 * Pomoćna metoda koja kocku minterma <b>cube</b> dijeli dok svaki njezin
+	 * dio nije ili sadržan u primarnom implikantu ili disjunktan s njim, te za
+	 * svaki dio u <b>columns</b> dodaje skup primarnih implikanata koji ga
+	 * sadrže. Svaki takav skup predstavlja jedan stupac tablice pokrivenosti,
+	 * jer su mintermi s istim skupom pokrivajućih implikanata istovjetni za
+	 * odabir pokrivanja.
+	 *
+	 * <p>
+	 * Dio se ne dijeli ukoliko je neki već pronađeni stupac podskup skupa
+	 * implikanata koji sadrže cijeli dio: svaki stupac dijela tada je nadskup
+	 * pronađenog stupca, a pokrivanje koje pokriva pronađeni stupac pokriva i
+	 * njega (dominacija stupaca). Dijeli se prvo prema polovici disjunktnoj s
+	 * implikantom, pa se stupci s malo implikanata, koji najviše odsijecaju,
+	 * pronalaze rano. Broj dijeljenja time ovisi o broju nedominiranih
+	 * stupaca, a ne o broju minterma kocke.
+	 * </p>
+	 *
+	 * @param cube
+	 *            kocka minterma
+	 * @param implicants
+	 *            primarni implikanti
+	 * @param candidates
+	 *            indeksi primarnih implikanata koji sijeku <b>cube</b>
+	 * @param columns
+	 *            skup do sada pronađenih stupaca
+	 * @param parts
+	 *            jednočlano polje s preostalim brojem dijelova koje se smije
+	 *            obraditi
+	 * @return <code>true</code> ukoliko su pronađeni svi stupci,
+	 *         <code>false</code> ukoliko je broj dijelova premašen
+	 */
+	private static boolean collectColumns(Cube cube, Cube[] implicants, List<Integer> candidates,
+			Set<BitSet> columns, int[] parts) {
+		if (--parts[0] < 0) {
+			return false;
+		}
+		BitSet containing = new BitSet(implicants.length);
+		int split = -1;
+		for (int i : candidates) {
+			if (implicants[i].contains(cube)) {
+				containing.set(i);
+			} else if (split < 0) {
+				split = i;
+			}
+		}
+		for (BitSet column : columns) {
+			BitSet uncovered = (BitSet) column.clone();
+			uncovered.andNot(containing);
+			if (uncovered.isEmpty()) {
+				return true;
+			}
+		}
+		if (split < 0) {
+			columns.add(containing);
+			return true;
+		}
+
+		Cube implicant = implicants[split];
+		int variable = 0;
+		while (implicant.getLiteral(variable) == Cube.NOT_IN_PRODUCT
+				|| cube.getLiteral(variable) != Cube.NOT_IN_PRODUCT) {
+			variable++;
+		}
+		byte literal = implicant.getLiteral(variable);
+		for (byte half : new byte[] { (byte) (Cube.POSITIVE - literal), literal }) {
+			Cube part = cube.with(variable, half);
+			List<Integer> remaining = new ArrayList<>();
+			for (int k : candidates) {
+				if (implicants[k].intersects(part)) {
+					remaining.add(k);
+				}
+			}
+			if (!collectColumns(part, implicants, remaining, columns, parts)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Pomoćna metoda koja funkciju zadanu kockama minimizira heuristički
+	 * ({@link Espresso}), kada bi egzaktno pokrivanje bilo preskupo. Jedini
+	 * pronađeni oblik nije nužno minimalan.
+	 *
+	 * @param onSet
+	 *            kocke koje pokrivaju minterme funkcije
+	 * @param dontCareSet
+	 *            kocke koje pokrivaju don't careove funkcije
+	 */
+	private void minimizeHeuristically(List<Cube> onSet, List<Cube> dontCareSet) {
+		cubeForms = new ArrayList<>();
+		cubeForms.add(new LinkedHashSet<>(new Espresso(onSet, dontCareSet, variables).getCover()));
+	}
+
+	/**
+	 * Pomoćna metoda koja iz skupa stupaca <b>columns</b> uklanja stupce koji
+	 * su nadskupovi nekog drugog stupca. Takve stupce pokriva svako
+	 * pokrivanje drugog stupca, pa ne mijenjaju minimalna pokrivanja.
+	 *
+	 * @param columns
+	 *            skup stupaca
+	 */
+	private static void removeDominatedColumns(Set<BitSet> columns) {
+		List<BitSet> sorted = new ArrayList<>(columns);
+		sorted.sort(Comparator.comparingInt(BitSet::cardinality));
+		List<BitSet> kept = new ArrayList<>();
+		for (BitSet column : sorted) {
+			boolean dominated = false;
+			for (BitSet smaller : kept) {
+				BitSet uncovered = (BitSet) smaller.clone();
+				uncovered.andNot(column);
+				if (uncovered.isEmpty()) {
+					dominated = true;
+					break;
+				}
+			}
+			if (!dominated) {
+				kept.add(column);
+			}
+		}
+		columns.retainAll(kept);
+	}
+
 	/**
 	 * Pomoćna metoda koja traži sve primarne implikante te ih vraća kao
 	 * {@link Set} primjeraka razreda {@link Mask}.
@@ -319,7 +724,9 @@ public class Minimizer {
 		List<Set<Mask>> column = createFirstColumn();
 		List<Set<Mask>> nextColumn = createColumn(column.size() - 1);
 		Set<Mask> primaryImplicants = new LinkedHashSet<>();
-		while (!column.isEmpty()) {
+		for (int columnIndex = 0; !column.isEmpty(); columnIndex++) {
+			QmcColumnEvent event = new QmcColumnEvent();
+			event.begin();
 			boolean nextColumnModified = false;
 			for (int i = 0, len = column.size() - 1; i < len; i++) {
 				for (Mask lowerMask : column.get(i)) {
@@ -330,7 +737,9 @@ public class Minimizer {
 			}
 	
 			logCurrentColumn(column, Level.FINER);
+			int primeCountBefore = primaryImplicants.size();
 			extractPossiblePrimaryImplicants(column, primaryImplicants);
+			commitColumnEvent(event, columnIndex, column, nextColumn, primaryImplicants.size() - primeCountBefore);
 			if (!nextColumnModified) {
 				break;
 			}
@@ -345,6 +754,35 @@ public class Minimizer {
 		return primaryImplicants;
 	}
 
+	/**
+	 * Pomoćna metoda koja završava i bilježi događaj <b>event</b> obrade
+	 * jednog stupca tablice ukoliko je snimanje događaja uključeno.
+	 *
+	 * @param event
+	 *            događaj koji je započeo prije obrade stupca
+	 * @param columnIndex
+	 *            redni broj stupca
+	 * @param column
+	 *            stupac koji je obrađen
+	 * @param nextColumn
+	 *            stupac koji je nastao kombiniranjem
+	 * @param primeImplicantCount
+	 *            broj primarnih implikanata pronađenih u stupcu
+	 */
+	private void commitColumnEvent(QmcColumnEvent event, int columnIndex, List<Set<Mask>> column,
+			List<Set<Mask>> nextColumn, int primeImplicantCount) {
+		event.end();
+		if (!event.shouldCommit()) {
+			return;
+		}
+		event.columnIndex = columnIndex;
+		event.groupCount = column.size();
+		event.columnSize = column.stream().mapToInt(Set::size).sum();
+		event.nextColumnSize = nextColumn.stream().mapToInt(Set::size).sum();
+		event.primeImplicantCount = primeImplicantCount;
+		event.commit();
+	}
+
 	/**
 	 * Pomoćna metoda koja iz {@link #mintermSet} i {@link #dontCareSet} gradi
 	 * prvi stupac minimizacije metodom Quine-McCluskey s Pyne-McCluskey
@@ -508,12 +946,12 @@ public class Minimizer {
 	 * <b>implicants</b> ukoliko je omogućeno loggiranje razine <b>level</b>
 	 *
 	 * @param implicants
-	 *            {@link Set} implikanta modeliranih razredom {@link Mask} koji
-	 *            se loggira
+	 *            {@link Set} implikanata (razreda {@link Mask} ili
+	 *            {@link Cube}) koji se loggira
 	 * @param level
 	 *            razina loggiranja
 	 */
-	private void logImplicants(Set<Mask> implicants, String message, Level level) {
+	private void logImplicants(Set<?> implicants, String message, Level level) {
 		if (!LOG.isLoggable(level)) {
 			return;
 		}
@@ -542,6 +980,8 @@ public class Minimizer {
 	 *         funkcije koja se minimizira
 	 */
 	private List<Set<Mask>> chooseMinimalCover(Set<Mask> primCover) {
+		CoverSearchEvent event = new CoverSearchEvent();
+		event.begin();
 		// Izgradi polja implikanata i minterma (rub tablice):
 		Mask[] implicants = primCover.toArray(new Mask[primCover.size()]);
 		Integer[] minterms = mintermSet.toArray(new Integer[mintermSet.size()]);
@@ -555,18 +995,72 @@ public class Minimizer {
 
 		// Napravi praznu tablicu pokrivenosti:
 		boolean[][] table = buildCoverTable(implicants, minterms, mintermToColumnMap);
+		List<Set<Mask>> minimalForms = searchMinimalCover(implicants, table, minterms.length, event);
+		commitCoverEvent(event, minterms.length, implicants.length, minimalForms);
+		return minimalForms;
+	}
+
+	/**
+	 * Pomoćna metoda koja završava i bilježi događaj <b>event</b> traženja
+	 * minimalnog pokrivanja ukoliko je snimanje događaja uključeno.
+	 *
+	 * @param event
+	 *            događaj koji je započeo prije izgradnje tablice pokrivenosti
+	 * @param columnCount
+	 *            broj stupaca tablice pokrivenosti
+	 * @param implicantCount
+	 *            broj primarnih implikanata
+	 * @param minimalForms
+	 *            pronađeni minimalni oblici
+	 */
+	private void commitCoverEvent(CoverSearchEvent event, int columnCount, int implicantCount,
+			List<? extends Set<?>> minimalForms) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.variableCount = variables.size();
+			event.mintermCount = columnCount;
+			event.primeImplicantCount = implicantCount;
+			event.coverSize = minimalForms.isEmpty() ? 0 : minimalForms.get(0).size();
+			event.minimalFormCount = minimalForms.size();
+			event.commit();
+		}
+	}
 
+	/**
+	 * Pomoćna metoda koja nad tablicom pokrivenosti <b>table</b> provodi
+	 * postupak opisan u {@link #chooseMinimalCover(Set)}. Stupci tablice su
+	 * mintermi ili, kod pokrivanja zadanog kockama, skupine minterma koje
+	 * pokrivaju isti primarni implikanti. Usput u predani događaj
+	 * <b>event</b> upisuje broj bitnih primarnih implikanata i veličinu
+	 * p-funkcije.
+	 *
+	 * @param <T>
+	 *            tip primarnih implikanata
+	 * @param implicants
+	 *            primarni implikanti, poredani kao retci tablice
+	 * @param table
+	 *            tablica pokrivenosti
+	 * @param columnCount
+	 *            broj stupaca tablice
+	 * @param event
+	 *            događaj traženja minimalnog pokrivanja
+	 * @return {@link List} {@link Set}ova primarnih implikanata unutar koje
+	 *         svaki {@link Set} predstavlja jednu minimalnu formu funkcije koja
+	 *         se minimizira
+	 */
+	private <T> List<Set<T>> searchMinimalCover(T[] implicants, boolean[][] table, int columnCount,
+			CoverSearchEvent event) {
 		// Donji redak tablice: koje sam minterme pokrio?
-		boolean[] coveredMinterms = new boolean[minterms.length];
+		boolean[] coveredMinterms = new boolean[columnCount];
 
 		// Pronađi primarne implikante...
-		Set<Mask> importantSet = selectImportantPrimaryImplicants(implicants, mintermToColumnMap, table,
-				coveredMinterms);
+		Set<T> importantSet = selectImportantPrimaryImplicants(implicants, table, coveredMinterms);
 		logImplicants(importantSet, "Bitni primarni implikanti su:", Level.FINE);
+		event.essentialCount = importantSet.size();
 		// ako su pokriveni svi mintermi nemoj dalje ispitivati. Ostale metode
 		// su skupe
-		if (isAllCovered(importantSet)) {
-			List<Set<Mask>> minimalForms = new ArrayList<>();
+		if (isAllCovered(coveredMinterms)) {
+			List<Set<T>> minimalForms = new ArrayList<>();
 			minimalForms.add(importantSet);
 			return minimalForms;
 		}
@@ -574,14 +1068,15 @@ public class Minimizer {
 		// Izgradi funkciju pokrivenosti:
 		List<Set<BitSet>> pFunction = buildPFunction(table, coveredMinterms);
 		logObject(pFunction, "p funkcija je:", Level.FINER);
+		event.pFunctionSize = pFunction.size();
 
 		// Pronađi minimalne dopune:
 		Set<BitSet> minset = findMinimalSet(pFunction);
 
 		// Izgradi minimalne zapise funkcije:
-		List<Set<Mask>> minimalForms = new ArrayList<>();
+		List<Set<T>> minimalForms = new ArrayList<>();
 		for (BitSet bs : minset) {
-			Set<Mask> set = new LinkedHashSet<>(importantSet);
+			Set<T> set = new LinkedHashSet<>(importantSet);
 			bs.stream().forEach(i -> set.add(implicants[i]));
 			minimalForms.add(set);
 		}
@@ -622,26 +1117,25 @@ public class Minimizer {
 
 	/**
 	 * Pomoćna metoda koja se koristi za pronalazak bitnih primarnih implikanta
-	 * predane booleove funkcije.
+	 * predane booleove funkcije. Stupce koje pokrivaju bitni primarni
+	 * implikanti metoda označava unutar tablice <b>coveredMinterms</b>.
 	 *
+	 * @param <T>
+	 *            tip primarnih implikanata
 	 * @param implicants
-	 *            polje primjeraka razreda {@link Mask} koji predstavljaju
-	 *            primarne implikante
-	 * @param mintermToColumnMap
-	 *            {@link Map}a koja mapira minterm u stupac u kojem se nalazi
+	 *            polje primarnih implikanata, poredanih kao retci tablice
 	 * @param table
 	 *            tablicu pokrivenosti
 	 * @param coveredMinterms
 	 *            pomoćna tablica koja sadrži minterme koji su pokriveni.
-	 * @return {@link Set} primjeraka razreda {@link Mask} koji predstavljaju
-	 *         bitne primarne implikant
+	 * @return {@link Set} bitnih primarnih implikanata
 	 */
-	private Set<Mask> selectImportantPrimaryImplicants(Mask[] implicants, Map<Integer, Integer> mintermToColumnMap,
-			boolean[][] table, boolean[] coveredMinterms) {
-		Set<Mask> importantPrimaryImplicants = new LinkedHashSet<>();
-		for (int j = 0, len = mintermToColumnMap.size(); j < len; j++) {
+	private <T> Set<T> selectImportantPrimaryImplicants(T[] implicants, boolean[][] table,
+			boolean[] coveredMinterms) {
+		Set<T> importantPrimaryImplicants = new LinkedHashSet<>();
+		for (int j = 0, len = coveredMinterms.length; j < len; j++) {
 			boolean onlyOneCovers = false;
-			Mask primaryImplicant = null;
+			int primaryImplicant = -1;
 			for (int i = 0; i < implicants.length; i++) {
 				if (table[i][j]) {
 					if (onlyOneCovers) {
@@ -650,13 +1144,15 @@ public class Minimizer {
 					}
 	
 					onlyOneCovers = true;
-					primaryImplicant = implicants[i];
+					primaryImplicant = i;
 				}
 			}
 	
 			if (onlyOneCovers) {
-				importantPrimaryImplicants.add(primaryImplicant);
-				coverMinterms(primaryImplicant, mintermToColumnMap, coveredMinterms);
+				importantPrimaryImplicants.add(implicants[primaryImplicant]);
+				for (int k = 0; k < len; k++) {
+					coveredMinterms[k] |= table[primaryImplicant][k];
+				}
 			}
 		}
 	
@@ -664,46 +1160,21 @@ public class Minimizer {
 	}
 
 	/**
-	 * Pomoćna metoda koja se koristi za oznađavanje svih mintermi koji se
-	 * dobiju pozivom metode {@link Mask#getIndexes()} unutar tablice
-	 * <b>coveredMinterms</b>. Za traženje indeksa svakog od minterma koristi se
-	 * predana {@link Map}a <b>mintermToColumnMap</b>.
+	 * Pomoćna metoda koja provjerava jesu li već svi mintermi pokriveni, nakon
+	 * što smo pronašli bitne primarne implikante.
 	 *
-	 * @param primaryImplicant
-	 *            primjerak razreda {@link Mask} koji predstavlja jedan bitni
-	 *            primarni implikant
-	 * @param mintermToColumnMap
-	 *            {@link Map}a koja mapira minterm u stupac u kojem se nalazi
 	 * @param coveredMinterms
 	 *            pomoćna tablica koja sadrži minterme koji su pokriveni.
-	 */
-	private void coverMinterms(Mask primaryImplicant, Map<Integer, Integer> mintermToColumnMap,
-			boolean[] coveredMinterms) {
-		for (Integer minterm : primaryImplicant.getIndexes()) {
-			Integer index = mintermToColumnMap.get(minterm);
-			if (index != null) {
-				coveredMinterms[index] = true;
-			}
-		}
-	}
-
-	/**
-	 * Pomoćna metoda koja provjerava jesu li već svi mintermi pokriveni, nakon
-	 * što smo pronašli bitne primarne implikante, koji su pohranjeni unutar
-	 * parametra <b>importantSet</b>
-	 *
-	 * @param importantSet
-	 *            bitni primarni implikanti pohranjeni unutar {@link Set}a
-	 *            primjeraka razreda {@link Mask}
 	 * @return <code>true</code> ukoliko bitni primarni implikanti pokrivaju sve
 	 *         minterme, <code>false</code> inače
 	 */
-	private boolean isAllCovered(Set<Mask> importantSet) {
-		Set<Integer> allCovered = new LinkedHashSet<>();
-		for (Mask mask : importantSet) {
-			allCovered.addAll(mask.getIndexes());
+	private boolean isAllCovered(boolean[] coveredMinterms) {
+		for (boolean covered : coveredMinterms) {
+			if (!covered) {
+				return false;
+			}
 		}
-		return allCovered.containsAll(mintermSet);
+		return true;
 	}
 
 	/**
@@ -722,7 +1193,7 @@ public class Minimizer {
 	 */
 	private List<Set<BitSet>> buildPFunction(boolean[][] table, boolean[] coveredMinterms) {
 		List<Set<BitSet>> pFunction = new ArrayList<>();
-		for (int j = 0, width = mintermSet.size(); j < width; j++) {
+		for (int j = 0, width = coveredMinterms.length; j < width; j++) {
 			if (coveredMinterms[j]) {
 				continue;
 			}
@@ -824,13 +1295,13 @@ public class Minimizer {
 	 * <b>minimalForms</b> ukoliko je omogućeno loggiranje razine <b>level</b>
 	 *
 	 * @param minimalForms
-	 *            {@link List} {@link Set}ova primjeraka razreda {@link Mask}
+	 *            {@link List} {@link Set}ova primarnih implikanata
 	 *            koji predstavljaju minimalne forme minimizacije predane
 	 *            booleove funkcije
 	 * @param level
 	 *            razina loggiranja
 	 */
-	private void logMinimalForms(List<Set<Mask>> minimalForms, Level level) {
+	private void logMinimalForms(List<? extends Set<?>> minimalForms, Level level) {
 		if (!LOG.isLoggable(level)) {
 			return;
 		}
@@ -0,0 +1,173 @@
+package hr.fer.zemris.bf.qmc;
+
+/**
+ * Razred predstavlja značajke problema minimizacije koje koristi
+ * {@link CostModel} za procjenu trajanja. Broj varijabli i veličine skupova
+ * poznate su odmah, a broj primarnih implikanata i veličina cikličke jezgre
+ * tek nakon generiranja primarnih implikanata; do tada su jednake
+ * {@value #UNKNOWN}. Primjerci ovog razreda su nepromjenjivi.
+ *
+ * @author Davor Češljaš
+ */
+public final class ProblemFeatures {
+
+	/** Oznaka značajke koja još nije poznata */
+	public static final long UNKNOWN = -1;
+
+	/** Broj varijabli */
+	private final int variableCount;
+
+	/** Broj minterma */
+	private final long onCount;
+
+	/** Broj don't careova */
+	private final long dontCareCount;
+
+	/** Broj primarnih implikanata */
+	private final long primeCount;
+
+	/** Broj primarnih implikanata cikličke jezgre */
+	private final long corePrimeCount;
+
+	/** Broj minterma cikličke jezgre */
+	private final long coreMintermCount;
+
+	/**
+	 * Konstruktor koji stvara značajke poznate prije generiranja primarnih
+	 * implikanata.
+	 *
+	 * @param variableCount
+	 *            broj varijabli
+	 * @param onCount
+	 *            broj minterma
+	 * @param dontCareCount
+	 *            broj don't careova
+	 * @throws IllegalArgumentException
+	 *             ukoliko je neki od brojeva negativan
+	 */
+	public ProblemFeatures(int variableCount, long onCount, long dontCareCount) {
+		this(variableCount, onCount, dontCareCount, UNKNOWN, UNKNOWN, UNKNOWN);
+	}
+
+	/**
+	 * Konstruktor koji stvara sve značajke.
+	 *
+	 * @param variableCount
+	 *            broj varijabli
+	 * @param onCount
+	 *            broj minterma
+	 * @param dontCareCount
+	 *            broj don't careova
+	 * @param primeCount
+	 *            broj primarnih implikanata ili {@value #UNKNOWN}
+	 * @param corePrimeCount
+	 *            broj primarnih implikanata cikličke jezgre ili
+	 *            {@value #UNKNOWN}
+	 * @param coreMintermCount
+	 *            broj minterma cikličke jezgre ili {@value #UNKNOWN}
+	 * @throws IllegalArgumentException
+	 *             ukoliko je broj varijabli, minterma ili don't careova
+	 *             negativan
+	 */
+	public ProblemFeatures(int variableCount, long onCount, long dontCareCount, long primeCount,
+			long corePrimeCount, long coreMintermCount) {
+		if (variableCount < 0 || onCount < 0 || dontCareCount < 0) {
+			throw new IllegalArgumentException("Značajke problema ne smiju biti negativne!");
+		}
+		this.variableCount = variableCount;
+		this.onCount = onCount;
+		this.dontCareCount = dontCareCount;
+		this.primeCount = primeCount;
+		this.corePrimeCount = corePrimeCount;
+		this.coreMintermCount = coreMintermCount;
+	}
+
+	/**
+	 * Metoda koja stvara nove značajke dopunjene podacima o primarnim
+	 * implikantima.
+	 *
+	 * @param primeCount
+	 *            broj primarnih implikanata
+	 * @param corePrimeCount
+	 *            broj primarnih implikanata cikličke jezgre ili
+	 *            {@value #UNKNOWN}
+	 * @param coreMintermCount
+	 *            broj minterma cikličke jezgre ili {@value #UNKNOWN}
+	 * @return nove značajke
+	 */
+	public ProblemFeatures withPrimes(long primeCount, long corePrimeCount, long coreMintermCount) {
+		return new ProblemFeatures(variableCount, onCount, dontCareCount, primeCount, corePrimeCount,
+				coreMintermCount);
+	}
+
+	/**
+	 * Metoda koja dohvaća broj varijabli.
+	 *
+	 * @return broj varijabli
+	 */
+	public int getVariableCount() {
+		return variableCount;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj minterma.
+	 *
+	 * @return broj minterma
+	 */
+	public long getOnCount() {
+		return onCount;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj don't careova.
+	 *
+	 * @return broj don't careova
+	 */
+	public long getDontCareCount() {
+		return dontCareCount;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj primarnih implikanata.
+	 *
+	 * @return broj primarnih implikanata ili {@value #UNKNOWN}
+	 */
+	public long getPrimeCount() {
+		return primeCount;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj primarnih implikanata cikličke jezgre, tj.
+	 * onih koji preostanu nakon uklanjanja bitnih primarnih implikanata i
+	 * implikanata koji više ne pokrivaju niti jedan minterm.
+	 *
+	 * @return broj primarnih implikanata cikličke jezgre ili
+	 *         {@value #UNKNOWN}
+	 */
+	public long getCorePrimeCount() {
+		return corePrimeCount;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj minterma cikličke jezgre.
+	 *
+	 * @return broj minterma cikličke jezgre ili {@value #UNKNOWN}
+	 */
+	public long getCoreMintermCount() {
+		return coreMintermCount;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("varijabli=").append(variableCount).append(", minterma=").append(onCount)
+				.append(", don't careova=").append(dontCareCount);
+		if (primeCount != UNKNOWN) {
+			sb.append(", primarnih implikanata=").append(primeCount);
+		}
+		if (corePrimeCount != UNKNOWN) {
+			sb.append(", jezgra=").append(corePrimeCount).append('x').append(coreMintermCount);
+		}
+		return sb.toString();
+	}
+}
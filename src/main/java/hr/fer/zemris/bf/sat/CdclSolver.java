@@ -0,0 +1,819 @@
+package hr.fer.zemris.bf.sat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import hr.fer.zemris.bf.jfr.SatSolveEvent;
+
+/**
+ * Razred predstavlja rješavač problema ispunjivosti konjunktivnog normalnog
+ * oblika učenjem klauzula iz konflikata (CDCL). Pretraživanje naizmjence
+ * odabire vrijednost varijable i propagira jedinične klauzule. Propagacija
+ * prati samo dva literala svake klauzule (<i>watched literals</i>), pa se pri
+ * dodjeli vrijednosti obilaze samo klauzule u kojima je jedan od praćenih
+ * literala postao neistinit. Svaki konflikt analizira se do prve jedinstvene
+ * točke implikacije (1UIP), naučena klauzula se dodaje, a pretraživanje se
+ * vraća na razinu odluke na kojoj naučena klauzula postaje jedinična.
+ * Varijable se odabiru po aktivnosti (VSIDS) uz pamćenje zadnje vrijednosti,
+ * pretraživanje se ponovno pokreće po Lubyjevom nizu, a naučene klauzule s
+ * velikim brojem razina odluke povremeno se brišu.
+ *
+ * <p>
+ * Literali se zadaju kao u formatu DIMACS: varijabla s indeksom <i>i</i> ima
+ * literal <i>i</i> + 1, a njezin komplement -(<i>i</i> + 1). Klauzule se mogu
+ * dodavati i nakon rješavanja (npr. kako bi se isključio pronađeni model),
+ * nakon čega se rješavanje može ponoviti.
+ * </p>
+ *
+ * Primjer uporabe:
+ *
+ * <pre>
+ * CdclSolver solver = new CdclSolver(2);
+ * solver.addClause(1, 2);
+ * solver.addClause(-1);
+ * solver.solve(); // true
+ * solver.getModel(); // [false, true]
+ * </pre>
+ *
+ * @see Satisfiability
+ *
+ * @author Davor Češljaš
+ */
+public class CdclSolver {
+
+	/** Broj konflikata jedinice Lubyjevog niza ponovnih pokretanja */
+	private static final int RESTART_UNIT = 100;
+
+	/** Faktor smanjenja aktivnosti varijabli nakon svakog konflikta */
+	private static final double VARIABLE_DECAY = 0.95;
+
+	/** Najmanji broj naučenih klauzula prije brisanja */
+	private static final int MIN_LEARNTS = 2000;
+
+	/** Oznaka klauzule koja nije razlog dodjele */
+	private static final int NO_REASON = -1;
+
+	/** Broj varijabli */
+	private final int variableCount;
+
+	/** Sve klauzule; obrisane naučene klauzule su <code>null</code> */
+	private final List<int[]> clauses = new ArrayList<>();
+
+	/** Broj razina odluke naučenih klauzula, 0 za zadane klauzule */
+	private final IntVector lbds = new IntVector();
+
+	/** Indeksi naučenih klauzula */
+	private IntVector learnts = new IntVector();
+
+	/** Klauzule koje prate pojedini literal */
+	private final IntVector[] watches;
+
+	/** Vrijednost varijable: 0 nepoznata, 1 istina, -1 laž */
+	private final byte[] assignment;
+
+	/** Razina odluke dodjele varijable */
+	private final int[] levels;
+
+	/** Klauzula koja je implicirala vrijednost varijable */
+	private final int[] reasons;
+
+	/** Zadnja vrijednost svake varijable */
+	private final boolean[] phases;
+
+	/** Dodijeljeni literali redom dodjele */
+	private final int[] trail;
+
+	/** Broj dodijeljenih literala */
+	private int trailSize;
+
+	/** Indeks prvog literala čije posljedice još nisu propagirane */
+	private int propagated;
+
+	/** Početak svake razine odluke u {@link #trail} */
+	private final IntVector levelStarts = new IntVector();
+
+	/** Aktivnost varijabli */
+	private final double[] activity;
+
+	/** Iznos za koji se povećava aktivnost */
+	private double increment = 1;
+
+	/** Gomila nedodijeljenih varijabli poredana po aktivnosti */
+	private final int[] heap;
+
+	/** Položaj varijable u gomili, -1 ukoliko nije u gomili */
+	private final int[] heapIndex;
+
+	/** Broj varijabli u gomili */
+	private int heapSize;
+
+	/** Oznake varijabli tijekom analize konflikta */
+	private final boolean[] seen;
+
+	/** Najveći broj naučenih klauzula prije brisanja */
+	private double maxLearnts;
+
+	/** Zastavica koja govori je li dokazano da problem nije ispunjiv */
+	private boolean unsatisfiable;
+
+	/** Model zadnjeg uspješnog rješavanja */
+	private boolean[] model;
+
+	/** Broj zadanih klauzula */
+	private int clauseCount;
+
+	/** Broj konflikata */
+	private long conflicts;
+
+	/** Broj odluka */
+	private long decisions;
+
+	/** Broj propagiranih literala */
+	private long propagations;
+
+	/** Broj ponovnih pokretanja */
+	private long restarts;
+
+	/**
+	 * Konstruktor koji stvara rješavač bez klauzula nad <b>variableCount</b>
+	 * varijabli.
+	 *
+	 * @param variableCount
+	 *            broj varijabli
+	 * @throws IllegalArgumentException
+	 *             ukoliko je broj varijabli negativan
+	 */
+	public CdclSolver(int variableCount) {
+		if (variableCount < 0) {
+			throw new IllegalArgumentException("Broj varijabli ne smije biti negativan: " + variableCount);
+		}
+		this.variableCount = variableCount;
+		this.watches = new IntVector[2 * variableCount];
+		for (int i = 0; i < watches.length; i++) {
+			watches[i] = new IntVector();
+		}
+		this.assignment = new byte[variableCount];
+		this.levels = new int[variableCount];
+		this.reasons = new int[variableCount];
+		this.phases = new boolean[variableCount];
+		this.trail = new int[variableCount];
+		this.activity = new double[variableCount];
+		this.heap = new int[variableCount];
+		this.heapIndex = new int[variableCount];
+		this.seen = new boolean[variableCount];
+		for (int v = 0; v < variableCount; v++) {
+			heapIndex[v] = -1;
+			heapInsert(v);
+		}
+	}
+
+	/**
+	 * Metoda koja dodaje klauzulu zadanu literalima <b>literals</b>. Prazna
+	 * klauzula čini problem neispunjivim.
+	 *
+	 * @param literals
+	 *            literali klauzule
+	 * @throws IllegalArgumentException
+	 *             ukoliko literal nije između -{@link #getVariableCount()} i
+	 *             {@link #getVariableCount()} ili je 0
+	 */
+	public void addClause(int... literals) {
+		int[] clause = new int[literals.length];
+		for (int i = 0; i < literals.length; i++) {
+			int literal = literals[i];
+			if (literal == 0 || Math.abs(literal) > variableCount) {
+				throw new IllegalArgumentException("Neispravan literal: " + literal);
+			}
+			clause[i] = literal > 0 ? 2 * (literal - 1) : 2 * (-literal - 1) + 1;
+		}
+		clauseCount++;
+		cancelUntil(0);
+		if (unsatisfiable) {
+			return;
+		}
+
+		// uklanjanje ponovljenih i neistinitih literala, tautologije se odbacuju
+		Arrays.sort(clause);
+		int size = 0;
+		for (int i = 0; i < clause.length; i++) {
+			int literal = clause[i];
+			if (value(literal) == 1 || i + 1 < clause.length && clause[i + 1] == (literal ^ 1)) {
+				return;
+			}
+			if (value(literal) == 0 && (size == 0 || clause[size - 1] != literal)) {
+				clause[size++] = literal;
+			}
+		}
+
+		if (size == 0) {
+			unsatisfiable = true;
+		} else if (size == 1) {
+			assign(clause[0], NO_REASON);
+			unsatisfiable = propagate() != NO_REASON;
+		} else {
+			attach(Arrays.copyOf(clause, size), 0);
+		}
+	}
+
+	/**
+	 * Metoda koja rješava problem ispunjivosti zadanih klauzula.
+	 *
+	 * @return <code>true</code> ukoliko postoji model koji zadovoljava sve
+	 *         klauzule, a <code>false</code> ukoliko je dokazano da ne postoji
+	 */
+	public boolean solve() {
+		SatSolveEvent event = new SatSolveEvent();
+		event.begin();
+		long startConflicts = conflicts;
+		long startDecisions = decisions;
+		long startRestarts = restarts;
+
+		model = null;
+		if (!unsatisfiable && propagate() != NO_REASON) {
+			unsatisfiable = true;
+		}
+		if (maxLearnts == 0) {
+			maxLearnts = Math.max(MIN_LEARNTS, clauseCount / 3.0);
+		}
+		Boolean result = unsatisfiable ? Boolean.FALSE : null;
+		for (int round = 0; result == null; round++) {
+			result = search(luby(round) * RESTART_UNIT);
+			if (result == null) {
+				restarts++;
+			}
+		}
+		cancelUntil(0);
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.variableCount = variableCount;
+			event.clauseCount = clauseCount;
+			event.conflicts = conflicts - startConflicts;
+			event.decisions = decisions - startDecisions;
+			event.restarts = restarts - startRestarts;
+			event.satisfiable = result;
+			event.commit();
+		}
+		return result;
+	}
+
+	/**
+	 * Metoda koja dohvaća model zadnjeg uspješnog rješavanja.
+	 *
+	 * @return kopija polja vrijednosti varijabli, poredanih po indeksu
+	 * @throws IllegalStateException
+	 *             ukoliko zadnje rješavanje nije pronašlo model
+	 */
+	public boolean[] getModel() {
+		if (model == null) {
+			throw new IllegalStateException("Zadnje rješavanje nije pronašlo model!");
+		}
+		return model.clone();
+	}
+
+	/**
+	 * Metoda koja dohvaća broj varijabli.
+	 *
+	 * @return broj varijabli
+	 */
+	public int getVariableCount() {
+		return variableCount;
+	}
+
+	/**
+	 * Metoda koja dohvaća ukupan broj konflikata svih rješavanja.
+	 *
+	 * @return broj konflikata
+	 */
+	public long getConflicts() {
+		return conflicts;
+	}
+
+	/**
+	 * Metoda koja dohvaća ukupan broj odluka svih rješavanja.
+	 *
+	 * @return broj odluka
+	 */
+	public long getDecisions() {
+		return decisions;
+	}
+
+	/**
+	 * Metoda koja dohvaća ukupan broj propagiranih literala svih rješavanja.
+	 *
+	 * @return broj propagiranih literala
+	 */
+	public long getPropagations() {
+		return propagations;
+	}
+
+	/**
+	 * Metoda koja dohvaća ukupan broj ponovnih pokretanja svih rješavanja.
+	 *
+	 * @return broj ponovnih pokretanja
+	 */
+	public long getRestarts() {
+		return restarts;
+	}
+
+	/**
+	 * Pomoćna metoda koja pretražuje dok ne pronađe model, dokaže
+	 * neispunjivost ili dosegne <b>conflictBudget</b> konflikata.
+	 *
+	 * @param conflictBudget
+	 *            broj konflikata nakon kojeg se pretraživanje ponovno pokreće
+	 * @return <code>true</code> ukoliko je pronađen model, <code>false</code>
+	 *         ukoliko je dokazana neispunjivost, odnosno <code>null</code>
+	 *         ukoliko je potrebno ponovno pokretanje
+	 */
+	private Boolean search(long conflictBudget) {
+		long budget = conflictBudget;
+		IntVector learnt = new IntVector();
+		while (true) {
+			int conflict = propagate();
+			if (conflict != NO_REASON) {
+				conflicts++;
+				budget--;
+				if (levelStarts.size == 0) {
+					unsatisfiable = true;
+					return Boolean.FALSE;
+				}
+				int backtrackLevel = analyze(conflict, learnt);
+				cancelUntil(backtrackLevel);
+				if (learnt.size == 1) {
+					assign(learnt.data[0], NO_REASON);
+				} else {
+					int index = attach(Arrays.copyOf(learnt.data, learnt.size), lbd(learnt));
+					learnts.add(index);
+					assign(learnt.data[0], index);
+				}
+				increment /= VARIABLE_DECAY;
+				continue;
+			}
+
+			if (budget <= 0) {
+				cancelUntil(0);
+				return null;
+			}
+			if (learnts.size - trailSize >= maxLearnts) {
+				reduceLearnts();
+			}
+			int variable = pickBranchVariable();
+			if (variable < 0) {
+				model = new boolean[variableCount];
+				for (int v = 0; v < variableCount; v++) {
+					model[v] = assignment[v] == 1;
+				}
+				return Boolean.TRUE;
+			}
+			decisions++;
+			levelStarts.add(trailSize);
+			assign(phases[variable] ? 2 * variable : 2 * variable + 1, NO_REASON);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja propagira jedinične klauzule za sve dodijeljene
+	 * literale čije posljedice još nisu propagirane. Klauzula se obilazi samo
+	 * kada jedan od njezina dva praćena literala postane neistinit; tada se
+	 * traži novi literal za praćenje, a ukoliko ga nema, klauzula je jedinična
+	 * ili u konfliktu.
+	 *
+	 * @return indeks klauzule u konfliktu ili {@value #NO_REASON}
+	 */
+	private int propagate() {
+		int conflict = NO_REASON;
+		while (propagated < trailSize && conflict == NO_REASON) {
+			int falseLiteral = trail[propagated++] ^ 1;
+			propagations++;
+			IntVector list = watches[falseLiteral];
+			int[] data = list.data;
+			int size = list.size;
+			int i = 0;
+			int j = 0;
+			while (i < size) {
+				int index = data[i++];
+				int[] clause = clauses.get(index);
+				if (clause == null) {
+					continue;
+				}
+				if (clause[0] == falseLiteral) {
+					clause[0] = clause[1];
+					clause[1] = falseLiteral;
+				}
+				if (value(clause[0]) == 1) {
+					data[j++] = index;
+					continue;
+				}
+
+				boolean moved = false;
+				for (int k = 2; k < clause.length; k++) {
+					if (value(clause[k]) != -1) {
+						clause[1] = clause[k];
+						clause[k] = falseLiteral;
+						watches[clause[1]].add(index);
+						moved = true;
+						break;
+					}
+				}
+				if (moved) {
+					continue;
+				}
+
+				data[j++] = index;
+				if (value(clause[0]) == -1) {
+					conflict = index;
+					while (i < size) {
+						data[j++] = data[i++];
+					}
+				} else {
+					assign(clause[0], index);
+				}
+			}
+			list.size = j;
+		}
+		if (conflict != NO_REASON) {
+			propagated = trailSize;
+		}
+		return conflict;
+	}
+
+	/**
+	 * Pomoćna metoda koja analizira konflikt klauzule <b>conflict</b> do prve
+	 * jedinstvene točke implikacije. Literali naučene klauzule čiji je razlog
+	 * u potpunosti sadržan u klauzuli se uklanjaju.
+	 *
+	 * @param conflict
+	 *            indeks klauzule u konfliktu
+	 * @param learnt
+	 *            spremnik naučene klauzule; prvi literal je literal koji
+	 *            klauzula implicira, a drugi literal ima najvišu razinu
+	 *            odluke među ostalima
+	 * @return razina odluke na koju se pretraživanje vraća
+	 */
+	private int analyze(int conflict, IntVector learnt) {
+		learnt.size = 0;
+		learnt.add(-1);
+		int level = levelStarts.size;
+		int pending = 0;
+		int literal = -1;
+		int index = trailSize - 1;
+		int reason = conflict;
+		do {
+			int[] clause = clauses.get(reason);
+			for (int k = literal == -1 ? 0 : 1; k < clause.length; k++) {
+				int q = clause[k];
+				int v = q >> 1;
+				if (!seen[v] && levels[v] > 0) {
+					bumpActivity(v);
+					seen[v] = true;
+					if (levels[v] >= level) {
+						pending++;
+					} else {
+						learnt.add(q);
+					}
+				}
+			}
+			while (!seen[trail[index] >> 1]) {
+				index--;
+			}
+			literal = trail[index--];
+			reason = reasons[literal >> 1];
+			seen[literal >> 1] = false;
+			pending--;
+		} while (pending > 0);
+		learnt.data[0] = literal ^ 1;
+
+		// uklanjanje literala impliciranih ostalim literalima klauzule
+		int[] marked = Arrays.copyOf(learnt.data, learnt.size);
+		int size = 1;
+		for (int i = 1; i < learnt.size; i++) {
+			int q = learnt.data[i];
+			if (reasons[q >> 1] == NO_REASON || !isImplied(reasons[q >> 1])) {
+				learnt.data[size++] = q;
+			}
+		}
+		learnt.size = size;
+		for (int i = 1; i < marked.length; i++) {
+			seen[marked[i] >> 1] = false;
+		}
+
+		int backtrackLevel = 0;
+		if (learnt.size > 1) {
+			int max = 1;
+			for (int i = 2; i < learnt.size; i++) {
+				if (levels[learnt.data[i] >> 1] > levels[learnt.data[max] >> 1]) {
+					max = i;
+				}
+			}
+			int swap = learnt.data[max];
+			learnt.data[max] = learnt.data[1];
+			learnt.data[1] = swap;
+			backtrackLevel = levels[swap >> 1];
+		}
+		return backtrackLevel;
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava jesu li svi literali razloga
+	 * <b>reason</b> (osim impliciranog) označeni ili dodijeljeni na razini 0.
+	 *
+	 * @param reason
+	 *            indeks klauzule razloga
+	 * @return <code>true</code> ukoliko je literal impliciran ostalim
+	 *         literalima naučene klauzule
+	 */
+	private boolean isImplied(int reason) {
+		int[] clause = clauses.get(reason);
+		for (int k = 1; k < clause.length; k++) {
+			int v = clause[k] >> 1;
+			if (!seen[v] && levels[v] > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Pomoćna metoda koja računa broj različitih razina odluke literala
+	 * klauzule <b>learnt</b>.
+	 *
+	 * @param learnt
+	 *            naučena klauzula
+	 * @return broj razina odluke
+	 */
+	private int lbd(IntVector learnt) {
+		int[] distinct = new int[learnt.size];
+		for (int i = 0; i < learnt.size; i++) {
+			distinct[i] = levels[learnt.data[i] >> 1];
+		}
+		return (int) Arrays.stream(distinct).distinct().count();
+	}
+
+	/**
+	 * Pomoćna metoda koja briše polovicu naučenih klauzula s najviše razina
+	 * odluke. Klauzule s dvije razine odluke i klauzule koje su razlog neke
+	 * dodjele se ne brišu.
+	 */
+	private void reduceLearnts() {
+		Integer[] sorted = new Integer[learnts.size];
+		for (int i = 0; i < sorted.length; i++) {
+			sorted[i] = learnts.data[i];
+		}
+		Arrays.sort(sorted, (a, b) -> Integer.compare(lbds.data[b], lbds.data[a]));
+
+		IntVector kept = new IntVector();
+		for (int i = 0; i < sorted.length; i++) {
+			int index = sorted[i];
+			int[] clause = clauses.get(index);
+			boolean locked = reasons[clause[0] >> 1] == index && value(clause[0]) == 1;
+			if (i < sorted.length / 2 && !locked && lbds.data[index] > 2) {
+				clauses.set(index, null);
+			} else {
+				kept.add(index);
+			}
+		}
+		learnts = kept;
+		maxLearnts *= 1.1;
+	}
+
+	/**
+	 * Pomoćna metoda koja dodaje klauzulu s barem dva literala i počinje
+	 * pratiti njezina prva dva literala.
+	 *
+	 * @param clause
+	 *            literali klauzule
+	 * @param lbd
+	 *            broj razina odluke naučene klauzule, 0 za zadanu klauzulu
+	 * @return indeks klauzule
+	 */
+	private int attach(int[] clause, int lbd) {
+		int index = clauses.size();
+		clauses.add(clause);
+		lbds.add(lbd);
+		watches[clause[0]].add(index);
+		watches[clause[1]].add(index);
+		return index;
+	}
+
+	/**
+	 * Pomoćna metoda koja dodjeljuje vrijednost literalu <b>literal</b> na
+	 * trenutnoj razini odluke.
+	 *
+	 * @param literal
+	 *            literal koji postaje istinit
+	 * @param reason
+	 *            indeks klauzule koja ga implicira ili {@value #NO_REASON}
+	 */
+	private void assign(int literal, int reason) {
+		int v = literal >> 1;
+		assignment[v] = (byte) ((literal & 1) == 0 ? 1 : -1);
+		levels[v] = levelStarts.size;
+		reasons[v] = reason;
+		trail[trailSize++] = literal;
+	}
+
+	/**
+	 * Pomoćna metoda koja poništava sve dodjele iznad razine odluke
+	 * <b>level</b> i pamti njihove vrijednosti.
+	 *
+	 * @param level
+	 *            razina odluke na koju se pretraživanje vraća
+	 */
+	private void cancelUntil(int level) {
+		if (levelStarts.size <= level) {
+			return;
+		}
+		int start = levelStarts.data[level];
+		for (int i = trailSize - 1; i >= start; i--) {
+			int v = trail[i] >> 1;
+			phases[v] = assignment[v] == 1;
+			assignment[v] = 0;
+			reasons[v] = NO_REASON;
+			if (heapIndex[v] < 0) {
+				heapInsert(v);
+			}
+		}
+		trailSize = start;
+		propagated = start;
+		levelStarts.size = level;
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća nedodijeljenu varijablu najveće aktivnosti.
+	 *
+	 * @return indeks varijable ili -1 ukoliko su sve varijable dodijeljene
+	 */
+	private int pickBranchVariable() {
+		while (heapSize > 0) {
+			int v = heapRemoveMax();
+			if (assignment[v] == 0) {
+				return v;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća vrijednost literala <b>literal</b>.
+	 *
+	 * @param literal
+	 *            unutarnji zapis literala (2<i>v</i> ili 2<i>v</i> + 1 za
+	 *            komplement)
+	 * @return 1 za istinit, -1 za neistinit i 0 za nedodijeljen literal
+	 */
+	private int value(int literal) {
+		int value = assignment[literal >> 1];
+		return (literal & 1) == 0 ? value : -value;
+	}
+
+	/**
+	 * Pomoćna metoda koja povećava aktivnost varijable <b>v</b>.
+	 *
+	 * @param v
+	 *            indeks varijable
+	 */
+	private void bumpActivity(int v) {
+		activity[v] += increment;
+		if (activity[v] > 1e100) {
+			for (int i = 0; i < variableCount; i++) {
+				activity[i] *= 1e-100;
+			}
+			increment *= 1e-100;
+		}
+		if (heapIndex[v] >= 0) {
+			siftUp(heapIndex[v]);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja dodaje varijablu <b>v</b> u gomilu.
+	 *
+	 * @param v
+	 *            indeks varijable
+	 */
+	private void heapInsert(int v) {
+		heap[heapSize] = v;
+		heapIndex[v] = heapSize;
+		siftUp(heapSize++);
+	}
+
+	/**
+	 * Pomoćna metoda koja uklanja varijablu najveće aktivnosti iz gomile.
+	 *
+	 * @return indeks varijable
+	 */
+	private int heapRemoveMax() {
+		int max = heap[0];
+		heapIndex[max] = -1;
+		heapSize--;
+		if (heapSize > 0) {
+			heap[0] = heap[heapSize];
+			heapIndex[heap[0]] = 0;
+			siftDown(0);
+		}
+		return max;
+	}
+
+	/**
+	 * Pomoćna metoda koja pomiče element gomile na položaju <b>position</b>
+	 * prema korijenu.
+	 *
+	 * @param position
+	 *            položaj elementa
+	 */
+	private void siftUp(int position) {
+		int v = heap[position];
+		while (position > 0) {
+			int parent = (position - 1) >> 1;
+			if (activity[heap[parent]] >= activity[v]) {
+				break;
+			}
+			heap[position] = heap[parent];
+			heapIndex[heap[position]] = position;
+			position = parent;
+		}
+		heap[position] = v;
+		heapIndex[v] = position;
+	}
+
+	/**
+	 * Pomoćna metoda koja pomiče element gomile na položaju <b>position</b>
+	 * prema listovima.
+	 *
+	 * @param position
+	 *            položaj elementa
+	 */
+	private void siftDown(int position) {
+		int v = heap[position];
+		while (true) {
+			int child = 2 * position + 1;
+			if (child >= heapSize) {
+				break;
+			}
+			if (child + 1 < heapSize && activity[heap[child + 1]] > activity[heap[child]]) {
+				child++;
+			}
+			if (activity[heap[child]] <= activity[v]) {
+				break;
+			}
+			heap[position] = heap[child];
+			heapIndex[heap[position]] = position;
+			position = child;
+		}
+		heap[position] = v;
+		heapIndex[v] = position;
+	}
+
+	/**
+	 * Pomoćna metoda koja računa <b>i</b>-ti član Lubyjevog niza (1, 1, 2, 1,
+	 * 1, 2, 4, ...).
+	 *
+	 * @param i
+	 *            indeks člana, počevši od 0
+	 * @return član niza
+	 */
+	static long luby(int i) {
+		int size = 1;
+		int sequence = 0;
+		while (size < i + 1) {
+			sequence++;
+			size = 2 * size + 1;
+		}
+		int x = i;
+		while (size - 1 != x) {
+			size = (size - 1) >> 1;
+			sequence--;
+			x %= size;
+		}
+		return 1L << sequence;
+	}
+
+	/**
+	 * Razred predstavlja polje cijelih brojeva promjenjive veličine.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class IntVector {
+
+		/** Elementi */
+		private int[] data = new int[4];
+
+		/** Broj elemenata */
+		private int size;
+
+		/**
+		 * Metoda koja dodaje element na kraj polja.
+		 *
+		 * @param value
+		 *            element
+		 */
+		private void add(int value) {
+			if (size == data.length) {
+				data = Arrays.copyOf(data, 2 * size);
+			}
+			data[size++] = value;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package hr.fer.zemris.bf.sat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Razred čiji primjerci predstavljaju procjenu broja minterma izraza dobivenu
+ * metodom {@link ModelCounter#estimate(hr.fer.zemris.bf.model.Node, java.util.List, double, double, java.util.Random)}:
+ * udio istinitih kombinacija (selektivnost) i granice unutar kojih se stvarni
+ * broj nalazi sa zadanom vjerojatnošću. Primjerci ovog razreda su
+ * nepromjenjivi.
+ *
+ * @author Davor Češljaš
+ */
+public final class CountEstimate {
+
+	/** Broj varijabli izraza */
+	private final int variableCount;
+
+	/** Procijenjeni udio istinitih kombinacija */
+	private final double selectivity;
+
+	/** Broj izračunatih slučajnih kombinacija */
+	private final long sampleCount;
+
+	/** Najveće odstupanje udjela istinitih kombinacija */
+	private final double error;
+
+	/** Vjerojatnost da je odstupanje veće od {@link #error} */
+	private final double delta;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param variableCount
+	 *            broj varijabli izraza
+	 * @param selectivity
+	 *            procijenjeni udio istinitih kombinacija
+	 * @param sampleCount
+	 *            broj izračunatih slučajnih kombinacija
+	 * @param error
+	 *            najveće odstupanje udjela istinitih kombinacija
+	 * @param delta
+	 *            vjerojatnost da je odstupanje veće
+	 */
+	CountEstimate(int variableCount, double selectivity, long sampleCount, double error, double delta) {
+		this.variableCount = variableCount;
+		this.selectivity = selectivity;
+		this.sampleCount = sampleCount;
+		this.error = error;
+		this.delta = delta;
+	}
+
+	/**
+	 * Metoda koja dohvaća procijenjeni udio istinitih kombinacija.
+	 *
+	 * @return selektivnost iz intervala [0, 1]
+	 */
+	public double getSelectivity() {
+		return selectivity;
+	}
+
+	/**
+	 * Metoda koja dohvaća procijenjeni broj minterma.
+	 *
+	 * @return procjena broja minterma
+	 */
+	public BigInteger getEstimate() {
+		return scale(selectivity);
+	}
+
+	/**
+	 * Metoda koja dohvaća donju granicu broja minterma.
+	 *
+	 * @return donja granica broja minterma
+	 */
+	public BigInteger getLowerBound() {
+		return scale(Math.max(0, selectivity - error));
+	}
+
+	/**
+	 * Metoda koja dohvaća gornju granicu broja minterma.
+	 *
+	 * @return gornja granica broja minterma
+	 */
+	public BigInteger getUpperBound() {
+		return scale(Math.min(1, selectivity + error));
+	}
+
+	/**
+	 * Metoda koja dohvaća najveće odstupanje udjela istinitih kombinacija.
+	 *
+	 * @return najveće odstupanje
+	 */
+	public double getError() {
+		return error;
+	}
+
+	/**
+	 * Metoda koja dohvaća vjerojatnost da se stvarni broj minterma nalazi
+	 * unutar granica.
+	 *
+	 * @return vjerojatnost granica
+	 */
+	public double getConfidence() {
+		return 1 - delta;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj izračunatih slučajnih kombinacija.
+	 *
+	 * @return broj slučajnih kombinacija
+	 */
+	public long getSampleCount() {
+		return sampleCount;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s [%s, %s] (selektivnost %.4f ± %.4f, vjerojatnost %.4f, %d kombinacija)",
+				getEstimate(), getLowerBound(), getUpperBound(), selectivity, error, getConfidence(), sampleCount);
+	}
+
+	/**
+	 * Pomoćna metoda koja udio kombinacija pretvara u broj kombinacija.
+	 *
+	 * @param fraction
+	 *            udio kombinacija
+	 * @return zaokruženi broj kombinacija
+	 */
+	private BigInteger scale(double fraction) {
+		return new BigDecimal(fraction).multiply(new BigDecimal(BigInteger.ONE.shiftLeft(variableCount)))
+				.setScale(0, RoundingMode.HALF_UP).toBigInteger();
+	}
+}
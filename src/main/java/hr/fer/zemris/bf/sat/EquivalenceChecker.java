@@ -0,0 +1,241 @@
+package hr.fer.zemris.bf.sat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.BinaryOperatorType;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.UnaryOperatorType;
+import hr.fer.zemris.bf.utils.BitSlicedEvaluator;
+import hr.fer.zemris.bf.utils.CompiledExpression;
+
+/**
+ * Razred koji provjerava jesu li dva izraza ekvivalentna, npr. izvorni izraz i
+ * njegov minimalni oblik ({@link hr.fer.zemris.bf.qmc.Minimizer}), bez
+ * usporedbe tablica istinitosti. Oba izraza spajaju se u izraz razlike
+ * (<i>miter</i>) <i>(f xor g) and not dc</i>, koji je ispunjiv točno kada
+ * postoji kombinacija izvan skupa kombinacija čija vrijednost nije bitna
+ * (<i>dc</i>) za koju izrazi imaju različite vrijednosti.
+ *
+ * <p>
+ * Izraz razlike najprije se izračunava za slučajne kombinacije, 64
+ * kombinacije u jednom prolazu ({@link BitSlicedEvaluator#evaluateWords(long[])}),
+ * čime se većina neekvivalentnih izraza brzo otkriva. Ukoliko tablica
+ * istinitosti nije veća od broja simuliranih kombinacija, umjesto slučajnih
+ * izračunavaju se sve kombinacije, što je ujedno i dokaz ekvivalentnosti. U
+ * suprotnom se ekvivalentnost dokazuje rješavanjem problema ispunjivosti
+ * izraza razlike ({@link Satisfiability}), čiji je model protuprimjer.
+ * </p>
+ *
+ * Primjer uporabe:
+ *
+ * <pre>
+ * EquivalenceResult result = new EquivalenceChecker().check(expression,
+ * 		minimizer.getMinimalFormsAsExpressions().get(0), variables);
+ * if (!result.isEquivalent()) {
+ * 	System.out.println(result); // protuprimjer
+ * }
+ * </pre>
+ *
+ * @author Davor Češljaš
+ */
+public class EquivalenceChecker {
+
+	/** Pretpostavljeni broj simuliranih riječi od 64 kombinacije */
+	public static final int DEFAULT_SIMULATION_WORDS = 64;
+
+	/** Broj simuliranih riječi od 64 kombinacije */
+	private final int simulationWords;
+
+	/** Generator slučajnih kombinacija */
+	private final Random random;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda s
+	 * {@value #DEFAULT_SIMULATION_WORDS} simuliranih riječi.
+	 */
+	public EquivalenceChecker() {
+		this(DEFAULT_SIMULATION_WORDS, new Random());
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param simulationWords
+	 *            broj simuliranih riječi od 64 kombinacije (0 isključuje
+	 *            simulaciju)
+	 * @param random
+	 *            generator slučajnih kombinacija
+	 * @throws IllegalArgumentException
+	 *             ukoliko je broj riječi negativan ili ukoliko je generator
+	 *             <code>null</code>
+	 */
+	public EquivalenceChecker(int simulationWords, Random random) {
+		if (simulationWords < 0) {
+			throw new IllegalArgumentException("Broj simuliranih riječi ne smije biti negativan: " + simulationWords);
+		}
+		if (random == null) {
+			throw new IllegalArgumentException("Generator slučajnih brojeva ne smije biti null!");
+		}
+		this.simulationWords = simulationWords;
+		this.random = random;
+	}
+
+	/**
+	 * Metoda koja provjerava jesu li izrazi <b>first</b> i <b>second</b>
+	 * ekvivalentni.
+	 *
+	 * @param first
+	 *            prvi izraz
+	 * @param second
+	 *            drugi izraz
+	 * @param variables
+	 *            nazivi varijabli obaju izraza
+	 * @return rezultat provjere
+	 * @throws IllegalArgumentException
+	 *             ukoliko je neki izraz <code>null</code>, ukoliko je
+	 *             {@link List}a varijabli prazna ili ukoliko neki izraz
+	 *             sadrži nepoznatu varijablu
+	 */
+	public EquivalenceResult check(Node first, Node second, List<String> variables) {
+		return check(first, second, null, variables);
+	}
+
+	/**
+	 * Metoda koja provjerava jesu li izrazi <b>first</b> i <b>second</b>
+	 * ekvivalentni za sve kombinacije za koje izraz <b>dontCare</b> nije
+	 * istinit.
+	 *
+	 * @param first
+	 *            prvi izraz
+	 * @param second
+	 *            drugi izraz
+	 * @param dontCare
+	 *            izraz istinit za kombinacije čija vrijednost nije bitna ili
+	 *            <code>null</code> ukoliko takvih nema
+	 * @param variables
+	 *            nazivi varijabli svih izraza
+	 * @return rezultat provjere
+	 * @throws IllegalArgumentException
+	 *             ukoliko je neki od prva dva izraza <code>null</code>,
+	 *             ukoliko je {@link List}a varijabli prazna ili ukoliko neki
+	 *             izraz sadrži nepoznatu varijablu
+	 */
+	public EquivalenceResult check(Node first, Node second, Node dontCare, List<String> variables) {
+		if (first == null || second == null) {
+			throw new IllegalArgumentException("Izrazi ne smiju biti null!");
+		}
+		if (variables == null || variables.isEmpty()) {
+			throw new IllegalArgumentException("Lista varijabli ne smije biti null ni prazna!");
+		}
+		Node miter = new BinaryOperatorNode(BinaryOperatorType.XOR.getSymbol(), Arrays.asList(first, second),
+				BinaryOperatorType.XOR);
+		if (dontCare != null) {
+			Node care = new UnaryOperatorNode(UnaryOperatorType.NOT.getSymbol(), dontCare, UnaryOperatorType.NOT);
+			miter = new BinaryOperatorNode(BinaryOperatorType.AND.getSymbol(), Arrays.asList(miter, care),
+					BinaryOperatorType.AND);
+		}
+
+		CompiledExpression compiled;
+		try {
+			compiled = CompiledExpression.compile(miter, variables);
+		} catch (IllegalStateException e) {
+			throw new IllegalArgumentException(e.getMessage(), e);
+		}
+		List<String> copy = new ArrayList<>(variables);
+
+		if (simulationWords > 0) {
+			BitSlicedEvaluator evaluator = new BitSlicedEvaluator(compiled);
+			boolean exhaustive = variables.size() < Long.SIZE - 1 && evaluator.blockCount() <= simulationWords;
+			boolean[] counterexample = exhaustive ? exhaustive(evaluator, variables.size())
+					: simulate(evaluator, variables.size());
+			if (counterexample != null) {
+				return counterexample(first, copy, EquivalenceResult.Method.SIMULATION, counterexample);
+			}
+			if (exhaustive) {
+				return new EquivalenceResult(copy, EquivalenceResult.Method.SIMULATION, null, false);
+			}
+		}
+
+		SatResult result = Satisfiability.solve(miter, variables);
+		if (result.isSatisfiable()) {
+			return counterexample(first, copy, EquivalenceResult.Method.SAT, result.getModel());
+		}
+		return new EquivalenceResult(copy, EquivalenceResult.Method.SAT, null, false);
+	}
+
+	/**
+	 * Pomoćna metoda koja izraz razlike izračunava za slučajne kombinacije.
+	 *
+	 * @param evaluator
+	 *            izraz razlike
+	 * @param variableCount
+	 *            broj varijabli
+	 * @return protuprimjer ili <code>null</code> ukoliko nije pronađen
+	 */
+	private boolean[] simulate(BitSlicedEvaluator evaluator, int variableCount) {
+		long[] words = new long[variableCount];
+		for (int w = 0; w < simulationWords; w++) {
+			for (int i = 0; i < variableCount; i++) {
+				words[i] = random.nextLong();
+			}
+			long differences = evaluator.evaluateWords(words);
+			if (differences != 0) {
+				int lane = Long.numberOfTrailingZeros(differences);
+				boolean[] values = new boolean[variableCount];
+				for (int i = 0; i < variableCount; i++) {
+					values[i] = (words[i] >>> lane & 1) != 0;
+				}
+				return values;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Pomoćna metoda koja izraz razlike izračunava za sve kombinacije.
+	 *
+	 * @param evaluator
+	 *            izraz razlike
+	 * @param variableCount
+	 *            broj varijabli
+	 * @return protuprimjer ili <code>null</code> ukoliko ga nema
+	 */
+	private static boolean[] exhaustive(BitSlicedEvaluator evaluator, int variableCount) {
+		for (long block = 0; block < evaluator.blockCount(); block++) {
+			long differences = evaluator.evaluateBlock(block);
+			if (differences != 0) {
+				long assignment = block * BitSlicedEvaluator.BLOCK_SIZE + Long.numberOfTrailingZeros(differences);
+				boolean[] values = new boolean[variableCount];
+				for (int i = 0; i < variableCount; i++) {
+					values[i] = (assignment >>> (variableCount - 1 - i) & 1) != 0;
+				}
+				return values;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara rezultat s protuprimjerom.
+	 *
+	 * @param first
+	 *            prvi izraz
+	 * @param variables
+	 *            nazivi varijabli
+	 * @param method
+	 *            postupak kojim je protuprimjer pronađen
+	 * @param counterexample
+	 *            protuprimjer
+	 * @return rezultat provjere
+	 */
+	private static EquivalenceResult counterexample(Node first, List<String> variables,
+			EquivalenceResult.Method method, boolean[] counterexample) {
+		boolean value = CompiledExpression.compile(first, variables).evaluate(counterexample);
+		return new EquivalenceResult(variables, method, counterexample, value);
+	}
+}
@@ -0,0 +1,152 @@
+package hr.fer.zemris.bf.sat;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Razred čiji primjerci predstavljaju rezultat provjere ekvivalentnosti dvaju
+ * izraza ({@link EquivalenceChecker}): zastavicu ekvivalentnosti, postupak
+ * kojim je odluka donesena i, za izraze koji nisu ekvivalentni, protuprimjer
+ * s vrijednostima obaju izraza. Primjerci ovog razreda su nepromjenjivi.
+ *
+ * @author Davor Češljaš
+ */
+public final class EquivalenceResult {
+
+	/**
+	 * Enumeracija postupaka kojima se donosi odluka o ekvivalentnosti.
+	 *
+	 * @author Davor Češljaš
+	 */
+	public enum Method {
+		/**
+		 * Odluka je donesena izračunom izraza za slučajne kombinacije, odnosno
+		 * za sve kombinacije ukoliko ih je malo
+		 */
+		SIMULATION,
+		/** Odluka je donesena rješavanjem problema ispunjivosti */
+		SAT
+	}
+
+	/** Nazivi varijabli protuprimjera */
+	private final List<String> variables;
+
+	/** Postupak kojim je odluka donesena */
+	private final Method method;
+
+	/** Protuprimjer, <code>null</code> za ekvivalentne izraze */
+	private final boolean[] counterexample;
+
+	/** Vrijednost prvog izraza za protuprimjer */
+	private final boolean firstValue;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param variables
+	 *            nazivi varijabli protuprimjera
+	 * @param method
+	 *            postupak kojim je odluka donesena
+	 * @param counterexample
+	 *            protuprimjer ili <code>null</code> za ekvivalentne izraze
+	 * @param firstValue
+	 *            vrijednost prvog izraza za protuprimjer
+	 */
+	EquivalenceResult(List<String> variables, Method method, boolean[] counterexample, boolean firstValue) {
+		this.variables = Collections.unmodifiableList(variables);
+		this.method = method;
+		this.counterexample = counterexample;
+		this.firstValue = firstValue;
+	}
+
+	/**
+	 * Metoda koja provjerava jesu li izrazi ekvivalentni (izvan skupa
+	 * kombinacija čija vrijednost nije bitna).
+	 *
+	 * @return <code>true</code> ukoliko su izrazi ekvivalentni
+	 */
+	public boolean isEquivalent() {
+		return counterexample == null;
+	}
+
+	/**
+	 * Metoda koja dohvaća postupak kojim je odluka donesena.
+	 *
+	 * @return postupak odluke
+	 */
+	public Method getMethod() {
+		return method;
+	}
+
+	/**
+	 * Metoda koja dohvaća kombinaciju varijabli za koju izrazi imaju različite
+	 * vrijednosti.
+	 *
+	 * @return kopija polja vrijednosti varijabli, poredanih kao
+	 *         {@link #getVariables()}
+	 * @throws IllegalStateException
+	 *             ukoliko su izrazi ekvivalentni
+	 */
+	public boolean[] getCounterexample() {
+		checkCounterexample();
+		return counterexample.clone();
+	}
+
+	/**
+	 * Metoda koja dohvaća vrijednost prvog izraza za protuprimjer. Drugi izraz
+	 * za protuprimjer ima suprotnu vrijednost.
+	 *
+	 * @return vrijednost prvog izraza
+	 * @throws IllegalStateException
+	 *             ukoliko su izrazi ekvivalentni
+	 */
+	public boolean getFirstValue() {
+		checkCounterexample();
+		return firstValue;
+	}
+
+	/**
+	 * Metoda koja dohvaća vrijednost drugog izraza za protuprimjer.
+	 *
+	 * @return vrijednost drugog izraza
+	 * @throws IllegalStateException
+	 *             ukoliko su izrazi ekvivalentni
+	 */
+	public boolean getSecondValue() {
+		checkCounterexample();
+		return !firstValue;
+	}
+
+	/**
+	 * Metoda koja dohvaća nazive varijabli protuprimjera.
+	 *
+	 * @return nepromjenjiva {@link List}a naziva varijabli
+	 */
+	public List<String> getVariables() {
+		return variables;
+	}
+
+	@Override
+	public String toString() {
+		if (counterexample == null) {
+			return "Izrazi su ekvivalentni (" + method + ")";
+		}
+		StringBuilder sb = new StringBuilder("Izrazi nisu ekvivalentni (").append(method).append("):");
+		for (int i = 0; i < counterexample.length; i++) {
+			sb.append(i == 0 ? " " : ", ").append(variables.get(i)).append('=').append(counterexample[i] ? 1 : 0);
+		}
+		return sb.append(" daje ").append(firstValue ? 1 : 0).append(" i ").append(firstValue ? 0 : 1).toString();
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava postoji li protuprimjer.
+	 *
+	 * @throws IllegalStateException
+	 *             ukoliko su izrazi ekvivalentni
+	 */
+	private void checkCounterexample() {
+		if (counterexample == null) {
+			throw new IllegalStateException("Izrazi su ekvivalentni, pa nema protuprimjera!");
+		}
+	}
+}
@@ -0,0 +1,621 @@
+package hr.fer.zemris.bf.sat;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.BinaryOperatorType;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.UnaryOperatorType;
+import hr.fer.zemris.bf.normal.TseitinEncoder;
+import hr.fer.zemris.bf.utils.BitSlicedEvaluator;
+
+/**
+ * Razred koji broji kombinacije varijabli za koje je izraz istinit (#SAT), bez
+ * stvaranja skupa minterma. Izraz se Tseitinovim postupkom
+ * ({@link TseitinEncoder}) kodira u konjunktivni normalni oblik; kako svaka
+ * kombinacija izvornih varijabli ima jedinstveno proširenje na pomoćne
+ * varijable, broj modela oblika jednak je broju minterma izraza.
+ *
+ * <p>
+ * Modeli se broje pretraživanjem s rastavljanjem na komponente: nakon
+ * propagacije jediničnih klauzula preostale klauzule dijele se na skupove bez
+ * zajedničkih varijabli, čiji se brojevi modela množe, a varijable koje se ne
+ * pojavljuju niti u jednoj klauzuli udvostručuju broj modela. Broj modela
+ * svake komponente pamti se po njezinim klauzulama, pa se komponenta koja se
+ * ponovi u drugoj grani pretraživanja ne broji ponovno. Grana se samo po
+ * izvornim varijablama, redom koji prvo razdvaja pravila sa zajedničkim
+ * varijablama, dok pomoćne varijable postavlja propagacija. Ukoliko je izraz
+ * disjunkcija pravila, broje se modeli njegovog komplementa, čija se pravila
+ * nakon propagacije svode na zasebne klauzule. Za izraze čije se varijable
+ * grupiraju u slabo povezana pravila trajanje ovisi o veličini komponenti, a
+ * ne o ukupnom broju varijabli.
+ * </p>
+ *
+ * <p>
+ * Približni broj ({@link #estimate(Node, List, double, double, Random)})
+ * računa se izračunom izraza za slučajne kombinacije, 64 kombinacije u jednom
+ * prolazu ({@link BitSlicedEvaluator#evaluateWords(long[])}). Pogreška je
+ * aditivna i odnosi se na udio istinitih kombinacija (selektivnost), pa je
+ * procjena prikladna za izraze čija selektivnost nije zanemarivo mala.
+ * </p>
+ *
+ * Primjer uporabe:
+ *
+ * <pre>
+ * Node rule = new Parser("(a or b) and not (c xor d)").getExpression();
+ * ModelCounter.count(rule, Arrays.asList("A", "B", "C", "D")); // 6
+ * </pre>
+ *
+ * @see hr.fer.zemris.bf.bdd.BddManager#satCount(int)
+ *
+ * @author Davor Češljaš
+ */
+public class ModelCounter {
+
+	/** Broj kombinacija koje se izračunavaju u jednom prolazu */
+	private static final int SAMPLES_PER_WORD = Long.SIZE;
+
+	/** Zapamćeni brojevi modela komponenti */
+	private final Map<ComponentKey, BigInteger> cache = new HashMap<>();
+
+	/** Broj ulaznih varijabli, jedinih po kojima se pretraživanje grana */
+	private int inputCount;
+
+	/** Prednosti varijabli pri grananju, veća prednost grana se ranije */
+	private int[] priorities;
+
+	/** Roditelji varijabli pri rastavljanju na komponente */
+	private int[] parents;
+
+	/** Broj varijabli skupa čiji je predstavnik varijabla */
+	private int[] sizes;
+
+	/**
+	 * Čvor pretraživanja u kojem je varijabla označena, čime se polja
+	 * rastavljanja ne moraju brisati
+	 */
+	private long[] marks;
+
+	/** Broj posjećenih čvorova pretraživanja */
+	private long branches;
+
+	/** Broj komponenti pronađenih u priručnoj memoriji */
+	private long cacheHits;
+
+	/**
+	 * Metoda koja broji kombinacije varijabli <b>variables</b> za koje je
+	 * izraz <b>expression</b> istinit.
+	 *
+	 * @param expression
+	 *            izraz
+	 * @param variables
+	 *            nazivi varijabli izraza
+	 * @return broj minterma izraza
+	 * @throws IllegalArgumentException
+	 *             ukoliko je izraz <code>null</code>, ukoliko je {@link List}a
+	 *             varijabli prazna ili ukoliko izraz sadrži nepoznatu
+	 *             varijablu
+	 */
+	public static BigInteger count(Node expression, List<String> variables) {
+		if (expression == null) {
+			throw new IllegalArgumentException("Izraz ne smije biti null!");
+		}
+		// disjunkcija na vrhu izraza povezuje sva pravila jednom klauzulom, pa
+		// se broje modeli komplementa čija se pravila rastavljaju propagacijom
+		boolean complement = isDisjunction(expression);
+		Node encoded = complement
+				? new UnaryOperatorNode(UnaryOperatorType.NOT.getSymbol(), expression, UnaryOperatorType.NOT)
+				: expression;
+		TseitinEncoder encoder = new TseitinEncoder(variables);
+		encoded.accept(encoder);
+		BigInteger result = new ModelCounter().countClauses(encoder.getVariables().size(), variables.size(),
+				encoder.getClauses());
+		return complement ? BigInteger.ONE.shiftLeft(variables.size()).subtract(result) : result;
+	}
+
+	/**
+	 * Metoda koja procjenjuje broj kombinacija varijabli <b>variables</b> za
+	 * koje je izraz <b>expression</b> istinit. Broj slučajnih kombinacija
+	 * određen je Hoeffdingovom nejednakošću tako da udio istinitih kombinacija
+	 * s vjerojatnošću barem 1 - <b>delta</b> odstupa od procjene najviše za
+	 * <b>error</b>.
+	 *
+	 * @param expression
+	 *            izraz
+	 * @param variables
+	 *            nazivi varijabli izraza
+	 * @param error
+	 *            najveće odstupanje udjela istinitih kombinacija, iz
+	 *            intervala (0, 1)
+	 * @param delta
+	 *            vjerojatnost da odstupanje bude veće, iz intervala (0, 1)
+	 * @param random
+	 *            generator slučajnih brojeva
+	 * @return procjena broja minterma s granicama
+	 * @throws IllegalArgumentException
+	 *             ukoliko je izraz <code>null</code>, ukoliko izraz sadrži
+	 *             nepoznatu varijablu ili ukoliko <b>error</b> ili
+	 *             <b>delta</b> nisu iz intervala (0, 1)
+	 */
+	public static CountEstimate estimate(Node expression, List<String> variables, double error, double delta,
+			Random random) {
+		if (expression == null) {
+			throw new IllegalArgumentException("Izraz ne smije biti null!");
+		}
+		if (!(error > 0 && error < 1) || !(delta > 0 && delta < 1)) {
+			throw new IllegalArgumentException(
+					"Odstupanje i vjerojatnost moraju biti iz intervala (0, 1), a zadani su: " + error + ", " + delta);
+		}
+		long samples = (long) Math.ceil(Math.log(2 / delta) / (2 * error * error));
+		long words = (samples + SAMPLES_PER_WORD - 1) / SAMPLES_PER_WORD;
+
+		BitSlicedEvaluator evaluator;
+		try {
+			evaluator = new BitSlicedEvaluator(expression, variables);
+		} catch (IllegalStateException e) {
+			throw new IllegalArgumentException(e.getMessage(), e);
+		}
+		long[] values = new long[variables.size()];
+		long hits = 0;
+		for (long w = 0; w < words; w++) {
+			for (int i = 0; i < values.length; i++) {
+				values[i] = random.nextLong();
+			}
+			hits += Long.bitCount(evaluator.evaluateWords(values));
+		}
+		return new CountEstimate(variables.size(), (double) hits / (words * SAMPLES_PER_WORD),
+				words * SAMPLES_PER_WORD, error, delta);
+	}
+
+	/**
+	 * Metoda koja broji modele konjunktivnog normalnog oblika nad
+	 * <b>variableCount</b> varijabli čije su klauzule zadane literalima kao u
+	 * razredu {@link CdclSolver}. Zapamćeni brojevi komponenti zadržavaju se
+	 * između poziva.
+	 *
+	 * @param variableCount
+	 *            broj varijabli
+	 * @param clauses
+	 *            klauzule
+	 * @return broj modela
+	 * @throws IllegalArgumentException
+	 *             ukoliko literal nije između -<b>variableCount</b> i
+	 *             <b>variableCount</b> ili je 0
+	 */
+	public BigInteger countClauses(int variableCount, List<int[]> clauses) {
+		return countClauses(variableCount, variableCount, clauses);
+	}
+
+	/**
+	 * Metoda koja broji modele konjunktivnog normalnog oblika nad
+	 * <b>variableCount</b> varijabli, pri čemu su vrijednosti varijabli iznad
+	 * <b>inputCount</b> određene vrijednostima prvih <b>inputCount</b>
+	 * varijabli, kao pomoćne varijable Tseitinovog kodiranja. Pretraživanje se
+	 * grana samo po ulaznim varijablama, a pomoćne varijable postavlja
+	 * propagacija jediničnih klauzula.
+	 *
+	 * @param variableCount
+	 *            broj varijabli
+	 * @param inputCount
+	 *            broj ulaznih varijabli
+	 * @param clauses
+	 *            klauzule
+	 * @return broj modela
+	 * @throws IllegalArgumentException
+	 *             ukoliko literal nije između -<b>variableCount</b> i
+	 *             <b>variableCount</b> ili je 0 ili ukoliko broj ulaznih
+	 *             varijabli nije između 0 i <b>variableCount</b>
+	 */
+	public BigInteger countClauses(int variableCount, int inputCount, List<int[]> clauses) {
+		if (inputCount < 0 || inputCount > variableCount) {
+			throw new IllegalArgumentException("Neispravan broj ulaznih varijabli: " + inputCount);
+		}
+		this.inputCount = inputCount;
+		this.priorities = new int[variableCount + 1];
+		this.parents = new int[variableCount + 1];
+		this.sizes = new int[variableCount + 1];
+		this.marks = new long[variableCount + 1];
+		Arrays.fill(marks, -1);
+		List<int[]> normalized = new ArrayList<>(clauses.size());
+		for (int[] clause : clauses) {
+			int[] sorted = clause.clone();
+			Arrays.sort(sorted);
+			int size = 0;
+			boolean tautology = false;
+			for (int literal : sorted) {
+				if (literal == 0 || Math.abs(literal) > variableCount) {
+					throw new IllegalArgumentException("Neispravan literal: " + literal);
+				}
+				tautology |= Arrays.binarySearch(sorted, -literal) >= 0;
+				if (size == 0 || sorted[size - 1] != literal) {
+					sorted[size++] = literal;
+				}
+			}
+			if (size == 0) {
+				return BigInteger.ZERO;
+			}
+			if (!tautology) {
+				normalized.add(Arrays.copyOf(sorted, size));
+			}
+		}
+		prioritize(normalized);
+		return count(normalized, variableCount);
+	}
+
+	/**
+	 * Metoda koja dohvaća broj posjećenih čvorova pretraživanja.
+	 *
+	 * @return broj čvorova pretraživanja
+	 */
+	public long getBranches() {
+		return branches;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj komponenti čiji je broj modela pronađen u
+	 * priručnoj memoriji.
+	 *
+	 * @return broj pogodaka priručne memorije
+	 */
+	public long getCacheHits() {
+		return cacheHits;
+	}
+
+	/**
+	 * Pomoćna metoda koja broji modele klauzula <b>clauses</b> nad
+	 * <b>variableCount</b> varijabli, uključujući varijable koje se ne
+	 * pojavljuju u klauzulama.
+	 *
+	 * @param clauses
+	 *            klauzule sa sortiranim literalima
+	 * @param variableCount
+	 *            broj varijabli podproblema
+	 * @return broj modela
+	 */
+	private BigInteger count(List<int[]> clauses, int variableCount) {
+		branches++;
+		List<int[]> current = clauses;
+		int assigned = 0;
+		for (int unit = findUnit(current); unit != 0; unit = findUnit(current)) {
+			current = assign(current, unit);
+			if (current == null) {
+				return BigInteger.ZERO;
+			}
+			assigned++;
+		}
+
+		// rastavljanje na komponente unijom skupova varijabli
+		int present = 0;
+		for (int[] clause : current) {
+			for (int literal : clause) {
+				int variable = Math.abs(literal);
+				if (marks[variable] != branches) {
+					marks[variable] = branches;
+					parents[variable] = variable;
+					sizes[variable] = 1;
+					present++;
+				}
+			}
+			int root = find(Math.abs(clause[0]));
+			for (int k = 1; k < clause.length; k++) {
+				int other = find(Math.abs(clause[k]));
+				if (other != root) {
+					parents[other] = root;
+					sizes[root] += sizes[other];
+				}
+			}
+		}
+		Map<Integer, List<int[]>> components = new HashMap<>();
+		for (int[] clause : current) {
+			components.computeIfAbsent(find(Math.abs(clause[0])), k -> new ArrayList<>()).add(clause);
+		}
+		int[] componentSizes = new int[components.size()];
+		int index = 0;
+		for (Integer root : components.keySet()) {
+			componentSizes[index++] = sizes[root];
+		}
+
+		int free = variableCount - assigned - present;
+		BigInteger result = BigInteger.ONE.shiftLeft(free);
+		index = 0;
+		for (List<int[]> component : components.values()) {
+			BigInteger count = countComponent(component, componentSizes[index++]);
+			if (count.signum() == 0) {
+				return BigInteger.ZERO;
+			}
+			result = result.multiply(count);
+		}
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja broji modele povezane komponente <b>clauses</b>
+	 * grananjem po ulaznoj varijabli najveće prednosti (metoda
+	 * {@link #prioritize(List)}). Ukoliko komponenta nema ulaznih varijabli,
+	 * grana se po bilo kojoj varijabli.
+	 *
+	 * @param clauses
+	 *            klauzule komponente
+	 * @param variableCount
+	 *            broj varijabli komponente
+	 * @return broj modela komponente
+	 */
+	private BigInteger countComponent(List<int[]> clauses, int variableCount) {
+		ComponentKey key = new ComponentKey(clauses);
+		BigInteger cached = cache.get(key);
+		if (cached != null) {
+			cacheHits++;
+			return cached;
+		}
+
+		int branch = 0;
+		for (int[] clause : clauses) {
+			for (int literal : clause) {
+				int variable = Math.abs(literal);
+				if (branch == 0 || isBetterBranch(variable, branch)) {
+					branch = variable;
+				}
+			}
+		}
+
+		BigInteger result = BigInteger.ZERO;
+		for (int literal : new int[] { branch, -branch }) {
+			List<int[]> reduced = assign(clauses, literal);
+			if (reduced != null) {
+				result = result.add(count(reduced, variableCount - 1));
+			}
+		}
+		cache.put(key, result);
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava treba li se granati po varijabli
+	 * <b>variable</b> prije nego po varijabli <b>other</b>.
+	 *
+	 * @param variable
+	 *            varijabla
+	 * @param other
+	 *            dosad odabrana varijabla
+	 * @return <code>true</code> ukoliko varijabla ima prednost,
+	 *         <code>false</code> inače
+	 */
+	private boolean isBetterBranch(int variable, int other) {
+		boolean input = variable <= inputCount;
+		if (input != other <= inputCount) {
+			return input;
+		}
+		return priorities[variable] > priorities[other];
+	}
+
+	/**
+	 * Pomoćna metoda koja određuje prednosti ulaznih varijabli pri grananju
+	 * prema redoslijedu eliminacije najmanjeg stupnja u grafu ulaznih varijabli
+	 * koje dijele klauzulu, nakon propagacije jediničnih klauzula. Varijable
+	 * koje su eliminirane posljednje razdvajaju graf, pa se po njima grana
+	 * prvo; preostali dijelovi tada čine zasebne komponente, a broj različitih
+	 * komponenti ovisi o širini eliminacije, a ne o broju pravila. Između
+	 * varijabli jednakog stupnja prednost pri eliminaciji imaju susjedi
+	 * prethodno eliminirane varijable, pa se varijable istog pravila granaju
+	 * zaredom.
+	 *
+	 * @param clauses
+	 *            klauzule sa sortiranim literalima
+	 */
+	private void prioritize(List<int[]> clauses) {
+		List<int[]> current = clauses;
+		for (int unit = findUnit(current); unit != 0; unit = findUnit(current)) {
+			current = assign(current, unit);
+			if (current == null) {
+				return;
+			}
+		}
+
+		Map<Integer, Set<Integer>> neighbours = new HashMap<>();
+		for (int[] clause : current) {
+			for (int literal : clause) {
+				int variable = Math.abs(literal);
+				if (variable > inputCount) {
+					continue;
+				}
+				Set<Integer> adjacent = neighbours.computeIfAbsent(variable, k -> new HashSet<>());
+				for (int other : clause) {
+					if (other != literal && Math.abs(other) <= inputCount) {
+						adjacent.add(Math.abs(other));
+					}
+				}
+			}
+		}
+
+		int step = 1;
+		Set<Integer> previous = Collections.emptySet();
+		while (!neighbours.isEmpty()) {
+			int eliminated = 0;
+			int bestDegree = 0;
+			boolean bestAdjacent = false;
+			for (Map.Entry<Integer, Set<Integer>> entry : neighbours.entrySet()) {
+				int degree = entry.getValue().size();
+				boolean adjacent = previous.contains(entry.getKey());
+				if (eliminated == 0 || degree < bestDegree || degree == bestDegree && adjacent && !bestAdjacent) {
+					eliminated = entry.getKey();
+					bestDegree = degree;
+					bestAdjacent = adjacent;
+				}
+			}
+
+			previous = neighbours.remove(eliminated);
+			for (int neighbour : previous) {
+				Set<Integer> others = neighbours.get(neighbour);
+				others.remove(eliminated);
+				for (int other : previous) {
+					if (other != neighbour) {
+						others.add(other);
+					}
+				}
+			}
+			priorities[eliminated] = step++;
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava je li izraz <b>expression</b>, nakon
+	 * uklanjanja negacija na vrhu, disjunkcija.
+	 *
+	 * @param expression
+	 *            izraz
+	 * @return <code>true</code> ukoliko je izraz disjunkcija,
+	 *         <code>false</code> inače
+	 */
+	private static boolean isDisjunction(Node expression) {
+		boolean negated = false;
+		Node node = expression;
+		while (node instanceof UnaryOperatorNode
+				&& UnaryOperatorType.of((UnaryOperatorNode) node) == UnaryOperatorType.NOT) {
+			negated = !negated;
+			node = ((UnaryOperatorNode) node).getChild();
+		}
+		if (!(node instanceof BinaryOperatorNode)) {
+			return false;
+		}
+		BinaryOperatorType type = BinaryOperatorType.of((BinaryOperatorNode) node);
+		return type == (negated ? BinaryOperatorType.AND : BinaryOperatorType.OR);
+	}
+
+	/**
+	 * Pomoćna metoda koja pronalazi literal jedinične klauzule.
+	 *
+	 * @param clauses
+	 *            klauzule
+	 * @return literal jedinične klauzule ili 0 ukoliko je nema
+	 */
+	private static int findUnit(List<int[]> clauses) {
+		for (int[] clause : clauses) {
+			if (clause.length == 1) {
+				return clause[0];
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Pomoćna metoda koja literal <b>literal</b> postavlja na istinu:
+	 * zadovoljene klauzule se uklanjaju, a iz ostalih klauzula uklanja se
+	 * komplement literala.
+	 *
+	 * @param clauses
+	 *            klauzule
+	 * @param literal
+	 *            literal koji postaje istinit
+	 * @return nove klauzule ili <code>null</code> ukoliko neka klauzula
+	 *         postaje prazna
+	 */
+	private static List<int[]> assign(List<int[]> clauses, int literal) {
+		List<int[]> result = new ArrayList<>(clauses.size());
+		for (int[] clause : clauses) {
+			int position = -1;
+			boolean satisfied = false;
+			for (int k = 0; k < clause.length; k++) {
+				if (clause[k] == literal) {
+					satisfied = true;
+					break;
+				}
+				if (clause[k] == -literal) {
+					position = k;
+				}
+			}
+			if (satisfied) {
+				continue;
+			}
+			if (position < 0) {
+				result.add(clause);
+				continue;
+			}
+			if (clause.length == 1) {
+				return null;
+			}
+			int[] shorter = new int[clause.length - 1];
+			System.arraycopy(clause, 0, shorter, 0, position);
+			System.arraycopy(clause, position + 1, shorter, position, shorter.length - position);
+			result.add(shorter);
+		}
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja pronalazi predstavnika skupa varijable
+	 * <b>variable</b> i skraćuje put do njega.
+	 *
+	 * @param variable
+	 *            varijabla označena u trenutnom čvoru pretraživanja
+	 * @return predstavnik skupa
+	 */
+	private int find(int variable) {
+		int root = variable;
+		while (parents[root] != root) {
+			root = parents[root];
+		}
+		while (parents[variable] != root) {
+			int next = parents[variable];
+			parents[variable] = root;
+			variable = next;
+		}
+		return root;
+	}
+
+	/**
+	 * Razred predstavlja ključ komponente u priručnoj memoriji: sortirane
+	 * klauzule komponente zapisane jednim poljem, odvojene nulama.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class ComponentKey {
+
+		/** Zapis klauzula */
+		private final int[] data;
+
+		/** Sažetak zapisa */
+		private final int hash;
+
+		/**
+		 * Konstruktor koji stvara ključ komponente <b>clauses</b>.
+		 *
+		 * @param clauses
+		 *            klauzule sa sortiranim literalima
+		 */
+		private ComponentKey(List<int[]> clauses) {
+			int[][] sorted = clauses.toArray(new int[clauses.size()][]);
+			Arrays.sort(sorted, Arrays::compare);
+			int length = 0;
+			for (int[] clause : sorted) {
+				length += clause.length + 1;
+			}
+			data = new int[length];
+			int position = 0;
+			for (int[] clause : sorted) {
+				System.arraycopy(clause, 0, data, position, clause.length);
+				position += clause.length + 1;
+			}
+			hash = Arrays.hashCode(data);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof ComponentKey && Arrays.equals(data, ((ComponentKey) obj).data);
+		}
+	}
+}
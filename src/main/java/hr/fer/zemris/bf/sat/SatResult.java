@@ -0,0 +1,141 @@
+package hr.fer.zemris.bf.sat;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Razred čiji primjerci predstavljaju rezultat provjere ispunjivosti izraza
+ * ({@link Satisfiability}): zastavicu ispunjivosti i, za ispunjiv izraz,
+ * jedan model nad izvornim varijablama izraza. Primjerci ovog razreda su
+ * nepromjenjivi.
+ *
+ * @author Davor Češljaš
+ */
+public final class SatResult {
+
+	/** Nazivi varijabli modela */
+	private final List<String> variables;
+
+	/** Vrijednosti varijabli modela, <code>null</code> za neispunjiv izraz */
+	private final boolean[] model;
+
+	/** Broj konflikata rješavanja */
+	private final long conflicts;
+
+	/** Broj odluka rješavanja */
+	private final long decisions;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param variables
+	 *            nazivi varijabli modela
+	 * @param model
+	 *            vrijednosti varijabli modela ili <code>null</code> za
+	 *            neispunjiv izraz
+	 * @param conflicts
+	 *            broj konflikata rješavanja
+	 * @param decisions
+	 *            broj odluka rješavanja
+	 */
+	SatResult(List<String> variables, boolean[] model, long conflicts, long decisions) {
+		this.variables = Collections.unmodifiableList(variables);
+		this.model = model;
+		this.conflicts = conflicts;
+		this.decisions = decisions;
+	}
+
+	/**
+	 * Metoda koja provjerava je li izraz ispunjiv.
+	 *
+	 * @return <code>true</code> ukoliko izraz ima model
+	 */
+	public boolean isSatisfiable() {
+		return model != null;
+	}
+
+	/**
+	 * Metoda koja dohvaća model izraza, u obliku kakav vraća metoda
+	 * {@link hr.fer.zemris.bf.utils.Util#filterAssignments(List, hr.fer.zemris.bf.model.Node, boolean)}.
+	 *
+	 * @return kopija polja vrijednosti varijabli, poredanih kao
+	 *         {@link #getVariables()}
+	 * @throws IllegalStateException
+	 *             ukoliko izraz nije ispunjiv
+	 */
+	public boolean[] getModel() {
+		checkSatisfiable();
+		return model.clone();
+	}
+
+	/**
+	 * Metoda koja dohvaća vrijednost varijable <b>variable</b> u modelu.
+	 *
+	 * @param variable
+	 *            naziv varijable
+	 * @return vrijednost varijable
+	 * @throws IllegalStateException
+	 *             ukoliko izraz nije ispunjiv
+	 * @throws IllegalArgumentException
+	 *             ukoliko varijabla nije varijabla modela
+	 */
+	public boolean getValue(String variable) {
+		checkSatisfiable();
+		int index = variables.indexOf(variable);
+		if (index < 0) {
+			throw new IllegalArgumentException("Nepoznata varijabla: " + variable);
+		}
+		return model[index];
+	}
+
+	/**
+	 * Metoda koja dohvaća nazive varijabli modela.
+	 *
+	 * @return nepromjenjiva {@link List}a naziva varijabli
+	 */
+	public List<String> getVariables() {
+		return variables;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj konflikata rješavanja.
+	 *
+	 * @return broj konflikata
+	 */
+	public long getConflicts() {
+		return conflicts;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj odluka rješavanja.
+	 *
+	 * @return broj odluka
+	 */
+	public long getDecisions() {
+		return decisions;
+	}
+
+	@Override
+	public String toString() {
+		if (model == null) {
+			return "UNSAT";
+		}
+		StringBuilder sb = new StringBuilder("SAT");
+		for (int i = 0; i < model.length; i++) {
+			sb.append(i == 0 ? " " : ", ").append(variables.get(i)).append('=').append(model[i] ? 1 : 0);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Pomoćna metoda koja provjerava je li izraz ispunjiv.
+	 *
+	 * @throws IllegalStateException
+	 *             ukoliko izraz nije ispunjiv
+	 */
+	private void checkSatisfiable() {
+		if (model == null) {
+			throw new IllegalStateException("Izraz nije ispunjiv, pa nema model!");
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package hr.fer.zemris.bf.sat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.UnaryOperatorType;
+import hr.fer.zemris.bf.normal.TseitinEncoder;
+
+/**
+ * Razred s metodama koje provjeravaju ispunjivost izraza bez prolaska kroz
+ * tablicu istinitosti. Izraz se Tseitinovim postupkom ({@link TseitinEncoder})
+ * kodira u konjunktivni normalni oblik čija veličina raste linearno s
+ * veličinom izraza, a oblik se rješava rješavačem {@link CdclSolver}. Za
+ * razliku od metode
+ * {@link hr.fer.zemris.bf.utils.Util#filterAssignments(List, Node, boolean)},
+ * koja izračunava svih 2<sup>n</sup> kombinacija, trajanje ne ovisi izravno o
+ * broju varijabli, pa su upiti nad izrazima sa stotinama varijabli uobičajeno
+ * brzi.
+ *
+ * Primjer uporabe:
+ *
+ * <pre>
+ * Node expression = new Parser("a and (b xor c) and not b").getExpression();
+ * SatResult result = Satisfiability.solve(expression, Arrays.asList("A", "B", "C"));
+ * result.getModel(); // [true, false, true]
+ * </pre>
+ *
+ * @author Davor Češljaš
+ */
+public final class Satisfiability {
+
+	/**
+	 * Defaultni konstruktor koji brani stvaranje primjeraka ovog razreda. Ova
+	 * operacija je zabranjena jer ovaj razred predstavlja biblioteku statičkih
+	 * metoda.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             ukoliko korisnik pokuša stvoriti primjerak ovog razreda
+	 */
+	private Satisfiability() {
+		throw new UnsupportedOperationException("Nemožete stvorit primjerka razreda: " + this.getClass());
+	}
+
+	/**
+	 * Metoda koja traži jedan model izraza <b>expression</b> ili dokazuje da
+	 * izraz nije ispunjiv.
+	 *
+	 * @param expression
+	 *            izraz
+	 * @param variables
+	 *            nazivi varijabli, redom kao u modelu
+	 * @return rezultat provjere ispunjivosti
+	 * @throws IllegalArgumentException
+	 *             ukoliko je izraz <code>null</code>, ukoliko je {@link List}a
+	 *             varijabli prazna ili ukoliko izraz sadrži nepoznatu
+	 *             varijablu
+	 */
+	public static SatResult solve(Node expression, List<String> variables) {
+		if (expression == null) {
+			throw new IllegalArgumentException("Izraz ne smije biti null!");
+		}
+		TseitinEncoder encoder = new TseitinEncoder(variables);
+		expression.accept(encoder);
+
+		CdclSolver solver = new CdclSolver(encoder.getVariables().size());
+		for (int[] clause : encoder.getClauses()) {
+			solver.addClause(clause);
+		}
+		boolean[] model = solver.solve() ? Arrays.copyOf(solver.getModel(), variables.size()) : null;
+		return new SatResult(new ArrayList<>(variables), model, solver.getConflicts(), solver.getDecisions());
+	}
+
+	/**
+	 * Metoda koja provjerava je li izraz <b>expression</b> ispunjiv.
+	 *
+	 * @param expression
+	 *            izraz
+	 * @param variables
+	 *            nazivi varijabli izraza
+	 * @return <code>true</code> ukoliko izraz ima model
+	 * @throws IllegalArgumentException
+	 *             ukoliko je izraz <code>null</code>, ukoliko je {@link List}a
+	 *             varijabli prazna ili ukoliko izraz sadrži nepoznatu
+	 *             varijablu
+	 */
+	public static boolean isSatisfiable(Node expression, List<String> variables) {
+		return solve(expression, variables).isSatisfiable();
+	}
+
+	/**
+	 * Metoda koja provjerava je li izraz <b>expression</b> tautologija, tj.
+	 * je li njegova negacija neispunjiva.
+	 *
+	 * @param expression
+	 *            izraz
+	 * @param variables
+	 *            nazivi varijabli izraza
+	 * @return <code>true</code> ukoliko je izraz istinit za sve kombinacije
+	 *         varijabli
+	 * @throws IllegalArgumentException
+	 *             ukoliko je izraz <code>null</code>, ukoliko je {@link List}a
+	 *             varijabli prazna ili ukoliko izraz sadrži nepoznatu
+	 *             varijablu
+	 */
+	public static boolean isTautology(Node expression, List<String> variables) {
+		if (expression == null) {
+			throw new IllegalArgumentException("Izraz ne smije biti null!");
+		}
+		Node negation = new UnaryOperatorNode(UnaryOperatorType.NOT.getSymbol(), expression, UnaryOperatorType.NOT);
+		return !isSatisfiable(negation, variables);
+	}
+}
@@ -0,0 +1,180 @@
+package hr.fer.zemris.bf.scaling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.BinaryOperatorType;
+import hr.fer.zemris.bf.model.ConstantNode;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.UnaryOperatorType;
+import hr.fer.zemris.bf.model.VariableNode;
+
+/**
+ * Razred predstavlja generator nasumičnih, ali reproducibilnih, logičkih
+ * izraza u obliku stabla čvorova {@link Node}. Oblik stabla određuju
+ * maksimalna dubina, maksimalan broj djece binarnog operatora te relativne
+ * težine operatora "and", "or", "xor" i "not". Čvorovi se grade jednako kao u
+ * {@link hr.fer.zemris.bf.parser.Parser}u pa se generirani izrazi ponašaju
+ * jednako kao parsirani.
+ * 
+ * @author Davor Češljaš
+ */
+public class RandomExpressionGenerator {
+
+	/** Konstanta koja predstavlja niz znakova "and" */
+	private static final String AND = "and";
+
+	/** Konstanta koja predstavlja niz znakova "or" */
+	private static final String OR = "or";
+
+	/** Konstanta koja predstavlja niz znakova "xor" */
+	private static final String XOR = "xor";
+
+	/** Konstanta koja predstavlja niz znakova "not" */
+	private static final String NOT = "not";
+
+	/** Generator slučajnih brojeva */
+	private Random random;
+
+	/** Varijable koje se pojavljuju u izrazima */
+	private List<String> variables;
+
+	/** Maksimalna dubina stabla */
+	private int maxDepth;
+
+	/** Maksimalan broj djece binarnog operatora (barem 2) */
+	private int maxFanIn;
+
+	/** Kumulativne težine operatora and, or, xor i not */
+	private double[] cumulativeWeights;
+
+	/** Vjerojatnost da čvor prije maksimalne dubine postane list */
+	private double leafProbability;
+
+	/** Vjerojatnost da list bude konstanta umjesto varijable */
+	private double constantProbability;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param seed
+	 *            sjeme generatora slučajnih brojeva
+	 * @param variables
+	 *            varijable koje se pojavljuju u izrazima
+	 * @param maxDepth
+	 *            maksimalna dubina stabla (0 znači samo list)
+	 * @param maxFanIn
+	 *            maksimalan broj djece binarnog operatora
+	 * @param operatorWeights
+	 *            relativne težine operatora and, or, xor i not (tim redom)
+	 * @param leafProbability
+	 *            vjerojatnost da čvor prije maksimalne dubine postane list
+	 * @param constantProbability
+	 *            vjerojatnost da list bude konstanta
+	 * @throws IllegalArgumentException
+	 *             ukoliko je neki od argumenata neispravan
+	 */
+	public RandomExpressionGenerator(long seed, List<String> variables, int maxDepth, int maxFanIn,
+			double[] operatorWeights, double leafProbability, double constantProbability) {
+		if (variables == null || variables.isEmpty()) {
+			throw new IllegalArgumentException("Lista varijabli ne smije biti null ili prazna!");
+		}
+		if (maxDepth < 0 || maxFanIn < 2) {
+			throw new IllegalArgumentException("Dubina mora biti nenegativna, a broj djece barem 2!");
+		}
+		if (operatorWeights == null || operatorWeights.length != 4) {
+			throw new IllegalArgumentException("Potrebne su točno 4 težine operatora (and, or, xor, not)!");
+		}
+		this.random = new Random(seed);
+		this.variables = variables;
+		this.maxDepth = maxDepth;
+		this.maxFanIn = maxFanIn;
+		this.leafProbability = leafProbability;
+		this.constantProbability = constantProbability;
+
+		cumulativeWeights = new double[operatorWeights.length];
+		double sum = 0;
+		for (int i = 0; i < operatorWeights.length; i++) {
+			if (operatorWeights[i] < 0) {
+				throw new IllegalArgumentException("Težine operatora moraju biti nenegativne!");
+			}
+			sum += operatorWeights[i];
+			cumulativeWeights[i] = sum;
+		}
+		if (sum == 0) {
+			throw new IllegalArgumentException("Barem jedna težina operatora mora biti pozitivna!");
+		}
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda s jednakim
+	 * težinama binarnih operatora, upola manjom težinom operatora "not" te bez
+	 * konstanti.
+	 *
+	 * @param seed
+	 *            sjeme generatora slučajnih brojeva
+	 * @param variables
+	 *            varijable koje se pojavljuju u izrazima
+	 * @param maxDepth
+	 *            maksimalna dubina stabla
+	 * @param maxFanIn
+	 *            maksimalan broj djece binarnog operatora
+	 */
+	public RandomExpressionGenerator(long seed, List<String> variables, int maxDepth, int maxFanIn) {
+		this(seed, variables, maxDepth, maxFanIn, new double[] { 1, 1, 1, 0.5 }, 0.2, 0);
+	}
+
+	/**
+	 * Metoda koja generira jedan nasumični izraz.
+	 *
+	 * @return vršni čvor generiranog izraza
+	 */
+	public Node next() {
+		return generate(0);
+	}
+
+	/**
+	 * Pomoćna metoda koja rekurzivno generira čvor na dubini <b>depth</b>.
+	 *
+	 * @param depth
+	 *            dubina čvora koji se generira
+	 * @return generirani čvor
+	 */
+	private Node generate(int depth) {
+		if (depth >= maxDepth || (depth > 0 && random.nextDouble() < leafProbability)) {
+			return leaf();
+		}
+
+		double p = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+		if (p >= cumulativeWeights[2]) {
+			return new UnaryOperatorNode(NOT, generate(depth + 1), UnaryOperatorType.NOT);
+		}
+
+		int fanIn = 2 + random.nextInt(maxFanIn - 1);
+		List<Node> children = new ArrayList<>(fanIn);
+		for (int i = 0; i < fanIn; i++) {
+			children.add(generate(depth + 1));
+		}
+		if (p < cumulativeWeights[0]) {
+			return new BinaryOperatorNode(AND, children, BinaryOperatorType.AND);
+		} else if (p < cumulativeWeights[1]) {
+			return new BinaryOperatorNode(OR, children, BinaryOperatorType.OR);
+		}
+		return new BinaryOperatorNode(XOR, children, BinaryOperatorType.XOR);
+	}
+
+	/**
+	 * Pomoćna metoda koja generira list: varijablu ili konstantu.
+	 *
+	 * @return generirani list
+	 */
+	private Node leaf() {
+		if (random.nextDouble() < constantProbability) {
+			return new ConstantNode(random.nextBoolean());
+		}
+		return new VariableNode(variables.get(random.nextInt(variables.size())));
+	}
+}
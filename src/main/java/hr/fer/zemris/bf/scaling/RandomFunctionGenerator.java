@@ -0,0 +1,146 @@
+package hr.fer.zemris.bf.scaling;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Razred predstavlja generator nasumičnih, ali reproducibilnih, Booleovih
+ * funkcija zadanih skupom minterma i skupom don't careova. Svaki indeks
+ * tablice istinitosti neovisno postaje minterm s vjerojatnošću
+ * <b>onDensity</b>, don't care s vjerojatnošću <b>dontCareDensity</b>, a
+ * inače maksterm. Isti primjerak generatora uz isto sjeme uvijek generira
+ * isti niz funkcija.
+ * 
+ * @author Davor Češljaš
+ */
+public class RandomFunctionGenerator {
+
+	/** Generator slučajnih brojeva */
+	private Random random;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda sa zadanim sjemenom
+	 * <b>seed</b>.
+	 *
+	 * @param seed
+	 *            sjeme generatora slučajnih brojeva
+	 */
+	public RandomFunctionGenerator(long seed) {
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Metoda koja generira jednu nasumičnu funkciju.
+	 *
+	 * @param numberOfVariables
+	 *            broj varijabli funkcije
+	 * @param onDensity
+	 *            vjerojatnost da je pojedini indeks minterm
+	 * @param dontCareDensity
+	 *            vjerojatnost da je pojedini indeks don't care
+	 * @return nasumična funkcija
+	 * @throws IllegalArgumentException
+	 *             ukoliko je broj varijabli van raspona [1, 30] ili zbroj
+	 *             vjerojatnosti nije unutar [0, 1]
+	 */
+	public RandomFunction next(int numberOfVariables, double onDensity, double dontCareDensity) {
+		if (numberOfVariables < 1 || numberOfVariables > 30) {
+			throw new IllegalArgumentException("Broj varijabli mora biti unutar [1, 30]. Dobio sam: " + numberOfVariables);
+		}
+		if (onDensity < 0 || dontCareDensity < 0 || onDensity + dontCareDensity > 1) {
+			throw new IllegalArgumentException("Vjerojatnosti moraju biti nenegativne i zbrojem najviše 1!");
+		}
+
+		Set<Integer> minterms = new LinkedHashSet<>();
+		Set<Integer> dontCares = new LinkedHashSet<>();
+		for (int i = 0, len = 1 << numberOfVariables; i < len; i++) {
+			double p = random.nextDouble();
+			if (p < onDensity) {
+				minterms.add(i);
+			} else if (p < onDensity + dontCareDensity) {
+				dontCares.add(i);
+			}
+		}
+		return new RandomFunction(variables(numberOfVariables), minterms, dontCares);
+	}
+
+	/**
+	 * Metoda koja stvara {@link List}u naziva varijabli V0, V1, ...
+	 *
+	 * @param numberOfVariables
+	 *            broj varijabli
+	 * @return {@link List} naziva varijabli
+	 */
+	public static List<String> variables(int numberOfVariables) {
+		List<String> variables = new ArrayList<>(numberOfVariables);
+		for (int i = 0; i < numberOfVariables; i++) {
+			variables.add("V" + i);
+		}
+		return variables;
+	}
+
+	/**
+	 * Razred predstavlja jednu generiranu funkciju: varijable, minterme i
+	 * don't careove.
+	 * 
+	 * @author Davor Češljaš
+	 */
+	public static class RandomFunction {
+
+		/** Varijable funkcije */
+		private List<String> variables;
+
+		/** Mintermi funkcije */
+		private Set<Integer> minterms;
+
+		/** Don't careovi funkcije */
+		private Set<Integer> dontCares;
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda.
+		 *
+		 * @param variables
+		 *            varijable funkcije
+		 * @param minterms
+		 *            mintermi funkcije
+		 * @param dontCares
+		 *            don't careovi funkcije
+		 */
+		public RandomFunction(List<String> variables, Set<Integer> minterms, Set<Integer> dontCares) {
+			this.variables = variables;
+			this.minterms = minterms;
+			this.dontCares = dontCares;
+		}
+
+		/**
+		 * Metoda koja dohvaća varijable funkcije.
+		 *
+		 * @return varijable funkcije
+		 */
+		public List<String> getVariables() {
+			return variables;
+		}
+
+		/**
+		 * Metoda koja dohvaća kopiju skupa minterma (kopija jer ih
+		 * {@link hr.fer.zemris.bf.qmc.Minimizer} može mijenjati).
+		 *
+		 * @return kopija skupa minterma
+		 */
+		public Set<Integer> getMinterms() {
+			return new LinkedHashSet<>(minterms);
+		}
+
+		/**
+		 * Metoda koja dohvaća kopiju skupa don't careova.
+		 *
+		 * @return kopija skupa don't careova
+		 */
+		public Set<Integer> getDontCares() {
+			return new LinkedHashSet<>(dontCares);
+		}
+	}
+}
@@ -0,0 +1,439 @@
+package hr.fer.zemris.bf.scaling;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.qmc.Minimizer;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator.RandomFunction;
+import hr.fer.zemris.bf.utils.Util;
+
+/**
+ * Razred predstavlja program koji mjeri kako se minimizacija razredom
+ * {@link Minimizer} skalira s brojem varijabli, gustoćom minterma i udjelom
+ * don't careova (način rada <code>functions</code>), odnosno s dubinom i
+ * brojem djece nasumičnih izraza (način rada <code>expressions</code>). Za
+ * svaku konfiguraciju mjeri se prosječno i najveće vrijeme, najveće zauzeće
+ * gomile te brzina alociranja memorije. Konfiguracije koje ne uspiju
+ * (primjerice zbog nedostatka memorije) bilježe se s odgovarajućim statusom.
+ * Rezultati se zapisuju u datoteke <i>prefiks</i>.csv i
+ * <i>prefiks</i>.html. Program ne treba mrežu niti vanjske biblioteke.
+ * Primjer pokretanja:
+ * 
+ * <pre>
+ * java -cp target/classes hr.fer.zemris.bf.scaling.ScalingRunner --variables=4-10 --on=0.3,0.5 --dc=0,0.1 --out=target/scaling
+ * </pre>
+ * 
+ * Podržani argumenti (svi su opcionalni):
+ * <ul>
+ * <li><code>--mode=functions|expressions</code></li>
+ * <li><code>--variables=4-10</code> ili <code>--variables=4,6,8</code></li>
+ * <li><code>--on=0.1,0.3,0.5</code> (gustoća minterma)</li>
+ * <li><code>--dc=0,0.1</code> (udio don't careova)</li>
+ * <li><code>--depth=3,5</code> i <code>--fanin=2,4</code> (za izraze)</li>
+ * <li><code>--samples=5</code> (broj funkcija po konfiguraciji)</li>
+ * <li><code>--seed=42</code></li>
+ * <li><code>--out=scaling-report</code></li>
+ * </ul>
+ * 
+ * @author Davor Češljaš
+ */
+public class ScalingRunner {
+
+	/** Zaglavlje CSV datoteke */
+	private static final String CSV_HEADER = "mode,variables,on,dc,depth,fanin,samples,avgMs,maxMs,peakHeapMB,allocMBps,status";
+
+	/** Broj okteta u jednom megaoktetu */
+	private static final double MB = 1024.0 * 1024.0;
+
+	/** Argumenti naredbenog retka spremljeni kao ključ-vrijednost */
+	private Map<String, String> options;
+
+	/** Primjerak razreda koji mjeri alocirane oktete po dretvi */
+	private com.sun.management.ThreadMXBean threadBean;
+
+	/**
+	 * Metoda od koje započinje izvođenje programa.
+	 *
+	 * @param args
+	 *            argumenti naredbenog retka oblika <code>--ključ=vrijednost</code>
+	 * @throws IOException
+	 *             ukoliko zapisivanje izvještaja ne uspije
+	 */
+	public static void main(String[] args) throws IOException {
+		new ScalingRunner(args).run();
+	}
+
+	/**
+	 * Konstruktor koji parsira argumente naredbenog retka.
+	 *
+	 * @param args
+	 *            argumenti naredbenog retka
+	 * @throws IllegalArgumentException
+	 *             ukoliko argument nije oblika <code>--ključ=vrijednost</code>
+	 */
+	public ScalingRunner(String[] args) {
+		options = new HashMap<>();
+		for (String arg : args) {
+			int equals = arg.indexOf('=');
+			if (!arg.startsWith("--") || equals < 0) {
+				throw new IllegalArgumentException("Argument mora biti oblika --ključ=vrijednost. Dobio sam: " + arg);
+			}
+			options.put(arg.substring(2, equals), arg.substring(equals + 1));
+		}
+
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			threadBean = (com.sun.management.ThreadMXBean) bean;
+		}
+	}
+
+	/**
+	 * Metoda koja provodi sva mjerenja i zapisuje izvještaj.
+	 *
+	 * @throws IOException
+	 *             ukoliko zapisivanje izvještaja ne uspije
+	 */
+	public void run() throws IOException {
+		String mode = options.getOrDefault("mode", "functions");
+		int samples = Integer.parseInt(options.getOrDefault("samples", "5"));
+		long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+		List<Integer> variableCounts = parseIntegers(options.getOrDefault("variables", "4-10"));
+
+		List<String[]> rows = new ArrayList<>();
+		if (mode.equals("functions")) {
+			for (int n : variableCounts) {
+				for (double on : parseDoubles(options.getOrDefault("on", "0.1,0.3,0.5"))) {
+					for (double dc : parseDoubles(options.getOrDefault("dc", "0,0.1"))) {
+						rows.add(measureFunctions(n, on, dc, samples, seed));
+					}
+				}
+			}
+		} else if (mode.equals("expressions")) {
+			for (int n : variableCounts) {
+				for (int depth : parseIntegers(options.getOrDefault("depth", "3,5"))) {
+					for (int fanIn : parseIntegers(options.getOrDefault("fanin", "2,4"))) {
+						rows.add(measureExpressions(n, depth, fanIn, samples, seed));
+					}
+				}
+			}
+		} else {
+			throw new IllegalArgumentException("Nepoznat način rada: " + mode);
+		}
+
+		String out = options.getOrDefault("out", "scaling-report");
+		writeCsv(Paths.get(out + ".csv"), rows);
+		writeHtml(Paths.get(out + ".html"), rows);
+		System.out.println("Izvještaj je zapisan u " + out + ".csv i " + out + ".html");
+	}
+
+	/**
+	 * Pomoćna metoda koja mjeri minimizaciju <b>samples</b> nasumičnih
+	 * funkcija zadane konfiguracije.
+	 *
+	 * @param n
+	 *            broj varijabli
+	 * @param on
+	 *            gustoća minterma
+	 * @param dc
+	 *            udio don't careova
+	 * @param samples
+	 *            broj funkcija
+	 * @param seed
+	 *            osnovno sjeme
+	 * @return jedan redak izvještaja
+	 */
+	private String[] measureFunctions(int n, double on, double dc, int samples, long seed) {
+		RandomFunctionGenerator generator = new RandomFunctionGenerator(seed ^ (n * 31L) ^ Double.hashCode(on * 7 + dc));
+		List<RandomFunction> functions = new ArrayList<>();
+		for (int i = 0; i < samples; i++) {
+			functions.add(generator.next(n, on, dc));
+		}
+
+		Measurement m = measure(samples, i -> {
+			RandomFunction f = functions.get(i);
+			new Minimizer(f.getMinterms(), f.getDontCares(), f.getVariables()).getMinimalFormsAsString();
+		});
+		String[] row = m.toRow("functions", n, samples);
+		row[2] = format(on);
+		row[3] = format(dc);
+		System.out.println(String.join(",", row));
+		return row;
+	}
+
+	/**
+	 * Pomoćna metoda koja mjeri izračun sume minterma i minimizaciju
+	 * <b>samples</b> nasumičnih izraza zadane konfiguracije.
+	 *
+	 * @param n
+	 *            broj varijabli
+	 * @param depth
+	 *            maksimalna dubina izraza
+	 * @param fanIn
+	 *            maksimalan broj djece binarnog operatora
+	 * @param samples
+	 *            broj izraza
+	 * @param seed
+	 *            osnovno sjeme
+	 * @return jedan redak izvještaja
+	 */
+	private String[] measureExpressions(int n, int depth, int fanIn, int samples, long seed) {
+		List<String> variables = RandomFunctionGenerator.variables(n);
+		RandomExpressionGenerator generator = new RandomExpressionGenerator(seed ^ (n * 31L + depth * 7L + fanIn),
+				variables, depth, fanIn);
+		List<Node> expressions = new ArrayList<>();
+		for (int i = 0; i < samples; i++) {
+			expressions.add(generator.next());
+		}
+
+		Measurement m = measure(samples, i -> {
+			Set<Integer> minterms = Util.toSumOfMinterms(variables, expressions.get(i));
+			new Minimizer(minterms, new LinkedHashSet<>(), variables).getMinimalFormsAsString();
+		});
+		String[] row = m.toRow("expressions", n, samples);
+		row[4] = String.valueOf(depth);
+		row[5] = String.valueOf(fanIn);
+		System.out.println(String.join(",", row));
+		return row;
+	}
+
+	/**
+	 * Pomoćna metoda koja izvodi <b>task</b> za svaki uzorak te mjeri vrijeme,
+	 * najveće zauzeće gomile i alociranu memoriju.
+	 *
+	 * @param samples
+	 *            broj uzoraka
+	 * @param task
+	 *            posao koji se mjeri za pojedini uzorak
+	 * @return rezultat mjerenja
+	 */
+	private Measurement measure(int samples, IntConsumer task) {
+		Measurement m = new Measurement();
+		long allocatedBefore = 0;
+		long totalNanos = 0;
+		try {
+			// zagrijavanje nad prvim uzorkom
+			task.accept(0);
+			System.gc();
+			for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+				if (pool.getType() == MemoryType.HEAP) {
+					pool.resetPeakUsage();
+				}
+			}
+
+			allocatedBefore = allocatedBytes();
+			for (int i = 0; i < samples; i++) {
+				long start = System.nanoTime();
+				task.accept(i);
+				long elapsed = System.nanoTime() - start;
+				totalNanos += elapsed;
+				m.maxNanos = Math.max(m.maxNanos, elapsed);
+			}
+		} catch (OutOfMemoryError | RuntimeException e) {
+			// konfiguracija je preteška, bilježi se neuspjeh i nastavlja dalje
+			m.status = e.getClass().getSimpleName();
+			m.avgNanos = Double.NaN;
+			m.allocRate = Double.NaN;
+			return m;
+		}
+		long allocatedAfter = allocatedBytes();
+
+		m.avgNanos = totalNanos / (double) samples;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+				m.peakHeap += pool.getPeakUsage().getUsed();
+			}
+		}
+		m.allocRate = allocatedBefore < 0 || totalNanos == 0 ? -1
+				: (allocatedAfter - allocatedBefore) / MB / (totalNanos / 1e9);
+		return m;
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća broj okteta koje je trenutna dretva
+	 * alocirala, ili -1 ukoliko virtualni stroj to ne podržava.
+	 *
+	 * @return broj alociranih okteta ili -1
+	 */
+	private long allocatedBytes() {
+		if (threadBean == null || !threadBean.isThreadAllocatedMemorySupported()) {
+			return -1;
+		}
+		return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Pomoćna metoda koja zapisuje retke izvještaja u CSV datoteku.
+	 *
+	 * @param path
+	 *            putanja datoteke
+	 * @param rows
+	 *            retci izvještaja
+	 * @throws IOException
+	 *             ukoliko zapisivanje ne uspije
+	 */
+	private static void writeCsv(Path path, List<String[]> rows) throws IOException {
+		createParent(path);
+		try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+			writer.println(CSV_HEADER);
+			rows.forEach(row -> writer.println(String.join(",", row)));
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja zapisuje retke izvještaja u HTML datoteku kao
+	 * tablicu, uz stupčasti prikaz prosječnog vremena.
+	 *
+	 * @param path
+	 *            putanja datoteke
+	 * @param rows
+	 *            retci izvještaja
+	 * @throws IOException
+	 *             ukoliko zapisivanje ne uspije
+	 */
+	private static void writeHtml(Path path, List<String[]> rows) throws IOException {
+		createParent(path);
+		double maxAvg = rows.stream().mapToDouble(row -> Double.parseDouble(row[7])).filter(avg -> !Double.isNaN(avg))
+				.max().orElse(1);
+		try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+			writer.println("<!DOCTYPE html>");
+			writer.println("<html><head><meta charset=\"UTF-8\"><title>Skaliranje minimizacije</title>");
+			writer.println("<style>td,th{padding:2px 8px;text-align:right}.bar{background:#4a7;height:10px}</style>");
+			writer.println("</head><body><h1>Skaliranje minimizacije</h1><table><tr>");
+			for (String column : CSV_HEADER.split(",")) {
+				writer.print("<th>" + column + "</th>");
+			}
+			writer.println("<th></th></tr>");
+			for (String[] row : rows) {
+				writer.print("<tr>");
+				for (String value : row) {
+					writer.print("<td>" + value + "</td>");
+				}
+				double avg = Double.parseDouble(row[7]);
+				double width = maxAvg == 0 || Double.isNaN(avg) ? 0 : 300 * avg / maxAvg;
+				writer.printf(Locale.ROOT, "<td style=\"text-align:left\"><div class=\"bar\" style=\"width:%.0fpx\"></div></td></tr>%n",
+						width);
+			}
+			writer.println("</table></body></html>");
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara roditeljski direktorij datoteke ukoliko ne
+	 * postoji.
+	 *
+	 * @param path
+	 *            putanja datoteke
+	 * @throws IOException
+	 *             ukoliko stvaranje direktorija ne uspije
+	 */
+	private static void createParent(Path path) throws IOException {
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja parsira listu cijelih brojeva oblika "4,6,8" ili
+	 * raspon oblika "4-10".
+	 *
+	 * @param value
+	 *            vrijednost argumenta
+	 * @return {@link List} cijelih brojeva
+	 */
+	private static List<Integer> parseIntegers(String value) {
+		List<Integer> result = new ArrayList<>();
+		for (String part : value.split(",")) {
+			String[] range = part.trim().split("-");
+			int from = Integer.parseInt(range[0].trim());
+			int to = range.length > 1 ? Integer.parseInt(range[1].trim()) : from;
+			for (int i = from; i <= to; i++) {
+				result.add(i);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja parsira listu decimalnih brojeva oblika "0.1,0.3".
+	 *
+	 * @param value
+	 *            vrijednost argumenta
+	 * @return {@link List} decimalnih brojeva
+	 */
+	private static List<Double> parseDoubles(String value) {
+		List<Double> result = new ArrayList<>();
+		for (String part : value.split(",")) {
+			result.add(Double.parseDouble(part.trim()));
+		}
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja formatira decimalni broj neovisno o lokalizaciji.
+	 *
+	 * @param value
+	 *            broj
+	 * @return formatirani broj
+	 */
+	private static String format(double value) {
+		return String.format(Locale.ROOT, "%.3f", value);
+	}
+
+	/**
+	 * Pomoćni razred koji sprema rezultate mjerenja jedne konfiguracije.
+	 * 
+	 * @author Davor Češljaš
+	 */
+	private static class Measurement {
+
+		/** Prosječno vrijeme u nanosekundama */
+		private double avgNanos;
+
+		/** Najveće vrijeme u nanosekundama */
+		private long maxNanos;
+
+		/** Najveće zauzeće gomile u oktetima */
+		private long peakHeap;
+
+		/** Brzina alociranja u MB/s (-1 ako nije podržano) */
+		private double allocRate;
+
+		/** Status mjerenja: "OK" ili naziv iznimke zbog koje mjerenje nije uspjelo */
+		private String status = "OK";
+
+		/**
+		 * Metoda koja pretvara mjerenje u redak izvještaja. Stupci koji ne
+		 * pripadaju načinu rada ostaju prazni.
+		 *
+		 * @param mode
+		 *            način rada
+		 * @param n
+		 *            broj varijabli
+		 * @param samples
+		 *            broj uzoraka
+		 * @return redak izvještaja
+		 */
+		private String[] toRow(String mode, int n, int samples) {
+			return new String[] { mode, String.valueOf(n), "", "", "", "", String.valueOf(samples),
+					format(avgNanos / 1e6), format(maxNanos / 1e6), format(peakHeap / MB), format(allocRate), status };
+		}
+	}
+}
@@ -0,0 +1,467 @@
+package hr.fer.zemris.bf.utils;
+
+import static hr.fer.zemris.bf.utils.FlatExpression.AND;
+import static hr.fer.zemris.bf.utils.FlatExpression.BINARY;
+import static hr.fer.zemris.bf.utils.FlatExpression.CONSTANT;
+import static hr.fer.zemris.bf.utils.FlatExpression.NOT;
+import static hr.fer.zemris.bf.utils.FlatExpression.OR;
+import static hr.fer.zemris.bf.utils.FlatExpression.UNARY;
+import static hr.fer.zemris.bf.utils.FlatExpression.VARIABLE;
+import static hr.fer.zemris.bf.utils.FlatExpression.XOR;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import hr.fer.zemris.bf.model.Node;
+
+/**
+ * Razred koji izraz izračunava skraćeno (vidi
+ * {@link ExpressionEvaluator#ExpressionEvaluator(List, boolean)}), ali
+ * redoslijed djece operatora "and" i "or" uči iz stvarnih podataka. Svaki
+ * {@link #getSamplePeriod()}-ti izračun bilježi, za svako dijete, koliko je
+ * puta izračunato, koliko je puta samo odredilo rezultat operatora i koliko je
+ * čvorova pritom obiđeno. Svakih {@link #getReorderPeriod()} izračuna djeca se
+ * poredaju uzlazno po omjeru prosječne cijene i vjerojatnosti da odrede
+ * rezultat, pa jeftina i odlučujuća djeca dolaze prva.
+ * <p>
+ * Metoda {@link #evaluate(boolean[])} sigurna je za istovremeno korištenje iz
+ * više dretvi i nikad ne blokira: novi redoslijed objavljuje se zamjenom
+ * <code>volatile</code> reference na nepromjenjivo polje, a statistike se
+ * vode atomskim brojačima. Svaka dretva broji svoje izračune zasebno i
+ * zajedničkom brojaču pribraja ih samo pri uzorkovanom izračunu. Preslagivanje
+ * obavlja dretva koja prva primijeti da je ono na redu, a ostale dretve ga
+ * preskaču umjesto da čekaju. Naučeni redoslijed može se spremiti metodom
+ * {@link #exportOrder()} i ponovno učitati metodom {@link #importOrder(String)}.
+ *
+ * @author Davor Češljaš
+ */
+public final class AdaptiveEvaluator {
+
+	/** Pretpostavljeni broj izračuna između dva preslagivanja */
+	public static final int DEFAULT_REORDER_PERIOD = 4096;
+
+	/** Pretpostavljeni razmak između dva uzorkovana izračuna */
+	public static final int DEFAULT_SAMPLE_PERIOD = 16;
+
+	/** Izraz predstavljen poljima čvorova */
+	private final FlatExpression flat;
+
+	/** Statistike i redoslijed djece čvorova "and" i "or", null za ostale */
+	private final Choice[] choices;
+
+	/** Broj izračuna između dva preslagivanja */
+	private final int reorderPeriod;
+
+	/** Razmak između dva uzorkovana izračuna */
+	private final int samplePeriod;
+
+	/** Broj izračuna trenutne dretve od posljednjeg uzorkovanog izračuna */
+	private final ThreadLocal<int[]> localEvaluations = ThreadLocal.withInitial(() -> new int[1]);
+
+	/**
+	 * Vrijednosti djece čvorova s neprepoznatim binarnim operatorom za
+	 * trenutnu dretvu, null za ostale čvorove
+	 */
+	private final ThreadLocal<boolean[][]> localOperands = ThreadLocal.withInitial(this::operandBuffers);
+
+	/** Broj dosadašnjih izračuna, uvećava se pri uzorkovanim izračunima */
+	private final LongAdder evaluations = new LongAdder();
+
+	/** Broj izračuna nakon kojeg slijedi sljedeće preslagivanje */
+	private volatile long nextReorder;
+
+	/** Lokot koji osigurava da istovremeno teče najviše jedno preslagivanje */
+	private final ReentrantLock reorderLock = new ReentrantLock();
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda s pretpostavljenim
+	 * razdobljima {@value #DEFAULT_REORDER_PERIOD} i
+	 * {@value #DEFAULT_SAMPLE_PERIOD}.
+	 *
+	 * @param expression
+	 *            vršni čvor izraza
+	 * @param variables
+	 *            {@link List} varijabli izraza
+	 * @throws IllegalStateException
+	 *             ukoliko se u izrazu pojavljuje varijabla koja nije unutar
+	 *             <b>variables</b>
+	 */
+	public AdaptiveEvaluator(Node expression, List<String> variables) {
+		this(expression, variables, DEFAULT_REORDER_PERIOD, DEFAULT_SAMPLE_PERIOD);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Početni redoslijed
+	 * djece jednak je redoslijedu u stablu.
+	 *
+	 * @param expression
+	 *            vršni čvor izraza
+	 * @param variables
+	 *            {@link List} varijabli izraza
+	 * @param reorderPeriod
+	 *            broj izračuna između dva preslagivanja
+	 * @param samplePeriod
+	 *            razmak između dva uzorkovana izračuna
+	 * @throws IllegalArgumentException
+	 *             ukoliko neko od razdoblja nije pozitivno
+	 * @throws IllegalStateException
+	 *             ukoliko se u izrazu pojavljuje varijabla koja nije unutar
+	 *             <b>variables</b>
+	 */
+	public AdaptiveEvaluator(Node expression, List<String> variables, int reorderPeriod, int samplePeriod) {
+		if (reorderPeriod <= 0 || samplePeriod <= 0) {
+			throw new IllegalArgumentException(
+					"Razdoblja moraju biti pozitivna, a predano je: " + reorderPeriod + " i " + samplePeriod);
+		}
+
+		this.flat = new FlatExpression(expression, variables);
+		this.reorderPeriod = reorderPeriod;
+		this.samplePeriod = samplePeriod;
+		this.nextReorder = reorderPeriod;
+		this.choices = new Choice[flat.size()];
+		for (int node = 0; node < choices.length; node++) {
+			if (flat.kinds[node] == AND || flat.kinds[node] == OR) {
+				choices[node] = new Choice(flat.children[node].length);
+			}
+		}
+	}
+
+	/**
+	 * Metoda koja računa vrijednost izraza za vrijednosti varijabli
+	 * <b>values</b>.
+	 *
+	 * @param values
+	 *            vrijednosti varijabli
+	 * @return vrijednost izraza
+	 * @throws IllegalArgumentException
+	 *             ukoliko je predan pogrešan broj vrijednosti
+	 */
+	public boolean evaluate(boolean[] values) {
+		if (values.length != flat.variableCount) {
+			throw new IllegalArgumentException(
+					String.format("Predali ste netočan broj booleovih vrijednosti. Tražio sam: %d dobio sam: %d",
+							flat.variableCount, values.length));
+		}
+
+		int[] local = localEvaluations.get();
+		if (++local[0] < samplePeriod) {
+			return evaluate(flat.root(), values);
+		}
+		local[0] = 0;
+
+		boolean result = evaluateSampled(flat.root(), values, new long[1]);
+		evaluations.add(samplePeriod);
+		// preslagivanje koje je već u tijeku se ne čeka
+		if (evaluations.sum() >= nextReorder && reorderLock.tryLock()) {
+			try {
+				long total = evaluations.sum();
+				if (total >= nextReorder) {
+					reorderChoices();
+					nextReorder = total + reorderPeriod;
+				}
+			} finally {
+				reorderLock.unlock();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Metoda koja odmah preslaguje djecu svih čvorova "and" i "or" prema
+	 * dosad prikupljenim statistikama. Nakon preslagivanja statistike se
+	 * prepolove, pa noviji izračuni imaju veću težinu od starijih. Ukoliko
+	 * preslagivanje upravo teče u drugoj dretvi, metoda čeka njegov završetak.
+	 */
+	public void reorder() {
+		reorderLock.lock();
+		try {
+			reorderChoices();
+			nextReorder = evaluations.sum() + reorderPeriod;
+		} finally {
+			reorderLock.unlock();
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja preslaguje djecu svih čvorova "and" i "or". Poziva
+	 * se samo uz zaključan {@link #reorderLock}.
+	 */
+	private void reorderChoices() {
+		for (Choice choice : choices) {
+			if (choice == null) {
+				continue;
+			}
+
+			int arity = choice.evaluated.length();
+			double[] scores = new double[arity];
+			for (int position = 0; position < arity; position++) {
+				long evaluated = choice.evaluated.get(position);
+				double cost = (choice.cost.get(position) + 1.0) / (evaluated + 1);
+				double decisive = (choice.decisive.get(position) + 1.0) / (evaluated + 2);
+				scores[position] = cost / decisive;
+
+				choice.evaluated.getAndUpdate(position, v -> v >> 1);
+				choice.decisive.getAndUpdate(position, v -> v >> 1);
+				choice.cost.getAndUpdate(position, v -> v >> 1);
+			}
+
+			// stabilno sortiranje trenutnog redoslijeda čuva poredak djece s jednakom ocjenom
+			Integer[] order = Arrays.stream(choice.order).boxed().toArray(Integer[]::new);
+			Arrays.sort(order, Comparator.comparingDouble(position -> scores[position]));
+			choice.order = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+		}
+	}
+
+	/**
+	 * Metoda koja vraća naučeni redoslijed u obliku pogodnom za spremanje.
+	 * Za svaki čvor "and" i "or" zapisuje se njegov redni broj u postorder
+	 * poretku stabla i pozicije djece redoslijedom izračuna, npr.
+	 * <code>"4:1,0;9:2,0,1"</code>.
+	 *
+	 * @return naučeni redoslijed
+	 */
+	public String exportOrder() {
+		StringJoiner joiner = new StringJoiner(";");
+		for (int node = 0; node < choices.length; node++) {
+			if (choices[node] != null) {
+				StringJoiner positions = new StringJoiner(",", node + ":", "");
+				for (int position : choices[node].order) {
+					positions.add(Integer.toString(position));
+				}
+				joiner.add(positions.toString());
+			}
+		}
+		return joiner.toString();
+	}
+
+	/**
+	 * Metoda koja učitava redoslijed zapisan metodom {@link #exportOrder()}
+	 * za strukturno isti izraz. Redoslijed čvorova koji se ne spominju u
+	 * <b>order</b> ne mijenja se.
+	 *
+	 * @param order
+	 *            zapisani redoslijed
+	 * @throws IllegalArgumentException
+	 *             ukoliko zapis nije ispravan ili ne odgovara izrazu
+	 */
+	public void importOrder(String order) {
+		int[][] parsed = new int[choices.length][];
+		for (String entry : order.trim().isEmpty() ? new String[0] : order.trim().split(";")) {
+			String[] parts = entry.split(":");
+			try {
+				int node = Integer.parseInt(parts[0].trim());
+				if (parts.length != 2 || node < 0 || node >= choices.length || choices[node] == null) {
+					throw new IllegalArgumentException("Neispravan zapis redoslijeda: " + entry);
+				}
+				int[] positions = Arrays.stream(parts[1].split(",")).map(String::trim).mapToInt(Integer::parseInt)
+						.toArray();
+				int[] sorted = positions.clone();
+				Arrays.sort(sorted);
+				for (int i = 0; i < sorted.length; i++) {
+					if (sorted[i] != i) {
+						throw new IllegalArgumentException("Neispravan zapis redoslijeda: " + entry);
+					}
+				}
+				if (sorted.length != flat.children[node].length) {
+					throw new IllegalArgumentException("Neispravan zapis redoslijeda: " + entry);
+				}
+				parsed[node] = positions;
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Neispravan zapis redoslijeda: " + entry, e);
+			}
+		}
+
+		reorderLock.lock();
+		try {
+			for (int node = 0; node < parsed.length; node++) {
+				if (parsed[node] != null) {
+					choices[node].order = parsed[node];
+				}
+			}
+		} finally {
+			reorderLock.unlock();
+		}
+	}
+
+	/**
+	 * Metoda koja dohvaća broj izračuna između dva preslagivanja.
+	 *
+	 * @return broj izračuna između dva preslagivanja
+	 */
+	public int getReorderPeriod() {
+		return reorderPeriod;
+	}
+
+	/**
+	 * Metoda koja dohvaća razmak između dva uzorkovana izračuna.
+	 *
+	 * @return razmak između dva uzorkovana izračuna
+	 */
+	public int getSamplePeriod() {
+		return samplePeriod;
+	}
+
+	/**
+	 * Pomoćna metoda koja izračunava čvor <b>node</b> bez bilježenja
+	 * statistika.
+	 *
+	 * @param node
+	 *            redni broj čvora
+	 * @param values
+	 *            vrijednosti varijabli
+	 * @return vrijednost čvora
+	 */
+	private boolean evaluate(int node, boolean[] values) {
+		int[] nodeChildren = flat.children[node];
+		switch (flat.kinds[node]) {
+		case CONSTANT:
+			return flat.constants[node];
+		case VARIABLE:
+			return values[flat.variableOf[node]];
+		case NOT:
+			return !evaluate(nodeChildren[0], values);
+		case AND:
+		case OR: {
+			boolean controlling = flat.kinds[node] == OR;
+			for (int position : choices[node].order) {
+				if (evaluate(nodeChildren[position], values) == controlling) {
+					return controlling;
+				}
+			}
+			return !controlling;
+		}
+		case XOR: {
+			boolean result = false;
+			for (int child : nodeChildren) {
+				result ^= evaluate(child, values);
+			}
+			return result;
+		}
+		case UNARY:
+			return flat.applyUnary(node, evaluate(nodeChildren[0], values));
+		default: {
+			boolean[] operands = localOperands.get()[node];
+			for (int i = 0; i < operands.length; i++) {
+				operands[i] = evaluate(nodeChildren[i], values);
+			}
+			return flat.applyBinary(node, operands);
+		}
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja izračunava čvor <b>node</b> i bilježi statistike
+	 * djece čvorova "and" i "or".
+	 *
+	 * @param node
+	 *            redni broj čvora
+	 * @param values
+	 *            vrijednosti varijabli
+	 * @param visits
+	 *            brojač obiđenih čvorova (polje s jednim elementom)
+	 * @return vrijednost čvora
+	 */
+	private boolean evaluateSampled(int node, boolean[] values, long[] visits) {
+		visits[0]++;
+		int[] nodeChildren = flat.children[node];
+		switch (flat.kinds[node]) {
+		case CONSTANT:
+			return flat.constants[node];
+		case VARIABLE:
+			return values[flat.variableOf[node]];
+		case NOT:
+			return !evaluateSampled(nodeChildren[0], values, visits);
+		case AND:
+		case OR: {
+			boolean controlling = flat.kinds[node] == OR;
+			Choice choice = choices[node];
+			for (int position : choice.order) {
+				long before = visits[0];
+				boolean value = evaluateSampled(nodeChildren[position], values, visits);
+				choice.evaluated.incrementAndGet(position);
+				choice.cost.addAndGet(position, visits[0] - before);
+				if (value == controlling) {
+					choice.decisive.incrementAndGet(position);
+					return controlling;
+				}
+			}
+			return !controlling;
+		}
+		case XOR: {
+			boolean result = false;
+			for (int child : nodeChildren) {
+				result ^= evaluateSampled(child, values, visits);
+			}
+			return result;
+		}
+		case UNARY:
+			return flat.applyUnary(node, evaluateSampled(nodeChildren[0], values, visits));
+		default: {
+			boolean[] operands = localOperands.get()[node];
+			for (int i = 0; i < operands.length; i++) {
+				operands[i] = evaluateSampled(nodeChildren[i], values, visits);
+			}
+			return flat.applyBinary(node, operands);
+		}
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja za svaki čvor s neprepoznatim binarnim operatorom
+	 * stvara polje za vrijednosti njegove djece. Polje čvora može se
+	 * ponovno koristiti jer čvor nije unutar vlastitog podstabla.
+	 *
+	 * @return polja vrijednosti djece, null za ostale čvorove
+	 */
+	private boolean[][] operandBuffers() {
+		boolean[][] operands = new boolean[flat.size()][];
+		for (int node = 0; node < operands.length; node++) {
+			if (flat.kinds[node] == BINARY) {
+				operands[node] = new boolean[flat.children[node].length];
+			}
+		}
+		return operands;
+	}
+
+	/**
+	 * Razred koji čuva redoslijed i statistike djece jednog čvora "and" ili
+	 * "or". Statistike su indeksirane pozicijom djeteta u stablu.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class Choice {
+
+		/** Redoslijed izračuna djece, polje se nikad ne mijenja nakon objave */
+		private volatile int[] order;
+
+		/** Koliko je puta dijete izračunato */
+		private final AtomicLongArray evaluated;
+
+		/** Koliko je puta dijete samo odredilo rezultat */
+		private final AtomicLongArray decisive;
+
+		/** Ukupan broj obiđenih čvorova pri izračunu djeteta */
+		private final AtomicLongArray cost;
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda.
+		 *
+		 * @param arity
+		 *            broj djece čvora
+		 */
+		public Choice(int arity) {
+			order = new int[arity];
+			for (int i = 0; i < arity; i++) {
+				order[i] = i;
+			}
+			evaluated = new AtomicLongArray(arity);
+			decisive = new AtomicLongArray(arity);
+			cost = new AtomicLongArray(arity);
+		}
+	}
+}
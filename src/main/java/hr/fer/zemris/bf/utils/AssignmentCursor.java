@@ -0,0 +1,174 @@
+package hr.fer.zemris.bf.utils;
+
+import java.util.List;
+
+import hr.fer.zemris.bf.model.Node;
+
+/**
+ * Kursor koji u dijelovima (<i>chunk</i>) obilazi prostor kombinacija
+ * varijabli i vraća redne brojeve (tipa <code>long</code>) kombinacija za koje
+ * izraz ima zadanu vrijednost, uzlaznim poretkom. Podržava izraze s najviše
+ * {@value #MAX_VARIABLES} varijable. Kombinacije se izračunavaju u blokovima od
+ * 64 primjerkom razreda {@link BitSlicedEvaluator}.
+ * <p>
+ * Obilazak se može prekinuti u bilo kojem trenutku i kasnije nastaviti: metoda
+ * {@link #getPosition()} vraća redni broj prve kombinacije koja još nije
+ * obrađena, a konstruktor
+ * {@link #AssignmentCursor(Node, List, boolean, long)} stvara kursor koji
+ * počinje od te kombinacije. Metoda {@link #next(long[], long)} ograničava
+ * broj pregledanih kombinacija po pozivu, što omogućuje djelomični obilazak
+ * velikih prostora s malo pogodaka. Primjerci ovog razreda nisu sigurni za
+ * korištenje iz više dretvi.
+ *
+ * @author Davor Češljaš
+ */
+public final class AssignmentCursor {
+
+	/** Najveći broj varijabli izraza */
+	public static final int MAX_VARIABLES = Long.SIZE - 1;
+
+	/** Broj bitova rednog broja kombinacije unutar bloka */
+	private static final int BLOCK_BITS = 6;
+
+	/** Evaluator blokova */
+	private final BitSlicedEvaluator evaluator;
+
+	/** Vrijednost izraza koju tražimo */
+	private final boolean expectedValue;
+
+	/** Maska bitova bloka koji odgovaraju postojećim kombinacijama */
+	private final long validMask;
+
+	/** Redni broj zadnjeg bloka */
+	private final long lastBlock;
+
+	/** Redni broj prve neobrađene kombinacije */
+	private long position;
+
+	/** Zastavica koja označava da su sve kombinacije obrađene */
+	private boolean done;
+
+	/**
+	 * Konstruktor koji stvara kursor od prve kombinacije.
+	 *
+	 * @param expression
+	 *            vršni čvor izraza
+	 * @param variables
+	 *            {@link List} varijabli izraza
+	 * @param expectedValue
+	 *            vrijednost izraza koju tražimo
+	 * @throws IllegalArgumentException
+	 *             ukoliko izraz ima više od {@value #MAX_VARIABLES} varijable
+	 */
+	public AssignmentCursor(Node expression, List<String> variables, boolean expectedValue) {
+		this(expression, variables, expectedValue, 0);
+	}
+
+	/**
+	 * Konstruktor koji stvara kursor od kombinacije s rednim brojem
+	 * <b>start</b>.
+	 *
+	 * @param expression
+	 *            vršni čvor izraza
+	 * @param variables
+	 *            {@link List} varijabli izraza
+	 * @param expectedValue
+	 *            vrijednost izraza koju tražimo
+	 * @param start
+	 *            redni broj prve kombinacije koja se obrađuje
+	 * @throws IllegalArgumentException
+	 *             ukoliko izraz ima više od {@value #MAX_VARIABLES} varijable
+	 *             ili <b>start</b> nije redni broj kombinacije
+	 */
+	public AssignmentCursor(Node expression, List<String> variables, boolean expectedValue, long start) {
+		int n = variables.size();
+		if (n > MAX_VARIABLES) {
+			throw new IllegalArgumentException("Prevelik broj varijabli: " + n);
+		}
+		if (start < 0 || n < MAX_VARIABLES && start > (1L << n)) {
+			throw new IllegalArgumentException("Neispravan redni broj kombinacije: " + start);
+		}
+
+		this.evaluator = new BitSlicedEvaluator(expression, variables);
+		this.expectedValue = expectedValue;
+		this.validMask = n < BLOCK_BITS ? (1L << (1 << n)) - 1 : -1L;
+		this.lastBlock = evaluator.blockCount() - 1;
+		this.position = start;
+		this.done = n < MAX_VARIABLES && start == (1L << n);
+	}
+
+	/**
+	 * Metoda koja provjerava postoje li još neobrađene kombinacije.
+	 *
+	 * @return <code>true</code> ukoliko postoje neobrađene kombinacije
+	 */
+	public boolean hasNext() {
+		return !done;
+	}
+
+	/**
+	 * Metoda koja dohvaća redni broj prve neobrađene kombinacije. Ukoliko su
+	 * sve kombinacije obrađene, vraća 2<sup>n</sup> (za 63 varijable
+	 * {@link Long#MIN_VALUE}, tj. 2<sup>63</sup> kao broj bez predznaka).
+	 *
+	 * @return redni broj prve neobrađene kombinacije
+	 */
+	public long getPosition() {
+		return position;
+	}
+
+	/**
+	 * Metoda koja zapisuje sljedeće pogotke u polje <b>out</b> dok se ono ne
+	 * napuni ili dok se ne obrade sve kombinacije.
+	 *
+	 * @param out
+	 *            polje u koje se zapisuju redni brojevi pogodaka
+	 * @return broj zapisanih pogodaka
+	 */
+	public int next(long[] out) {
+		return next(out, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Metoda koja zapisuje sljedeće pogotke u polje <b>out</b> dok se ono ne
+	 * napuni, dok se ne pregleda barem <b>maxAssignments</b> kombinacija ili
+	 * dok se ne obrade sve kombinacije. Kombinacije se pregledavaju u blokovima
+	 * od 64, pa se može pregledati do 63 kombinacije više od zadanog broja.
+	 *
+	 * @param out
+	 *            polje u koje se zapisuju redni brojevi pogodaka
+	 * @param maxAssignments
+	 *            najmanji broj kombinacija nakon kojeg se pregledavanje
+	 *            prekida
+	 * @return broj zapisanih pogodaka
+	 */
+	public int next(long[] out, long maxAssignments) {
+		int count = 0;
+		long scanned = 0;
+		while (!done && count < out.length && scanned < maxAssignments) {
+			long block = position >>> BLOCK_BITS;
+			int offset = (int) (position & (BitSlicedEvaluator.BLOCK_SIZE - 1));
+			long word = evaluator.evaluateBlock(block);
+			word = (expectedValue ? word : ~word) & validMask & (-1L << offset);
+
+			while (word != 0 && count < out.length) {
+				out[count++] = (block << BLOCK_BITS) | Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+			}
+
+			if (word != 0) {
+				// polje je puno usred bloka, nastavljamo od sljedećeg pogotka
+				position = (block << BLOCK_BITS) | Long.numberOfTrailingZeros(word);
+				return count;
+			}
+
+			scanned += BitSlicedEvaluator.BLOCK_SIZE - offset;
+			position = (block + 1) << BLOCK_BITS;
+			if (block == lastBlock) {
+				done = true;
+				position = validMask == -1L ? position : Long.bitCount(validMask);
+			}
+		}
+		return count;
+	}
+}
@@ -0,0 +1,318 @@
+package hr.fer.zemris.bf.utils;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+import hr.fer.zemris.bf.model.Node;
+
+/**
+ * Razred koji izraz izračunava za 64 uzastopne kombinacije varijabli u jednom
+ * prolazu kroz program prevedenog izraza ({@link CompiledExpression}). Svaka
+ * varijabla predstavljena je jednom 64-bitnom riječi u kojoj bit <i>j</i>
+ * sadrži vrijednost varijable u kombinaciji <i>j</i> bloka, pa se operatori
+ * "and", "or", "xor" i "not" izvode jednom operacijom nad tipom
+ * <code>long</code>. Neprepoznati operatori primjenjuju se bit po bit.
+ * <p>
+ * Blok s rednim brojem <i>b</i> sadrži kombinacije <i>64b</i> do
+ * <i>64b + 63</i>, pri čemu je redni broj kombinacije onaj iz tablice
+ * istinitosti (varijabli na poziciji <i>i</i> odgovara bit <i>n - 1 - i</i>).
+ * Primjerci ovog razreda nisu sigurni za korištenje iz više dretvi.
+ *
+ * @see CompiledExpression
+ *
+ * @author Davor Češljaš
+ */
+public final class BitSlicedEvaluator {
+
+	/** Broj kombinacija u jednom bloku */
+	public static final int BLOCK_SIZE = Long.SIZE;
+
+	/** Najveći broj varijabli za koji se može stvoriti tablica istinitosti */
+	public static final int MAX_TRUTH_TABLE_VARIABLES = 30;
+
+	/** Broj bitova rednog broja kombinacije unutar bloka */
+	private static final int BLOCK_BITS = 6;
+
+	/**
+	 * Riječi varijabli čiji je bit unutar bloka: na indeksu <i>p</i> nalazi se
+	 * riječ u kojoj je bit <i>j</i> postavljen ako i samo ako je postavljen bit
+	 * <i>p</i> broja <i>j</i>
+	 */
+	private static final long[] LANE_PATTERNS = { 0xAAAAAAAAAAAAAAAAL, 0xCCCCCCCCCCCCCCCCL, 0xF0F0F0F0F0F0F0F0L,
+			0xFF00FF00FF00FF00L, 0xFFFF0000FFFF0000L, 0xFFFFFFFF00000000L };
+
+	/** Prevedeni izraz */
+	private final CompiledExpression compiled;
+
+	/** Instrukcije programa */
+	private final int[] code;
+
+	/** Broj varijabli izraza */
+	private final int variableCount;
+
+	/** Pomoćni stog riječi */
+	private final long[] stack;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param compiled
+	 *            prevedeni izraz
+	 */
+	public BitSlicedEvaluator(CompiledExpression compiled) {
+		this.compiled = compiled;
+		this.code = compiled.getCode();
+		this.variableCount = compiled.getVariables().size();
+		this.stack = new long[Math.max(1, compiled.getMaxStack())];
+	}
+
+	/**
+	 * Konstruktor koji prevodi izraz <b>expression</b> nad varijablama
+	 * <b>variables</b> i inicijalizira primjerak ovog razreda.
+	 *
+	 * @param expression
+	 *            vršni čvor izraza
+	 * @param variables
+	 *            {@link List} varijabli izraza
+	 * @throws IllegalStateException
+	 *             ukoliko se u izrazu pojavljuje varijabla koja nije unutar
+	 *             <b>variables</b>
+	 */
+	public BitSlicedEvaluator(Node expression, List<String> variables) {
+		this(CompiledExpression.compile(expression, variables));
+	}
+
+	/**
+	 * Metoda koja dohvaća broj blokova od kojih se sastoji tablica istinitosti.
+	 *
+	 * @return broj blokova tablice istinitosti
+	 */
+	public long blockCount() {
+		return variableCount <= BLOCK_BITS ? 1 : 1L << (variableCount - BLOCK_BITS);
+	}
+
+	/**
+	 * Metoda koja izračunava izraz za sve kombinacije bloka <b>block</b>. Ukoliko
+	 * izraz ima manje od 6 varijabli, bitovi koji ne odgovaraju niti jednoj
+	 * kombinaciji su 0.
+	 *
+	 * @param block
+	 *            redni broj bloka
+	 * @return riječ u kojoj bit <i>j</i> sadrži vrijednost izraza za
+	 *         kombinaciju <i>64 * block + j</i>
+	 */
+	public long evaluateBlock(long block) {
+		long result = run(null, block << BLOCK_BITS);
+		return variableCount < BLOCK_BITS ? result & ((1L << (1 << variableCount)) - 1) : result;
+	}
+
+	/**
+	 * Metoda koja izračunava izraz za 64 proizvoljne kombinacije varijabli
+	 * (npr. slučajne kombinacije prilikom simulacije). Riječ <b>words[i]</b>
+	 * sadrži vrijednosti varijable na poziciji <i>i</i>, pri čemu bit
+	 * <i>j</i> pripada kombinaciji <i>j</i>.
+	 *
+	 * @param words
+	 *            riječi vrijednosti varijabli
+	 * @return riječ u kojoj bit <i>j</i> sadrži vrijednost izraza za
+	 *         kombinaciju <i>j</i>
+	 * @throws IllegalArgumentException
+	 *             ukoliko je predan pogrešan broj riječi
+	 */
+	public long evaluateWords(long[] words) {
+		if (words.length != variableCount) {
+			throw new IllegalArgumentException(String.format(
+					"Predali ste netočan broj riječi. Tražio sam: %d dobio sam: %d", variableCount, words.length));
+		}
+		return run(words, 0);
+	}
+
+	/**
+	 * Pomoćna metoda koja izvodi program prevedenog izraza nad riječima
+	 * varijabli.
+	 *
+	 * @param words
+	 *            riječi vrijednosti varijabli ili <code>null</code> ukoliko se
+	 *            računa blok tablice istinitosti
+	 * @param first
+	 *            redni broj prve kombinacije bloka tablice istinitosti
+	 * @return riječ vrijednosti izraza
+	 */
+	private long run(long[] words, long first) {
+		int last = variableCount - 1;
+		int top = -1;
+		for (int instruction : code) {
+			int operand = instruction & CompiledExpression.OPERAND_MASK;
+			switch (instruction >>> CompiledExpression.OPERAND_BITS) {
+			case CompiledExpression.CONST_FALSE:
+				stack[++top] = 0;
+				break;
+			case CompiledExpression.CONST_TRUE:
+				stack[++top] = -1L;
+				break;
+			case CompiledExpression.LOAD: {
+				if (words != null) {
+					stack[++top] = words[operand];
+					break;
+				}
+				int bit = last - operand;
+				stack[++top] = bit < BLOCK_BITS ? LANE_PATTERNS[bit] : -(first >>> bit & 1);
+				break;
+			}
+			case CompiledExpression.NOT:
+				stack[top] = ~stack[top];
+				break;
+			case CompiledExpression.AND: {
+				int base = top - operand + 1;
+				for (int i = base + 1; i <= top; i++) {
+					stack[base] &= stack[i];
+				}
+				top = base;
+				break;
+			}
+			case CompiledExpression.OR: {
+				int base = top - operand + 1;
+				for (int i = base + 1; i <= top; i++) {
+					stack[base] |= stack[i];
+				}
+				top = base;
+				break;
+			}
+			case CompiledExpression.XOR: {
+				int base = top - operand + 1;
+				for (int i = base + 1; i <= top; i++) {
+					stack[base] ^= stack[i];
+				}
+				top = base;
+				break;
+			}
+			case CompiledExpression.APPLY_UNARY:
+				stack[top] = applyUnary(compiled.getUnaryOperator(operand), stack[top]);
+				break;
+			case CompiledExpression.APPLY_BINARY:
+				top = applyBinary(compiled.getBinaryOperator(operand), compiled.getArity(operand), top);
+				break;
+			default:
+				throw new IllegalStateException("Nepoznata instrukcija: " + instruction);
+			}
+		}
+		return stack[0];
+	}
+
+	/**
+	 * Metoda koja stvara tablicu istinitosti izraza: bit <i>i</i> vraćenog
+	 * {@link BitSet}a postavljen je ako i samo ako izraz za kombinaciju s
+	 * rednim brojem <i>i</i> ima vrijednost <code>true</code>.
+	 *
+	 * @return tablica istinitosti izraza
+	 * @throws IllegalArgumentException
+	 *             ukoliko izraz ima više od
+	 *             {@value #MAX_TRUTH_TABLE_VARIABLES} varijabli
+	 */
+	public BitSet truthTable() {
+		return BitSet.valueOf(truthTableWords(null));
+	}
+
+	/**
+	 * Metoda koja stvara tablicu istinitosti izraza (vidi
+	 * {@link #truthTable()}) koristeći dretve iz <b>pool</b>. Tablica se dijeli
+	 * na dijelove od {@value TruthTableTask#LEAF_BLOCKS} blokova i svaki dio
+	 * računa zaseban primjerak ovog razreda, pa neprepoznati operatori izraza
+	 * moraju biti sigurni za korištenje iz više dretvi. Manje tablice računaju
+	 * se u pozivajućoj dretvi.
+	 *
+	 * @param pool
+	 *            {@link ForkJoinPool} čije dretve računaju tablicu
+	 * @return tablica istinitosti izraza
+	 * @throws IllegalArgumentException
+	 *             ukoliko izraz ima više od
+	 *             {@value #MAX_TRUTH_TABLE_VARIABLES} varijabli
+	 */
+	public BitSet truthTable(ForkJoinPool pool) {
+		return BitSet.valueOf(truthTableWords(pool));
+	}
+
+	/**
+	 * Metoda koja računa riječi tablice istinitosti: riječ s indeksom <i>b</i>
+	 * jednaka je rezultatu {@link #evaluateBlock(long)} za blok <i>b</i>.
+	 * Ukoliko je <b>pool</b> <code>null</code> ili tablica nije veća od
+	 * {@value TruthTableTask#LEAF_BLOCKS} blokova, riječi se računaju u
+	 * pozivajućoj dretvi.
+	 *
+	 * @param pool
+	 *            {@link ForkJoinPool} čije dretve računaju tablicu ili
+	 *            <code>null</code>
+	 * @return riječi tablice istinitosti
+	 * @throws IllegalArgumentException
+	 *             ukoliko izraz ima više od
+	 *             {@value #MAX_TRUTH_TABLE_VARIABLES} varijabli
+	 */
+	long[] truthTableWords(ForkJoinPool pool) {
+		if (variableCount > MAX_TRUTH_TABLE_VARIABLES) {
+			throw new IllegalArgumentException("Tablica istinitosti može se stvoriti za najviše "
+					+ MAX_TRUTH_TABLE_VARIABLES + " varijabli, a predano ih je: " + variableCount);
+		}
+
+		long[] words = new long[(int) blockCount()];
+		if (pool == null || words.length <= TruthTableTask.LEAF_BLOCKS) {
+			for (int block = 0; block < words.length; block++) {
+				words[block] = evaluateBlock(block);
+			}
+		} else {
+			pool.invoke(new TruthTableTask(compiled, words, 0, words.length));
+		}
+		return words;
+	}
+
+	/**
+	 * Pomoćna metoda koja neprepoznati unarni operator primjenjuje na svaki bit
+	 * riječi <b>word</b>.
+	 *
+	 * @param operator
+	 *            unarni operator
+	 * @param word
+	 *            riječ operanada
+	 * @return riječ rezultata
+	 */
+	private static long applyUnary(UnaryOperator<Boolean> operator, long word) {
+		long result = 0;
+		for (int lane = 0; lane < BLOCK_SIZE; lane++) {
+			if (operator.apply((word >>> lane & 1) != 0)) {
+				result |= 1L << lane;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Pomoćna metoda koja neprepoznati binarni operator primjenjuje na svaki
+	 * bit riječi s vrha stoga, jednakim redoslijedom kao
+	 * {@link ExpressionEvaluator}: od zadnjeg djeteta prema prvom.
+	 *
+	 * @param operator
+	 *            binarni operator
+	 * @param arity
+	 *            broj operanada
+	 * @param top
+	 *            indeks vrha stoga
+	 * @return novi indeks vrha stoga
+	 */
+	private int applyBinary(BinaryOperator<Boolean> operator, int arity, int top) {
+		int base = top - arity + 1;
+		long result = 0;
+		for (int lane = 0; lane < BLOCK_SIZE; lane++) {
+			boolean value = (stack[top] >>> lane & 1) != 0;
+			for (int i = top - 1; i >= base; i--) {
+				value = operator.apply(value, (stack[i] >>> lane & 1) != 0);
+			}
+			if (value) {
+				result |= 1L << lane;
+			}
+		}
+		stack[base] = result;
+		return base;
+	}
+}
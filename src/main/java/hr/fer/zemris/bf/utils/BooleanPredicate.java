@@ -0,0 +1,24 @@
+package hr.fer.zemris.bf.utils;
+
+/**
+ * Sučelje koje predstavlja logičku funkciju nad poljem primitivnih booleovih
+ * vrijednosti varijabli. Implementacije moraju biti bez stanja (ili
+ * nepromjenjive) kako bi se mogle dijeliti između dretvi.
+ * 
+ * @see CompiledExpression
+ * 
+ * @author Davor Češljaš
+ */
+@FunctionalInterface
+public interface BooleanPredicate {
+
+	/**
+	 * Metoda koja računa vrijednost funkcije za vrijednosti varijabli
+	 * <b>values</b>.
+	 *
+	 * @param values
+	 *            vrijednosti varijabli
+	 * @return vrijednost funkcije
+	 */
+	boolean test(boolean[] values);
+}
@@ -0,0 +1,360 @@
+package hr.fer.zemris.bf.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import hr.fer.zemris.bf.model.Node;
+
+/**
+ * Razred koji izraz prevodi u bajtkod Java virtualnog stroja. Za svaki izraz
+ * generira se zaseban razred koji implementira sučelje {@link BooleanPredicate}
+ * i čija metoda {@link BooleanPredicate#test(boolean[])} ne sadrži grananja,
+ * petlje ni pozive: svaka varijabla čita se naredbom <code>baload</code>, a
+ * operatori se računaju naredbama <code>iand</code>, <code>ior</code> i
+ * <code>ixor</code>. Takvu metodu JIT prevoditelj u cijelosti ugrađuje
+ * (<i>inline</i>) u pozivatelja.
+ * <p>
+ * Generirani razredi spremaju se u priručnu memoriju čiji je ključ program
+ * dobiven prevođenjem u {@link CompiledExpression}, tako da strukturno jednaki
+ * izrazi (neovisno o imenima varijabli) dijele isti razred. Ukoliko izraz
+ * sadrži operator koji nije prepoznat ili bi bajtkod bio veći od
+ * {@link #MAX_CODE_SIZE} byteova, vraća se sam {@link CompiledExpression},
+ * a program se također pamti kako se generiranje ne bi ponovno pokušavalo.
+ * Priručna memorija pamti najviše {@link #MAX_CACHE_SIZE} programa te
+ * izbacuje najdulje nekorišten.
+ * <p>
+ * Generirana metoda ne provjerava veličinu predanog polja, ono mora imati
+ * barem onoliko elemenata koliko izraz ima varijabli.
+ *
+ * @see CompiledExpression
+ * @see ClassFileWriter
+ *
+ * @author Davor Češljaš
+ */
+public final class BytecodeGenerator {
+
+	/**
+	 * Najveća veličina bajtkoda metode za koju se razred generira. Odgovara
+	 * granici iznad koje HotSpot JIT prevoditelj ne prevodi metode
+	 */
+	public static final int MAX_CODE_SIZE = 8000;
+
+	/** Najveći broj programa u priručnoj memoriji */
+	public static final int MAX_CACHE_SIZE = 1024;
+
+	/** Interno ime sučelja koje generirani razredi implementiraju */
+	private static final String INTERFACE_NAME = BooleanPredicate.class.getName().replace('.', '/');
+
+	/** Prefiks internih imena generiranih razreda */
+	private static final String CLASS_PREFIX = "hr/fer/zemris/bf/generated/Predicate";
+
+	/** Opisnik metode {@link BooleanPredicate#test(boolean[])} */
+	private static final String TEST_DESCRIPTOR = "([Z)Z";
+
+	/** Priručna memorija generiranih primjeraka */
+	private static final Map<ProgramKey, BooleanPredicate> CACHE = Collections.synchronizedMap(new LruCache());
+
+	/**
+	 * Oznaka koja se u priručnoj memoriji pamti za program za koji se razred
+	 * ne može generirati
+	 */
+	private static final BooleanPredicate NOT_GENERATED = values -> {
+		throw new IllegalStateException("Razred nije generiran!");
+	};
+
+	/** Brojač kojim se generiraju jedinstvena imena razreda */
+	private static final AtomicLong CLASS_COUNTER = new AtomicLong();
+
+	/**
+	 * Defaultni konstruktor koji brani stvaranje primjeraka ovog razreda. Ova
+	 * operacija je zabranjena jer ovaj razred predstavlja biblioteku statičkih
+	 * metoda.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             ukoliko korisnik pokuša stvoriti primjerak ovog razreda
+	 */
+	private BytecodeGenerator() {
+		throw new UnsupportedOperationException("Nemožete stvorit primjerka razreda: " + this.getClass());
+	}
+
+	/**
+	 * Metoda koja izraz <b>expression</b> nad varijablama <b>variables</b>
+	 * prevodi u generirani razred.
+	 *
+	 * @param expression
+	 *            vršni čvor izraza
+	 * @param variables
+	 *            {@link List} varijabli, redoslijed određuje značenje
+	 *            vrijednosti predanih metodi
+	 *            {@link BooleanPredicate#test(boolean[])}
+	 * @return primjerak generiranog razreda ili {@link CompiledExpression}
+	 *         ukoliko se razred ne može generirati
+	 * @throws IllegalStateException
+	 *             ukoliko se u izrazu pojavljuje varijabla koja nije unutar
+	 *             <b>variables</b>
+	 */
+	public static BooleanPredicate generate(Node expression, List<String> variables) {
+		return generate(CompiledExpression.compile(expression, variables));
+	}
+
+	/**
+	 * Metoda koja prevedeni izraz <b>compiled</b> prevodi u generirani razred.
+	 *
+	 * @param compiled
+	 *            prevedeni izraz
+	 * @return primjerak generiranog razreda ili <b>compiled</b> ukoliko se
+	 *         razred ne može generirati
+	 */
+	public static BooleanPredicate generate(CompiledExpression compiled) {
+		ProgramKey key = new ProgramKey(compiled.getCode());
+		BooleanPredicate predicate = CACHE.get(key);
+		if (predicate == null) {
+			byte[] code = emit(compiled);
+			predicate = code == null ? NOT_GENERATED : define(code, compiled.getMaxStack() + 1);
+			BooleanPredicate previous = CACHE.putIfAbsent(key, predicate);
+			predicate = previous == null ? predicate : previous;
+		}
+		return predicate == NOT_GENERATED ? compiled : predicate;
+	}
+
+	/**
+	 * Metoda koja dohvaća broj programa u priručnoj memoriji, uključujući
+	 * programe za koje se razred ne može generirati.
+	 *
+	 * @return broj programa u priručnoj memoriji
+	 */
+	public static int cacheSize() {
+		return CACHE.size();
+	}
+
+	/**
+	 * Metoda koja prazni priručnu memoriju. Razredi koji se više ne koriste
+	 * time postaju dostupni sakupljaču smeća.
+	 */
+	public static void clearCache() {
+		CACHE.clear();
+	}
+
+	/**
+	 * Pomoćna metoda koja program izraza <b>compiled</b> pretvara u bajtkod.
+	 *
+	 * @param compiled
+	 *            prevedeni izraz
+	 * @return bajtkod metode ili <code>null</code> ukoliko program sadrži
+	 *         neprepoznati operator ili je bajtkod prevelik
+	 */
+	private static byte[] emit(CompiledExpression compiled) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (int instruction : compiled.getCode()) {
+			int operand = instruction & CompiledExpression.OPERAND_MASK;
+			switch (instruction >>> CompiledExpression.OPERAND_BITS) {
+			case CompiledExpression.CONST_FALSE:
+				out.write(0x03); // iconst_0
+				break;
+			case CompiledExpression.CONST_TRUE:
+				out.write(0x04); // iconst_1
+				break;
+			case CompiledExpression.LOAD:
+				if (operand > Short.MAX_VALUE) {
+					return null;
+				}
+				out.write(0x2b); // aload_1
+				pushInt(out, operand);
+				out.write(0x33); // baload
+				break;
+			case CompiledExpression.NOT:
+				out.write(0x04); // iconst_1
+				out.write(0x82); // ixor
+				break;
+			case CompiledExpression.AND:
+				repeat(out, 0x7e, operand - 1); // iand
+				break;
+			case CompiledExpression.OR:
+				repeat(out, 0x80, operand - 1); // ior
+				break;
+			case CompiledExpression.XOR:
+				repeat(out, 0x82, operand - 1); // ixor
+				break;
+			default:
+				return null;
+			}
+
+			if (out.size() >= MAX_CODE_SIZE) {
+				return null;
+			}
+		}
+
+		out.write(0xac); // ireturn
+		return out.toByteArray();
+	}
+
+	/**
+	 * Pomoćna metoda koja zapisuje najkraću naredbu koja na stog stavlja
+	 * nenegativni broj <b>value</b> (najviše {@link Short#MAX_VALUE}).
+	 *
+	 * @param out
+	 *            izlaz bajtkoda
+	 * @param value
+	 *            broj koji se stavlja na stog
+	 */
+	private static void pushInt(ByteArrayOutputStream out, int value) {
+		if (value <= 5) {
+			out.write(0x03 + value); // iconst_<n>
+		} else if (value <= Byte.MAX_VALUE) {
+			out.write(0x10); // bipush
+			out.write(value);
+		} else {
+			out.write(0x11); // sipush
+			out.write(value >>> 8);
+			out.write(value);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja <b>count</b> puta zapisuje naredbu <b>opcode</b>.
+	 *
+	 * @param out
+	 *            izlaz bajtkoda
+	 * @param opcode
+	 *            naredba
+	 * @param count
+	 *            broj ponavljanja
+	 */
+	private static void repeat(ByteArrayOutputStream out, int opcode, int count) {
+		for (int i = 0; i < count; i++) {
+			out.write(opcode);
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara razred s metodom čiji je bajtkod <b>code</b>,
+	 * učitava ga i stvara njegov primjerak. Svaki razred učitava zaseban
+	 * {@link ClassLoader} kako bi se razred mogao ukloniti iz memorije nakon
+	 * pražnjenja priručne memorije.
+	 *
+	 * @param code
+	 *            bajtkod metode {@link BooleanPredicate#test(boolean[])}
+	 * @param maxStack
+	 *            najveća dubina stoga operanada
+	 * @return primjerak generiranog razreda
+	 * @throws IllegalStateException
+	 *             ukoliko se razred ne može učitati
+	 */
+	private static BooleanPredicate define(byte[] code, int maxStack) {
+		String className = CLASS_PREFIX + CLASS_COUNTER.incrementAndGet();
+		ClassFileWriter writer = new ClassFileWriter(className, INTERFACE_NAME);
+		writer.addDefaultConstructor();
+		writer.addMethod(0x0001, "test", TEST_DESCRIPTOR, maxStack, 2, code);
+
+		try {
+			Class<?> generated = new GeneratedClassLoader().define(className.replace('/', '.'),
+					writer.toByteArray());
+			return (BooleanPredicate) generated.getConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			throw new IllegalStateException("Nisam uspio učitati generirani razred: " + className, e);
+		}
+	}
+
+	/**
+	 * {@link ClassLoader} koji učitava jedan generirani razred. Roditelj mu je
+	 * {@link ClassLoader} koji je učitao sučelje {@link BooleanPredicate}.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class GeneratedClassLoader extends ClassLoader {
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda.
+		 */
+		public GeneratedClassLoader() {
+			super(BooleanPredicate.class.getClassLoader());
+		}
+
+		/**
+		 * Metoda koja učitava razred imena <b>name</b> iz datoteke razreda
+		 * <b>bytes</b>.
+		 *
+		 * @param name
+		 *            ime razreda
+		 * @param bytes
+		 *            sadržaj datoteke razreda
+		 * @return učitani razred
+		 */
+		public Class<?> define(String name, byte[] bytes) {
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+	/**
+	 * Priručna memorija koja pamti najviše {@link #MAX_CACHE_SIZE} programa
+	 * i pri dodavanju novog izbacuje najdulje nekorišten program.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class LruCache extends LinkedHashMap<ProgramKey, BooleanPredicate> {
+
+		/** Konstanta serialVersionUID. */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda s poretkom
+		 * pristupa.
+		 */
+		public LruCache() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ProgramKey, BooleanPredicate> eldest) {
+			return size() > MAX_CACHE_SIZE;
+		}
+	}
+
+	/**
+	 * Ključ priručne memorije koji predstavlja program prevedenog izraza.
+	 * Dva ključa su jednaka ako su im programi jednaki.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class ProgramKey {
+
+		/** Instrukcije programa */
+		private final int[] code;
+
+		/** Sažetak programa */
+		private final int hash;
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda.
+		 *
+		 * @param code
+		 *            instrukcije programa
+		 */
+		public ProgramKey(int[] code) {
+			this.code = code;
+			this.hash = Arrays.hashCode(code);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ProgramKey)) {
+				return false;
+			}
+			ProgramKey other = (ProgramKey) obj;
+			return hash == other.hash && Arrays.equals(code, other.code);
+		}
+	}
+}
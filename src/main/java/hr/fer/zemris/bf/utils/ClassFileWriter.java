@@ -0,0 +1,257 @@
+package hr.fer.zemris.bf.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Razred predstavlja minimalni zapisivač datoteka razreda (<i>class file</i>)
+ * za Java virtualni stroj. Podržava točno ono što je potrebno generatoru
+ * izraza: jedan javni završni razred koji nasljeđuje {@link Object},
+ * implementira jedno sučelje i sadrži metode bez grananja (zbog čega nije
+ * potreban atribut <code>StackMapTable</code>). Konstante se u bazenu
+ * konstanti ne ponavljaju.
+ * 
+ * @author Davor Češljaš
+ */
+final class ClassFileWriter {
+
+	/** Glavna verzija datoteke razreda (Java 8) */
+	private static final int MAJOR_VERSION = 52;
+
+	/** Oznake pristupa razreda: public, final i super */
+	private static final int CLASS_ACCESS = 0x0001 | 0x0010 | 0x0020;
+
+	/** Oznaka konstante tipa Utf8 */
+	private static final int CONSTANT_UTF8 = 1;
+
+	/** Oznaka konstante tipa Class */
+	private static final int CONSTANT_CLASS = 7;
+
+	/** Oznaka konstante tipa Methodref */
+	private static final int CONSTANT_METHODREF = 10;
+
+	/** Oznaka konstante tipa NameAndType */
+	private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+	/** Zapisani bazen konstanti (bez broja konstanti) */
+	private ByteArrayOutputStream constantPool = new ByteArrayOutputStream();
+
+	/** Izlaz bazena konstanti */
+	private DataOutputStream pool = new DataOutputStream(constantPool);
+
+	/** Već zapisane konstante i njihovi indeksi */
+	private Map<String, Integer> constants = new HashMap<>();
+
+	/** Sljedeći slobodni indeks bazena konstanti */
+	private int nextIndex = 1;
+
+	/** Indeks konstante razreda koji se zapisuje */
+	private int thisClass;
+
+	/** Indeks konstante nadrazreda */
+	private int superClass;
+
+	/** Indeks konstante sučelja */
+	private int interfaceClass;
+
+	/** Zapisane metode */
+	private List<byte[]> methods = new ArrayList<>();
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param className
+	 *            interno ime razreda (s kosim crtama)
+	 * @param interfaceName
+	 *            interno ime sučelja koje razred implementira
+	 */
+	ClassFileWriter(String className, String interfaceName) {
+		thisClass = classConstant(className);
+		superClass = classConstant("java/lang/Object");
+		interfaceClass = classConstant(interfaceName);
+	}
+
+	/**
+	 * Metoda koja dodaje javni konstruktor bez argumenata koji samo poziva
+	 * konstruktor razreda {@link Object}.
+	 */
+	void addDefaultConstructor() {
+		int objectInit = methodConstant("java/lang/Object", "<init>", "()V");
+		byte[] code = { 0x2a, (byte) 0xb7, (byte) (objectInit >>> 8), (byte) objectInit, (byte) 0xb1 };
+		addMethod(0x0001, "<init>", "()V", 1, 1, code);
+	}
+
+	/**
+	 * Metoda koja dodaje metodu s predanim bajtkodom <b>code</b>.
+	 *
+	 * @param access
+	 *            oznake pristupa metode
+	 * @param name
+	 *            ime metode
+	 * @param descriptor
+	 *            opisnik metode
+	 * @param maxStack
+	 *            najveća dubina stoga operanada
+	 * @param maxLocals
+	 *            broj lokalnih varijabli (uključujući <code>this</code>)
+	 * @param code
+	 *            bajtkod metode
+	 */
+	void addMethod(int access, String name, String descriptor, int maxStack, int maxLocals, byte[] code) {
+		int nameIndex = utf8Constant(name);
+		int descriptorIndex = utf8Constant(descriptor);
+		int codeIndex = utf8Constant("Code");
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeShort(access);
+			out.writeShort(nameIndex);
+			out.writeShort(descriptorIndex);
+			out.writeShort(1);
+			out.writeShort(codeIndex);
+			out.writeInt(12 + code.length);
+			out.writeShort(maxStack);
+			out.writeShort(maxLocals);
+			out.writeInt(code.length);
+			out.write(code);
+			out.writeShort(0);
+			out.writeShort(0);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		methods.add(bytes.toByteArray());
+	}
+
+	/**
+	 * Metoda koja zapisuje čitavu datoteku razreda.
+	 *
+	 * @return sadržaj datoteke razreda
+	 */
+	byte[] toByteArray() {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(0xCAFEBABE);
+			out.writeShort(0);
+			out.writeShort(MAJOR_VERSION);
+			out.writeShort(nextIndex);
+			constantPool.writeTo(out);
+			out.writeShort(CLASS_ACCESS);
+			out.writeShort(thisClass);
+			out.writeShort(superClass);
+			out.writeShort(1);
+			out.writeShort(interfaceClass);
+			out.writeShort(0);
+			out.writeShort(methods.size());
+			for (byte[] method : methods) {
+				out.write(method);
+			}
+			out.writeShort(0);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća (i po potrebi zapisuje) konstantu tipa Utf8.
+	 *
+	 * @param value
+	 *            vrijednost konstante
+	 * @return indeks konstante
+	 */
+	private int utf8Constant(String value) {
+		return constant("U" + value, () -> {
+			pool.writeByte(CONSTANT_UTF8);
+			pool.writeUTF(value);
+		});
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća (i po potrebi zapisuje) konstantu tipa
+	 * Class.
+	 *
+	 * @param internalName
+	 *            interno ime razreda
+	 * @return indeks konstante
+	 */
+	private int classConstant(String internalName) {
+		int name = utf8Constant(internalName);
+		return constant("C" + internalName, () -> {
+			pool.writeByte(CONSTANT_CLASS);
+			pool.writeShort(name);
+		});
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća (i po potrebi zapisuje) konstantu tipa
+	 * Methodref.
+	 *
+	 * @param owner
+	 *            interno ime razreda koji sadrži metodu
+	 * @param name
+	 *            ime metode
+	 * @param descriptor
+	 *            opisnik metode
+	 * @return indeks konstante
+	 */
+	private int methodConstant(String owner, String name, String descriptor) {
+		int ownerIndex = classConstant(owner);
+		int nameIndex = utf8Constant(name);
+		int descriptorIndex = utf8Constant(descriptor);
+		int nameAndType = constant("N" + name + ":" + descriptor, () -> {
+			pool.writeByte(CONSTANT_NAME_AND_TYPE);
+			pool.writeShort(nameIndex);
+			pool.writeShort(descriptorIndex);
+		});
+		return constant("M" + owner + "." + name + ":" + descriptor, () -> {
+			pool.writeByte(CONSTANT_METHODREF);
+			pool.writeShort(ownerIndex);
+			pool.writeShort(nameAndType);
+		});
+	}
+
+	/**
+	 * Pomoćna metoda koja vraća indeks konstante s ključem <b>key</b>, a
+	 * ukoliko ona ne postoji zapisuje ju strategijom <b>writer</b>.
+	 *
+	 * @param key
+	 *            jedinstveni ključ konstante
+	 * @param writer
+	 *            strategija koja zapisuje konstantu u bazen
+	 * @return indeks konstante
+	 */
+	private int constant(String key, ConstantWriter writer) {
+		Integer index = constants.get(key);
+		if (index != null) {
+			return index;
+		}
+		try {
+			writer.write();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		constants.put(key, nextIndex);
+		return nextIndex++;
+	}
+
+	/**
+	 * Sučelje strategije koja zapisuje jednu konstantu u bazen konstanti.
+	 */
+	@FunctionalInterface
+	private interface ConstantWriter {
+
+		/**
+		 * Metoda koja zapisuje konstantu.
+		 *
+		 * @throws IOException
+		 *             ukoliko zapisivanje ne uspije
+		 */
+		void write() throws IOException;
+	}
+}
@@ -0,0 +1,403 @@
+package hr.fer.zemris.bf.utils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+import hr.fer.zemris.bf.model.Node;
+
+/**
+ * Razred predstavlja logički izraz preveden u plosnati program u postfiksnom
+ * obliku. Program je polje instrukcija (operacijski kod i operand) koje se
+ * izvode nad stogom primitivnih <code>boolean</code> vrijednosti, bez
+ * stvaranja objekata i bez sinkronizacije. Primjerci ovog razreda su
+ * nepromjenjivi i mogu se dijeliti između dretvi, a svaka dretva za izračun
+ * koristi vlastiti pomoćni stog (vidi {@link #newStack()}). Razred
+ * implementira sučelje {@link BooleanPredicate}.
+ * <p>
+ * Primjerke ovog razreda stvara {@link ExpressionCompiler}, a najlakše ih je
+ * dobiti metodom {@link #compile(Node, List)}.
+ * 
+ * @see ExpressionCompiler
+ * 
+ * @author Davor Češljaš
+ */
+public final class CompiledExpression implements BooleanPredicate {
+
+	/** Operacijski kod: na stog stavi <code>false</code> */
+	static final int CONST_FALSE = 0;
+
+	/** Operacijski kod: na stog stavi <code>true</code> */
+	static final int CONST_TRUE = 1;
+
+	/** Operacijski kod: na stog stavi vrijednost varijable (operand) */
+	static final int LOAD = 2;
+
+	/** Operacijski kod: negiraj vrh stoga */
+	static final int NOT = 3;
+
+	/** Operacijski kod: logičko I nad operand vrijednosti s vrha stoga */
+	static final int AND = 4;
+
+	/** Operacijski kod: logičko ILI nad operand vrijednosti s vrha stoga */
+	static final int OR = 5;
+
+	/** Operacijski kod: isključivo ILI nad operand vrijednosti s vrha stoga */
+	static final int XOR = 6;
+
+	/**
+	 * Operacijski kod: nepoznati unarni operator (operand je indeks u
+	 * {@link #unaryOperators})
+	 */
+	static final int APPLY_UNARY = 7;
+
+	/**
+	 * Operacijski kod: nepoznati binarni operator (operand je indeks u
+	 * {@link #binaryOperators} i {@link #arities})
+	 */
+	static final int APPLY_BINARY = 8;
+
+	/** Broj bitova koje zauzima operand unutar instrukcije */
+	static final int OPERAND_BITS = 24;
+
+	/** Maska kojom se iz instrukcije izdvaja operand */
+	static final int OPERAND_MASK = (1 << OPERAND_BITS) - 1;
+
+	/** Instrukcije programa */
+	private final int[] code;
+
+	/** Varijable izraza, redoslijed odgovara operandima instrukcije LOAD */
+	private final List<String> variables;
+
+	/** Najveća dubina stoga tijekom izvođenja */
+	private final int maxStack;
+
+	/** Unarni operatori koje prevoditelj nije prepoznao */
+	private final UnaryOperator<Boolean>[] unaryOperators;
+
+	/** Binarni operatori koje prevoditelj nije prepoznao */
+	private final BinaryOperator<Boolean>[] binaryOperators;
+
+	/** Broj operanada pojedinog operatora iz {@link #binaryOperators} */
+	private final int[] arities;
+
+	/** Pomoćni stog svake dretve */
+	private final ThreadLocal<boolean[]> stacks;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Poziva ga
+	 * isključivo {@link ExpressionCompiler}.
+	 *
+	 * @param code
+	 *            instrukcije programa
+	 * @param variables
+	 *            varijable izraza
+	 * @param maxStack
+	 *            najveća dubina stoga
+	 * @param unaryOperators
+	 *            neprepoznati unarni operatori
+	 * @param binaryOperators
+	 *            neprepoznati binarni operatori
+	 * @param arities
+	 *            broj operanada neprepoznatih binarnih operatora
+	 */
+	CompiledExpression(int[] code, List<String> variables, int maxStack, UnaryOperator<Boolean>[] unaryOperators,
+			BinaryOperator<Boolean>[] binaryOperators, int[] arities) {
+		this.code = code;
+		this.variables = Collections.unmodifiableList(variables);
+		this.maxStack = maxStack;
+		this.unaryOperators = unaryOperators;
+		this.binaryOperators = binaryOperators;
+		this.arities = arities;
+		this.stacks = ThreadLocal.withInitial(this::newStack);
+	}
+
+	/**
+	 * Metoda koja prevodi izraz <b>expression</b> nad varijablama
+	 * <b>variables</b>.
+	 *
+	 * @param expression
+	 *            vršni čvor izraza
+	 * @param variables
+	 *            {@link List} varijabli, redoslijed određuje značenje
+	 *            vrijednosti predanih metodama za izračun
+	 * @return prevedeni izraz
+	 * @throws IllegalStateException
+	 *             ukoliko se u izrazu pojavljuje varijabla koja nije unutar
+	 *             <b>variables</b>
+	 */
+	public static CompiledExpression compile(Node expression, List<String> variables) {
+		ExpressionCompiler compiler = new ExpressionCompiler(variables);
+		expression.accept(compiler);
+		return compiler.getCompiledExpression();
+	}
+
+	/**
+	 * Metoda koja dohvaća varijable izraza.
+	 *
+	 * @return nepromjenjiva {@link List} varijabli izraza
+	 */
+	public List<String> getVariables() {
+		return variables;
+	}
+
+	/**
+	 * Metoda koja stvara novi pomoćni stog dovoljne veličine za izvođenje ovog
+	 * programa.
+	 *
+	 * @return novi pomoćni stog
+	 */
+	public boolean[] newStack() {
+		return new boolean[Math.max(1, maxStack)];
+	}
+
+	/**
+	 * Metoda koja računa vrijednost izraza za vrijednosti varijabli
+	 * <b>values</b>, koristeći pomoćni stog trenutne dretve.
+	 *
+	 * @param values
+	 *            vrijednosti varijabli redoslijedom iz {@link #getVariables()}
+	 * @return vrijednost izraza
+	 * @throws IllegalArgumentException
+	 *             ukoliko je predan pogrešan broj vrijednosti
+	 */
+	public boolean evaluate(boolean[] values) {
+		return evaluate(values, stacks.get());
+	}
+
+	@Override
+	public boolean test(boolean[] values) {
+		return evaluate(values, stacks.get());
+	}
+
+	/**
+	 * Metoda koja računa vrijednost izraza za vrijednosti varijabli
+	 * <b>values</b>, koristeći predani pomoćni stog <b>stack</b> (dobiven
+	 * metodom {@link #newStack()}).
+	 *
+	 * @param values
+	 *            vrijednosti varijabli redoslijedom iz {@link #getVariables()}
+	 * @param stack
+	 *            pomoćni stog
+	 * @return vrijednost izraza
+	 * @throws IllegalArgumentException
+	 *             ukoliko je predan pogrešan broj vrijednosti
+	 */
+	public boolean evaluate(boolean[] values, boolean[] stack) {
+		if (values.length != variables.size()) {
+			throw new IllegalArgumentException(
+					String.format("Predali ste netočan broj booleovih vrijednosti. Tražio sam: %d dobio sam: %d",
+							variables.size(), values.length));
+		}
+		int top = -1;
+		for (int instruction : code) {
+			int operand = instruction & OPERAND_MASK;
+			switch (instruction >>> OPERAND_BITS) {
+			case CONST_FALSE:
+				stack[++top] = false;
+				break;
+			case CONST_TRUE:
+				stack[++top] = true;
+				break;
+			case LOAD:
+				stack[++top] = values[operand];
+				break;
+			default:
+				top = execute(instruction, operand, stack, top);
+			}
+		}
+		return stack[0];
+	}
+
+	/**
+	 * Metoda koja računa vrijednost izraza za kombinaciju varijabli s rednim
+	 * brojem <b>assignment</b> u tablici istinitosti: varijabli na poziciji
+	 * <i>i</i> odgovara bit <i>n - 1 - i</i> (najdesnija varijabla je najniži
+	 * bit).
+	 *
+	 * @param assignment
+	 *            redni broj kombinacije u tablici istinitosti
+	 * @return vrijednost izraza
+	 */
+	public boolean evaluate(long assignment) {
+		boolean[] stack = stacks.get();
+		int last = variables.size() - 1;
+		int top = -1;
+		for (int instruction : code) {
+			int operand = instruction & OPERAND_MASK;
+			switch (instruction >>> OPERAND_BITS) {
+			case CONST_FALSE:
+				stack[++top] = false;
+				break;
+			case CONST_TRUE:
+				stack[++top] = true;
+				break;
+			case LOAD:
+				stack[++top] = (assignment >>> (last - operand) & 1) != 0;
+				break;
+			default:
+				top = execute(instruction, operand, stack, top);
+			}
+		}
+		return stack[0];
+	}
+
+	/**
+	 * Pomoćna metoda koja izvodi instrukcije operatora nad stogom.
+	 *
+	 * @param instruction
+	 *            instrukcija
+	 * @param operand
+	 *            operand instrukcije
+	 * @param stack
+	 *            pomoćni stog
+	 * @param top
+	 *            indeks vrha stoga
+	 * @return novi indeks vrha stoga
+	 */
+	private int execute(int instruction, int operand, boolean[] stack, int top) {
+		switch (instruction >>> OPERAND_BITS) {
+		case NOT:
+			stack[top] = !stack[top];
+			return top;
+		case AND: {
+			int base = top - operand + 1;
+			boolean result = stack[base];
+			for (int i = base + 1; i <= top; i++) {
+				result &= stack[i];
+			}
+			stack[base] = result;
+			return base;
+		}
+		case OR: {
+			int base = top - operand + 1;
+			boolean result = stack[base];
+			for (int i = base + 1; i <= top; i++) {
+				result |= stack[i];
+			}
+			stack[base] = result;
+			return base;
+		}
+		case XOR: {
+			int base = top - operand + 1;
+			boolean result = stack[base];
+			for (int i = base + 1; i <= top; i++) {
+				result ^= stack[i];
+			}
+			stack[base] = result;
+			return base;
+		}
+		case APPLY_UNARY:
+			stack[top] = unaryOperators[operand].apply(stack[top]);
+			return top;
+		case APPLY_BINARY: {
+			// jednak redoslijed primjene kao u ExpressionEvaluatoru: od zadnjeg djeteta prema prvom
+			int base = top - arities[operand] + 1;
+			BinaryOperator<Boolean> operator = binaryOperators[operand];
+			boolean result = stack[top];
+			for (int i = top - 1; i >= base; i--) {
+				result = operator.apply(result, stack[i]);
+			}
+			stack[base] = result;
+			return base;
+		}
+		default:
+			throw new IllegalStateException("Nepoznata instrukcija: " + instruction);
+		}
+	}
+
+	/**
+	 * Metoda koja dohvaća instrukcije programa. Metoda ne kopira polje.
+	 *
+	 * @return instrukcije programa
+	 */
+	int[] getCode() {
+		return code;
+	}
+
+	/**
+	 * Metoda koja dohvaća najveću dubinu stoga.
+	 *
+	 * @return najveća dubina stoga
+	 */
+	int getMaxStack() {
+		return maxStack;
+	}
+
+	/**
+	 * Metoda koja dohvaća neprepoznati unarni operator s indeksom
+	 * <b>index</b>.
+	 *
+	 * @param index
+	 *            indeks operatora
+	 * @return neprepoznati unarni operator
+	 */
+	UnaryOperator<Boolean> getUnaryOperator(int index) {
+		return unaryOperators[index];
+	}
+
+	/**
+	 * Metoda koja dohvaća neprepoznati binarni operator s indeksom
+	 * <b>index</b>.
+	 *
+	 * @param index
+	 *            indeks operatora
+	 * @return neprepoznati binarni operator
+	 */
+	BinaryOperator<Boolean> getBinaryOperator(int index) {
+		return binaryOperators[index];
+	}
+
+	/**
+	 * Metoda koja dohvaća broj operanada neprepoznatog binarnog operatora s
+	 * indeksom <b>index</b>.
+	 *
+	 * @param index
+	 *            indeks operatora
+	 * @return broj operanada
+	 */
+	int getArity(int index) {
+		return arities[index];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (int instruction : code) {
+			int operand = instruction & OPERAND_MASK;
+			if (sb.length() != 0) {
+				sb.append(' ');
+			}
+			switch (instruction >>> OPERAND_BITS) {
+			case CONST_FALSE:
+				sb.append('0');
+				break;
+			case CONST_TRUE:
+				sb.append('1');
+				break;
+			case LOAD:
+				sb.append(variables.get(operand));
+				break;
+			case NOT:
+				sb.append("NOT");
+				break;
+			case AND:
+				sb.append("AND/").append(operand);
+				break;
+			case OR:
+				sb.append("OR/").append(operand);
+				break;
+			case XOR:
+				sb.append("XOR/").append(operand);
+				break;
+			case APPLY_UNARY:
+				sb.append("U").append(operand);
+				break;
+			default:
+				sb.append("B").append(operand).append('/').append(arities[operand]);
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,177 @@
+package hr.fer.zemris.bf.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.BinaryOperatorType;
+import hr.fer.zemris.bf.model.ConstantNode;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.NodeVisitor;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.UnaryOperatorType;
+import hr.fer.zemris.bf.model.VariableNode;
+
+/**
+ * Razred koji implementira sučelje {@link NodeVisitor}. Ovaj posjetitelj
+ * prevodi stablo izraza u plosnati program u postfiksnom obliku
+ * ({@link CompiledExpression}). Operatori "and", "or", "xor" i "not"
+ * (prepoznati metodama {@link BinaryOperatorType#of(BinaryOperatorNode)} i
+ * {@link UnaryOperatorType#of(UnaryOperatorNode)}) prevode se u zasebne
+ * instrukcije, a svi ostali operatori u instrukcije koje pozivaju strategiju
+ * pohranjenu u čvoru.
+ * Rezultat se dohvaća metodom {@link #getCompiledExpression()}.
+ * 
+ * @see CompiledExpression
+ * 
+ * @author Davor Češljaš
+ */
+public class ExpressionCompiler implements NodeVisitor {
+
+	/** Varijable izraza */
+	private List<String> variables;
+
+	/** {@link Map}a koja ime varijable preslikava u redni broj */
+	private Map<String, Integer> positions;
+
+	/** Instrukcije koje se generiraju */
+	private int[] code = new int[16];
+
+	/** Broj generiranih instrukcija */
+	private int size;
+
+	/** Trenutna dubina stoga */
+	private int depth;
+
+	/** Najveća dubina stoga */
+	private int maxStack;
+
+	/** Neprepoznati unarni operatori */
+	private List<UnaryOperator<Boolean>> unaryOperators = new ArrayList<>();
+
+	/** Neprepoznati binarni operatori */
+	private List<BinaryOperator<Boolean>> binaryOperators = new ArrayList<>();
+
+	/** Broj operanada neprepoznatih binarnih operatora */
+	private List<Integer> arities = new ArrayList<>();
+
+	/** Rezultat prevođenja */
+	private CompiledExpression compiled;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param variables
+	 *            {@link List} varijabli koji se nalaze unutar izraza
+	 */
+	public ExpressionCompiler(List<String> variables) {
+		this.variables = new ArrayList<>(variables);
+		positions = new HashMap<>(variables.size());
+		for (int i = 0, len = variables.size(); i < len; i++) {
+			positions.put(variables.get(i), i);
+		}
+	}
+
+	@Override
+	public void visit(ConstantNode node) {
+		emit(node.getValue() ? CompiledExpression.CONST_TRUE : CompiledExpression.CONST_FALSE, 0, 1);
+	}
+
+	@Override
+	public void visit(VariableNode node) {
+		Integer position = positions.get(node.getName());
+		if (position == null) {
+			throw new IllegalStateException("Unutar predanih varijabli ne postoji varijabla: " + node.getName());
+		}
+		emit(CompiledExpression.LOAD, position, 1);
+	}
+
+	@Override
+	public void visit(UnaryOperatorNode node) {
+		node.getChild().accept(this);
+		if (UnaryOperatorType.of(node) == UnaryOperatorType.NOT) {
+			emit(CompiledExpression.NOT, 0, 0);
+		} else {
+			emit(CompiledExpression.APPLY_UNARY, unaryOperators.size(), 0);
+			unaryOperators.add(node.getOperator());
+		}
+	}
+
+	@Override
+	public void visit(BinaryOperatorNode node) {
+		List<Node> children = node.getChildren();
+		children.forEach(child -> child.accept(this));
+
+		int count = children.size();
+		BinaryOperatorType type = BinaryOperatorType.of(node);
+		if (type == null) {
+			emit(CompiledExpression.APPLY_BINARY, binaryOperators.size(), 1 - count);
+			binaryOperators.add(node.getOperator());
+			arities.add(count);
+			return;
+		}
+
+		switch (type) {
+		case AND:
+			emit(CompiledExpression.AND, count, 1 - count);
+			break;
+		case OR:
+			emit(CompiledExpression.OR, count, 1 - count);
+			break;
+		default:
+			emit(CompiledExpression.XOR, count, 1 - count);
+		}
+	}
+
+	/**
+	 * Metoda koja dohvaća rezultat prevođenja. Nakon prvog poziva ove metode
+	 * primjerak ovog razreda više se ne smije koristiti za obilazak.
+	 *
+	 * @return prevedeni izraz
+	 * @throws IllegalStateException
+	 *             ukoliko niti jedan izraz nije preveden
+	 */
+	@SuppressWarnings("unchecked")
+	public CompiledExpression getCompiledExpression() {
+		if (compiled == null) {
+			if (depth != 1) {
+				throw new IllegalStateException("Prevođenje nije uspjelo. Na stogu je " + depth + " elemenata");
+			}
+			int[] arityArray = arities.stream().mapToInt(Integer::intValue).toArray();
+			compiled = new CompiledExpression(Arrays.copyOf(code, size), variables, maxStack,
+					unaryOperators.toArray((UnaryOperator<Boolean>[]) new UnaryOperator<?>[unaryOperators.size()]),
+					binaryOperators.toArray((BinaryOperator<Boolean>[]) new BinaryOperator<?>[binaryOperators.size()]),
+					arityArray);
+		}
+		return compiled;
+	}
+
+	/**
+	 * Pomoćna metoda koja dodaje jednu instrukciju i prati dubinu stoga.
+	 *
+	 * @param opcode
+	 *            operacijski kod
+	 * @param operand
+	 *            operand
+	 * @param stackChange
+	 *            promjena dubine stoga nakon izvođenja instrukcije
+	 * @throws IllegalStateException
+	 *             ukoliko operand ne stane u instrukciju
+	 */
+	private void emit(int opcode, int operand, int stackChange) {
+		if (operand > CompiledExpression.OPERAND_MASK) {
+			throw new IllegalStateException("Izraz je prevelik za prevođenje!");
+		}
+		if (size == code.length) {
+			code = Arrays.copyOf(code, 2 * size);
+		}
+		code[size++] = opcode << CompiledExpression.OPERAND_BITS | operand;
+		depth += stackChange;
+		maxStack = Math.max(maxStack, depth);
+	}
+}
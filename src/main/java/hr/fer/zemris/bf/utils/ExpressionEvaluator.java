@@ -1,13 +1,17 @@
 package hr.fer.zemris.bf.utils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
 import java.util.function.BinaryOperator;
 
 import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.BinaryOperatorType;
 import hr.fer.zemris.bf.model.ConstantNode;
 import hr.fer.zemris.bf.model.Node;
 import hr.fer.zemris.bf.model.NodeVisitor;
@@ -18,6 +22,13 @@ import hr.fer.zemris.bf.model.VariableNode;
  * Razred koji implementira sučelje {@link NodeVisitor}. Ovaj razred predstavlja
  * konkretnog posjetitelja. Zadaća ovog posjetitelja jest izračun vrijednosti
  * izraza za zadanu kombinaciju ulaznih varijabli.
+ * <p>
+ * U načinu skraćenog izračuna (vidi
+ * {@link #ExpressionEvaluator(List, boolean)}) djeca operatora "and" i "or"
+ * izračunavaju se redom od najjeftinijeg (s najmanje čvorova u podstablu) i
+ * izračun se prekida čim neko dijete ima upravljačku vrijednost operatora
+ * (vidi {@link BinaryOperatorType#getControllingValue()}). Preskočena djeca
+ * se ne obilaze, pa se npr. nepoznata varijabla unutar njih ne prijavljuje.
  * 
  * @see NodeVisitor
  * 
@@ -45,6 +56,15 @@ public class ExpressionEvaluator implements NodeVisitor {
 	 */
 	private Stack<Boolean> stack = new Stack<>();
 
+	/** Zastavica koja određuje koristi li se skraćeni izračun */
+	private boolean shortCircuit;
+
+	/**
+	 * Djeca operatora "and" i "or" poredana po procijenjenoj cijeni. Koristi se
+	 * samo u načinu skraćenog izračuna
+	 */
+	private Map<BinaryOperatorNode, List<Node>> orders = new IdentityHashMap<>();
+
 	/**
 	 * Konstruktor koji inicijalizira primjerak ovog razreda. U konstruktoru se
 	 * stvara {@link Map} koji ime varijable preslikava u redni broj. Taj redni
@@ -55,10 +75,26 @@ public class ExpressionEvaluator implements NodeVisitor {
 	 *            {@link List} varijabli koji se nalaze unutar parsiranog izraza
 	 */
 	public ExpressionEvaluator(List<String> variables) {
+		this(variables, false);
+	}
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda (vidi
+	 * {@link #ExpressionEvaluator(List)}). Ukoliko je zastavica
+	 * <b>shortCircuit</b> postavljena, operatori "and" i "or" izračunavaju se
+	 * skraćeno, od najjeftinijeg djeteta prema najskupljem.
+	 * 
+	 * @param variables
+	 *            {@link List} varijabli koji se nalaze unutar parsiranog izraza
+	 * @param shortCircuit
+	 *            zastavica koja određuje koristi li se skraćeni izračun
+	 */
+	public ExpressionEvaluator(List<String> variables, boolean shortCircuit) {
 		positions = new HashMap<>(variables.size());
 		for (int i = 0, len = variables.size(); i < len; i++) {
 			positions.put(variables.get(i), i);
 		}
+		this.shortCircuit = shortCircuit;
 	}
 
 	/**
@@ -103,6 +139,14 @@ public class ExpressionEvaluator implements NodeVisitor {
 	}
 
 	public void visit(BinaryOperatorNode node) {
+		if (shortCircuit) {
+			BinaryOperatorType type = BinaryOperatorType.of(node);
+			if (type != null && type.isShortCircuiting()) {
+				performShortCircuit(node, type.getControllingValue());
+				return;
+			}
+		}
+
 		List<Node> children = node.getChildren();
 		children.forEach(child -> child.accept(this));
 
@@ -129,6 +173,71 @@ public class ExpressionEvaluator implements NodeVisitor {
 		stack.push(result);
 	}
 
+	/**
+	 * Pomoćna metoda metodi {@link #visit(BinaryOperatorNode)} koja djecu
+	 * čvora <b>node</b> obilazi redom od najjeftinijeg i prekida obilazak čim
+	 * neko dijete ima vrijednost <b>controllingValue</b>.
+	 *
+	 * @param node
+	 *            čvor operatora "and" ili "or"
+	 * @param controllingValue
+	 *            upravljačka vrijednost operatora
+	 */
+	private void performShortCircuit(BinaryOperatorNode node, boolean controllingValue) {
+		List<Node> children = orders.get(node);
+		if (children == null) {
+			children = new ArrayList<>(node.getChildren());
+			children.sort(Comparator.comparingInt(ExpressionEvaluator::cost));
+			orders.put(node, children);
+		}
+
+		for (int i = 0, len = children.size(); i < len; i++) {
+			children.get(i).accept(this);
+			if (stack.pop() == controllingValue) {
+				stack.push(controllingValue);
+				return;
+			}
+		}
+		stack.push(!controllingValue);
+	}
+
+	/**
+	 * Pomoćna metoda koja procjenjuje cijenu izračuna izraza <b>node</b> kao
+	 * broj čvorova njegovog stabla.
+	 *
+	 * @param node
+	 *            vršni čvor izraza
+	 * @return procijenjena cijena izračuna
+	 */
+	static int cost(Node node) {
+		int[] count = { 0 };
+		node.accept(new NodeVisitor() {
+
+			@Override
+			public void visit(ConstantNode node) {
+				count[0]++;
+			}
+
+			@Override
+			public void visit(VariableNode node) {
+				count[0]++;
+			}
+
+			@Override
+			public void visit(UnaryOperatorNode node) {
+				count[0]++;
+				node.getChild().accept(this);
+			}
+
+			@Override
+			public void visit(BinaryOperatorNode node) {
+				count[0]++;
+				node.getChildren().forEach(child -> child.accept(this));
+			}
+		});
+		return count[0];
+	}
+
 	/**
 	 * Metoda koja služi za reinicijalizaciju primjerka ovog razreda čime se
 	 * interni stog briše i tako priprema za provođenje novog izračuna. Metodu
@@ -0,0 +1,295 @@
+package hr.fer.zemris.bf.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.BinaryOperatorType;
+import hr.fer.zemris.bf.model.ConstantNode;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.NodeVisitor;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.UnaryOperatorType;
+import hr.fer.zemris.bf.model.VariableNode;
+
+/**
+ * Razred koji stablo izraza predstavlja poljima čvorova numeriranih u
+ * postorder poretku (djeca uvijek imaju manji redni broj od roditelja, a
+ * korijen ima najveći). Koriste ga evaluatori kojima je potreban izravan
+ * pristup strukturi stabla: {@link IncrementalEvaluator} i
+ * {@link AdaptiveEvaluator}. Primjerci ovog razreda su nepromjenjivi.
+ *
+ * @author Davor Češljaš
+ */
+final class FlatExpression {
+
+	/** Vrsta čvora: konstanta */
+	static final byte CONSTANT = 0;
+
+	/** Vrsta čvora: varijabla */
+	static final byte VARIABLE = 1;
+
+	/** Vrsta čvora: negacija */
+	static final byte NOT = 2;
+
+	/** Vrsta čvora: logičko I */
+	static final byte AND = 3;
+
+	/** Vrsta čvora: logičko ILI */
+	static final byte OR = 4;
+
+	/** Vrsta čvora: isključivo ILI */
+	static final byte XOR = 5;
+
+	/** Vrsta čvora: neprepoznati unarni operator */
+	static final byte UNARY = 6;
+
+	/** Vrsta čvora: neprepoznati binarni operator */
+	static final byte BINARY = 7;
+
+	/** Vrste čvorova */
+	final byte[] kinds;
+
+	/** Roditelj svakog čvora, -1 za korijen */
+	final int[] parents;
+
+	/** Djeca svakog čvora */
+	final int[][] children;
+
+	/** Redni broj varijable za čvorove varijabli, -1 za ostale */
+	final int[] variableOf;
+
+	/** Vrijednosti čvorova konstanti, <code>false</code> za ostale */
+	final boolean[] constants;
+
+	/** Neprepoznati operatori ({@link UnaryOperator} ili {@link BinaryOperator}) */
+	final Object[] operators;
+
+	/** Broj varijabli izraza */
+	final int variableCount;
+
+	/**
+	 * Konstruktor koji stablo izraza <b>expression</b> nad varijablama
+	 * <b>variables</b> pretvara u polja čvorova.
+	 *
+	 * @param expression
+	 *            vršni čvor izraza
+	 * @param variables
+	 *            {@link List} varijabli izraza
+	 * @throws IllegalStateException
+	 *             ukoliko se u izrazu pojavljuje varijabla koja nije unutar
+	 *             <b>variables</b>
+	 */
+	FlatExpression(Node expression, List<String> variables) {
+		Builder builder = new Builder(variables);
+		expression.accept(builder);
+
+		int size = builder.kinds.size();
+		kinds = new byte[size];
+		parents = new int[size];
+		children = builder.children.toArray(new int[size][]);
+		variableOf = new int[size];
+		constants = Arrays.copyOf(builder.constants, size);
+		operators = builder.operators.toArray();
+		variableCount = variables.size();
+		for (int i = 0; i < size; i++) {
+			kinds[i] = builder.kinds.get(i);
+			variableOf[i] = builder.variableOf.get(i);
+			parents[i] = -1;
+		}
+		for (int i = 0; i < size; i++) {
+			for (int child : children[i]) {
+				parents[child] = i;
+			}
+		}
+	}
+
+	/**
+	 * Metoda koja dohvaća broj čvorova.
+	 *
+	 * @return broj čvorova
+	 */
+	int size() {
+		return kinds.length;
+	}
+
+	/**
+	 * Metoda koja dohvaća redni broj korijena.
+	 *
+	 * @return redni broj korijena
+	 */
+	int root() {
+		return kinds.length - 1;
+	}
+
+	/**
+	 * Metoda koja dohvaća čvorove u kojima se pojavljuje varijabla s rednim
+	 * brojem <b>variable</b>.
+	 *
+	 * @param variable
+	 *            redni broj varijable
+	 * @return uzlazno poredani redni brojevi čvorova
+	 */
+	int[] occurrences(int variable) {
+		int count = 0;
+		int[] nodes = new int[kinds.length];
+		for (int i = 0; i < kinds.length; i++) {
+			if (kinds[i] == VARIABLE && variableOf[i] == variable) {
+				nodes[count++] = i;
+			}
+		}
+		return Arrays.copyOf(nodes, count);
+	}
+
+	/**
+	 * Metoda koja primjenjuje neprepoznati unarni operator čvora <b>node</b>.
+	 *
+	 * @param node
+	 *            čvor neprepoznatog unarnog operatora
+	 * @param value
+	 *            vrijednost djeteta
+	 * @return vrijednost čvora
+	 */
+	@SuppressWarnings("unchecked")
+	boolean applyUnary(int node, boolean value) {
+		return ((UnaryOperator<Boolean>) operators[node]).apply(value);
+	}
+
+	/**
+	 * Metoda koja primjenjuje neprepoznati binarni operator čvora <b>node</b>
+	 * jednakim redoslijedom kao {@link ExpressionEvaluator}: od zadnjeg djeteta
+	 * prema prvom.
+	 *
+	 * @param node
+	 *            čvor neprepoznatog binarnog operatora
+	 * @param values
+	 *            vrijednosti djece redoslijedom iz {@link #children}
+	 * @return vrijednost čvora
+	 */
+	@SuppressWarnings("unchecked")
+	boolean applyBinary(int node, boolean[] values) {
+		BinaryOperator<Boolean> operator = (BinaryOperator<Boolean>) operators[node];
+		boolean result = values[values.length - 1];
+		for (int i = values.length - 2; i >= 0; i--) {
+			result = operator.apply(result, values[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Posjetitelj koji stablo izraza pretvara u polja čvorova numeriranih u
+	 * postorder poretku.
+	 *
+	 * @author Davor Češljaš
+	 */
+	private static class Builder implements NodeVisitor {
+
+		/** Prazno polje djece */
+		private static final int[] NO_CHILDREN = new int[0];
+
+		/** {@link Map}a koja ime varijable preslikava u redni broj */
+		private Map<String, Integer> positions = new HashMap<>();
+
+		/** Vrste čvorova */
+		private List<Byte> kinds = new ArrayList<>();
+
+		/** Djeca čvorova */
+		private List<int[]> children = new ArrayList<>();
+
+		/** Redni brojevi varijabli */
+		private List<Integer> variableOf = new ArrayList<>();
+
+		/** Neprepoznati operatori */
+		private List<Object> operators = new ArrayList<>();
+
+		/** Vrijednosti konstanti */
+		private boolean[] constants = new boolean[16];
+
+		/** Indeks zadnjeg dodanog čvora */
+		private int last;
+
+		/**
+		 * Konstruktor koji inicijalizira primjerak ovog razreda.
+		 *
+		 * @param variables
+		 *            {@link List} varijabli izraza
+		 */
+		public Builder(List<String> variables) {
+			for (int i = 0, len = variables.size(); i < len; i++) {
+				positions.put(variables.get(i), i);
+			}
+		}
+
+		@Override
+		public void visit(ConstantNode node) {
+			add(CONSTANT, NO_CHILDREN, -1, null);
+			constants[last] = node.getValue();
+		}
+
+		@Override
+		public void visit(VariableNode node) {
+			Integer position = positions.get(node.getName());
+			if (position == null) {
+				throw new IllegalStateException("Unutar predanih varijabli ne postoji varijabla: " + node.getName());
+			}
+			add(VARIABLE, NO_CHILDREN, position, null);
+		}
+
+		@Override
+		public void visit(UnaryOperatorNode node) {
+			node.getChild().accept(this);
+			int[] child = { last };
+			if (UnaryOperatorType.of(node) == UnaryOperatorType.NOT) {
+				add(NOT, child, -1, null);
+			} else {
+				add(UNARY, child, -1, node.getOperator());
+			}
+		}
+
+		@Override
+		public void visit(BinaryOperatorNode node) {
+			List<Node> nodeChildren = node.getChildren();
+			int[] indexes = new int[nodeChildren.size()];
+			for (int i = 0; i < indexes.length; i++) {
+				nodeChildren.get(i).accept(this);
+				indexes[i] = last;
+			}
+
+			BinaryOperatorType type = BinaryOperatorType.of(node);
+			if (type == null) {
+				add(BINARY, indexes, -1, node.getOperator());
+			} else {
+				add(type == BinaryOperatorType.AND ? AND : type == BinaryOperatorType.OR ? OR : XOR, indexes, -1,
+						null);
+			}
+		}
+
+		/**
+		 * Pomoćna metoda koja dodaje novi čvor.
+		 *
+		 * @param kind
+		 *            vrsta čvora
+		 * @param nodeChildren
+		 *            djeca čvora
+		 * @param variable
+		 *            redni broj varijable ili -1
+		 * @param operator
+		 *            neprepoznati operator ili <code>null</code>
+		 */
+		private void add(byte kind, int[] nodeChildren, int variable, Object operator) {
+			last = kinds.size();
+			kinds.add(kind);
+			children.add(nodeChildren);
+			variableOf.add(variable);
+			operators.add(operator);
+			if (last == constants.length) {
+				constants = Arrays.copyOf(constants, 2 * last);
+			}
+		}
+	}
+}
@@ -0,0 +1,206 @@
+package hr.fer.zemris.bf.utils;
+
+import static hr.fer.zemris.bf.utils.FlatExpression.AND;
+import static hr.fer.zemris.bf.utils.FlatExpression.CONSTANT;
+import static hr.fer.zemris.bf.utils.FlatExpression.NOT;
+import static hr.fer.zemris.bf.utils.FlatExpression.OR;
+import static hr.fer.zemris.bf.utils.FlatExpression.UNARY;
+import static hr.fer.zemris.bf.utils.FlatExpression.VARIABLE;
+import static hr.fer.zemris.bf.utils.FlatExpression.XOR;
+
+import java.util.List;
+
+import hr.fer.zemris.bf.model.Node;
+
+/**
+ * Razred koji izračunava izraz inkrementalno: nakon promjene vrijednosti jedne
+ * varijable (metoda {@link #flip(int)}) ponovno se računaju samo čvorovi na
+ * putu od pojavljivanja te varijable prema korijenu, i to samo dok se
+ * vrijednost čvora mijenja. Za operatore "and", "or" i "xor" pamti se broj
+ * djece čija je vrijednost <code>true</code>, pa se vrijednost takvog čvora
+ * osvježava u konstantnom vremenu neovisno o broju djece. Neprepoznati
+ * operatori računaju se ponovno iz vrijednosti sve djece.
+ * <p>
+ * U kombinaciji s metodom {@link Util#forEachGray(List, java.util.function.ObjIntConsumer)},
+ * koja u svakom koraku mijenja točno jednu varijablu, cijena jednog koraka za
+ * široke i plitke izraze je gotovo konstantna. Primjerci ovog razreda nisu
+ * sigurni za korištenje iz više dretvi.
+ *
+ * @author Davor Češljaš
+ */
+public final class IncrementalEvaluator {
+
+	/** Izraz predstavljen poljima čvorova */
+	private final FlatExpression flat;
+
+	/** Čvorovi u kojima se pojavljuje pojedina varijabla */
+	private final int[][] occurrences;
+
+	/** Trenutne vrijednosti čvorova */
+	private final boolean[] nodeValues;
+
+	/** Broj djece s vrijednošću <code>true</code> */
+	private final int[] trueChildren;
+
+	/** Pomoćno polje vrijednosti djece neprepoznatog binarnog operatora */
+	private final boolean[][] childValues;
+
+	/** Trenutne vrijednosti varijabli */
+	private final boolean[] values;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda. Sve varijable
+	 * početno imaju vrijednost <code>false</code>.
+	 *
+	 * @param expression
+	 *            vršni čvor izraza
+	 * @param variables
+	 *            {@link List} varijabli izraza
+	 * @throws IllegalStateException
+	 *             ukoliko se u izrazu pojavljuje varijabla koja nije unutar
+	 *             <b>variables</b>
+	 */
+	public IncrementalEvaluator(Node expression, List<String> variables) {
+		flat = new FlatExpression(expression, variables);
+		occurrences = new int[variables.size()][];
+		for (int variable = 0; variable < occurrences.length; variable++) {
+			occurrences[variable] = flat.occurrences(variable);
+		}
+
+		nodeValues = flat.constants.clone();
+		trueChildren = new int[flat.size()];
+		childValues = new boolean[flat.size()][];
+		for (int node = 0; node < childValues.length; node++) {
+			if (flat.kinds[node] == FlatExpression.BINARY) {
+				childValues[node] = new boolean[flat.children[node].length];
+			}
+		}
+		values = new boolean[variables.size()];
+		setValues(values.clone());
+	}
+
+	/**
+	 * Metoda koja postavlja vrijednosti svih varijabli i ponovno računa cijeli
+	 * izraz.
+	 *
+	 * @param values
+	 *            vrijednosti varijabli
+	 * @return vrijednost izraza
+	 * @throws IllegalArgumentException
+	 *             ukoliko je predan pogrešan broj vrijednosti
+	 */
+	public boolean setValues(boolean[] values) {
+		if (values.length != this.values.length) {
+			throw new IllegalArgumentException(
+					String.format("Predali ste netočan broj booleovih vrijednosti. Tražio sam: %d dobio sam: %d",
+							this.values.length, values.length));
+		}
+
+		System.arraycopy(values, 0, this.values, 0, values.length);
+		// postorder poredak garantira da su djeca izračunata prije roditelja
+		for (int node = 0, size = flat.size(); node < size; node++) {
+			byte kind = flat.kinds[node];
+			if (kind == VARIABLE) {
+				nodeValues[node] = values[flat.variableOf[node]];
+				continue;
+			}
+			int count = 0;
+			for (int child : flat.children[node]) {
+				count += nodeValues[child] ? 1 : 0;
+			}
+			trueChildren[node] = count;
+			if (kind != CONSTANT) {
+				nodeValues[node] = compute(node);
+			}
+		}
+		return getResult();
+	}
+
+	/**
+	 * Metoda koja mijenja vrijednost varijable s rednim brojem
+	 * <b>variable</b> i osvježava samo čvorove na koje ta promjena utječe.
+	 *
+	 * @param variable
+	 *            redni broj varijable
+	 * @return nova vrijednost izraza
+	 */
+	public boolean flip(int variable) {
+		values[variable] = !values[variable];
+		for (int leaf : occurrences[variable]) {
+			nodeValues[leaf] = !nodeValues[leaf];
+			propagate(leaf);
+		}
+		return getResult();
+	}
+
+	/**
+	 * Metoda koja dohvaća trenutnu vrijednost izraza.
+	 *
+	 * @return trenutna vrijednost izraza
+	 */
+	public boolean getResult() {
+		return nodeValues[flat.root()];
+	}
+
+	/**
+	 * Metoda koja dohvaća trenutnu vrijednost varijable s rednim brojem
+	 * <b>variable</b>.
+	 *
+	 * @param variable
+	 *            redni broj varijable
+	 * @return trenutna vrijednost varijable
+	 */
+	public boolean getValue(int variable) {
+		return values[variable];
+	}
+
+	/**
+	 * Pomoćna metoda koja promjenu vrijednosti čvora <b>node</b> prenosi prema
+	 * korijenu, sve dok se vrijednost roditelja mijenja.
+	 *
+	 * @param node
+	 *            čvor čija se vrijednost promijenila
+	 */
+	private void propagate(int node) {
+		int[] parents = flat.parents;
+		for (int parent = parents[node]; parent >= 0; node = parent, parent = parents[parent]) {
+			trueChildren[parent] += nodeValues[node] ? 1 : -1;
+			boolean value = compute(parent);
+			if (value == nodeValues[parent]) {
+				return;
+			}
+			nodeValues[parent] = value;
+		}
+	}
+
+	/**
+	 * Pomoćna metoda koja računa vrijednost čvora <b>node</b> iz vrijednosti
+	 * njegove djece.
+	 *
+	 * @param node
+	 *            čvor operatora
+	 * @return vrijednost čvora
+	 */
+	private boolean compute(int node) {
+		int[] nodeChildren = flat.children[node];
+		switch (flat.kinds[node]) {
+		case NOT:
+			return trueChildren[node] == 0;
+		case AND:
+			return trueChildren[node] == nodeChildren.length;
+		case OR:
+			return trueChildren[node] != 0;
+		case XOR:
+			return (trueChildren[node] & 1) != 0;
+		case UNARY:
+			return flat.applyUnary(node, nodeValues[nodeChildren[0]]);
+		default: {
+			boolean[] operands = childValues[node];
+			for (int i = 0; i < operands.length; i++) {
+				operands[i] = nodeValues[nodeChildren[i]];
+			}
+			return flat.applyBinary(node, operands);
+		}
+		}
+	}
+}
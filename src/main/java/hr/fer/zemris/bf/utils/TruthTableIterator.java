@@ -0,0 +1,76 @@
+package hr.fer.zemris.bf.utils;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Iterator koji lijeno vraća redne brojeve kombinacija za koje izraz ima
+ * zadanu vrijednost, uzlaznim poretkom. Tablica istinitosti se ne stvara:
+ * blokovi od 64 kombinacije računaju se primjerkom razreda
+ * {@link BitSlicedEvaluator} tek kada iterator do njih dođe.
+ *
+ * @see Util#mintermIterator(java.util.List, hr.fer.zemris.bf.model.Node)
+ * @see Util#maxtermIterator(java.util.List, hr.fer.zemris.bf.model.Node)
+ *
+ * @author Davor Češljaš
+ */
+final class TruthTableIterator implements PrimitiveIterator.OfInt {
+
+	/** Evaluator blokova */
+	private final BitSlicedEvaluator evaluator;
+
+	/** Vrijednost izraza koju tražimo */
+	private final boolean expectedValue;
+
+	/** Maska bitova bloka koji odgovaraju postojećim kombinacijama */
+	private final long validMask;
+
+	/** Broj blokova */
+	private final long blockCount;
+
+	/** Redni broj sljedećeg bloka koji se računa */
+	private long nextBlock;
+
+	/** Redni broj trenutnog bloka */
+	private long currentBlock = -1;
+
+	/** Preostali bitovi trenutnog bloka */
+	private long word;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param evaluator
+	 *            evaluator blokova
+	 * @param variableCount
+	 *            broj varijabli izraza
+	 * @param expectedValue
+	 *            vrijednost izraza koju tražimo
+	 */
+	TruthTableIterator(BitSlicedEvaluator evaluator, int variableCount, boolean expectedValue) {
+		this.evaluator = evaluator;
+		this.expectedValue = expectedValue;
+		this.blockCount = evaluator.blockCount();
+		this.validMask = variableCount < 6 ? (1L << (1 << variableCount)) - 1 : -1L;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (word == 0 && nextBlock < blockCount) {
+			currentBlock = nextBlock++;
+			long block = evaluator.evaluateBlock(currentBlock);
+			word = (expectedValue ? block : ~block) & validMask;
+		}
+		return word != 0;
+	}
+
+	@Override
+	public int nextInt() {
+		if (!hasNext()) {
+			throw new NoSuchElementException("Nema više kombinacija!");
+		}
+		int index = (int) (currentBlock * BitSlicedEvaluator.BLOCK_SIZE + Long.numberOfTrailingZeros(word));
+		word &= word - 1;
+		return index;
+	}
+}
@@ -0,0 +1,74 @@
+package hr.fer.zemris.bf.utils;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Zadatak za {@link java.util.concurrent.ForkJoinPool} koji računa dio
+ * tablice istinitosti prevedenog izraza. Raspon blokova (vidi
+ * {@link BitSlicedEvaluator}) dijeli se na pola sve dok ne postane manji od
+ * {@link #LEAF_BLOCKS}, a zatim ga jedan primjerak razreda
+ * {@link BitSlicedEvaluator} izračunava u zasebnom dijelu zajedničkog polja
+ * riječi. Budući da svaki zadatak piše samo u svoje riječi, spajanje rezultata
+ * ne zahtijeva nikakvu sinkronizaciju.
+ *
+ * @see Util#truthTable(java.util.List, hr.fer.zemris.bf.model.Node,
+ *      java.util.concurrent.ForkJoinPool)
+ *
+ * @author Davor Češljaš
+ */
+class TruthTableTask extends RecursiveAction {
+
+	/** Serijski broj */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Najveći broj blokova koje zadatak računa bez daljnjeg dijeljenja. 512
+	 * riječi (4 KiB) stane u priručnu memoriju prve razine
+	 */
+	static final int LEAF_BLOCKS = 512;
+
+	/** Prevedeni izraz */
+	private final CompiledExpression compiled;
+
+	/** Riječi tablice istinitosti */
+	private final long[] words;
+
+	/** Prvi blok raspona */
+	private final int from;
+
+	/** Blok nakon zadnjeg bloka raspona */
+	private final int to;
+
+	/**
+	 * Konstruktor koji inicijalizira primjerak ovog razreda.
+	 *
+	 * @param compiled
+	 *            prevedeni izraz
+	 * @param words
+	 *            riječi tablice istinitosti u koje se zapisuje rezultat
+	 * @param from
+	 *            prvi blok raspona
+	 * @param to
+	 *            blok nakon zadnjeg bloka raspona
+	 */
+	TruthTableTask(CompiledExpression compiled, long[] words, int from, int to) {
+		this.compiled = compiled;
+		this.words = words;
+		this.from = from;
+		this.to = to;
+	}
+
+	@Override
+	protected void compute() {
+		if (to - from <= LEAF_BLOCKS) {
+			BitSlicedEvaluator evaluator = new BitSlicedEvaluator(compiled);
+			for (int block = from; block < to; block++) {
+				words[block] = evaluator.evaluateBlock(block);
+			}
+			return;
+		}
+
+		int middle = (from + to) >>> 1;
+		invokeAll(new TruthTableTask(compiled, words, from, middle), new TruthTableTask(compiled, words, middle, to));
+	}
+}
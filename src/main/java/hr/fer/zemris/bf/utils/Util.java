@@ -1,28 +1,64 @@
 package hr.fer.zemris.bf.utils;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.PrimitiveIterator;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
 
+import hr.fer.zemris.bf.jfr.EnumerationEvent;
 import hr.fer.zemris.bf.model.Node;
 
 /**
  * Razred koji se ponaša kao biblioteka metoda. Razred sadrži isključivo
  * statičke metode, koje služe kao pomoćne prilikom rada sa logičkim izrazima.
- * Razred nudi sljedećih 5 metoda:
+ * Razred nudi sljedećih 18 metoda:
  * <ul>
  * <li>{@link #forEach(List, Consumer)}
  * <li>
+ * <li>{@link #forEachGray(List, Consumer)}
+ * <li>
+ * <li>{@link #forEachGray(List, ObjIntConsumer)}
+ * <li>
  * <li>{@link #filterAssignments(List, Node, boolean)}
  * <li>
  * <li>{@link #booleanArrayToInt(boolean[])}
  * <li>
+ * <li>{@link #booleanArrayToLong(boolean[])}
+ * <li>
  * <li>{@link #toSumOfMinterms(List, Node)}
  * <li>
  * <li>{@link #toProductOfMaxterms(List, Node)}
  * <li>
+ * <li>{@link #mintermIterator(List, Node)}
+ * <li>
+ * <li>{@link #maxtermIterator(List, Node)}
+ * <li>
+ * <li>{@link #minterms(List, Node)}
+ * <li>
+ * <li>{@link #maxterms(List, Node)}
+ * <li>
+ * <li>{@link #toMintermBitSet(List, Node)}
+ * <li>
+ * <li>{@link #toMaxtermBitSet(List, Node)}
+ * <li>
+ * <li>{@link #sparseMinterms(List, Node)}
+ * <li>
+ * <li>{@link #truthTable(List, Node)}
+ * <li>
+ * <li>{@link #truthTable(List, Node, ForkJoinPool)}
+ * <li>
+ * <li>{@link #satisfyingAssignments(List, Node)}
+ * <li>
  * </ul>
  * 
  * Opis pojedinih metoda možete vidjeti klikom na link
@@ -34,10 +70,10 @@ import hr.fer.zemris.bf.model.Node;
 public final class Util {
 
 	/**
-	 * Baza brojevnog sustava u kojoj rade metode
-	 * {@link #booleanArrayToInt(boolean[])} i {@link #forEach(List, Consumer)}
+	 * Najveći broj varijabli za koji metoda {@link #forEach(List, Consumer)}
+	 * može generirati kombinacije, ograničen širinom tipa <code>long</code>
 	 */
-	private static final int BASE = 2;
+	public static final int MAX_VARIABLES = AssignmentCursor.MAX_VARIABLES;
 
 	/**
 	 * Defaultni konstruktor koji brani stvaranje primjeraka ovog razreda. Ova
@@ -59,7 +95,8 @@ public final class Util {
 	 * Vrijednosti se generiraju upravo redosljedom kojim biste ih slagali u
 	 * tablici istinitosti: od svih nula (tj. <code>false</code>) prema svim
 	 * jedinicama (tj. <code>true</code>), gdje je nabrže mijenja najdesnija
-	 * varijabla (zadnji element liste).
+	 * varijabla (zadnji element liste). Kombinacije se broje tipom
+	 * <code>long</code>, pa je podržano do {@value #MAX_VARIABLES} varijabli.
 	 *
 	 * 
 	 * @param variables
@@ -67,12 +104,73 @@ public final class Util {
 	 *            razreda {@link String}
 	 * @param consumer
 	 *            Strategija koja se poziva nad svakom od kombinacija
+	 * @throws IllegalArgumentException
+	 *             ukoliko varijabli ima više od {@value #MAX_VARIABLES}
 	 */
 	public static void forEach(List<String> variables, Consumer<boolean[]> consumer) {
 		int numberOfBits = variables.size();
-		int numberOfCombinatons = (int) Math.pow(BASE, variables.size());
-		for (int i = 0; i < numberOfCombinatons; i++) {
+		if (numberOfBits > MAX_VARIABLES) {
+			throw new IllegalArgumentException("Prevelik broj varijabli: " + numberOfBits);
+		}
+
+		// zadnja kombinacija za 63 varijable je Long.MAX_VALUE, pa se granica ne smije prijeći
+		long last = numberOfBits == 0 ? 0 : -1L >>> (Long.SIZE - numberOfBits);
+		for (long i = 0;; i++) {
 			consumer.accept(getCombination(numberOfBits, i));
+			if (i == last) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Metoda koja za predanu {@link List}u varijabli generira sve kombinacije
+	 * vrijednosti poretkom Grayevog koda: svaka sljedeća kombinacija razlikuje
+	 * se od prethodne u točno jednoj varijabli. Za razliku od metode
+	 * {@link #forEach(List, Consumer)} sve kombinacije zapisuju se u isto
+	 * polje, pa ga <b>consumer</b> ne smije pamtiti niti mijenjati.
+	 *
+	 * @param variables
+	 *            {@link List} predanih varijabli predstavljenih primjercima
+	 *            razreda {@link String}
+	 * @param consumer
+	 *            Strategija koja se poziva nad svakom od kombinacija
+	 */
+	public static void forEachGray(List<String> variables, Consumer<boolean[]> consumer) {
+		forEachGray(variables, (values, changed) -> consumer.accept(values));
+	}
+
+	/**
+	 * Metoda koja za predanu {@link List}u varijabli generira sve kombinacije
+	 * vrijednosti poretkom Grayevog koda (vidi
+	 * {@link #forEachGray(List, Consumer)}). Strategiji <b>consumer</b> uz
+	 * kombinaciju se predaje i redni broj varijable koja je promijenjena u
+	 * odnosu na prethodnu kombinaciju (za prvu kombinaciju, u kojoj su sve
+	 * varijable <code>false</code>, predaje se -1), što omogućuje inkrementalni
+	 * izračun izraza (vidi {@link IncrementalEvaluator#flip(int)}).
+	 *
+	 * @param variables
+	 *            {@link List} predanih varijabli predstavljenih primjercima
+	 *            razreda {@link String}
+	 * @param consumer
+	 *            Strategija koja se poziva nad svakom od kombinacija i rednim
+	 *            brojem promijenjene varijable
+	 * @throws IllegalArgumentException
+	 *             ukoliko varijabli ima više od 62
+	 */
+	public static void forEachGray(List<String> variables, ObjIntConsumer<boolean[]> consumer) {
+		int numberOfBits = variables.size();
+		if (numberOfBits >= Long.SIZE - 1) {
+			throw new IllegalArgumentException("Prevelik broj varijabli: " + numberOfBits);
+		}
+
+		boolean[] values = new boolean[numberOfBits];
+		consumer.accept(values, -1);
+		for (long step = 1, numberOfCombinations = 1L << numberOfBits; step < numberOfCombinations; step++) {
+			// u koraku k mijenja se bit na poziciji najnižeg postavljenog bita od k
+			int changed = numberOfBits - 1 - Long.numberOfTrailingZeros(step);
+			values[changed] = !values[changed];
+			consumer.accept(values, changed);
 		}
 	}
 
@@ -91,11 +189,11 @@ public final class Util {
 	 * @return polje boolean zastavica koje reprezrntira binarni oblik broja
 	 *         <b>number</b>
 	 */
-	private static boolean[] getCombination(int numberOfBits, int number) {
+	private static boolean[] getCombination(int numberOfBits, long number) {
 		boolean[] combination = new boolean[numberOfBits];
 		// testiranje svakog bita unutar number pomoću logičke operacije I
 		for (int i = 0; i < numberOfBits; i++) {
-			combination[numberOfBits - 1 - i] = ((1 << i) & number) != 0;
+			combination[numberOfBits - 1 - i] = ((1L << i) & number) != 0;
 		}
 		return combination;
 	}
@@ -104,7 +202,7 @@ public final class Util {
 	 * Metoda prima popis varijabli predstavljen sa {@link List} primjeraka
 	 * razreda {@link String} i jedan izraz koji je primjerak razreda
 	 * {@link Node} (vršni čvor generativnog stabla) te stvara sve kombinacije
-	 * varijabli, uporabom posjetitelja {@link ExpressionEvaluator} računa
+	 * varijabli, uporabom prevedenog izraza ({@link CompiledExpression}) računa
 	 * vrijednost funkcije, i ako se ona podudara s vrijednosti koja je predana
 	 * kao booleava zastavica <b>expressionValue</b> argument ove metode, dodaje
 	 * tu kombinaciju u {@link Set} kombinacija koji na kraju vraća. Skup je
@@ -123,18 +221,28 @@ public final class Util {
 	 *            da bi ta kombinacija bila vraćena kroz povratnu vrijednost
 	 * @return {@link Set} kombinacija čije se funkcije podudaraju sa booleovom
 	 *         zastavicom <b>expressionValue</b>
+	 * @see hr.fer.zemris.bf.sat.Satisfiability
 	 */
 	public static Set<boolean[]> filterAssignments(List<String> variables, Node expression, boolean expressionValue) {
+		EnumerationEvent event = new EnumerationEvent();
+		event.begin();
 		Set<boolean[]> matchedSet = new LinkedHashSet<>();
-		ExpressionEvaluator eval = new ExpressionEvaluator(variables);
+		CompiledExpression compiled = CompiledExpression.compile(expression, variables);
+		boolean[] stack = compiled.newStack();
 		forEach(variables, values -> {
-			eval.setValues(values);
-			expression.accept(eval);
-			if (eval.getResult() == expressionValue) {
+			if (compiled.evaluate(values, stack) == expressionValue) {
 				matchedSet.add(values);
 			}
 		});
 
+		event.end();
+		if (event.shouldCommit()) {
+			event.variableCount = variables.size();
+			event.assignmentCount = 1L << variables.size();
+			event.matchedCount = matchedSet.size();
+			event.expressionValue = expressionValue;
+			event.commit();
+		}
 		return matchedSet;
 	}
 
@@ -146,11 +254,44 @@ public final class Util {
 	 *            polje booleovih vrijednosti
 	 * @return redni broj retka gdje se ta kombinacija nalazi u tablici
 	 *         istinitosti
+	 * @throws IllegalArgumentException
+	 *             ukoliko polje ima više od 31 elementa, pa se redni broj ne
+	 *             može prikazati tipom <code>int</code> (vidi
+	 *             {@link #booleanArrayToLong(boolean[])})
 	 */
 	public static int booleanArrayToInt(boolean[] values) {
+		if (values.length >= Integer.SIZE) {
+			throw new IllegalArgumentException("Redni broj kombinacije od " + values.length
+					+ " varijabli ne stane u int, koristite booleanArrayToLong");
+		}
 		int result = 0;
 		for (int i = 0; i < values.length; i++) {
-			result += values[i] ? Math.pow(BASE, values.length - i - 1) : 0;
+			result = result << 1 | (values[i] ? 1 : 0);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Metoda prima polje booleovih vrijednosti <b>values</b> i pretvara ga u
+	 * redni broj retka gdje se ta kombinacija nalazi u tablici istinitosti.
+	 * Za razliku od metode {@link #booleanArrayToInt(boolean[])} podržava do
+	 * {@value #MAX_VARIABLES} varijabli.
+	 *
+	 * @param values
+	 *            polje booleovih vrijednosti
+	 * @return redni broj retka gdje se ta kombinacija nalazi u tablici
+	 *         istinitosti
+	 * @throws IllegalArgumentException
+	 *             ukoliko polje ima više od {@value #MAX_VARIABLES} elemenata
+	 */
+	public static long booleanArrayToLong(boolean[] values) {
+		if (values.length > MAX_VARIABLES) {
+			throw new IllegalArgumentException("Prevelik broj varijabli: " + values.length);
+		}
+		long result = 0;
+		for (int i = 0; i < values.length; i++) {
+			result = result << 1 | (values[i] ? 1 : 0);
 		}
 
 		return result;
@@ -194,13 +335,285 @@ public final class Util {
 		return performFilterAndConvert(variables, expression, false);
 	}
 
+	/**
+	 * Metoda vraća iterator koji lijeno, uzlaznim poretkom, vraća članove sume
+	 * mintermi koje funkcija sadrži. Kombinacije se izračunavaju u blokovima od
+	 * 64 (vidi {@link BitSlicedEvaluator}) tek kada iterator do njih dođe, pa
+	 * se ni skup minterma ni tablica istinitosti nikad ne stvaraju.
+	 *
+	 * @param variables
+	 *            {@link List} varijabli od kojih se funkcija sadrži
+	 * @param expression
+	 *            primjerak razreda koji implementira sučelje {@link Node}, koji
+	 *            predstavlja vršni čvor generativnog stabla
+	 * @return iterator članova sume mintermi
+	 * @throws IllegalArgumentException
+	 *             ukoliko funkcija ima više od 31 varijable
+	 */
+	public static PrimitiveIterator.OfInt mintermIterator(List<String> variables, Node expression) {
+		return termIterator(variables, expression, true);
+	}
+
+	/**
+	 * Metoda vraća iterator koji lijeno, uzlaznim poretkom, vraća članove
+	 * produkta makstermi koje funkcija sadrži (vidi
+	 * {@link #mintermIterator(List, Node)}).
+	 *
+	 * @param variables
+	 *            {@link List} varijabli od kojih se funkcija sadrži
+	 * @param expression
+	 *            primjerak razreda koji implementira sučelje {@link Node}, koji
+	 *            predstavlja vršni čvor generativnog stabla
+	 * @return iterator članova produkta makstermi
+	 * @throws IllegalArgumentException
+	 *             ukoliko funkcija ima više od 31 varijable
+	 */
+	public static PrimitiveIterator.OfInt maxtermIterator(List<String> variables, Node expression) {
+		return termIterator(variables, expression, false);
+	}
+
+	/**
+	 * Metoda vraća uređeni slijedni {@link IntStream} članova sume mintermi
+	 * koje funkcija sadrži. Tok je lijen (vidi
+	 * {@link #mintermIterator(List, Node)}), pa npr. prebrojavanje ili
+	 * prosljeđivanje minterma ne stvara skup minterma.
+	 *
+	 * @param variables
+	 *            {@link List} varijabli od kojih se funkcija sadrži
+	 * @param expression
+	 *            primjerak razreda koji implementira sučelje {@link Node}, koji
+	 *            predstavlja vršni čvor generativnog stabla
+	 * @return tok članova sume mintermi
+	 * @throws IllegalArgumentException
+	 *             ukoliko funkcija ima više od 31 varijable
+	 */
+	public static IntStream minterms(List<String> variables, Node expression) {
+		return termStream(mintermIterator(variables, expression));
+	}
+
+	/**
+	 * Metoda vraća uređeni slijedni {@link IntStream} članova produkta
+	 * makstermi koje funkcija sadrži (vidi {@link #minterms(List, Node)}).
+	 *
+	 * @param variables
+	 *            {@link List} varijabli od kojih se funkcija sadrži
+	 * @param expression
+	 *            primjerak razreda koji implementira sučelje {@link Node}, koji
+	 *            predstavlja vršni čvor generativnog stabla
+	 * @return tok članova produkta makstermi
+	 * @throws IllegalArgumentException
+	 *             ukoliko funkcija ima više od 31 varijable
+	 */
+	public static IntStream maxterms(List<String> variables, Node expression) {
+		return termStream(maxtermIterator(variables, expression));
+	}
+
+	/**
+	 * Metoda vraća {@link BitSet} u kojem su postavljeni bitovi članova sume
+	 * mintermi koje funkcija sadrži. Jednak je tablici istinitosti (vidi
+	 * {@link #truthTable(List, Node)}).
+	 *
+	 * @param variables
+	 *            {@link List} varijabli od kojih se funkcija sadrži
+	 * @param expression
+	 *            primjerak razreda koji implementira sučelje {@link Node}, koji
+	 *            predstavlja vršni čvor generativnog stabla
+	 * @return {@link BitSet} članova sume mintermi
+	 * @throws IllegalArgumentException
+	 *             ukoliko funkcija ima više od
+	 *             {@value BitSlicedEvaluator#MAX_TRUTH_TABLE_VARIABLES}
+	 *             varijabli
+	 */
+	public static BitSet toMintermBitSet(List<String> variables, Node expression) {
+		return truthTable(variables, expression);
+	}
+
+	/**
+	 * Metoda vraća {@link BitSet} u kojem su postavljeni bitovi članova
+	 * produkta makstermi koje funkcija sadrži, tj. komplement tablice
+	 * istinitosti unutar 2<sup>n</sup> kombinacija.
+	 *
+	 * @param variables
+	 *            {@link List} varijabli od kojih se funkcija sadrži
+	 * @param expression
+	 *            primjerak razreda koji implementira sučelje {@link Node}, koji
+	 *            predstavlja vršni čvor generativnog stabla
+	 * @return {@link BitSet} članova produkta makstermi
+	 * @throws IllegalArgumentException
+	 *             ukoliko funkcija ima više od
+	 *             {@value BitSlicedEvaluator#MAX_TRUTH_TABLE_VARIABLES}
+	 *             varijabli
+	 */
+	public static BitSet toMaxtermBitSet(List<String> variables, Node expression) {
+		BitSet table = truthTable(variables, expression);
+		table.flip(0, 1 << variables.size());
+		return table;
+	}
+
+	/**
+	 * Metoda vraća rijetki oblik sume mintermi: uzlazno poredano polje rednih
+	 * brojeva (tipa <code>long</code>) kombinacija za koje funkcija ima
+	 * vrijednost <code>true</code>. Podržava do {@value #MAX_VARIABLES}
+	 * varijabli, no vrijeme izvođenja i dalje raste s 2<sup>n</sup>/64, pa je
+	 * za velike prostore prikladniji djelomični obilazak primjerkom razreda
+	 * {@link AssignmentCursor}.
+	 *
+	 * @param variables
+	 *            {@link List} varijabli od kojih se funkcija sadrži
+	 * @param expression
+	 *            primjerak razreda koji implementira sučelje {@link Node}, koji
+	 *            predstavlja vršni čvor generativnog stabla
+	 * @return uzlazno poredani redni brojevi minterma
+	 * @throws IllegalArgumentException
+	 *             ukoliko funkcija ima više od {@value #MAX_VARIABLES}
+	 *             varijabli ili mintermi ne stanu u polje
+	 */
+	public static long[] sparseMinterms(List<String> variables, Node expression) {
+		AssignmentCursor cursor = new AssignmentCursor(expression, variables, true);
+		long[] result = new long[64];
+		int size = 0;
+		long[] chunk = new long[1024];
+		while (cursor.hasNext()) {
+			int count = cursor.next(chunk);
+			if (size + count > result.length) {
+				if (result.length > Integer.MAX_VALUE / 2) {
+					throw new IllegalArgumentException("Previše minterma za rijetki oblik!");
+				}
+				result = Arrays.copyOf(result, Math.max(2 * result.length, size + count));
+			}
+			System.arraycopy(chunk, 0, result, size, count);
+			size += count;
+		}
+		return Arrays.copyOf(result, size);
+	}
+
+	/**
+	 * Pomoćna metoda koja stvara iterator članova sume mintermi ili produkta
+	 * makstermi, ovisno o zastavici <b>expectedValue</b>.
+	 *
+	 * @param variables
+	 *            {@link List} varijabli od kojih se funkcija sadrži
+	 * @param expression
+	 *            primjerak razreda koji implementira sučelje {@link Node}, koji
+	 *            predstavlja vršni čvor generativnog stabla
+	 * @param expectedValue
+	 *            ukoliko je ova zastavica <code>true</code> vraćaju se
+	 *            mintermi, a ukoliko je <code>false</code> makstermi
+	 * @return iterator članova
+	 * @throws IllegalArgumentException
+	 *             ukoliko funkcija ima više od 31 varijable
+	 */
+	private static PrimitiveIterator.OfInt termIterator(List<String> variables, Node expression,
+			boolean expectedValue) {
+		if (variables.size() >= Integer.SIZE) {
+			throw new IllegalArgumentException("Prevelik broj varijabli: " + variables.size());
+		}
+		return new TruthTableIterator(new BitSlicedEvaluator(expression, variables), variables.size(),
+				expectedValue);
+	}
+
+	/**
+	 * Pomoćna metoda koja iterator <b>iterator</b> omata u uređeni slijedni
+	 * {@link IntStream}.
+	 *
+	 * @param iterator
+	 *            iterator članova
+	 * @return tok članova
+	 */
+	private static IntStream termStream(PrimitiveIterator.OfInt iterator) {
+		return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(iterator,
+				Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+	}
+
+	/**
+	 * Metoda vraća tablicu istinitosti funkcije: bit <i>i</i> vraćenog
+	 * {@link BitSet}a postavljen je ako i samo ako funkcija za kombinaciju s
+	 * rednim brojem <i>i</i> ima vrijednost <code>true</code>. Izraz se
+	 * izračunava primjerkom razreda {@link BitSlicedEvaluator}, 64 kombinacije
+	 * odjednom, a velike tablice računaju se paralelno u
+	 * {@link ForkJoinPool#commonPool()}.
+	 *
+	 * @param variables
+	 *            {@link List} varijabli od kojih se funkcija sadrži
+	 * @param expression
+	 *            primjerak razreda koji implementira sučelje {@link Node}, koji
+	 *            predstavlja vršni čvor generativnog stabla
+	 * @return tablica istinitosti funkcije
+	 * @throws IllegalArgumentException
+	 *             ukoliko funkcija ima više od
+	 *             {@value BitSlicedEvaluator#MAX_TRUTH_TABLE_VARIABLES}
+	 *             varijabli
+	 */
+	public static BitSet truthTable(List<String> variables, Node expression) {
+		return truthTable(variables, expression, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Metoda vraća tablicu istinitosti funkcije (vidi
+	 * {@link #truthTable(List, Node)}) koju računaju dretve iz <b>pool</b>.
+	 * Prostor kombinacija dijeli se na dijelove od 32768 kombinacija, a svaki
+	 * dio zapisuje se u zasebne riječi tablice.
+	 *
+	 * @param variables
+	 *            {@link List} varijabli od kojih se funkcija sadrži
+	 * @param expression
+	 *            primjerak razreda koji implementira sučelje {@link Node}, koji
+	 *            predstavlja vršni čvor generativnog stabla
+	 * @param pool
+	 *            {@link ForkJoinPool} čije dretve računaju tablicu
+	 * @return tablica istinitosti funkcije
+	 * @throws IllegalArgumentException
+	 *             ukoliko funkcija ima više od
+	 *             {@value BitSlicedEvaluator#MAX_TRUTH_TABLE_VARIABLES}
+	 *             varijabli
+	 */
+	public static BitSet truthTable(List<String> variables, Node expression, ForkJoinPool pool) {
+		EnumerationEvent event = new EnumerationEvent();
+		event.begin();
+		BitSet table = BitSet.valueOf(new BitSlicedEvaluator(expression, variables).truthTableWords(pool));
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.variableCount = variables.size();
+			event.assignmentCount = 1L << variables.size();
+			event.matchedCount = table.cardinality();
+			event.expressionValue = true;
+			event.commit();
+		}
+		return table;
+	}
+
+	/**
+	 * Metoda vraća paralelni {@link IntStream} rednih brojeva kombinacija za
+	 * koje funkcija ima vrijednost <code>true</code>. Tablica istinitosti
+	 * računa se paralelno u {@link ForkJoinPool#commonPool()}, a tok je
+	 * uređen uzlazno (vidi {@link IntStream#forEachOrdered}).
+	 *
+	 * @param variables
+	 *            {@link List} varijabli od kojih se funkcija sadrži
+	 * @param expression
+	 *            primjerak razreda koji implementira sučelje {@link Node}, koji
+	 *            predstavlja vršni čvor generativnog stabla
+	 * @return paralelni tok rednih brojeva kombinacija za koje funkcija ima
+	 *         vrijednost <code>true</code>
+	 * @throws IllegalArgumentException
+	 *             ukoliko funkcija ima više od
+	 *             {@value BitSlicedEvaluator#MAX_TRUTH_TABLE_VARIABLES}
+	 *             varijabli
+	 */
+	public static IntStream satisfyingAssignments(List<String> variables, Node expression) {
+		long[] words = new BitSlicedEvaluator(expression, variables).truthTableWords(ForkJoinPool.commonPool());
+		return IntStream.range(0, words.length).parallel()
+				.flatMap(block -> LongStream.iterate(words[block], word -> word != 0, word -> word & (word - 1))
+						.mapToInt(word -> block * BitSlicedEvaluator.BLOCK_SIZE + Long.numberOfTrailingZeros(word)));
+	}
+
 	/**
 	 * Pomoćna metoda koja vrši vađenje {@link Set}a brojeva koji predstavljaju
 	 * članove produkta makstermi ili sume mintermi koje funkcija sadrži. O tome
 	 * što se točno traži odlučuje predana booleova zastavica
-	 * <b>expectedValue</b>. Kao pomoćne metode koriste se
-	 * {@link #filterAssignments(List, Node, boolean)} te
-	 * {@link #booleanArrayToInt(boolean[])}
+	 * <b>expectedValue</b>. Brojevi se čitaju iz tablice istinitosti dobivene
+	 * metodom {@link #truthTable(List, Node)} i vraćaju se uzlaznim poretkom.
 	 * 
 	 * @param variables
 	 *            {@link List} varijabli od kojih se funkcija sadrži
@@ -215,8 +628,14 @@ public final class Util {
 	 */
 	private static Set<Integer> performFilterAndConvert(List<String> variables, Node expression,
 			boolean expectedValue) {
-		return filterAssignments(variables, expression, expectedValue).stream().map(Util::booleanArrayToInt)
-				.collect(Collectors.toCollection(LinkedHashSet::new));
+		BitSet table = truthTable(variables, expression);
+		int size = 1 << variables.size();
+		Set<Integer> result = new LinkedHashSet<>();
+		for (int i = expectedValue ? table.nextSetBit(0) : table.nextClearBit(0); i >= 0 && i < size;
+				i = expectedValue ? table.nextSetBit(i + 1) : table.nextClearBit(i + 1)) {
+			result.add(i);
+		}
+		return result;
 	}
 
 	/**
@@ -0,0 +1,171 @@
+package hr.fer.zemris.bf.alloc;
+
+import static hr.fer.zemris.bf.alloc.AllocationMeter.bytesPerOperation;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.lexer.Lexer;
+import hr.fer.zemris.bf.lexer.TokenType;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.qmc.Mask;
+import hr.fer.zemris.bf.utils.CompiledExpression;
+import hr.fer.zemris.bf.utils.ExpressionEvaluator;
+import hr.fer.zemris.bf.utils.IncrementalEvaluator;
+import hr.fer.zemris.bf.utils.Util;
+
+public class AllocationBudgetTest {
+
+	private static final String EXPRESSION = "a and not b or c xor d and (e or f) and not (g xor h)";
+
+	private static final List<String> VARIABLES = Arrays.asList("A", "B", "C", "D", "E", "F", "G", "H");
+
+	private static final int ASSIGNMENTS = 1 << VARIABLES.size();
+
+	// budžeti su u oktetima po operaciji
+	private static final double LEXING_PER_TOKEN = 128;
+
+	private static final double EVALUATION_PER_ASSIGNMENT = 32;
+
+	private static final double COMPILED_EVALUATION_PER_ASSIGNMENT = 0;
+
+	private static final double ENUMERATION_PER_ASSIGNMENT = 32;
+
+	// jedno polje vrijednosti po obilasku, raspodijeljeno na 256 kombinacija
+	private static final double GRAY_INCREMENTAL_PER_ASSIGNMENT = 1;
+
+	private static final double MINTERMS_PER_ASSIGNMENT = 160;
+
+	// samo stalni trošak poziva (prevođenje izraza) raspodijeljen na 256 kombinacija
+	private static final double TRUTH_TABLE_PER_ASSIGNMENT = 8;
+
+	private static final double SUCCESSFUL_COMBINATION = 640;
+
+	private static final double FAILED_COMBINATION = 32;
+
+	@Test
+	public void leksickaAnaliza() {
+		int tokens = lex();
+		double perToken = bytesPerOperation(AllocationBudgetTest::lex) / tokens;
+		assertBudget("leksička analiza po tokenu", LEXING_PER_TOKEN, perToken);
+	}
+
+	@Test
+	public void izracunIzraza() {
+		Node expression = new Parser(EXPRESSION).getExpression();
+		ExpressionEvaluator evaluator = new ExpressionEvaluator(VARIABLES);
+		boolean[] values = new boolean[VARIABLES.size()];
+		int[] next = { 0 };
+		double perAssignment = bytesPerOperation(() -> {
+			int index = next[0]++;
+			for (int i = 0; i < values.length; i++) {
+				values[i] = (index >>> i & 1) != 0;
+			}
+			evaluator.setValues(values);
+			expression.accept(evaluator);
+			return evaluator.getResult() ? 1 : 0;
+		});
+		assertBudget("izračun izraza po kombinaciji", EVALUATION_PER_ASSIGNMENT, perAssignment);
+	}
+
+	@Test
+	public void izracunPrevedenogIzraza() {
+		CompiledExpression compiled = CompiledExpression.compile(new Parser(EXPRESSION).getExpression(), VARIABLES);
+		boolean[] values = new boolean[VARIABLES.size()];
+		int[] next = { 0 };
+		double perAssignment = bytesPerOperation(() -> {
+			int index = next[0]++;
+			for (int i = 0; i < values.length; i++) {
+				values[i] = (index >>> i & 1) != 0;
+			}
+			return compiled.evaluate(values) ? 1 : 0;
+		});
+		assertBudget("izračun prevedenog izraza po kombinaciji", COMPILED_EVALUATION_PER_ASSIGNMENT, perAssignment);
+	}
+
+	@Test
+	public void generiranjeKombinacija() {
+		long[] counter = { 0 };
+		double perAssignment = bytesPerOperation(() -> {
+			Util.forEach(VARIABLES, values -> counter[0] += values[0] ? 1 : 0);
+			return counter[0];
+		}) / ASSIGNMENTS;
+		assertBudget("generiranje kombinacija po kombinaciji", ENUMERATION_PER_ASSIGNMENT, perAssignment);
+	}
+
+	@Test
+	public void inkrementalniIzracunGrayevimKodom() {
+		IncrementalEvaluator evaluator = new IncrementalEvaluator(new Parser(EXPRESSION).getExpression(), VARIABLES);
+		long[] counter = { 0 };
+		ObjIntConsumer<boolean[]> consumer = (values, changed) -> {
+			if (changed >= 0 && evaluator.flip(changed)) {
+				counter[0]++;
+			}
+		};
+		double perAssignment = bytesPerOperation(() -> {
+			Util.forEachGray(VARIABLES, consumer);
+			return counter[0];
+		}) / ASSIGNMENTS;
+		assertBudget("inkrementalni izračun Grayevim kodom po kombinaciji", GRAY_INCREMENTAL_PER_ASSIGNMENT,
+				perAssignment);
+	}
+
+	@Test
+	public void sumaMinterma() {
+		Node expression = new Parser(EXPRESSION).getExpression();
+		double perAssignment = bytesPerOperation(() -> Util.toSumOfMinterms(VARIABLES, expression).size())
+				/ ASSIGNMENTS;
+		assertBudget("suma minterma po kombinaciji", MINTERMS_PER_ASSIGNMENT, perAssignment);
+	}
+
+	@Test
+	public void tablicaIstinitosti() {
+		Node expression = new Parser(EXPRESSION).getExpression();
+		double perAssignment = bytesPerOperation(() -> Util.truthTable(VARIABLES, expression).cardinality())
+				/ ASSIGNMENTS;
+		assertBudget("tablica istinitosti po kombinaciji", TRUTH_TABLE_PER_ASSIGNMENT, perAssignment);
+	}
+
+	@Test
+	public void brojanjeMintermaTokom() {
+		Node expression = new Parser(EXPRESSION).getExpression();
+		double perAssignment = bytesPerOperation(() -> Util.minterms(VARIABLES, expression).count())
+				/ ASSIGNMENTS;
+		assertBudget("brojanje minterma tokom po kombinaciji", TRUTH_TABLE_PER_ASSIGNMENT, perAssignment);
+	}
+
+	@Test
+	public void uspjesnoKombiniranjeMaski() {
+		Mask lower = new Mask(1, VARIABLES.size(), false);
+		Mask greater = new Mask(3, VARIABLES.size(), false);
+		double perCombination = bytesPerOperation(() -> lower.combineWith(greater).isPresent() ? 1 : 0);
+		assertBudget("uspješno kombiniranje maski", SUCCESSFUL_COMBINATION, perCombination);
+	}
+
+	@Test
+	public void neuspjesnoKombiniranjeMaski() {
+		Mask lower = new Mask(1, VARIABLES.size(), false);
+		Mask greater = new Mask(6, VARIABLES.size(), false);
+		double perCombination = bytesPerOperation(() -> lower.combineWith(greater).isPresent() ? 1 : 0);
+		assertBudget("neuspješno kombiniranje maski", FAILED_COMBINATION, perCombination);
+	}
+
+	private static int lex() {
+		Lexer lexer = new Lexer(EXPRESSION);
+		int count = 1;
+		while (lexer.nextToken().getTokenType() != TokenType.EOF) {
+			count++;
+		}
+		return count;
+	}
+
+	private static void assertBudget(String operation, double budget, double measured) {
+		assertTrue(String.format("%s: alocirano %.1f okteta, a budžet je %.1f", operation, measured, budget),
+				measured <= budget);
+	}
+}
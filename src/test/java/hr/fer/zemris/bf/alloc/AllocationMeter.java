@@ -0,0 +1,96 @@
+package hr.fer.zemris.bf.alloc;
+
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Pomoćni razred za testove koji mjeri koliko okteta na gomili alocira jedna
+ * operacija. Koristi brojač alociranih okteta po dretvi iz
+ * {@link com.sun.management.ThreadMXBean}. Prije mjerenja operacija se izvodi
+ * dovoljno puta da ju JIT prevede (kako bi se u obzir uzela i escape
+ * analiza), a zatim se mjeri prosjek preko velikog broja izvođenja. Ukoliko
+ * virtualni stroj ne podržava mjerenje, test se preskače.
+ * 
+ * @author Davor Češljaš
+ */
+public final class AllocationMeter {
+
+	/** Broj izvođenja operacije prije mjerenja */
+	private static final int WARMUP = 50_000;
+
+	/** Broj izvođenja operacije tijekom mjerenja */
+	private static final int ITERATIONS = 20_000;
+
+	/** Zbroj rezultata operacija kako JIT ne bi uklonio izračun */
+	private static volatile long sink;
+
+	/**
+	 * Konstruktor koji brani stvaranje primjeraka ovog razreda.
+	 */
+	private AllocationMeter() {
+	}
+
+	/**
+	 * Sučelje koje predstavlja operaciju čija se alokacija mjeri. Povratna
+	 * vrijednost služi isključivo tome da JIT ne ukloni operaciju.
+	 */
+	@FunctionalInterface
+	public interface Operation {
+
+		/**
+		 * Metoda koja izvodi jednu operaciju.
+		 *
+		 * @return proizvoljna vrijednost ovisna o rezultatu operacije
+		 */
+		long run();
+	}
+
+	/**
+	 * Metoda koja vraća prosječan broj okteta koje alocira jedno izvođenje
+	 * operacije <b>operation</b>.
+	 *
+	 * @param operation
+	 *            operacija koja se mjeri
+	 * @return prosječan broj alociranih okteta po operaciji
+	 */
+	public static double bytesPerOperation(Operation operation) {
+		com.sun.management.ThreadMXBean bean = threadBean();
+		long threadId = Thread.currentThread().getId();
+
+		long result = 0;
+		for (int i = 0; i < WARMUP; i++) {
+			result += operation.run();
+		}
+
+		// sama metoda mjerenja alocira nekoliko okteta, mjeri se i oduzima
+		long calibrationStart = bean.getThreadAllocatedBytes(threadId);
+		long overhead = bean.getThreadAllocatedBytes(threadId) - calibrationStart;
+
+		long start = bean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < ITERATIONS; i++) {
+			result += operation.run();
+		}
+		long allocated = bean.getThreadAllocatedBytes(threadId) - start - overhead;
+		sink += result;
+		return Math.max(0, allocated) / (double) ITERATIONS;
+	}
+
+	/**
+	 * Pomoćna metoda koja dohvaća {@link com.sun.management.ThreadMXBean} ili
+	 * preskače test ukoliko mjerenje alokacija nije podržano.
+	 *
+	 * @return primjerak razreda koji mjeri alokacije po dretvi
+	 */
+	private static com.sun.management.ThreadMXBean threadBean() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(sunBean.isThreadAllocatedMemorySupported());
+		if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+			sunBean.setThreadAllocatedMemoryEnabled(true);
+		}
+		return sunBean;
+	}
+}
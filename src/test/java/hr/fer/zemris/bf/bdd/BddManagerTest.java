@@ -0,0 +1,115 @@
+package hr.fer.zemris.bf.bdd;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.VariableNode;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.scaling.RandomExpressionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+import hr.fer.zemris.bf.utils.Util;
+
+public class BddManagerTest {
+
+	@Test
+	public void jednakeFunkcijeImajuIstiCvor() {
+		BddManager manager = new BddManager(Arrays.asList("A", "B", "C"));
+		int first = manager.ref(manager.build(new Parser("not (a and b) or c").getExpression()));
+		int second = manager.build(new Parser("c or not a or not b").getExpression());
+		assertEquals(first, second);
+		assertEquals(BddManager.TRUE, manager.build(new Parser("a or not a").getExpression()));
+		assertEquals(BddManager.FALSE, manager.build(new Parser("a xor a").getExpression()));
+		assertTrue(manager.isConstant(manager.build(new Parser("(a and b) or not a or not b").getExpression())));
+	}
+
+	@Test
+	public void mintermiJednakiKaoUtil() {
+		for (int n = 1; n <= 8; n++) {
+			List<String> variables = RandomFunctionGenerator.variables(n);
+			RandomExpressionGenerator generator = new RandomExpressionGenerator(n, variables, 5, 4,
+					new double[] { 1, 1, 1, 0.5 }, 0.2, 0.05);
+			BddManager manager = new BddManager(variables);
+			for (int i = 0; i < 20; i++) {
+				Node expression = generator.next();
+				int f = manager.build(expression);
+				List<Integer> expected = new ArrayList<>(Util.toSumOfMinterms(variables, expression));
+				assertEquals(expected, new ArrayList<>(manager.toSumOfMinterms(f)));
+				assertEquals(BigInteger.valueOf(expected.size()), manager.satCount(f));
+			}
+		}
+	}
+
+	@Test
+	public void nepoznatiOperatori() {
+		List<String> variables = Arrays.asList("A", "B", "C");
+		Node expression = new UnaryOperatorNode("id",
+				new BinaryOperatorNode("implies",
+						Arrays.asList(new VariableNode("A"), new VariableNode("B"), new VariableNode("C")),
+						(x, y) -> !x || y),
+				x -> x);
+		BddManager manager = new BddManager(variables);
+		assertEquals(Util.toSumOfMinterms(variables, expression), manager.toSumOfMinterms(manager.build(expression)));
+	}
+
+	@Test
+	public void cetrdesetVarijabli() {
+		List<String> variables = RandomFunctionGenerator.variables(40);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 40; i += 2) {
+			sb.append(i == 0 ? "" : " or ").append("(v").append(i).append(" and v").append(i + 1).append(")");
+		}
+		BddManager manager = new BddManager(variables);
+		int f = manager.ref(manager.build(new Parser(sb.toString()).getExpression()));
+
+		// komplement: niti jedan od 20 parova nema obje jedinice, tj. 3^20 kombinacija
+		BigInteger expected = BigInteger.ONE.shiftLeft(40).subtract(BigInteger.valueOf(3).pow(20));
+		assertEquals(expected, manager.satCount(f));
+		assertEquals(42, manager.nodeCount(f));
+
+		boolean[] model = manager.satOne(f);
+		assertTrue(manager.evaluate(f, model));
+		assertFalse(manager.evaluate(f, new boolean[40]));
+	}
+
+	@Test
+	public void sakupljanjeSmeca() {
+		BddManager manager = new BddManager(Arrays.asList("A", "B", "C"));
+		int kept = manager.ref(manager.build(new Parser("a and b and c").getExpression()));
+		manager.build(new Parser("a xor b xor c").getExpression());
+		int before = manager.size();
+		assertTrue(manager.collectGarbage() > 0);
+		assertEquals(3, manager.size());
+		assertTrue(before > manager.size());
+		assertEquals(kept, manager.build(new Parser("c and b and a").getExpression()));
+		manager.deref(kept);
+		manager.collectGarbage();
+		assertEquals(0, manager.size());
+	}
+
+	@Test
+	public void satOneZaKontradikciju() {
+		BddManager manager = new BddManager(Arrays.asList("A"));
+		assertNull(manager.satOne(BddManager.FALSE));
+		assertArrayEquals(new boolean[] { false }, manager.satOne(BddManager.TRUE));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void nepoznataVarijabla() {
+		new BddManager(Arrays.asList("A")).build(new Parser("a and b").getExpression());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void previseDereferenciranja() {
+		BddManager manager = new BddManager(Arrays.asList("A"));
+		manager.deref(manager.variable(0));
+	}
+}
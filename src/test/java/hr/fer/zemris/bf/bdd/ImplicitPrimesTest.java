@@ -0,0 +1,174 @@
+package hr.fer.zemris.bf.bdd;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.qmc.Cube;
+import hr.fer.zemris.bf.qmc.Mask;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+import hr.fer.zemris.bf.utils.Util;
+
+public class ImplicitPrimesTest {
+
+	@Test
+	public void primarniImplikantiJednakiIscrpnojPretrazi() {
+		Random random = new Random(7);
+		for (int n = 1; n <= 5; n++) {
+			List<String> variables = RandomFunctionGenerator.variables(n);
+			for (int i = 0; i < 30; i++) {
+				boolean[] on = new boolean[1 << n];
+				boolean[] dontCare = new boolean[1 << n];
+				for (int m = 0; m < on.length; m++) {
+					int r = random.nextInt(5);
+					on[m] = r < 2;
+					dontCare[m] = r == 2;
+				}
+
+				BddManager manager = new BddManager(variables);
+				int onSet = manager.ref(fromTable(manager, on));
+				int dontCareSet = manager.ref(fromTable(manager, dontCare));
+				ImplicitPrimes primes = new ImplicitPrimes(manager, onSet, dontCareSet);
+
+				Set<Cube> expected = bruteForcePrimes(n, on, dontCare);
+				assertEquals(expected, new HashSet<>(primes.getPrimes()));
+				assertEquals(BigInteger.valueOf(expected.size()), primes.getPrimeCount());
+				assertValidCover(primes.getCover(), expected, on, dontCare);
+			}
+		}
+	}
+
+	@Test
+	public void pokrivanjeKaoIzrazIMaske() {
+		List<String> variables = Arrays.asList("A", "B", "C", "D");
+		Node expression = new Parser("a and b or a and not b and c or not a and b and d").getExpression();
+		ImplicitPrimes primes = ImplicitPrimes.of(expression, variables);
+
+		assertEquals(Util.toSumOfMinterms(variables, expression),
+				Util.toSumOfMinterms(variables, primes.getCoverAsExpression()));
+		Set<Integer> covered = new HashSet<>();
+		for (Mask mask : primes.getCoverAsMasks()) {
+			covered.addAll(mask.getIndexes());
+		}
+		assertEquals(Util.toSumOfMinterms(variables, expression), covered);
+		assertEquals(new HashSet<>(Arrays.asList(new Cube("1-1-"), new Cube("11--"), new Cube("-1-1"))),
+				new HashSet<>(primes.getCover()));
+	}
+
+	@Test
+	public void cetrdesetVarijabli() {
+		List<String> variables = RandomFunctionGenerator.variables(40);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 40; i += 2) {
+			sb.append(i == 0 ? "" : " or ").append("(v").append(i).append(" and not v").append(i + 1).append(")");
+		}
+		sb.append(" or (v0 and v2)");
+		ImplicitPrimes primes = ImplicitPrimes.of(new Parser(sb.toString()).getExpression(), variables);
+
+		assertEquals(BigInteger.valueOf(21), primes.getPrimeCount());
+		assertEquals(21, primes.getCover().size());
+		assertEquals(2, primes.getCover().get(0).literalCount());
+	}
+
+	@Test
+	public void konstante() {
+		List<String> variables = Arrays.asList("A", "B");
+		assertTrue(ImplicitPrimes.of(new Parser("a and not a").getExpression(), variables).getCover().isEmpty());
+		assertEquals(Arrays.asList(new Cube("--")),
+				ImplicitPrimes.of(new Parser("a or not a").getExpression(), variables).getCover());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void preklapanjeSDontCareovima() {
+		BddManager manager = new BddManager(Arrays.asList("A"));
+		new ImplicitPrimes(manager, manager.variable(0), manager.variable(0));
+	}
+
+	private static int fromTable(BddManager manager, boolean[] table) {
+		int n = manager.getVariableCount();
+		int result = BddManager.FALSE;
+		for (int m = 0; m < table.length; m++) {
+			if (!table[m]) {
+				continue;
+			}
+			int minterm = BddManager.TRUE;
+			for (int v = n - 1; v >= 0; v--) {
+				boolean positive = (m >>> (n - 1 - v) & 1) != 0;
+				minterm = manager.mk(v, positive ? BddManager.FALSE : minterm, positive ? minterm : BddManager.FALSE);
+			}
+			result = manager.iteRec(minterm, BddManager.TRUE, result);
+		}
+		return result;
+	}
+
+	private static Set<Cube> bruteForcePrimes(int n, boolean[] on, boolean[] dontCare) {
+		Set<Cube> primes = new HashSet<>();
+		for (Cube cube : allCubes(n)) {
+			if (!isImplicant(cube, on, dontCare) || !intersects(cube, on)) {
+				continue;
+			}
+			boolean prime = true;
+			for (int v = 0; v < n && prime; v++) {
+				if (cube.getLiteral(v) != Cube.NOT_IN_PRODUCT) {
+					prime = !isImplicant(cube.with(v, Cube.NOT_IN_PRODUCT), on, dontCare);
+				}
+			}
+			if (prime) {
+				primes.add(cube);
+			}
+		}
+		return primes;
+	}
+
+	private static void assertValidCover(List<Cube> cover, Set<Cube> primes, boolean[] on, boolean[] dontCare) {
+		assertTrue(primes.containsAll(cover));
+		for (int m = 0; m < on.length; m++) {
+			boolean covered = false;
+			for (Cube cube : cover) {
+				covered |= cube.containsMinterm(m);
+			}
+			assertEquals(on[m], covered && !dontCare[m]);
+		}
+	}
+
+	private static List<Cube> allCubes(int n) {
+		List<Cube> cubes = new ArrayList<>();
+		int count = (int) Math.pow(3, n);
+		for (int c = 0; c < count; c++) {
+			byte[] values = new byte[n];
+			for (int v = 0, rest = c; v < n; v++, rest /= 3) {
+				values[v] = (byte) (rest % 3);
+			}
+			cubes.add(new Cube(values));
+		}
+		return cubes;
+	}
+
+	private static boolean isImplicant(Cube cube, boolean[] on, boolean[] dontCare) {
+		for (int m = 0; m < on.length; m++) {
+			if (cube.containsMinterm(m) && !on[m] && !dontCare[m]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean intersects(Cube cube, boolean[] on) {
+		for (int m = 0; m < on.length; m++) {
+			if (cube.containsMinterm(m) && on[m]) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,108 @@
+package hr.fer.zemris.bf.bdd;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.scaling.RandomExpressionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+
+public class ReorderTest {
+
+	@Test
+	public void zamjeneCuvajuFunkcije() {
+		List<String> variables = RandomFunctionGenerator.variables(7);
+		RandomExpressionGenerator generator = new RandomExpressionGenerator(7, variables, 5, 4,
+				new double[] { 1, 1, 1, 0.5 }, 0.2, 0.05);
+		BddManager manager = new BddManager(variables);
+		int[] roots = new int[15];
+		List<Set<Integer>> expected = new ArrayList<>();
+		for (int i = 0; i < roots.length; i++) {
+			roots[i] = manager.ref(manager.build(generator.next()));
+			expected.add(manager.toSumOfMinterms(roots[i]));
+		}
+
+		Random random = new Random(42);
+		for (int i = 0; i < 200; i++) {
+			manager.swapLevels(random.nextInt(variables.size() - 1));
+		}
+		manager.reorder();
+		for (int i = 0; i < roots.length; i++) {
+			assertEquals(expected.get(i), manager.toSumOfMinterms(roots[i]));
+		}
+		for (int level = 0; level < variables.size(); level++) {
+			assertEquals(level, manager.getLevel(manager.getVariableAtLevel(level)));
+		}
+	}
+
+	@Test
+	public void prosijavanjeSmanjujeLosPoredak() {
+		BddManager manager = new BddManager(separatedPairs(8));
+		int f = manager.ref(manager.build(pairs(8)));
+		int before = manager.nodeCount(f);
+
+		ReorderStatistics statistics = manager.reorder();
+		assertEquals(before - 2, statistics.getNodesBefore());
+		assertEquals(16, statistics.getNodesAfter());
+		assertEquals(16 + 2, manager.nodeCount(f));
+		assertTrue(statistics.getReduction() > 0.9);
+		assertEquals(Arrays.asList(statistics), manager.getReorderStatistics());
+		assertEquals(BigInteger.ONE.shiftLeft(16).subtract(BigInteger.valueOf(3).pow(8)), manager.satCount(f));
+	}
+
+	@Test
+	public void statickiPoredakIzStrukture() {
+		Node expression = pairs(3);
+		List<String> order = VariableOrder.dfsOrder(expression, Arrays.asList("Z", "X0", "X1", "X2", "Y0", "Y1", "Y2"));
+		assertEquals(Arrays.asList("X0", "Y0", "X1", "Y1", "X2", "Y2", "Z"), order);
+
+		BddManager manager = new BddManager(separatedPairs(8));
+		int f = manager.ref(manager.build(pairs(8)));
+		ReorderStatistics statistics = manager.setVariableOrder(VariableOrder.dfsOrder(pairs(8), separatedPairs(8)));
+		assertEquals(16, statistics.getNodesAfter());
+		assertEquals(18, manager.nodeCount(f));
+	}
+
+	@Test
+	public void automatskoPremjestanje() {
+		BddManager manager = new BddManager(separatedPairs(12));
+		manager.setAutoReorder(true);
+		int f = manager.ref(manager.build(pairs(12)));
+		assertFalse(manager.getReorderStatistics().isEmpty());
+		assertTrue(manager.nodeCount(f) < BddManager.DEFAULT_REORDER_THRESHOLD);
+		assertEquals(BigInteger.ONE.shiftLeft(24).subtract(BigInteger.valueOf(3).pow(12)), manager.satCount(f));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void poredakNijePermutacija() {
+		new BddManager(Arrays.asList("A", "B")).setVariableOrder(Arrays.asList("A", "C"));
+	}
+
+	private static List<String> separatedPairs(int n) {
+		List<String> variables = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			variables.add("X" + i);
+		}
+		for (int i = 0; i < n; i++) {
+			variables.add("Y" + i);
+		}
+		return variables;
+	}
+
+	private static Node pairs(int n) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < n; i++) {
+			sb.append(i == 0 ? "" : " or ").append("(x").append(i).append(" and y").append(i).append(")");
+		}
+		return new Parser(sb.toString()).getExpression();
+	}
+}
@@ -0,0 +1,241 @@
+package hr.fer.zemris.bf.normal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.bdd.ImplicitPrimes;
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.BinaryOperatorType;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.VariableNode;
+import hr.fer.zemris.bf.normal.NormalFormConverter.Overflow;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.qmc.Cube;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator.RandomFunction;
+import hr.fer.zemris.bf.utils.Util;
+
+public class NormalFormConverterTest {
+
+	private static final List<String> VARIABLES = Arrays.asList("A", "B", "C", "D");
+
+	private static final String[] EXPRESSIONS = { "a and (b or not c)", "a xor b xor c",
+			"not (a xor not (b and c)) or d", "not not not (a or not (b xor d))", "not (not a or b) and (c :+: d)",
+			"a * b + not (c + d)", "a and not a", "a or not a or b and c", "true", "not (a xor b) and false" };
+
+	@Test
+	public void disjunktivniOblikJednakTabliciIstinitosti() {
+		NormalFormConverter converter = new NormalFormConverter();
+		for (String text : EXPRESSIONS) {
+			Node expression = new Parser(text).getExpression();
+			NormalForm dnf = converter.toDnf(expression, VARIABLES);
+
+			assertEquals(NormalForm.Type.DNF, dnf.getType());
+			assertEquals(0, dnf.getAuxiliaryVariableCount());
+			assertEquals(text, Util.toSumOfMinterms(VARIABLES, expression),
+					Util.toSumOfMinterms(VARIABLES, dnf.toExpression()));
+			assertNoSubsumption(dnf.getTerms());
+		}
+	}
+
+	@Test
+	public void konjunktivniOblikJednakTabliciIstinitosti() {
+		NormalFormConverter converter = new NormalFormConverter();
+		for (String text : EXPRESSIONS) {
+			Node expression = new Parser(text).getExpression();
+			NormalForm cnf = converter.toCnf(expression, VARIABLES);
+
+			assertEquals(NormalForm.Type.CNF, cnf.getType());
+			assertEquals(0, cnf.getAuxiliaryVariableCount());
+			assertEquals(text, Util.toSumOfMinterms(VARIABLES, expression),
+					Util.toSumOfMinterms(VARIABLES, cnf.toExpression()));
+			assertNoSubsumption(cnf.getTerms());
+		}
+	}
+
+	@Test
+	public void sumaProdukataJednakaTabliciIstinitosti() {
+		for (String text : EXPRESSIONS) {
+			Node expression = new Parser(text).getExpression();
+			SopBuilder builder = new SopBuilder(VARIABLES);
+			expression.accept(builder);
+
+			assertEquals(text, Util.toSumOfMinterms(VARIABLES, expression),
+					Util.toSumOfMinterms(VARIABLES, Cube.toSumOfProducts(builder.getResult(), VARIABLES)));
+			assertNoSubsumption(builder.getResult());
+		}
+	}
+
+	@Test
+	public void blakeovOblikKaoImplicitniPrimarniImplikanti() {
+		RandomFunctionGenerator generator = new RandomFunctionGenerator(21);
+		NormalFormConverter converter = new NormalFormConverter();
+		for (int n = 2; n <= 8; n++) {
+			RandomFunction f = generator.next(n, 0.4, 0.0);
+			List<Cube> minterms = new ArrayList<>();
+			for (int minterm : f.getMinterms()) {
+				minterms.add(new Cube(Util.indexToByteArray(minterm, n)));
+			}
+			Node expression = Cube.toSumOfProducts(minterms, f.getVariables());
+
+			NormalForm blake = converter.toBlakeCanonicalForm(expression, f.getVariables());
+			assertEquals(NormalForm.Type.DNF, blake.getType());
+			assertEquals(new HashSet<>(ImplicitPrimes.of(expression, f.getVariables()).getPrimes()),
+					new HashSet<>(blake.getTerms()));
+		}
+	}
+
+	@Test
+	public void blakeovOblikRijetkogPravilaSMnogoVarijabli() {
+		List<String> variables = RandomFunctionGenerator.variables(64);
+		Node expression = new Parser("v0 and v1 or not v1 and v63 or v7 and not (v8 or v9)").getExpression();
+		Set<String> primes = new HashSet<>();
+		for (Cube cube : new NormalFormConverter().toBlakeCanonicalForm(expression, variables).getTerms()) {
+			primes.add(cube.toString().replaceAll("-+$", "").replace('-', '.'));
+		}
+
+		assertEquals(4, primes.size());
+		assertTrue(primes.contains("11"));
+		assertTrue(primes.contains("1..............................................................1"));
+	}
+
+	@Test
+	public void blakeovOblikKontradikcijeITautologije() {
+		List<String> variables = Arrays.asList("A", "B");
+		NormalFormConverter converter = new NormalFormConverter();
+		assertTrue(converter.toBlakeCanonicalForm(new Parser("a and not a").getExpression(), variables).getTerms()
+				.isEmpty());
+		assertEquals(Arrays.asList(Cube.universe(2)), converter
+				.toBlakeCanonicalForm(new Parser("a and b or not a or not b").getExpression(), variables).getTerms());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void blakeovOblikNepoznateVarijable() {
+		new NormalFormConverter().toBlakeCanonicalForm(new Parser("a and c").getExpression(), Arrays.asList("A", "B"));
+	}
+
+	@Test
+	public void klauzuleIsključivogIli() {
+		NormalForm cnf = new NormalFormConverter().toCnf(new Parser("a xor b").getExpression(),
+				Arrays.asList("A", "B"));
+		assertEquals(new HashSet<>(Arrays.asList(new Cube("00"), new Cube("11"))), new HashSet<>(cnf.getTerms()));
+	}
+
+	@Test(expected = NormalFormSizeException.class)
+	public void prekidPrekoračenjem() {
+		new NormalFormConverter(100, Overflow.TSEITIN).toDnf(parity(10), RandomFunctionGenerator.variables(10));
+	}
+
+	@Test(expected = NormalFormSizeException.class)
+	public void prekidKonjunktivnogOblika() {
+		new NormalFormConverter(100, Overflow.ABORT).toCnf(parity(10), RandomFunctionGenerator.variables(10));
+	}
+
+	@Test
+	public void tseitinovoKodiranjePrekoračenja() {
+		List<String> variables = RandomFunctionGenerator.variables(10);
+		Node expression = parity(10);
+		NormalForm cnf = new NormalFormConverter(100, Overflow.TSEITIN).toCnf(expression, variables);
+
+		assertEquals(NormalForm.Type.CNF, cnf.getType());
+		assertEquals(10, cnf.getOriginalVariableCount());
+		assertEquals(9, cnf.getAuxiliaryVariableCount());
+		assertTrue(cnf.getTerms().size() <= 4 * 9 + 1);
+		assertEquals(Util.toSumOfMinterms(variables, expression), projectedModels(cnf));
+	}
+
+	@Test
+	public void tseitinovoKodiranjeJednakoIzrazu() {
+		for (String text : EXPRESSIONS) {
+			Node expression = new Parser(text).getExpression();
+			NormalForm cnf = TseitinEncoder.encode(expression, VARIABLES);
+			assertEquals(text, Util.toSumOfMinterms(VARIABLES, expression), projectedModels(cnf));
+		}
+	}
+
+	@Test
+	public void pomoćneVarijableRazličiteOdIzvornih() {
+		List<String> variables = Arrays.asList("_T0", "_T1", "A");
+		Node expression = new BinaryOperatorNode("AND", Arrays.asList(new VariableNode("_T0"),
+				new BinaryOperatorNode("OR", Arrays.asList(new VariableNode("_T1"), new VariableNode("A")),
+						BinaryOperatorType.OR)),
+				BinaryOperatorType.AND);
+		NormalForm cnf = TseitinEncoder.encode(expression, variables);
+		assertEquals(Arrays.asList("_T0", "_T1", "A", "_T2", "_T3"), cnf.getVariables());
+	}
+
+	@Test
+	public void indeksSubsumpcije() {
+		SubsumptionIndex index = new SubsumptionIndex(4);
+		assertTrue(index.add(new Cube("11-0")));
+		assertTrue(index.add(new Cube("0-1-")));
+		assertFalse(index.add(new Cube("1100")));
+		assertTrue(index.add(new Cube("1---")));
+		assertEquals(Arrays.asList(new Cube("0-1-"), new Cube("1---")), index.toList());
+		assertFalse(index.add(new Cube("1---")));
+		assertTrue(index.add(Cube.universe(4)));
+		assertEquals(1, index.size());
+		assertFalse(index.add(new Cube("0000")));
+	}
+
+	@Test
+	public void indeksSubsumpcijeNakonSazimanja() {
+		Random random = new Random(5);
+		SubsumptionIndex index = new SubsumptionIndex(6);
+		List<Cube> expected = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			StringBuilder sb = new StringBuilder();
+			int literalCount = 6 - i * 6 / 2000;
+			for (int v = 0; v < 6; v++) {
+				sb.append(random.nextInt(6) < literalCount ? (char) ('0' + random.nextInt(2)) : '-');
+			}
+			Cube cube = new Cube(sb.toString());
+			boolean contained = expected.stream().anyMatch(other -> other.contains(cube));
+			if (!contained) {
+				expected.removeIf(cube::contains);
+				expected.add(cube);
+			}
+			assertEquals(!contained, index.add(cube));
+			assertEquals(expected.size(), index.size());
+		}
+		assertEquals(expected, index.toList());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nepoznataVarijabla() {
+		new NormalFormConverter().toCnf(new Parser("a and e").getExpression(), VARIABLES);
+	}
+
+	private static void assertNoSubsumption(List<Cube> terms) {
+		for (Cube cube : terms) {
+			for (Cube other : terms) {
+				assertTrue(cube == other || !cube.contains(other));
+			}
+		}
+	}
+
+	private static Set<Integer> projectedModels(NormalForm cnf) {
+		int auxiliary = cnf.getAuxiliaryVariableCount();
+		Set<Integer> models = new HashSet<>();
+		for (int minterm : Util.toSumOfMinterms(cnf.getVariables(), cnf.toExpression())) {
+			models.add(minterm >>> auxiliary);
+		}
+		return models;
+	}
+
+	private static Node parity(int n) {
+		StringBuilder sb = new StringBuilder("v0");
+		for (int i = 1; i < n; i++) {
+			sb.append(" xor v").append(i);
+		}
+		return new Parser(sb.toString()).getExpression();
+	}
+}
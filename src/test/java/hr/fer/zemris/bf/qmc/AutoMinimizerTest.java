@@ -0,0 +1,151 @@
+package hr.fer.zemris.bf.qmc;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator.RandomFunction;
+import hr.fer.zemris.bf.utils.Util;
+
+public class AutoMinimizerTest {
+
+	@Test
+	public void malaFunkcijaIzTablice() {
+		List<String> variables = Arrays.asList("A", "B", "C");
+		Set<Integer> minterms = new HashSet<>(Arrays.asList(1, 2, 3, 5));
+		Set<Integer> dontCares = new HashSet<>(Arrays.asList(7));
+		AutoMinimizer auto = new AutoMinimizer(minterms, dontCares, variables);
+
+		assertEquals(MinimizationEngine.TABLE, auto.getEngine());
+		assertEquals(new Minimizer(new HashSet<>(minterms), dontCares, variables).getMinimalFormsAsString(),
+				auto.getMinimalFormsAsString());
+		assertEquals(4, minterms.size());
+	}
+
+	@Test
+	public void egzaktnoUzVelikoCiljnoVrijeme() {
+		RandomFunction f = new RandomFunctionGenerator(2).next(6, 0.4, 0.2);
+		AutoMinimizer auto = new AutoMinimizer(f.getMinterms(), f.getDontCares(), f.getVariables(),
+				CostModel.defaults(), Long.MAX_VALUE);
+
+		assertEquals(MinimizationEngine.QMC, auto.getEngine());
+		ProblemFeatures features = auto.getDecision().getFeatures();
+		assertTrue(features.getPrimeCount() > 0);
+		assertTrue(features.getCorePrimeCount() <= features.getPrimeCount());
+		assertEquals(forms(new Minimizer(new HashSet<>(f.getMinterms()), f.getDontCares(), f.getVariables())
+				.getMinimalFormsAsString()), forms(auto.getMinimalFormsAsString()));
+		assertTrue(auto.getDecision().getMeasuredNanos().containsKey(MinimizationEngine.IMPLICIT));
+	}
+
+	@Test
+	public void heuristikaUzMaloCiljnoVrijeme() {
+		RandomFunctionGenerator generator = new RandomFunctionGenerator(4);
+		for (int n = 5; n <= 9; n++) {
+			RandomFunction f = generator.next(n, 0.4, 0.1);
+			AutoMinimizer auto = new AutoMinimizer(f.getMinterms(), f.getDontCares(), f.getVariables(),
+					CostModel.defaults(), 1);
+			assertEquals(MinimizationEngine.ESPRESSO, auto.getEngine());
+			assertCorrect(f, auto.getMinimalFormsAsExpressions());
+		}
+	}
+
+	@Test
+	public void najmanjaProcjenaKadaNistaNeStane() {
+		Properties properties = new Properties();
+		properties.setProperty("implicit.build", "1");
+		properties.setProperty("implicit.cover", "0");
+		properties.setProperty("espresso", "1000");
+		CostModel model = CostModel.fromProperties(properties);
+		RandomFunction f = new RandomFunctionGenerator(6).next(8, 0.4, 0.1);
+		AutoMinimizer auto = new AutoMinimizer(f.getMinterms(), f.getDontCares(), f.getVariables(), model, 1);
+
+		Map<MinimizationEngine, Double> estimates = auto.getDecision().getEstimatedNanos();
+		assertTrue(estimates.get(MinimizationEngine.IMPLICIT) > 1);
+		assertTrue(estimates.get(MinimizationEngine.ESPRESSO) > estimates.get(MinimizationEngine.IMPLICIT));
+		assertEquals(MinimizationEngine.IMPLICIT, auto.getEngine());
+		assertCorrect(f, auto.getMinimalFormsAsExpressions());
+	}
+
+	@Test
+	public void ispravniOblici() {
+		RandomFunctionGenerator generator = new RandomFunctionGenerator(8);
+		for (int n = 3; n <= 9; n++) {
+			RandomFunction f = generator.next(n, 0.5, 0.1);
+			AutoMinimizer auto = new AutoMinimizer(f.getMinterms(), f.getDontCares(), f.getVariables());
+			assertCorrect(f, auto.getMinimalFormsAsExpressions());
+			assertEquals(auto.getEngine(), auto.getDecision().getEngine());
+		}
+	}
+
+	@Test
+	public void svojstvaModela() {
+		Properties properties = new Properties();
+		properties.setProperty("espresso", "12.5");
+		CostModel model = CostModel.fromProperties(properties);
+
+		assertEquals("12.5", model.toProperties().getProperty("espresso"));
+		assertEquals(model, CostModel.fromProperties(model.toProperties()));
+		assertEquals(12.5 * 100 * 10,
+				model.estimateNanos(MinimizationEngine.ESPRESSO, new ProblemFeatures(10, 60, 40)), 1e-6);
+		assertEquals(Double.POSITIVE_INFINITY,
+				model.estimateNanos(MinimizationEngine.QMC, new ProblemFeatures(10, 60, 40)), 0);
+	}
+
+	@Test
+	public void prilagodbaMjerenjima() {
+		CostModel model = CostModel.defaults();
+		List<ProblemFeatures> features = Arrays.asList(new ProblemFeatures(8, 100, 0),
+				new ProblemFeatures(10, 300, 20));
+		double first = model.estimateNanos(MinimizationEngine.ESPRESSO, features.get(0));
+		double second = model.estimateNanos(MinimizationEngine.ESPRESSO, features.get(1));
+
+		CostModel calibrated = model.calibrate(MinimizationEngine.ESPRESSO, features,
+				Arrays.asList(Math.round(3 * first), Math.round(3 * second)));
+		assertEquals(3 * second, calibrated.estimateNanos(MinimizationEngine.ESPRESSO, features.get(1)),
+				second * 1e-6);
+		assertEquals(model.estimateNanos(MinimizationEngine.TABLE, features.get(0)),
+				calibrated.estimateNanos(MinimizationEngine.TABLE, features.get(0)), 0);
+		assertEquals(model, model.calibrate(Collections.emptyList()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void neispravnoSvojstvo() {
+		Properties properties = new Properties();
+		properties.setProperty("qmc.cover", "brzo");
+		CostModel.fromProperties(properties);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void preklapanjeSDontCareovima() {
+		new AutoMinimizer(new HashSet<>(Arrays.asList(1, 2)), new HashSet<>(Arrays.asList(2)),
+				Arrays.asList("A", "B"));
+	}
+
+	private static Set<Set<String>> forms(List<String> forms) {
+		Set<Set<String>> result = new HashSet<>();
+		for (String form : forms) {
+			result.add(new HashSet<>(Arrays.asList(form.split(" OR "))));
+		}
+		assertEquals(forms.size(), result.size());
+		return result;
+	}
+
+	private static void assertCorrect(RandomFunction f, List<Node> forms) {
+		for (Node form : forms) {
+			Set<Integer> ones = Util.toSumOfMinterms(f.getVariables(), form);
+			assertTrue(ones.containsAll(f.getMinterms()));
+			ones.removeAll(f.getMinterms());
+			assertTrue(f.getDontCares().containsAll(ones));
+		}
+	}
+}
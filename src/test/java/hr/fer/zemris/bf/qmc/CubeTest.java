@@ -0,0 +1,91 @@
+package hr.fer.zemris.bf.qmc;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.utils.NodeAsExpressionPrinter;
+import hr.fer.zemris.bf.utils.Util;
+
+public class CubeTest {
+
+	@Test
+	public void tekstualniZapis() {
+		Cube cube = new Cube("1-0");
+		assertEquals(3, cube.getVariableCount());
+		assertEquals(2, cube.literalCount());
+		assertEquals(Cube.POSITIVE, cube.getLiteral(0));
+		assertEquals(Cube.NOT_IN_PRODUCT, cube.getLiteral(1));
+		assertEquals(Cube.NEGATIVE, cube.getLiteral(2));
+		assertEquals("1-0", cube.toString());
+		assertEquals(new Cube(new byte[] { 1, 2, 0 }), cube);
+	}
+
+	@Test
+	public void sadrzavanjeIPresjek() {
+		assertTrue(new Cube("1--").contains(new Cube("1-0")));
+		assertFalse(new Cube("1-0").contains(new Cube("1--")));
+		assertTrue(new Cube("1--").intersects(new Cube("--0")));
+		assertFalse(new Cube("1--").intersects(new Cube("0-0")));
+		assertTrue(Cube.universe(3).contains(new Cube("010")));
+		assertEquals(new Cube("100"), new Cube("1-0").intersect(new Cube("-00")));
+		assertNull(new Cube("1--").intersect(new Cube("0-0")));
+	}
+
+	@Test
+	public void konsenzus() {
+		assertEquals(new Cube("-10"), new Cube("110").consensus(new Cube("0-0")));
+		assertEquals(new Cube("1-"), new Cube("10").consensus(new Cube("11")));
+		assertNull(new Cube("11-").consensus(new Cube("00-")));
+		assertNull(new Cube("1--").consensus(new Cube("1-0")));
+	}
+
+	@Test
+	public void mintermiIMaska() {
+		Cube cube = new Cube("1-0");
+		assertTrue(cube.containsMinterm(4));
+		assertTrue(cube.containsMinterm(6));
+		assertFalse(cube.containsMinterm(5));
+		assertEquals(new TreeSet<>(Arrays.asList(4, 6)), cube.toMask(false).getIndexes());
+	}
+
+	@Test
+	public void sumaProdukataIProduktSuma() {
+		List<String> variables = Arrays.asList("A", "B", "C");
+		List<Cube> cubes = Arrays.asList(new Cube("1-0"), new Cube("-1-"));
+		assertEquals("A AND NOT C OR B", print(Cube.toSumOfProducts(cubes, variables)));
+		assertEquals(new TreeSet<>(Arrays.asList(2, 6, 7)),
+				Util.toSumOfMinterms(variables, Cube.toProductOfSums(cubes, variables)));
+		assertEquals("true", print(Cube.toProductOfSums(Collections.emptyList(), variables)));
+		assertEquals("false", print(Cube.toProductOfSums(Arrays.asList(Cube.universe(3)), variables)));
+		assertEquals(new Cube("1-0").toVariableNodes(variables).toString(),
+				new Cube("1-0").toMask(false).toVariableNodes(variables).toString());
+	}
+
+	@Test
+	public void visePodatkovnihRijeci() {
+		Cube cube = Cube.universe(130).with(0, Cube.POSITIVE).with(64, Cube.NEGATIVE).with(129, Cube.POSITIVE);
+		assertEquals(3, cube.literalCount());
+		assertEquals(Cube.NEGATIVE, cube.getLiteral(64));
+		assertTrue(Cube.universe(130).with(129, Cube.POSITIVE).contains(cube));
+		assertFalse(cube.intersects(Cube.universe(130).with(64, Cube.POSITIVE)));
+		assertEquals(cube, new Cube(cube.toString()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void neispravanZnak() {
+		new Cube("1x0");
+	}
+
+	private static String print(Node expression) {
+		NodeAsExpressionPrinter printer = new NodeAsExpressionPrinter();
+		expression.accept(printer);
+		return printer.getExpressionAsString();
+	}
+}
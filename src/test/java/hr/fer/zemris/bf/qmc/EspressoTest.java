@@ -0,0 +1,243 @@
+package hr.fer.zemris.bf.qmc;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator.RandomFunction;
+import hr.fer.zemris.bf.utils.Util;
+
+public class EspressoTest {
+
+	@Test
+	public void ispravnoPokrivanjeSlucajnihFunkcija() {
+		RandomFunctionGenerator generator = new RandomFunctionGenerator(11);
+		for (int n = 2; n <= 7; n++) {
+			for (int i = 0; i < 20; i++) {
+				RandomFunction f = generator.next(n, 0.4, 0.15);
+				Espresso espresso = Espresso.fromMinterms(f.getMinterms(), f.getDontCares(), f.getVariables());
+
+				Set<Integer> covered = new HashSet<>();
+				for (Cube cube : espresso.getCover()) {
+					covered.addAll(cube.toMask(false).getIndexes());
+				}
+				assertTrue(covered.containsAll(f.getMinterms()));
+				Set<Integer> extra = new HashSet<>(covered);
+				extra.removeAll(f.getMinterms());
+				assertTrue(f.getDontCares().containsAll(extra));
+
+				for (Cube cube : espresso.getCover()) {
+					assertPrime(cube, f.getMinterms(), f.getDontCares());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void jednakoKaoMinimizator() {
+		List<String> variables = Arrays.asList("A", "B", "C", "D");
+		Set<Integer> minterms = new HashSet<>(Arrays.asList(4, 5, 6, 7, 8, 9, 11));
+		Set<Integer> dontCares = new HashSet<>(Arrays.asList(2, 3, 12, 15));
+		Espresso espresso = Espresso.fromMinterms(minterms, dontCares, variables);
+		Minimizer minimizer = new Minimizer(new HashSet<>(minterms), dontCares, variables);
+
+		Node form = espresso.getMinimalFormsAsExpressions().get(0);
+		Set<Integer> ones = Util.toSumOfMinterms(variables, form);
+		assertTrue(ones.containsAll(minterms));
+		assertEquals(minimizer.getMinimalForms().get(0).size(), espresso.getCover().size());
+		assertEquals(1, espresso.getMinimalFormsAsString().size());
+	}
+
+	@Test
+	public void konstante() {
+		List<String> variables = Arrays.asList("A", "B");
+		assertEquals(Arrays.asList("false"),
+				Espresso.fromMinterms(Collections.emptySet(), Collections.emptySet(), variables)
+						.getMinimalFormsAsString());
+		assertEquals(Arrays.asList(new Cube("--")),
+				Espresso.fromMinterms(new HashSet<>(Arrays.asList(0, 1)), new HashSet<>(Arrays.asList(2, 3)),
+						variables).getCover());
+	}
+
+	@Test
+	public void stotineVarijabliITisuceKocki() {
+		int n = 200;
+		Random random = new Random(3);
+		List<Cube> primes = new ArrayList<>();
+		List<Cube> onSet = new ArrayList<>();
+		for (int i = 0; i < 60; i++) {
+			Cube prime = randomCube(random, Cube.universe(n), 8);
+			primes.add(prime);
+			onSet.addAll(split(random, prime, 5));
+		}
+		assertTrue(onSet.size() >= 1000);
+
+		long start = System.nanoTime();
+		Espresso espresso = new Espresso(onSet, Collections.emptyList(), RandomFunctionGenerator.variables(n));
+		assertTrue(System.nanoTime() - start < 30_000_000_000L);
+
+		List<Cube> cover = espresso.getCover();
+		assertTrue(cover.size() <= primes.size());
+		for (Cube prime : primes) {
+			boolean contained = false;
+			for (Cube cube : cover) {
+				contained |= cube.contains(prime);
+			}
+			assertTrue(contained);
+		}
+		for (int i = 0; i < 5000; i++) {
+			boolean[] point = new boolean[n];
+			for (int v = 0; v < n; v++) {
+				point[v] = random.nextBoolean();
+			}
+			assertEquals(covers(onSet, point), covers(cover, point));
+		}
+	}
+
+	@Test
+	public void tisuceSlucajnihKocki() {
+		int n = 200;
+		Random random = new Random(5);
+		List<Cube> onSet = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			onSet.add(randomCube(random, Cube.universe(n), 8));
+		}
+
+		long start = System.nanoTime();
+		Espresso espresso = new Espresso(onSet, Collections.emptyList(), RandomFunctionGenerator.variables(n));
+		assertTrue(System.nanoTime() - start < 30_000_000_000L);
+
+		List<Cube> cover = espresso.getCover();
+		assertTrue(cover.size() <= onSet.size());
+		for (Cube cube : onSet) {
+			for (int i = 0; i < 10; i++) {
+				assertTrue(covers(cover, randomPoint(random, cube)));
+			}
+		}
+		for (Cube cube : cover) {
+			for (int i = 0; i < 10; i++) {
+				assertTrue(covers(onSet, randomPoint(random, cube)));
+			}
+		}
+	}
+
+	@Test
+	public void tisuceMinterma() {
+		RandomFunction f = new RandomFunctionGenerator(13).next(13, 0.4, 0);
+		assertTrue(f.getMinterms().size() >= 3000);
+
+		long start = System.nanoTime();
+		Espresso espresso = Espresso.fromMinterms(f.getMinterms(), f.getDontCares(), f.getVariables());
+		assertTrue(System.nanoTime() - start < 10_000_000_000L);
+
+		Set<Integer> covered = new HashSet<>();
+		for (Cube cube : espresso.getCover()) {
+			covered.addAll(cube.toMask(false).getIndexes());
+		}
+		assertEquals(f.getMinterms(), covered);
+	}
+
+	@Test
+	public void tisuceNespojivihMinterma() {
+		int n = 300;
+		Random random = new Random(7);
+		Set<Cube> onSet = new HashSet<>();
+		while (onSet.size() < 3000) {
+			byte[] values = new byte[n];
+			for (int v = 0; v < n; v++) {
+				values[v] = random.nextBoolean() ? Cube.POSITIVE : Cube.NEGATIVE;
+			}
+			onSet.add(new Cube(values));
+		}
+
+		long start = System.nanoTime();
+		Espresso espresso = new Espresso(onSet, Collections.emptyList(), RandomFunctionGenerator.variables(n));
+		assertTrue(System.nanoTime() - start < 10_000_000_000L);
+		assertEquals(onSet, new HashSet<>(espresso.getCover()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void preklapanjeSDontCareovima() {
+		Espresso.fromMinterms(new HashSet<>(Arrays.asList(1, 2)), new HashSet<>(Arrays.asList(2)),
+				Arrays.asList("A", "B"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void pogresanBrojVarijabli() {
+		new Espresso(Arrays.asList(new Cube("1-0")), Collections.emptyList(), Arrays.asList("A", "B"));
+	}
+
+	private static void assertPrime(Cube cube, Set<Integer> minterms, Set<Integer> dontCares) {
+		for (int v = 0; v < cube.getVariableCount(); v++) {
+			if (cube.getLiteral(v) == Cube.NOT_IN_PRODUCT) {
+				continue;
+			}
+			Set<Integer> raised = cube.with(v, Cube.NOT_IN_PRODUCT).toMask(false).getIndexes();
+			boolean implicant = true;
+			for (int m : raised) {
+				implicant &= minterms.contains(m) || dontCares.contains(m);
+			}
+			assertFalse(cube + " nije primarni implikant", implicant);
+		}
+	}
+
+	private static Cube randomCube(Random random, Cube cube, int literals) {
+		while (cube.literalCount() < literals) {
+			int v = random.nextInt(cube.getVariableCount());
+			if (cube.getLiteral(v) == Cube.NOT_IN_PRODUCT) {
+				cube = cube.with(v, random.nextBoolean() ? Cube.POSITIVE : Cube.NEGATIVE);
+			}
+		}
+		return cube;
+	}
+
+	private static List<Cube> split(Random random, Cube cube, int depth) {
+		List<Cube> parts = new ArrayList<>(Arrays.asList(cube));
+		for (int d = 0; d < depth; d++) {
+			List<Cube> next = new ArrayList<>();
+			for (Cube part : parts) {
+				int v;
+				do {
+					v = random.nextInt(part.getVariableCount());
+				} while (part.getLiteral(v) != Cube.NOT_IN_PRODUCT);
+				next.add(part.with(v, Cube.POSITIVE));
+				next.add(part.with(v, Cube.NEGATIVE));
+			}
+			parts = next;
+		}
+		return parts;
+	}
+
+	private static boolean[] randomPoint(Random random, Cube cube) {
+		boolean[] point = new boolean[cube.getVariableCount()];
+		for (int v = 0; v < point.length; v++) {
+			byte literal = cube.getLiteral(v);
+			point[v] = literal == Cube.NOT_IN_PRODUCT ? random.nextBoolean() : literal == Cube.POSITIVE;
+		}
+		return point;
+	}
+
+	private static boolean covers(List<Cube> cover, boolean[] point) {
+		for (Cube cube : cover) {
+			boolean inside = true;
+			for (int v = 0; v < point.length && inside; v++) {
+				byte literal = cube.getLiteral(v);
+				inside = literal == Cube.NOT_IN_PRODUCT || (literal == Cube.POSITIVE) == point[v];
+			}
+			if (inside) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,35 @@
+package hr.fer.zemris.bf.qmc;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.bdd.ImplicitPrimes;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator.RandomFunction;
+import hr.fer.zemris.bf.utils.Util;
+
+public class IteratedConsensusTest {
+
+	@Test
+	public void primarniImplikantiKaoImplicitni() {
+		RandomFunctionGenerator generator = new RandomFunctionGenerator(21);
+		for (int n = 2; n <= 8; n++) {
+			RandomFunction f = generator.next(n, 0.4, 0.0);
+			List<Cube> minterms = new ArrayList<>();
+			for (int minterm : f.getMinterms()) {
+				minterms.add(new Cube(Util.indexToByteArray(minterm, n)));
+			}
+			Node expression = Cube.toSumOfProducts(minterms, f.getVariables());
+
+			Set<Cube> expected = new HashSet<>(ImplicitPrimes.of(expression, f.getVariables()).getPrimes());
+			assertEquals(expected, new HashSet<>(IteratedConsensus.primes(minterms)));
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package hr.fer.zemris.bf.qmc;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+public class MinimalFormTableTest {
+
+	private static final List<String> VARIABLES = Arrays.asList("A", "B", "C", "D");
+
+	@Test
+	public void tablicaJeUcitana() {
+		assertNotNull(MinimalFormTable.lookup(new TreeSet<>(Arrays.asList(1, 2)), new TreeSet<>(), 2));
+	}
+
+	@Test
+	public void sveFunkcijeTriVarijableSDontCareovima() {
+		List<String> variables = VARIABLES.subList(0, 3);
+		for (int index = 0, count = MinimalFormTable.entryCount(3); index < count; index++) {
+			Set<Integer> minterms = new TreeSet<>();
+			Set<Integer> dontCares = new TreeSet<>();
+			for (int i = 0, rest = index; i < 8; i++, rest /= 3) {
+				if (rest % 3 == 1) {
+					minterms.add(i);
+				} else if (rest % 3 == 2) {
+					dontCares.add(i);
+				}
+			}
+			assertSameForms(minterms, dontCares, variables);
+		}
+	}
+
+	@Test
+	public void nasumicneFunkcijeCetiriVarijable() {
+		Random random = new Random(42);
+		for (int k = 0; k < 2000; k++) {
+			int truthTable = random.nextInt(1 << 16);
+			Set<Integer> minterms = new TreeSet<>();
+			for (int i = 0; i < 16; i++) {
+				if ((truthTable >>> i & 1) != 0) {
+					minterms.add(i);
+				}
+			}
+			assertSameForms(minterms, new TreeSet<>(), VARIABLES);
+		}
+	}
+
+	@Test
+	public void cetiriVarijableSDontCareovimaNisuUTablici() {
+		assertNull(MinimalFormTable.lookup(new TreeSet<>(Arrays.asList(1, 2)), new TreeSet<>(Arrays.asList(3)), 4));
+	}
+
+	@Test
+	public void indeksVanRasponaNijeUTablici() {
+		assertNull(MinimalFormTable.lookup(new TreeSet<>(Arrays.asList(1, 16)), new TreeSet<>(), 4));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void indeksVanRasponaIdalje() {
+		new Minimizer(new TreeSet<>(Arrays.asList(1, 16)), new TreeSet<>(), VARIABLES);
+	}
+
+	private static void assertSameForms(Set<Integer> minterms, Set<Integer> dontCares, List<String> variables) {
+		List<String> expected = new Minimizer(new TreeSet<>(minterms), new TreeSet<>(dontCares), variables, false)
+				.getMinimalFormsAsString();
+		List<String> actual = new Minimizer(new TreeSet<>(minterms), new TreeSet<>(dontCares), variables)
+				.getMinimalFormsAsString();
+		assertEquals(minterms + " | " + dontCares, expected, actual);
+	}
+}
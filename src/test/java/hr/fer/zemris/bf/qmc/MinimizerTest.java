@@ -0,0 +1,146 @@
+package hr.fer.zemris.bf.qmc;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.sat.EquivalenceChecker;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+
+public class MinimizerTest {
+
+	@Test
+	public void kockeJednakoKaoMintermi() {
+		Random random = new Random(5);
+		for (int n = 2; n <= 8; n++) {
+			for (int i = 0; i < 15; i++) {
+				List<Cube> onSet = randomCubes(random, n, 1 + random.nextInt(5), Collections.emptyList());
+				List<Cube> dontCareSet = randomCubes(random, n, random.nextInt(3), onSet);
+				List<String> variables = RandomFunctionGenerator.variables(n);
+
+				Minimizer fromCubes = Minimizer.fromCubes(onSet, dontCareSet, variables);
+				Minimizer fromMinterms = new Minimizer(minterms(onSet), minterms(dontCareSet), variables, false);
+				assertEquals(asStrings(fromMinterms.getMinimalFormsAsCubes()),
+						asStrings(fromCubes.getMinimalFormsAsCubes()));
+				assertEquals(fromMinterms.getMinimalFormsAsCubes().size(),
+						fromCubes.getMinimalFormsAsExpressions().size());
+			}
+		}
+	}
+
+	@Test
+	public void velikeKockeBezRaspisivanja() {
+		int n = 48;
+		StringBuilder first = new StringBuilder();
+		StringBuilder second = new StringBuilder();
+		for (int i = 0; i < n; i++) {
+			first.append(i == 0 ? '1' : i == 1 ? '0' : '-');
+			second.append(i == 0 ? '1' : i == 1 ? '1' : '-');
+		}
+		List<String> variables = RandomFunctionGenerator.variables(n);
+		Minimizer minimizer = Minimizer.fromCubes(
+				Arrays.asList(new Cube(first.toString()), new Cube(second.toString())), Collections.emptyList(),
+				variables);
+
+		assertEquals(Arrays.asList("V0"), minimizer.getMinimalFormsAsString());
+		assertNull(minimizer.getMinimalForms());
+	}
+
+	@Test
+	public void mnogoKockiSMnogoNeodređenihVarijabli() {
+		int n = 24;
+		List<String> variables = RandomFunctionGenerator.variables(n);
+		EquivalenceChecker checker = new EquivalenceChecker();
+		Random random = new Random(3);
+		for (int count : new int[] { 20, 40 }) {
+			List<Cube> onSet = sparseCubes(random, n, count, 5);
+			List<List<Cube>> forms = Minimizer.fromCubes(onSet, Collections.emptyList(), variables)
+					.getMinimalFormsAsCubes();
+
+			assertFalse(forms.isEmpty());
+			int heuristic = new Espresso(onSet, Collections.emptyList(), variables).getCover().size();
+			for (List<Cube> form : forms) {
+				assertTrue(form.size() <= heuristic);
+				assertTrue(checker.check(Cube.toSumOfProducts(onSet, variables),
+						Cube.toSumOfProducts(form, variables), variables).isEquivalent());
+			}
+		}
+	}
+
+	@Test
+	public void kontradikcijaITautologija() {
+		List<String> variables = Arrays.asList("A", "B");
+		assertEquals(Arrays.asList("false"),
+				Minimizer.fromCubes(Collections.emptyList(), Arrays.asList(new Cube("1-")), variables)
+						.getMinimalFormsAsString());
+		assertEquals(Arrays.asList("true"),
+				Minimizer.fromCubes(Arrays.asList(new Cube("1-"), new Cube("01")), Arrays.asList(new Cube("00")),
+						variables).getMinimalFormsAsString());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void preklapanjeKocki() {
+		Minimizer.fromCubes(Arrays.asList(new Cube("1-")), Arrays.asList(new Cube("-1")), Arrays.asList("A", "B"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void pogresanBrojVarijabliKocke() {
+		Minimizer.fromCubes(Arrays.asList(new Cube("1-0")), Collections.emptyList(), Arrays.asList("A", "B"));
+	}
+
+	private static List<Cube> randomCubes(Random random, int n, int count, List<Cube> disjointFrom) {
+		List<Cube> cubes = new ArrayList<>();
+		for (int attempt = 0; attempt < 100 && cubes.size() < count; attempt++) {
+			Cube cube = Cube.universe(n);
+			for (int v = 0; v < n; v++) {
+				int choice = random.nextInt(3);
+				if (choice < 2) {
+					cube = cube.with(v, (byte) choice);
+				}
+			}
+			final Cube candidate = cube;
+			if (disjointFrom.stream().noneMatch(candidate::intersects)) {
+				cubes.add(cube);
+			}
+		}
+		return cubes;
+	}
+
+	private static List<Cube> sparseCubes(Random random, int n, int count, int literals) {
+		List<Cube> cubes = new ArrayList<>();
+		for (int c = 0; c < count; c++) {
+			Cube cube = Cube.universe(n);
+			while (cube.literalCount() < literals) {
+				cube = cube.with(random.nextInt(n), (byte) random.nextInt(2));
+			}
+			cubes.add(cube);
+		}
+		return cubes;
+	}
+
+	private static Set<Integer> minterms(List<Cube> cubes) {
+		Set<Integer> minterms = new HashSet<>();
+		for (Cube cube : cubes) {
+			minterms.addAll(cube.toMask(false).getIndexes());
+		}
+		return minterms;
+	}
+
+	private static Set<Set<String>> asStrings(List<List<Cube>> forms) {
+		Set<Set<String>> strings = new HashSet<>();
+		for (List<Cube> form : forms) {
+			Set<String> cubes = new HashSet<>();
+			form.forEach(cube -> cubes.add(cube.toString()));
+			strings.add(cubes);
+		}
+		return strings;
+	}
+}
@@ -0,0 +1,144 @@
+package hr.fer.zemris.bf.sat;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.qmc.Cube;
+import hr.fer.zemris.bf.qmc.Minimizer;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator.RandomFunction;
+import hr.fer.zemris.bf.utils.CompiledExpression;
+import hr.fer.zemris.bf.utils.Util;
+
+public class EquivalenceCheckerTest {
+
+	private static final List<String> VARIABLES = Arrays.asList("A", "B", "C", "D");
+
+	@Test
+	public void minimalniObliciUzDontCareove() {
+		RandomFunctionGenerator generator = new RandomFunctionGenerator(6);
+		EquivalenceChecker checker = new EquivalenceChecker(4, new Random(1));
+		for (int n = 3; n <= 6; n++) {
+			RandomFunction f = generator.next(n, 0.4, 0.2);
+			Node original = sumOfMinterms(f.getMinterms(), n, f.getVariables());
+			Node dontCare = sumOfMinterms(f.getDontCares(), n, f.getVariables());
+			Minimizer minimizer = new Minimizer(new HashSet<>(f.getMinterms()), f.getDontCares(), f.getVariables());
+
+			for (Node form : minimizer.getMinimalFormsAsExpressions()) {
+				assertTrue(checker.check(original, form, dontCare, f.getVariables()).isEquivalent());
+
+				Set<Integer> ones = Util.toSumOfMinterms(f.getVariables(), form);
+				EquivalenceResult strict = checker.check(original, form, f.getVariables());
+				assertEquals(ones.equals(f.getMinterms()), strict.isEquivalent());
+				if (!strict.isEquivalent()) {
+					assertTrue(f.getDontCares().contains(Util.booleanArrayToInt(strict.getCounterexample())));
+					assertFalse(strict.getFirstValue());
+					assertTrue(strict.getSecondValue());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void iscrpnaSimulacijaMalihIzraza() {
+		EquivalenceChecker checker = new EquivalenceChecker();
+		EquivalenceResult result = checker.check(new Parser("a xor b").getExpression(),
+				new Parser("a and not b or not a and b").getExpression(), VARIABLES);
+		assertTrue(result.isEquivalent());
+		assertEquals(EquivalenceResult.Method.SIMULATION, result.getMethod());
+
+		result = checker.check(new Parser("a or b").getExpression(), new Parser("a and b").getExpression(),
+				VARIABLES);
+		assertFalse(result.isEquivalent());
+		assertEquals(EquivalenceResult.Method.SIMULATION, result.getMethod());
+		assertCounterexample(new Parser("a or b").getExpression(), new Parser("a and b").getExpression(), result);
+	}
+
+	@Test
+	public void dokazVelikihIzraza() {
+		int n = 120;
+		List<String> variables = RandomFunctionGenerator.variables(n);
+		StringBuilder conjunction = new StringBuilder("not (v0");
+		StringBuilder disjunction = new StringBuilder("not v0");
+		for (int i = 1; i < n; i++) {
+			conjunction.append(" and v").append(i);
+			disjunction.append(" or not v").append(i);
+		}
+		conjunction.append(')');
+
+		EquivalenceResult result = new EquivalenceChecker().check(new Parser(conjunction.toString()).getExpression(),
+				new Parser(disjunction.toString()).getExpression(), variables);
+		assertTrue(result.isEquivalent());
+		assertEquals(EquivalenceResult.Method.SAT, result.getMethod());
+	}
+
+	@Test
+	public void rijetkaRazlikaPronađenaRješavanjem() {
+		int n = 50;
+		List<String> variables = RandomFunctionGenerator.variables(n);
+		StringBuilder sb = new StringBuilder("v0");
+		for (int i = 1; i < n; i++) {
+			sb.append(" and v").append(i);
+		}
+		Node first = new Parser(sb.toString()).getExpression();
+		Node second = new Parser("false").getExpression();
+
+		EquivalenceResult result = new EquivalenceChecker(16, new Random(2)).check(first, second, variables);
+		assertFalse(result.isEquivalent());
+		assertEquals(EquivalenceResult.Method.SAT, result.getMethod());
+		boolean[] expected = new boolean[n];
+		Arrays.fill(expected, true);
+		assertArrayEquals(expected, result.getCounterexample());
+		assertTrue(result.getFirstValue());
+
+		assertTrue(new EquivalenceChecker().check(first, second, first, variables).isEquivalent());
+	}
+
+	@Test
+	public void simulacijaVelikihIzraza() {
+		List<String> variables = RandomFunctionGenerator.variables(80);
+		Node first = new Parser("v0 xor v40 xor v79").getExpression();
+		Node second = new Parser("v0 xor v40").getExpression();
+
+		EquivalenceResult result = new EquivalenceChecker(8, new Random(5)).check(first, second, variables);
+		assertFalse(result.isEquivalent());
+		assertEquals(EquivalenceResult.Method.SIMULATION, result.getMethod());
+		assertCounterexample(first, second, result);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void protuprimjerEkvivalentnihIzraza() {
+		new EquivalenceChecker().check(new Parser("a").getExpression(), new Parser("not not a").getExpression(),
+				VARIABLES).getCounterexample();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nepoznataVarijabla() {
+		new EquivalenceChecker().check(new Parser("a").getExpression(), new Parser("e").getExpression(), VARIABLES);
+	}
+
+	private static void assertCounterexample(Node first, Node second, EquivalenceResult result) {
+		boolean[] values = result.getCounterexample();
+		assertEquals(result.getFirstValue(), CompiledExpression.compile(first, result.getVariables()).evaluate(values));
+		assertEquals(result.getSecondValue(),
+				CompiledExpression.compile(second, result.getVariables()).evaluate(values));
+	}
+
+	private static Node sumOfMinterms(Set<Integer> minterms, int n, List<String> variables) {
+		List<Cube> cubes = new ArrayList<>();
+		for (int minterm : minterms) {
+			cubes.add(new Cube(Util.indexToByteArray(minterm, n)));
+		}
+		return Cube.toSumOfProducts(cubes, variables);
+	}
+}
@@ -0,0 +1,166 @@
+package hr.fer.zemris.bf.sat;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.bdd.BddManager;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.qmc.Cube;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator.RandomFunction;
+import hr.fer.zemris.bf.utils.Util;
+
+public class ModelCounterTest {
+
+	private static final List<String> VARIABLES = Arrays.asList("A", "B", "C", "D");
+
+	@Test
+	public void jednakoBrojuMinterma() {
+		String[] expressions = { "a and (b or not c)", "a xor b xor c xor d", "a and not a", "true", "false",
+				"not (a xor not (b and c)) or d", "(a or b) and not (c xor d)", "c :+: d" };
+		for (String text : expressions) {
+			Node expression = new Parser(text).getExpression();
+			assertEquals(text, BigInteger.valueOf(Util.toSumOfMinterms(VARIABLES, expression).size()),
+					ModelCounter.count(expression, VARIABLES));
+		}
+	}
+
+	@Test
+	public void slučajneFunkcije() {
+		RandomFunctionGenerator generator = new RandomFunctionGenerator(17);
+		for (int n = 2; n <= 9; n++) {
+			RandomFunction f = generator.next(n, 0.3, 0.0);
+			List<Cube> minterms = new ArrayList<>();
+			for (int minterm : f.getMinterms()) {
+				minterms.add(new Cube(Util.indexToByteArray(minterm, n)));
+			}
+			Node expression = Cube.toSumOfProducts(minterms, f.getVariables());
+			assertEquals(BigInteger.valueOf(f.getMinterms().size()), ModelCounter.count(expression, f.getVariables()));
+		}
+	}
+
+	@Test
+	public void stotineVarijabli() {
+		int n = 300;
+		List<String> variables = RandomFunctionGenerator.variables(n);
+		StringBuilder sb = new StringBuilder("(v0 or not v1 or v2)");
+		for (int i = 3; i + 2 < n; i += 3) {
+			sb.append(" and (v").append(i).append(" or not v").append(i + 1).append(" or v").append(i + 2)
+					.append(')');
+		}
+		sb.append(" and (v3 xor v7 xor v150 xor v299)");
+		Node expression = new Parser(sb.toString()).getExpression();
+
+		BddManager manager = new BddManager(variables);
+		assertEquals(manager.satCount(manager.build(expression)), ModelCounter.count(expression, variables));
+	}
+
+	@Test
+	public void pravilaSaZajedničkimVarijablama() {
+		int n = 200;
+		List<String> variables = RandomFunctionGenerator.variables(n);
+		Random random = new Random(42);
+		StringBuilder sb = new StringBuilder();
+		List<int[]> complement = new ArrayList<>();
+		for (int t = 0; t < 50; t++) {
+			int[] clause = new int[4];
+			sb.append(t == 0 ? "(" : " or (");
+			for (int k = 0; k < clause.length; k++) {
+				int variable = random.nextInt(n);
+				boolean negated = random.nextBoolean();
+				clause[k] = negated ? variable + 1 : -(variable + 1);
+				sb.append(k == 0 ? "" : " and ").append(negated ? "not " : "").append(variables.get(variable));
+			}
+			sb.append(')');
+			complement.add(clause);
+		}
+		Node expression = new Parser(sb.toString()).getExpression();
+
+		BigInteger count = ModelCounter.count(expression, variables);
+		assertEquals(BigInteger.ONE.shiftLeft(n).subtract(new ModelCounter().countClauses(n, complement)), count);
+		CountEstimate estimate = ModelCounter.estimate(expression, variables, 0.01, 0.001, new Random(5));
+		assertTrue(estimate.getLowerBound().compareTo(count) <= 0);
+		assertTrue(estimate.getUpperBound().compareTo(count) >= 0);
+	}
+
+	@Test
+	public void ugniježđenaPravilaSaZajedničkimVarijablama() {
+		int n = 24;
+		List<String> variables = RandomFunctionGenerator.variables(n);
+		Random random = new Random(11);
+		StringBuilder sb = new StringBuilder("(");
+		for (int t = 0; t < 16; t++) {
+			sb.append(t == 0 ? "" : t % 4 == 0 ? ") and (" : " or ").append('(');
+			for (int k = 0; k < 3; k++) {
+				sb.append(k == 0 ? "" : " and ").append(random.nextBoolean() ? "not " : "")
+						.append(variables.get(random.nextInt(n)));
+			}
+			sb.append(')');
+		}
+		Node expression = new Parser(sb.append(')').toString()).getExpression();
+
+		BddManager manager = new BddManager(variables);
+		assertEquals(manager.satCount(manager.build(expression)), ModelCounter.count(expression, variables));
+	}
+
+	@Test
+	public void lanacIsključivihIli() {
+		int n = 200;
+		List<String> variables = RandomFunctionGenerator.variables(n);
+		StringBuilder sb = new StringBuilder("v0");
+		for (int i = 1; i < n; i++) {
+			sb.append(" xor v").append(i);
+		}
+		assertEquals(BigInteger.ONE.shiftLeft(n - 1),
+				ModelCounter.count(new Parser(sb.toString()).getExpression(), variables));
+	}
+
+	@Test
+	public void klauzule() {
+		ModelCounter counter = new ModelCounter();
+		assertEquals(BigInteger.valueOf(3), counter.countClauses(2, Arrays.asList(new int[] { 1, 2 })));
+		assertEquals(BigInteger.valueOf(8), counter.countClauses(3, Arrays.asList(new int[] { 1, -1 })));
+		assertEquals(BigInteger.ZERO, counter.countClauses(3, Arrays.asList(new int[] { 1 }, new int[] { -1, 2 },
+				new int[] { -2 })));
+		assertEquals(BigInteger.ZERO, counter.countClauses(3, Arrays.asList(new int[0])));
+		assertEquals(BigInteger.valueOf(2), counter.countClauses(3, 1, Arrays.asList(new int[] { -1, 2 },
+				new int[] { 1, -2 }, new int[] { 3 })));
+	}
+
+	@Test
+	public void procjenaUnutarGranica() {
+		Node expression = new Parser("(a or b) and not (c xor d)").getExpression();
+		CountEstimate estimate = ModelCounter.estimate(expression, VARIABLES, 0.02, 0.001, new Random(3));
+
+		assertEquals(0.375, estimate.getSelectivity(), 0.02);
+		assertTrue(estimate.getLowerBound().compareTo(BigInteger.valueOf(6)) <= 0);
+		assertTrue(estimate.getUpperBound().compareTo(BigInteger.valueOf(6)) >= 0);
+		assertEquals(0.999, estimate.getConfidence(), 1e-12);
+		assertTrue(estimate.getSampleCount() >= Math.log(2 / 0.001) / (2 * 0.02 * 0.02));
+	}
+
+	@Test
+	public void procjenaVelikogIzraza() {
+		int n = 500;
+		List<String> variables = RandomFunctionGenerator.variables(n);
+		Node expression = new Parser("v0 and (v100 or v499)").getExpression();
+		CountEstimate estimate = ModelCounter.estimate(expression, variables, 0.01, 0.01, new Random(8));
+
+		BigInteger exact = BigInteger.valueOf(3).shiftLeft(n - 3);
+		assertTrue(estimate.getLowerBound().compareTo(exact) <= 0);
+		assertTrue(estimate.getUpperBound().compareTo(exact) >= 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void neispravnoOdstupanje() {
+		ModelCounter.estimate(new Parser("a").getExpression(), VARIABLES, 0, 0.1, new Random());
+	}
+}
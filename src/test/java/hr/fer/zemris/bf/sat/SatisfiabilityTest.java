@@ -0,0 +1,193 @@
+package hr.fer.zemris.bf.sat;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+import hr.fer.zemris.bf.utils.CompiledExpression;
+import hr.fer.zemris.bf.utils.Util;
+
+public class SatisfiabilityTest {
+
+	private static final List<String> VARIABLES = Arrays.asList("A", "B", "C", "D");
+
+	@Test
+	public void jednakoNabrajanju() {
+		String[] expressions = { "a and (b or not c)", "a xor b xor c xor d", "a and not a",
+				"not (a xor not (b and c)) and d", "(a or b) and (not a or b) and (a or not b) and (not a or not b)",
+				"false", "true and not (c :+: d)" };
+		for (String text : expressions) {
+			Node expression = new Parser(text).getExpression();
+			SatResult result = Satisfiability.solve(expression, VARIABLES);
+
+			assertEquals(text, !Util.filterAssignments(VARIABLES, expression, true).isEmpty(),
+					result.isSatisfiable());
+			if (result.isSatisfiable()) {
+				assertTrue(text, CompiledExpression.compile(expression, VARIABLES).evaluate(result.getModel()));
+			}
+		}
+	}
+
+	@Test
+	public void tautologija() {
+		assertTrue(Satisfiability.isTautology(new Parser("a or not a or b").getExpression(), VARIABLES));
+		assertFalse(Satisfiability.isTautology(new Parser("a or b").getExpression(), VARIABLES));
+	}
+
+	@Test
+	public void velikiIzraz() {
+		int n = 401;
+		List<String> variables = RandomFunctionGenerator.variables(n);
+		StringBuilder sb = new StringBuilder("(v0 or v1)");
+		for (int i = 1; i < n; i++) {
+			sb.append(" and (v").append(i - 1).append(" xor v").append(i).append(')');
+		}
+		Node expression = new Parser(sb.toString()).getExpression();
+		SatResult result = Satisfiability.solve(expression, variables);
+
+		assertTrue(result.isSatisfiable());
+		assertTrue(CompiledExpression.compile(expression, variables).evaluate(result.getModel()));
+		assertNotEquals(result.getValue("V0"), result.getValue("V1"));
+
+		Node contradiction = new Parser(sb.append(" and (v0 xor v").append(n - 1).append(")").toString())
+				.getExpression();
+		assertFalse(Satisfiability.isSatisfiable(contradiction, variables));
+	}
+
+	@Test
+	public void slučajni3Sat() {
+		Random random = new Random(5);
+		for (int round = 0; round < 200; round++) {
+			int n = 12;
+			List<int[]> clauses = random3Sat(random, n, 4 + random.nextInt(60));
+			CdclSolver solver = new CdclSolver(n);
+			clauses.forEach(solver::addClause);
+
+			boolean expected = false;
+			for (int m = 0; m < 1 << n && !expected; m++) {
+				expected = satisfies(clauses, assignment(m, n));
+			}
+			assertEquals(expected, solver.solve());
+			if (expected) {
+				assertTrue(satisfies(clauses, solver.getModel()));
+			}
+		}
+	}
+
+	@Test
+	public void velikiSlučajni3Sat() {
+		Random random = new Random(11);
+		int n = 300;
+		List<int[]> clauses = random3Sat(random, n, 3 * n);
+		CdclSolver solver = new CdclSolver(n);
+		clauses.forEach(solver::addClause);
+
+		assertTrue(solver.solve());
+		assertTrue(satisfies(clauses, solver.getModel()));
+	}
+
+	@Test
+	public void golubinjac() {
+		// 7 goluba u 6 pretinaca
+		int pigeons = 7;
+		int holes = 6;
+		CdclSolver solver = new CdclSolver(pigeons * holes);
+		for (int p = 0; p < pigeons; p++) {
+			int[] clause = new int[holes];
+			for (int h = 0; h < holes; h++) {
+				clause[h] = p * holes + h + 1;
+			}
+			solver.addClause(clause);
+		}
+		for (int h = 0; h < holes; h++) {
+			for (int p = 0; p < pigeons; p++) {
+				for (int q = p + 1; q < pigeons; q++) {
+					solver.addClause(-(p * holes + h + 1), -(q * holes + h + 1));
+				}
+			}
+		}
+		assertFalse(solver.solve());
+		assertTrue(solver.getConflicts() > 0);
+	}
+
+	@Test
+	public void nabrajanjeModela() {
+		Node expression = new Parser("(a or b) and (c xor d)").getExpression();
+		CdclSolver solver = new CdclSolver(4);
+		solver.addClause(1, 2);
+		solver.addClause(3, 4);
+		solver.addClause(-3, -4);
+
+		int count = 0;
+		while (solver.solve()) {
+			boolean[] model = solver.getModel();
+			assertTrue(CompiledExpression.compile(expression, VARIABLES).evaluate(model));
+			int[] blocking = new int[4];
+			for (int v = 0; v < 4; v++) {
+				blocking[v] = model[v] ? -(v + 1) : v + 1;
+			}
+			solver.addClause(blocking);
+			count++;
+		}
+		assertEquals(Util.toSumOfMinterms(VARIABLES, expression).size(), count);
+	}
+
+	@Test
+	public void lubyjevNiz() {
+		long[] expected = { 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8 };
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], CdclSolver.luby(i));
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void modelNeispunjivogIzraza() {
+		Satisfiability.solve(new Parser("a and not a").getExpression(), VARIABLES).getModel();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void neispravanLiteral() {
+		new CdclSolver(3).addClause(1, -4);
+	}
+
+	private static List<int[]> random3Sat(Random random, int n, int clauseCount) {
+		List<int[]> clauses = new ArrayList<>();
+		for (int i = 0; i < clauseCount; i++) {
+			int[] clause = new int[3];
+			for (int k = 0; k < 3; k++) {
+				clause[k] = (random.nextInt(n) + 1) * (random.nextBoolean() ? 1 : -1);
+			}
+			clauses.add(clause);
+		}
+		return clauses;
+	}
+
+	private static boolean satisfies(List<int[]> clauses, boolean[] model) {
+		for (int[] clause : clauses) {
+			boolean satisfied = false;
+			for (int literal : clause) {
+				satisfied |= model[Math.abs(literal) - 1] == literal > 0;
+			}
+			if (!satisfied) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean[] assignment(int m, int n) {
+		boolean[] values = new boolean[n];
+		for (int v = 0; v < n; v++) {
+			values[v] = (m >>> (n - 1 - v) & 1) != 0;
+		}
+		return values;
+	}
+}
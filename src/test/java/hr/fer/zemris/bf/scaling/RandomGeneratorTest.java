@@ -0,0 +1,57 @@
+package hr.fer.zemris.bf.scaling;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator.RandomFunction;
+import hr.fer.zemris.bf.utils.NodeAsExpressionPrinter;
+
+public class RandomGeneratorTest {
+
+	@Test
+	public void istoSjemeDajeIstuFunkciju() {
+		RandomFunction f1 = new RandomFunctionGenerator(7).next(8, 0.4, 0.1);
+		RandomFunction f2 = new RandomFunctionGenerator(7).next(8, 0.4, 0.1);
+		assertEquals(f1.getMinterms(), f2.getMinterms());
+		assertEquals(f1.getDontCares(), f2.getDontCares());
+	}
+
+	@Test
+	public void mintermiIDontCareoviSeNePreklapaju() {
+		RandomFunction f = new RandomFunctionGenerator(3).next(10, 0.5, 0.3);
+		Set<Integer> intersection = new HashSet<>(f.getMinterms());
+		intersection.retainAll(f.getDontCares());
+		assertTrue(intersection.isEmpty());
+		assertFalse(f.getMinterms().isEmpty());
+	}
+
+	@Test
+	public void gustocaNulaDajeKontradikciju() {
+		assertEquals(Collections.emptySet(), new RandomFunctionGenerator(1).next(6, 0, 0).getMinterms());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void prevelikeVjerojatnosti() {
+		new RandomFunctionGenerator(1).next(4, 0.8, 0.3);
+	}
+
+	@Test
+	public void istoSjemeDajeIstiIzraz() {
+		List<String> variables = RandomFunctionGenerator.variables(5);
+		assertEquals(print(new RandomExpressionGenerator(11, variables, 5, 3).next()),
+				print(new RandomExpressionGenerator(11, variables, 5, 3).next()));
+	}
+
+	private static String print(Node node) {
+		NodeAsExpressionPrinter printer = new NodeAsExpressionPrinter();
+		node.accept(printer);
+		return printer.getExpressionAsString();
+	}
+}
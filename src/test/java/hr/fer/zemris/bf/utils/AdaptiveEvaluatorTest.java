@@ -0,0 +1,125 @@
+package hr.fer.zemris.bf.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.VariableNode;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.scaling.RandomExpressionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+
+public class AdaptiveEvaluatorTest {
+
+	private static final List<String> VARIABLES = Arrays.asList("A", "B", "C", "D", "E");
+
+	@Test
+	public void uciJeftinoIOdlucujuceDijete() {
+		Node expression = new Parser("(a and b) xor (c and d) or e").getExpression();
+		AdaptiveEvaluator evaluator = new AdaptiveEvaluator(expression, VARIABLES, 100, 1);
+		String initial = evaluator.exportOrder();
+		Random random = new Random(37);
+		for (int i = 0; i < 1000; i++) {
+			boolean[] values = new boolean[VARIABLES.size()];
+			for (int j = 0; j < 4; j++) {
+				values[j] = random.nextBoolean();
+			}
+			values[4] = random.nextInt(10) != 0;
+			evaluator.evaluate(values);
+		}
+		String learned = evaluator.exportOrder();
+		assertNotEquals(initial, learned);
+		assertTrue(learned, learned.endsWith(":1,0"));
+	}
+
+	@Test
+	public void spremanjeIUcitavanjeRedoslijeda() {
+		Node expression = new Parser("a and (b or c or d) and e").getExpression();
+		AdaptiveEvaluator evaluator = new AdaptiveEvaluator(expression, VARIABLES);
+		evaluator.importOrder("4:2,0,1;6:2,1,0");
+		assertEquals("4:2,0,1;6:2,1,0", evaluator.exportOrder());
+		assertSameAsEvaluator(expression, VARIABLES, evaluator);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void neispravanRedoslijed() {
+		new AdaptiveEvaluator(new Parser("a and b").getExpression(), VARIABLES).importOrder("2:0,0");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void redoslijedNepostojecegCvora() {
+		new AdaptiveEvaluator(new Parser("a and b").getExpression(), VARIABLES).importOrder("0:1,0");
+	}
+
+	@Test
+	public void nasumicniIzraziJednakiKaoEvaluator() {
+		List<String> variables = RandomFunctionGenerator.variables(6);
+		RandomExpressionGenerator generator = new RandomExpressionGenerator(37, variables, 5, 5,
+				new double[] { 1, 1, 1, 0.5 }, 0.2, 0.05);
+		for (int i = 0; i < 50; i++) {
+			Node expression = generator.next();
+			AdaptiveEvaluator evaluator = new AdaptiveEvaluator(expression, variables, 7, 2);
+			for (int round = 0; round < 3; round++) {
+				assertSameAsEvaluator(expression, variables, evaluator);
+			}
+		}
+	}
+
+	@Test
+	public void istovremeniIzracuni() throws InterruptedException {
+		Node expression = new Parser("a and (b or c or d) and e or not (a xor e)").getExpression();
+		assertSameInThreads(expression, new AdaptiveEvaluator(expression, VARIABLES, 64, 2));
+	}
+
+	@Test
+	public void neprepoznatiOperatoriUViseDretvi() throws InterruptedException {
+		BinaryOperator<Boolean> implication = (x, y) -> !x || y;
+		Node inner = new BinaryOperatorNode("impl", Arrays.asList(new VariableNode("B"), new VariableNode("C"),
+				new VariableNode("D")), implication);
+		Node expression = new BinaryOperatorNode("impl", Arrays.asList(new VariableNode("A"), inner,
+				new Parser("a or e").getExpression()), implication);
+		assertSameInThreads(expression, new AdaptiveEvaluator(expression, VARIABLES, 64, 2));
+	}
+
+	private static void assertSameInThreads(Node expression, AdaptiveEvaluator evaluator)
+			throws InterruptedException {
+		List<Throwable> errors = new ArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			Thread thread = new Thread(() -> {
+				try {
+					for (int i = 0; i < 50; i++) {
+						assertSameAsEvaluator(expression, VARIABLES, evaluator);
+					}
+				} catch (Throwable e) {
+					synchronized (errors) {
+						errors.add(e);
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(Arrays.asList(), errors);
+	}
+
+	private static void assertSameAsEvaluator(Node expression, List<String> variables, AdaptiveEvaluator adaptive) {
+		ExpressionEvaluator evaluator = new ExpressionEvaluator(variables);
+		Util.forEach(variables, values -> {
+			evaluator.setValues(values);
+			expression.accept(evaluator);
+			assertEquals(evaluator.getResult(), adaptive.evaluate(values));
+		});
+	}
+}
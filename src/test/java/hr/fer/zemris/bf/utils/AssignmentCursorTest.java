@@ -0,0 +1,118 @@
+package hr.fer.zemris.bf.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.scaling.RandomExpressionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+
+public class AssignmentCursorTest {
+
+	@Test
+	public void dijeloviJednakiMintermima() {
+		for (int n = 1; n <= 9; n++) {
+			List<String> variables = RandomFunctionGenerator.variables(n);
+			RandomExpressionGenerator generator = new RandomExpressionGenerator(n, variables, 5, 4,
+					new double[] { 1, 1, 1, 0.5 }, 0.2, 0.05);
+			for (int i = 0; i < 10; i++) {
+				Node expression = generator.next();
+				long[] expected = Util.minterms(variables, expression).asLongStream().toArray();
+				assertArrayEquals(expected, Util.sparseMinterms(variables, expression));
+				assertArrayEquals(expected, collect(new AssignmentCursor(expression, variables, true), 3));
+			}
+		}
+	}
+
+	@Test
+	public void nastavakOdPozicije() {
+		List<String> variables = RandomFunctionGenerator.variables(8);
+		Node expression = new Parser("v0 xor v3 xor v7").getExpression();
+		AssignmentCursor cursor = new AssignmentCursor(expression, variables, false);
+		long[] first = new long[5];
+		assertEquals(5, cursor.next(first));
+
+		AssignmentCursor resumed = new AssignmentCursor(expression, variables, false, cursor.getPosition());
+		long[] rest = collect(resumed, 7);
+		long[] all = Util.maxterms(variables, expression).asLongStream().toArray();
+		assertArrayEquals(Arrays.copyOf(all, 5), first);
+		assertArrayEquals(Arrays.copyOfRange(all, 5, all.length), rest);
+		assertEquals(256, resumed.getPosition());
+	}
+
+	@Test
+	public void cetrdesetVarijabli() {
+		List<String> variables = RandomFunctionGenerator.variables(40);
+		Node expression = new Parser("not v0 and not v1 and v39").getExpression();
+		AssignmentCursor cursor = new AssignmentCursor(expression, variables, true);
+		long[] out = new long[1 << 10];
+		int count = cursor.next(out, 1 << 12);
+		assertEquals(1 << 11, cursor.getPosition());
+		assertEquals(1 << 10, count);
+		assertEquals(1, out[0]);
+		assertEquals((1 << 11) - 1, out[count - 1]);
+		assertTrue(cursor.hasNext());
+
+		AssignmentCursor tail = new AssignmentCursor(new Parser("v0 and v39").getExpression(), variables, true,
+				(1L << 40) - 64);
+		assertEquals(32, tail.next(new long[64]));
+		assertFalse(tail.hasNext());
+		assertEquals(1L << 40, tail.getPosition());
+	}
+
+	@Test
+	public void sestdesetTriVarijable() {
+		List<String> variables = RandomFunctionGenerator.variables(63);
+		Node expression = new Parser("v0 and v1 and v62").getExpression();
+		long[] out = new long[4];
+		AssignmentCursor cursor = new AssignmentCursor(expression, variables, true, Long.MAX_VALUE - 7);
+		assertEquals(4, cursor.next(out));
+		assertEquals(Long.MAX_VALUE, out[3]);
+		assertFalse(cursor.hasNext());
+		assertEquals(Long.MIN_VALUE, cursor.getPosition());
+		boolean[] values = new boolean[63];
+		Arrays.fill(values, true);
+		assertEquals(Long.MAX_VALUE, Util.booleanArrayToLong(values));
+	}
+
+	@Test
+	public void obilazakMalogProstora() {
+		List<String> variables = Arrays.asList("A", "B");
+		int[] count = { 0 };
+		Util.forEach(variables, values -> count[0]++);
+		assertEquals(4, count[0]);
+		Util.forEach(Arrays.asList(), values -> count[0]++);
+		assertEquals(5, count[0]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void prevelikRedniBrojZaInt() {
+		Util.booleanArrayToInt(new boolean[32]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void previseVarijabli() {
+		new AssignmentCursor(new Parser("1").getExpression(), RandomFunctionGenerator.variables(64), true);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void pocetakIzvanProstora() {
+		new AssignmentCursor(new Parser("a").getExpression(), Arrays.asList("A"), true, 3);
+	}
+
+	private static long[] collect(AssignmentCursor cursor, int chunkSize) {
+		long[] result = new long[0];
+		long[] chunk = new long[chunkSize];
+		while (cursor.hasNext()) {
+			int count = cursor.next(chunk);
+			result = Arrays.copyOf(result, result.length + count);
+			System.arraycopy(chunk, 0, result, result.length - count, count);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,149 @@
+package hr.fer.zemris.bf.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.VariableNode;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.scaling.RandomExpressionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+
+public class BitSlicedEvaluatorTest {
+
+	@Test
+	public void manjeOdSestVarijabli() {
+		BitSet table = Util.truthTable(Arrays.asList("A", "B"), new Parser("a or not b").getExpression());
+		assertEquals(BitSet.valueOf(new long[] { 0b1101 }), table);
+	}
+
+	@Test
+	public void sumaMintermaIProduktMakstermaUzlazno() {
+		List<String> variables = Arrays.asList("A", "B", "C");
+		Node expression = new Parser("a xor b xor c").getExpression();
+		assertEquals(Arrays.asList(1, 2, 4, 7), Arrays.asList(Util.toSumOfMinterms(variables, expression).toArray()));
+		assertEquals(Arrays.asList(0, 3, 5, 6),
+				Arrays.asList(Util.toProductOfMaxterms(variables, expression).toArray()));
+	}
+
+	@Test
+	public void nepoznatiOperatori() {
+		List<String> variables = RandomFunctionGenerator.variables(7);
+		Node expression = new UnaryOperatorNode("id",
+				new BinaryOperatorNode("implies",
+						Arrays.asList(new VariableNode("V0"), new VariableNode("V3"), new VariableNode("V6")),
+						(x, y) -> !x || y),
+				x -> x);
+		assertSameAsEvaluator(expression, variables);
+	}
+
+	@Test
+	public void nasumicniIzraziJednakiKaoEvaluator() {
+		for (int n = 1; n <= 9; n++) {
+			List<String> variables = RandomFunctionGenerator.variables(n);
+			RandomExpressionGenerator generator = new RandomExpressionGenerator(n, variables, 5, 4,
+					new double[] { 1, 1, 1, 0.5 }, 0.2, 0.05);
+			for (int i = 0; i < 20; i++) {
+				assertSameAsEvaluator(generator.next(), variables);
+			}
+		}
+	}
+
+	@Test
+	public void paralelnaTablicaJednakaSlijednoj() {
+		List<String> variables = RandomFunctionGenerator.variables(18);
+		Node expression = new RandomExpressionGenerator(18, variables, 6, 4, new double[] { 1, 1, 1, 0.5 }, 0.2, 0.05)
+				.next();
+		BitSet sequential = new BitSlicedEvaluator(expression, variables).truthTable();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			assertEquals(sequential, Util.truthTable(variables, expression, pool));
+		} finally {
+			pool.shutdown();
+		}
+		assertArrayEquals(sequential.stream().toArray(),
+				Util.satisfyingAssignments(variables, expression).toArray());
+	}
+
+	@Test
+	public void lijeniMintermiIMakstermi() {
+		for (int n : new int[] { 1, 3, 6, 9 }) {
+			List<String> variables = RandomFunctionGenerator.variables(n);
+			Node expression = new RandomExpressionGenerator(n, variables, 4, 3, new double[] { 1, 1, 1, 0.5 }, 0.2,
+					0.05).next();
+			assertArrayEquals(Util.toSumOfMinterms(variables, expression).stream().mapToInt(Integer::intValue)
+					.toArray(), Util.minterms(variables, expression).toArray());
+			assertArrayEquals(Util.toProductOfMaxterms(variables, expression).stream().mapToInt(Integer::intValue)
+					.toArray(), Util.maxterms(variables, expression).toArray());
+			assertEquals(Util.toMaxtermBitSet(variables, expression).cardinality(),
+					Util.maxterms(variables, expression).count());
+			assertEquals(Util.toMintermBitSet(variables, expression),
+					Util.truthTable(variables, expression));
+		}
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void iteratorBezMinterma() {
+		Util.mintermIterator(Arrays.asList("A"), new Parser("a and not a").getExpression()).nextInt();
+	}
+
+	@Test
+	public void redniBrojKombinacije() {
+		assertEquals(6, Util.booleanArrayToInt(new boolean[] { true, true, false }));
+		assertEquals(0, Util.booleanArrayToInt(new boolean[0]));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void prevelikaTablica() {
+		new BitSlicedEvaluator(new Parser("1").getExpression(), RandomFunctionGenerator.variables(31)).truthTable();
+	}
+
+	@Test
+	public void proizvoljneKombinacije() {
+		List<String> variables = RandomFunctionGenerator.variables(9);
+		Node expression = new RandomExpressionGenerator(9, variables, 5, 3, new double[] { 1, 1, 1, 0.5 }, 0.2, 0.05)
+				.next();
+		CompiledExpression compiled = CompiledExpression.compile(expression, variables);
+		long[] words = new long[variables.size()];
+		Random random = new Random(4);
+		for (int i = 0; i < words.length; i++) {
+			words[i] = random.nextLong();
+		}
+
+		long result = new BitSlicedEvaluator(compiled).evaluateWords(words);
+		for (int j = 0; j < Long.SIZE; j++) {
+			boolean[] values = new boolean[words.length];
+			for (int i = 0; i < words.length; i++) {
+				values[i] = (words[i] >>> j & 1) != 0;
+			}
+			assertEquals(compiled.evaluate(values), (result >>> j & 1) != 0);
+		}
+	}
+
+	private static void assertSameAsEvaluator(Node expression, List<String> variables) {
+		ExpressionEvaluator evaluator = new ExpressionEvaluator(variables);
+		Set<Integer> expected = new LinkedHashSet<>();
+		int[] index = { 0 };
+		Util.forEach(variables, values -> {
+			evaluator.setValues(values);
+			expression.accept(evaluator);
+			if (evaluator.getResult()) {
+				expected.add(index[0]);
+			}
+			index[0]++;
+		});
+		assertEquals(expected, Util.toSumOfMinterms(variables, expression));
+	}
+}
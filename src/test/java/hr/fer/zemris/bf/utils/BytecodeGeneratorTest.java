@@ -0,0 +1,98 @@
+package hr.fer.zemris.bf.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.VariableNode;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.scaling.RandomExpressionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+
+public class BytecodeGeneratorTest {
+
+	@Test
+	public void generiraRazred() {
+		BooleanPredicate predicate = BytecodeGenerator.generate(new Parser("a and not b or c xor 1").getExpression(),
+				Arrays.asList("A", "B", "C"));
+		assertFalse(predicate instanceof CompiledExpression);
+		assertTrue(predicate.test(new boolean[] { false, false, false }));
+		assertFalse(predicate.test(new boolean[] { false, false, true }));
+		assertTrue(predicate.test(new boolean[] { true, false, true }));
+	}
+
+	@Test
+	public void strukturnoJednakiIzraziDijeleRazred() {
+		BooleanPredicate first = BytecodeGenerator.generate(new Parser("x or not y").getExpression(),
+				Arrays.asList("X", "Y"));
+		BooleanPredicate second = BytecodeGenerator.generate(new Parser("p or not q").getExpression(),
+				Arrays.asList("P", "Q"));
+		assertSame(first, second);
+	}
+
+	@Test
+	public void nepoznatiOperatorKoristiInterpreter() {
+		Node expression = new UnaryOperatorNode("id", new VariableNode("A"), x -> x);
+		BooleanPredicate predicate = BytecodeGenerator.generate(expression, Arrays.asList("A"));
+		assertTrue(predicate instanceof CompiledExpression);
+		assertTrue(predicate.test(new boolean[] { true }));
+	}
+
+	@Test
+	public void prevelikiIzrazKoristiInterpreter() {
+		StringBuilder sb = new StringBuilder("a");
+		for (int i = 0; i < BytecodeGenerator.MAX_CODE_SIZE / 3; i++) {
+			sb.append(i % 2 == 0 ? " and b" : " or a");
+		}
+		BooleanPredicate predicate = BytecodeGenerator.generate(new Parser(sb.toString()).getExpression(),
+				Arrays.asList("A", "B"));
+		assertTrue(predicate instanceof CompiledExpression);
+	}
+
+	@Test
+	public void neuspjeloGeneriranjeSePamti() {
+		BytecodeGenerator.clearCache();
+		BytecodeGenerator.generate(new UnaryOperatorNode("id", new VariableNode("A"), x -> x), Arrays.asList("A"));
+		assertEquals(1, BytecodeGenerator.cacheSize());
+		BooleanPredicate predicate = BytecodeGenerator.generate(new UnaryOperatorNode("id", new VariableNode("B"),
+				x -> !x), Arrays.asList("B"));
+		assertEquals(1, BytecodeGenerator.cacheSize());
+		assertTrue(predicate instanceof CompiledExpression);
+		assertFalse(predicate.test(new boolean[] { true }));
+	}
+
+	@Test
+	public void ogranicenaPrirucnaMemorija() {
+		List<String> variables = RandomFunctionGenerator.variables(12);
+		for (int i = 0; i <= BytecodeGenerator.MAX_CACHE_SIZE; i++) {
+			StringBuilder sb = new StringBuilder(variables.get(0));
+			for (int bit = 0; bit < 11; bit++) {
+				sb.append((i & 1 << bit) == 0 ? " and " : " or ").append(variables.get(bit + 1));
+			}
+			BytecodeGenerator.generate(new Parser(sb.toString()).getExpression(), variables);
+		}
+		assertEquals(BytecodeGenerator.MAX_CACHE_SIZE, BytecodeGenerator.cacheSize());
+	}
+
+	@Test
+	public void nasumicniIzraziJednakiKaoEvaluator() {
+		List<String> variables = RandomFunctionGenerator.variables(7);
+		RandomExpressionGenerator generator = new RandomExpressionGenerator(32, variables, 5, 4,
+				new double[] { 1, 1, 1, 0.5 }, 0.2, 0.05);
+		for (int i = 0; i < 100; i++) {
+			Node expression = generator.next();
+			BooleanPredicate predicate = BytecodeGenerator.generate(expression, variables);
+			ExpressionEvaluator evaluator = new ExpressionEvaluator(variables);
+			Util.forEach(variables, values -> {
+				evaluator.setValues(values);
+				expression.accept(evaluator);
+				assertEquals(evaluator.getResult(), predicate.test(values));
+			});
+		}
+	}
+}
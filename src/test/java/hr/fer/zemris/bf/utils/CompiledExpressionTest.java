@@ -0,0 +1,78 @@
+package hr.fer.zemris.bf.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.VariableNode;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.scaling.RandomExpressionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+
+public class CompiledExpressionTest {
+
+	@Test
+	public void postfiksniOblik() {
+		Node expression = new Parser("a and not b or c").getExpression();
+		CompiledExpression compiled = CompiledExpression.compile(expression, Arrays.asList("A", "B", "C"));
+		assertEquals("A B NOT AND/2 C OR/2", compiled.toString());
+	}
+
+	@Test
+	public void konstante() {
+		CompiledExpression compiled = CompiledExpression.compile(new Parser("1 xor a").getExpression(),
+				Arrays.asList("A"));
+		assertTrue(compiled.evaluate(new boolean[] { false }));
+		assertFalse(compiled.evaluate(new boolean[] { true }));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void nepoznataVarijabla() {
+		CompiledExpression.compile(new Parser("a and d").getExpression(), Arrays.asList("A", "B"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void pogresanBrojVrijednosti() {
+		CompiledExpression.compile(new Parser("a and b").getExpression(), Arrays.asList("A", "B"))
+				.evaluate(new boolean[1]);
+	}
+
+	@Test
+	public void nepoznatiOperatori() {
+		List<String> variables = Arrays.asList("A", "B", "C");
+		Node expression = new UnaryOperatorNode("id",
+				new BinaryOperatorNode("nand",
+						Arrays.asList(new VariableNode("A"), new VariableNode("B"), new VariableNode("C")),
+						(x, y) -> !(x && y)),
+				x -> x);
+		assertSameAsEvaluator(expression, variables);
+	}
+
+	@Test
+	public void nasumicniIzraziJednakiKaoEvaluator() {
+		List<String> variables = RandomFunctionGenerator.variables(6);
+		RandomExpressionGenerator generator = new RandomExpressionGenerator(5, variables, 5, 4,
+				new double[] { 1, 1, 1, 0.5 }, 0.2, 0.05);
+		for (int i = 0; i < 200; i++) {
+			assertSameAsEvaluator(generator.next(), variables);
+		}
+	}
+
+	private static void assertSameAsEvaluator(Node expression, List<String> variables) {
+		CompiledExpression compiled = CompiledExpression.compile(expression, variables);
+		ExpressionEvaluator evaluator = new ExpressionEvaluator(variables);
+		int[] index = { 0 };
+		Util.forEach(variables, values -> {
+			evaluator.setValues(values);
+			expression.accept(evaluator);
+			assertEquals(evaluator.getResult(), compiled.evaluate(values));
+			assertEquals(evaluator.getResult(), compiled.evaluate(index[0]++));
+		});
+	}
+}
@@ -0,0 +1,89 @@
+package hr.fer.zemris.bf.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.VariableNode;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.scaling.RandomExpressionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+
+public class IncrementalEvaluatorTest {
+
+	@Test
+	public void grayevKodMijenjaJednuVarijablu() {
+		List<String> variables = Arrays.asList("A", "B", "C", "D");
+		Set<Integer> seen = new HashSet<>();
+		boolean[] previous = new boolean[variables.size()];
+		Util.forEachGray(variables, (values, changed) -> {
+			int differences = 0;
+			for (int i = 0; i < values.length; i++) {
+				differences += values[i] != previous[i] ? 1 : 0;
+			}
+			assertEquals(changed < 0 ? 0 : 1, differences);
+			if (changed >= 0) {
+				assertNotEquals(previous[changed], values[changed]);
+			}
+			assertTrue(seen.add(Util.booleanArrayToInt(values)));
+			System.arraycopy(values, 0, previous, 0, values.length);
+		});
+		assertEquals(16, seen.size());
+	}
+
+	@Test
+	public void postavljanjeVrijednosti() {
+		IncrementalEvaluator evaluator = new IncrementalEvaluator(new Parser("a and (b or not c)").getExpression(),
+				Arrays.asList("A", "B", "C"));
+		assertFalse(evaluator.getResult());
+		assertTrue(evaluator.setValues(new boolean[] { true, false, false }));
+		assertFalse(evaluator.flip(2));
+		assertTrue(evaluator.flip(1));
+		assertTrue(evaluator.getValue(1));
+	}
+
+	@Test
+	public void nepoznatiOperatori() {
+		List<String> variables = Arrays.asList("A", "B", "C");
+		Node expression = new UnaryOperatorNode("id",
+				new BinaryOperatorNode("implies",
+						Arrays.asList(new VariableNode("A"), new VariableNode("B"), new VariableNode("C")),
+						(x, y) -> !x || y),
+				x -> x);
+		assertSameAsEvaluator(expression, variables);
+	}
+
+	@Test
+	public void nasumicniIzraziJednakiKaoEvaluator() {
+		List<String> variables = RandomFunctionGenerator.variables(7);
+		RandomExpressionGenerator generator = new RandomExpressionGenerator(35, variables, 5, 4,
+				new double[] { 1, 1, 1, 0.5 }, 0.2, 0.05);
+		for (int i = 0; i < 100; i++) {
+			assertSameAsEvaluator(generator.next(), variables);
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void nepoznataVarijabla() {
+		new IncrementalEvaluator(new Parser("a and d").getExpression(), Arrays.asList("A", "B"));
+	}
+
+	private static void assertSameAsEvaluator(Node expression, List<String> variables) {
+		IncrementalEvaluator incremental = new IncrementalEvaluator(expression, variables);
+		ExpressionEvaluator evaluator = new ExpressionEvaluator(variables);
+		Util.forEachGray(variables, (values, changed) -> {
+			boolean result = changed < 0 ? incremental.setValues(values) : incremental.flip(changed);
+			evaluator.setValues(values);
+			expression.accept(evaluator);
+			assertEquals(evaluator.getResult(), result);
+		});
+	}
+}
@@ -0,0 +1,81 @@
+package hr.fer.zemris.bf.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import hr.fer.zemris.bf.model.BinaryOperatorNode;
+import hr.fer.zemris.bf.model.BinaryOperatorType;
+import hr.fer.zemris.bf.model.Node;
+import hr.fer.zemris.bf.model.UnaryOperatorNode;
+import hr.fer.zemris.bf.model.UnaryOperatorType;
+import hr.fer.zemris.bf.model.VariableNode;
+import hr.fer.zemris.bf.parser.Parser;
+import hr.fer.zemris.bf.scaling.RandomExpressionGenerator;
+import hr.fer.zemris.bf.scaling.RandomFunctionGenerator;
+
+public class ShortCircuitEvaluatorTest {
+
+	@Test
+	public void parserKoristiPoznateOperatore() {
+		BinaryOperatorNode or = (BinaryOperatorNode) new Parser("a or not b and c").getExpression();
+		assertSame(BinaryOperatorType.OR, or.getOperator());
+		assertSame(BinaryOperatorType.AND, BinaryOperatorType.of((BinaryOperatorNode) or.getChildren().get(1)));
+		assertNull(BinaryOperatorType.of(new BinaryOperatorNode("nand", Arrays.asList(), (x, y) -> !(x && y))));
+		assertFalse(UnaryOperatorType.NOT.apply(true));
+	}
+
+	@Test
+	public void operatorSeNePrepoznajePoNazivu() {
+		List<String> variables = Arrays.asList("A", "B");
+		BinaryOperatorNode or = new BinaryOperatorNode("and",
+				Arrays.asList(new VariableNode("A"), new VariableNode("B")), (x, y) -> x || y);
+		assertNull(BinaryOperatorType.of(or));
+		assertNull(UnaryOperatorType.of(new UnaryOperatorNode("not", new VariableNode("A"), x -> x)));
+
+		boolean[] values = { true, false };
+		ExpressionEvaluator evaluator = new ExpressionEvaluator(variables, true);
+		evaluator.setValues(values);
+		or.accept(evaluator);
+		assertTrue(evaluator.getResult());
+		assertTrue(CompiledExpression.compile(or, variables).evaluate(values));
+		assertEquals(new TreeSet<>(Arrays.asList(1, 2, 3)), new TreeSet<>(Util.toSumOfMinterms(variables, or)));
+	}
+
+	@Test
+	public void prekidaNakonUpravljackeVrijednosti() {
+		Node failing = new BinaryOperatorNode("fail", Arrays.asList(new VariableNode("B"), new VariableNode("C")),
+				(x, y) -> {
+					throw new AssertionError("Dijete nije smjelo biti izračunato");
+				});
+		Node expression = new BinaryOperatorNode("and", Arrays.asList(failing, new VariableNode("A")),
+				BinaryOperatorType.AND);
+		ExpressionEvaluator evaluator = new ExpressionEvaluator(Arrays.asList("A", "B", "C"), true);
+		evaluator.setValues(new boolean[] { false, true, true });
+		expression.accept(evaluator);
+		assertFalse(evaluator.getResult());
+	}
+
+	@Test
+	public void nasumicniIzraziJednakiKaoPotpuniIzracun() {
+		List<String> variables = RandomFunctionGenerator.variables(6);
+		RandomExpressionGenerator generator = new RandomExpressionGenerator(36, variables, 5, 5,
+				new double[] { 1, 1, 1, 0.5 }, 0.2, 0.05);
+		for (int i = 0; i < 100; i++) {
+			Node expression = generator.next();
+			ExpressionEvaluator full = new ExpressionEvaluator(variables);
+			ExpressionEvaluator shortCircuit = new ExpressionEvaluator(variables, true);
+			Util.forEach(variables, values -> {
+				full.setValues(values);
+				expression.accept(full);
+				shortCircuit.setValues(values);
+				expression.accept(shortCircuit);
+				assertEquals(full.getResult(), shortCircuit.getResult());
+			});
+		}
+	}
+}